@@ -0,0 +1,57 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.build.jmh;
+
+import java.io.File;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaBasePlugin;
+
+/**
+ * {@link Plugin} that registers a {@code "jmhCompare"} task comparing the JMH
+ * results of the current build against a baseline results file.
+ * <p>{@code "./gradlew :spring-core:jmh :spring-core:jmhCompare -PjmhBaseline=/path/to/results.json"}
+ * fails the build if any benchmark score regressed by more than the configured
+ * threshold, which defaults to 10% and can be changed with {@code "-PjmhThreshold=0.05"}.
+ * Without a {@code jmhBaseline} property, the task is skipped.
+ */
+public class JmhComparisonPlugin implements Plugin<Project> {
+
+	public static final String TASK_NAME = "jmhCompare";
+
+	private static final String BASELINE_PROPERTY = "jmhBaseline";
+
+	private static final String THRESHOLD_PROPERTY = "jmhThreshold";
+
+	private static final double DEFAULT_THRESHOLD = 0.1d;
+
+	@Override
+	public void apply(Project project) {
+		JmhResultsComparisonTask compare = project.getTasks().create(TASK_NAME, JmhResultsComparisonTask.class);
+		compare.setDescription("Compares JMH results against a baseline and fails on regressions");
+		compare.setGroup(JavaBasePlugin.VERIFICATION_GROUP);
+		compare.setResultsFile(new File(project.getBuildDir(), "results/jmh/results.json"));
+		compare.setThreshold(project.hasProperty(THRESHOLD_PROPERTY) ?
+				Double.parseDouble(project.property(THRESHOLD_PROPERTY).toString()) : DEFAULT_THRESHOLD);
+		if (project.hasProperty(BASELINE_PROPERTY)) {
+			compare.setBaselineFile(project.file(project.property(BASELINE_PROPERTY)));
+		}
+		compare.onlyIf(task -> compare.getBaselineFile() != null);
+	}
+
+}
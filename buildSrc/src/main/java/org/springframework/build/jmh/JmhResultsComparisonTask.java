@@ -0,0 +1,152 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.build.jmh;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import groovy.json.JsonSlurper;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Task that compares a JMH JSON results file with a baseline results file
+ * and fails if a benchmark performs worse than the baseline by more than
+ * the configured relative threshold.
+ * <p>Benchmarks are matched by name and parameters. For throughput benchmarks a
+ * lower score is a regression; for all other modes (average time, sample time,
+ * single shot) a higher score is a regression. Benchmarks that are only present
+ * in one of the two files are ignored.
+ *
+ * @see JmhComparisonPlugin
+ */
+public class JmhResultsComparisonTask extends DefaultTask {
+
+	private File resultsFile;
+
+	private File baselineFile;
+
+	private double threshold;
+
+
+	@InputFile
+	public File getResultsFile() {
+		return this.resultsFile;
+	}
+
+	public void setResultsFile(File resultsFile) {
+		this.resultsFile = resultsFile;
+	}
+
+	@InputFile
+	@Optional
+	public File getBaselineFile() {
+		return this.baselineFile;
+	}
+
+	public void setBaselineFile(File baselineFile) {
+		this.baselineFile = baselineFile;
+	}
+
+	@Input
+	public double getThreshold() {
+		return this.threshold;
+	}
+
+	public void setThreshold(double threshold) {
+		this.threshold = threshold;
+	}
+
+
+	@TaskAction
+	public void compare() {
+		Map<String, Score> baseline = readScores(this.baselineFile);
+		Map<String, Score> current = readScores(this.resultsFile);
+		List<String> regressions = new ArrayList<>();
+		current.forEach((key, score) -> {
+			Score reference = baseline.get(key);
+			if (reference == null || reference.value == 0) {
+				return;
+			}
+			double change = (score.value - reference.value) / reference.value;
+			double loss = (score.higherIsBetter() ? -change : change);
+			String line = String.format("%s: %.3f -> %.3f %s (%+.1f%%)",
+					key, reference.value, score.value, score.unit, change * 100);
+			if (loss > this.threshold) {
+				regressions.add(line);
+			}
+			else {
+				getLogger().lifecycle(line);
+			}
+		});
+		if (!regressions.isEmpty()) {
+			throw new GradleException("JMH benchmarks regressed by more than " +
+					Math.round(this.threshold * 100) + "% against " + this.baselineFile + ":\n\t" +
+					String.join("\n\t", regressions));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Score> readScores(File file) {
+		Object parsed = new JsonSlurper().parse(file);
+		if (!(parsed instanceof List)) {
+			throw new GradleException("Not a JMH JSON results file: " + file);
+		}
+		Map<String, Score> scores = new LinkedHashMap<>();
+		for (Map<String, Object> result : (List<Map<String, Object>>) parsed) {
+			String key = (String) result.get("benchmark");
+			Map<String, Object> params = (Map<String, Object>) result.get("params");
+			if (params != null && !params.isEmpty()) {
+				key = key + new TreeMap<>(params);
+			}
+			Map<String, Object> metric = (Map<String, Object>) result.get("primaryMetric");
+			String mode = (String) result.get("mode");
+			scores.put(key, new Score(((Number) metric.get("score")).doubleValue(),
+					(String) metric.get("scoreUnit"), mode));
+		}
+		return scores;
+	}
+
+
+	private static class Score {
+
+		final double value;
+
+		final String unit;
+
+		final String mode;
+
+		Score(double value, String unit, String mode) {
+			this.value = value;
+			this.unit = unit;
+			this.mode = mode;
+		}
+
+		boolean higherIsBetter() {
+			return "thrpt".equals(this.mode);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
@@ -78,6 +79,9 @@ public abstract class AsyncExecutionAspectSupport implements BeanFactoryAware {
 
 	private SingletonSupplier<AsyncUncaughtExceptionHandler> exceptionHandler;
 
+	@Nullable
+	private AsyncExecutionMetricsRecorder metricsRecorder;
+
 	@Nullable
 	private BeanFactory beanFactory;
 
@@ -142,6 +146,26 @@ public abstract class AsyncExecutionAspectSupport implements BeanFactoryAware {
 		this.exceptionHandler = SingletonSupplier.of(exceptionHandler);
 	}
 
+	/**
+	 * Set the {@link AsyncExecutionMetricsRecorder} to report queue wait times,
+	 * execution times and rejections of asynchronous methods to.
+	 * <p>Default is none, not recording any metrics.
+	 * @since 5.3
+	 * @see SimpleAsyncExecutionMetricsRecorder
+	 */
+	public void setMetricsRecorder(@Nullable AsyncExecutionMetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+	}
+
+	/**
+	 * Return the {@link AsyncExecutionMetricsRecorder} to report to, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public AsyncExecutionMetricsRecorder getMetricsRecorder() {
+		return this.metricsRecorder;
+	}
+
 	/**
 	 * Set the {@link BeanFactory} to be used when looking up executors by qualifier
 	 * or when relying on the default executor lookup algorithm.
@@ -292,6 +316,43 @@ public abstract class AsyncExecutionAspectSupport implements BeanFactoryAware {
 		}
 	}
 
+	/**
+	 * Delegate for actually executing the given task for the given async method
+	 * with the chosen executor, reporting to the {@link #setMetricsRecorder
+	 * AsyncExecutionMetricsRecorder} if one has been specified.
+	 * @param task the task to execute
+	 * @param executor the chosen executor
+	 * @param method the async method that the task invokes
+	 * @param returnType the declared return type (potentially a {@link Future} variant)
+	 * @return the execution result (potentially a corresponding {@link Future} handle)
+	 * @since 5.3
+	 * @see #doSubmit(Callable, AsyncTaskExecutor, Class)
+	 */
+	@Nullable
+	protected Object doSubmit(Callable<Object> task, AsyncTaskExecutor executor, Method method, Class<?> returnType) {
+		AsyncExecutionMetricsRecorder recorder = this.metricsRecorder;
+		if (recorder == null) {
+			return doSubmit(task, executor, returnType);
+		}
+		long submitTime = System.nanoTime();
+		Callable<Object> recordingTask = () -> {
+			long startTime = System.nanoTime();
+			try {
+				return task.call();
+			}
+			finally {
+				recorder.recordExecution(method, startTime - submitTime, System.nanoTime() - startTime);
+			}
+		};
+		try {
+			return doSubmit(recordingTask, executor, returnType);
+		}
+		catch (RejectedExecutionException ex) {
+			recorder.recordRejection(method);
+			throw ex;
+		}
+	}
+
 	/**
 	 * Handles a fatal error thrown while asynchronously invoking the specified
 	 * {@link Method}.
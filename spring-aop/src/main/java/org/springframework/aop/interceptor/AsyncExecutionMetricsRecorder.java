@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import java.lang.reflect.Method;
+
+/**
+ * A strategy for recording execution metrics of asynchronous methods,
+ * e.g. for exposing them to a monitoring system.
+ *
+ * <p>Invoked by {@link AsyncExecutionAspectSupport} for every submission of an
+ * asynchronous method, allowing to identify methods that saturate their executor:
+ * through a high queue wait time in case of a busy pool, or through rejections
+ * in case of a bounded queue being exhausted.
+ *
+ * @since 5.3
+ * @see AsyncExecutionAspectSupport#setMetricsRecorder
+ * @see SimpleAsyncExecutionMetricsRecorder
+ */
+public interface AsyncExecutionMetricsRecorder {
+
+	/**
+	 * Record a completed execution of the given asynchronous method,
+	 * successful or not.
+	 * @param method the asynchronous method
+	 * @param queueWaitNanos the time in nanoseconds between the submission of
+	 * the task to the executor and the start of its execution
+	 * @param executionNanos the time in nanoseconds that the execution took
+	 */
+	void recordExecution(Method method, long queueWaitNanos, long executionNanos);
+
+	/**
+	 * Record that the executor rejected the submission of the given
+	 * asynchronous method.
+	 * @param method the asynchronous method
+	 */
+	void recordRejection(Method method);
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A default {@link AsyncExecutionMetricsRecorder} that keeps simple in-memory
+ * statistics per asynchronous method: numbers of executions and rejections,
+ * total and maximum queue wait time, total and maximum execution time.
+ *
+ * <p>The statistics are meant to be exposed through a monitoring endpoint
+ * or to be logged periodically, e.g. via {@link #toString()}.
+ *
+ * @since 5.3
+ */
+public class SimpleAsyncExecutionMetricsRecorder implements AsyncExecutionMetricsRecorder {
+
+	private final Map<Method, MethodMetrics> metrics = new ConcurrentHashMap<>(16);
+
+
+	@Override
+	public void recordExecution(Method method, long queueWaitNanos, long executionNanos) {
+		getOrCreateMetrics(method).recordExecution(queueWaitNanos, executionNanos);
+	}
+
+	@Override
+	public void recordRejection(Method method) {
+		getOrCreateMetrics(method).recordRejection();
+	}
+
+	private MethodMetrics getOrCreateMetrics(Method method) {
+		return this.metrics.computeIfAbsent(method, key -> new MethodMetrics());
+	}
+
+	/**
+	 * Return the metrics recorded for the given asynchronous method.
+	 * @param method the asynchronous method
+	 * @return the metrics, or {@code null} if none recorded for the given method yet
+	 */
+	@Nullable
+	public MethodMetrics getMetrics(Method method) {
+		return this.metrics.get(method);
+	}
+
+	/**
+	 * Return the metrics recorded for all asynchronous methods so far.
+	 * @return an unmodifiable Map with the asynchronous methods as keys
+	 */
+	public Map<Method, MethodMetrics> getMetrics() {
+		return Collections.unmodifiableMap(this.metrics);
+	}
+
+	/**
+	 * Reset all metrics recorded so far.
+	 */
+	public void reset() {
+		this.metrics.clear();
+	}
+
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append(": ");
+		if (this.metrics.isEmpty()) {
+			sb.append("no async method executions recorded");
+		}
+		this.metrics.forEach((method, methodMetrics) -> sb.append("[")
+				.append(method.getDeclaringClass().getSimpleName()).append(".").append(method.getName())
+				.append(": ").append(methodMetrics).append("] "));
+		return sb.toString().trim();
+	}
+
+
+	/**
+	 * Metrics for a specific asynchronous method.
+	 */
+	public static class MethodMetrics {
+
+		private final LongAdder executionCount = new LongAdder();
+
+		private final LongAdder rejectionCount = new LongAdder();
+
+		private final LongAdder totalQueueWaitNanos = new LongAdder();
+
+		private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+		private final LongAdder totalExecutionNanos = new LongAdder();
+
+		private final LongAccumulator maxExecutionNanos = new LongAccumulator(Math::max, 0);
+
+		void recordExecution(long queueWaitNanos, long executionNanos) {
+			this.executionCount.increment();
+			this.totalQueueWaitNanos.add(queueWaitNanos);
+			this.maxQueueWaitNanos.accumulate(queueWaitNanos);
+			this.totalExecutionNanos.add(executionNanos);
+			this.maxExecutionNanos.accumulate(executionNanos);
+		}
+
+		void recordRejection() {
+			this.rejectionCount.increment();
+		}
+
+		/**
+		 * Return the number of completed executions, successful or not.
+		 */
+		public long getExecutionCount() {
+			return this.executionCount.sum();
+		}
+
+		/**
+		 * Return the number of submissions rejected by the executor.
+		 */
+		public long getRejectionCount() {
+			return this.rejectionCount.sum();
+		}
+
+		/**
+		 * Return the total time that executions waited in the executor's queue.
+		 */
+		public long getTotalQueueWaitTime(TimeUnit unit) {
+			return unit.convert(this.totalQueueWaitNanos.sum(), TimeUnit.NANOSECONDS);
+		}
+
+		/**
+		 * Return the maximum time that a single execution waited in the executor's queue.
+		 */
+		public long getMaxQueueWaitTime(TimeUnit unit) {
+			return unit.convert(this.maxQueueWaitNanos.get(), TimeUnit.NANOSECONDS);
+		}
+
+		/**
+		 * Return the total time taken by executions.
+		 */
+		public long getTotalExecutionTime(TimeUnit unit) {
+			return unit.convert(this.totalExecutionNanos.sum(), TimeUnit.NANOSECONDS);
+		}
+
+		/**
+		 * Return the maximum time taken by a single execution.
+		 */
+		public long getMaxExecutionTime(TimeUnit unit) {
+			return unit.convert(this.maxExecutionNanos.get(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public String toString() {
+			return "executions=" + getExecutionCount() + ", rejections=" + getRejectionCount() +
+					", totalQueueWaitMillis=" + getTotalQueueWaitTime(TimeUnit.MILLISECONDS) +
+					", maxQueueWaitMillis=" + getMaxQueueWaitTime(TimeUnit.MILLISECONDS) +
+					", totalExecutionMillis=" + getTotalExecutionTime(TimeUnit.MILLISECONDS) +
+					", maxExecutionMillis=" + getMaxExecutionTime(TimeUnit.MILLISECONDS);
+		}
+	}
+
+}
@@ -45,6 +45,9 @@ public class AspectJAsyncConfiguration extends AbstractAsyncConfiguration {
 	public AnnotationAsyncExecutionAspect asyncAdvisor() {
 		AnnotationAsyncExecutionAspect asyncAspect = AnnotationAsyncExecutionAspect.aspectOf();
 		asyncAspect.configure(this.executor, this.exceptionHandler);
+		if (this.metricsRecorder != null) {
+			asyncAspect.setMetricsRecorder(this.metricsRecorder.get());
+		}
 		return asyncAspect;
 	}
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * Benchmarks for {@link DefaultListableBeanFactory#getBean} lookups of
+ * singleton and prototype beans, with and without dependencies.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@Benchmark
+	public void singletonByName(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.beanFactory.getBean("singleton"));
+	}
+
+	@Benchmark
+	public void singletonByType(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.beanFactory.getBean(SingletonBean.class));
+	}
+
+	@Benchmark
+	public void prototype(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.beanFactory.getBean("prototype"));
+	}
+
+	@Benchmark
+	public void prototypeWithConstructorArgument(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.beanFactory.getBean("prototypeWithConstructorArgument"));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		/**
+		 * Number of additional, unrelated bean definitions to register.
+		 */
+		@Param({"10", "1000"})
+		public int beanCount;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			this.beanFactory.registerBeanDefinition("singleton", new RootBeanDefinition(SingletonBean.class));
+			RootBeanDefinition prototype = new RootBeanDefinition(PrototypeBean.class);
+			prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			prototype.getPropertyValues().add("name", "prototype");
+			prototype.getPropertyValues().add("singleton", new RuntimeBeanReference("singleton"));
+			this.beanFactory.registerBeanDefinition("prototype", prototype);
+			RootBeanDefinition prototypeWithArgument = new RootBeanDefinition(PrototypeWithArgumentBean.class);
+			prototypeWithArgument.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			prototypeWithArgument.getConstructorArgumentValues()
+					.addGenericArgumentValue(new RuntimeBeanReference("singleton"));
+			this.beanFactory.registerBeanDefinition("prototypeWithConstructorArgument", prototypeWithArgument);
+			for (int i = 0; i < this.beanCount; i++) {
+				this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(Object.class));
+			}
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	public static class SingletonBean {
+	}
+
+
+	public static class PrototypeBean {
+
+		private String name;
+
+		private SingletonBean singleton;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setSingleton(SingletonBean singleton) {
+			this.singleton = singleton;
+		}
+
+		public SingletonBean getSingleton() {
+			return this.singleton;
+		}
+	}
+
+
+	public static class PrototypeWithArgumentBean {
+
+		private final SingletonBean singleton;
+
+		public PrototypeWithArgumentBean(SingletonBean singleton) {
+			this.singleton = singleton;
+		}
+
+		public SingletonBean getSingleton() {
+			return this.singleton;
+		}
+	}
+
+}
@@ -76,6 +76,7 @@ import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -1806,25 +1807,32 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			invokeAwareMethods(beanName, bean);
 		}
 
-		Object wrappedBean = bean;
-		if (mbd == null || !mbd.isSynthetic()) {
-			wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName);
-		}
-
+		StartupStep beanInitialization = getApplicationStartup().start("spring.beans.initialize")
+				.tag("beanName", beanName);
 		try {
-			invokeInitMethods(beanName, wrappedBean, mbd);
-		}
-		catch (Throwable ex) {
-			throw new BeanCreationException(
-					(mbd != null ? mbd.getResourceDescription() : null),
-					beanName, "Invocation of init method failed", ex);
-		}
+			Object wrappedBean = bean;
+			if (mbd == null || !mbd.isSynthetic()) {
+				wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName);
+			}
 
-		if (mbd == null || !mbd.isSynthetic()) {
-			wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
-		}
+			try {
+				invokeInitMethods(beanName, wrappedBean, mbd);
+			}
+			catch (Throwable ex) {
+				throw new BeanCreationException(
+						(mbd != null ? mbd.getResourceDescription() : null),
+						beanName, "Invocation of init method failed", ex);
+			}
+
+			if (mbd == null || !mbd.isSynthetic()) {
+				wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+			}
 
-		return wrappedBean;
+			return wrappedBean;
+		}
+		finally {
+			beanInitialization.end();
+		}
 	}
 
 	private void invokeAwareMethods(String beanName, Object bean) {
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Instantiation strategy that replaces reflective constructor invocation with
+ * generated bytecode once a constructor has been used for a number of
+ * instantiations, e.g. for prototype and request-scoped beans.
+ *
+ * <p>For every eligible constructor, a small class implementing
+ * {@link CompiledConstructor} is generated with the repackaged ASM library
+ * and defined in a child ClassLoader of the bean class' ClassLoader, in the
+ * same style as the SpEL compiler. Subsequent instantiations then cost the
+ * same as a direct {@code new} call with the resolved arguments.
+ *
+ * <p>The generated classes and their ClassLoaders are held by the strategy
+ * instance, i.e. by the bean factory that it has been registered with, and
+ * therefore do not keep application ClassLoaders alive beyond that factory.
+ *
+ * <p>Eligible are public constructors of public, non-Kotlin classes whose
+ * parameter types are public as well. All other constructors, as well as
+ * any constructor that fails to compile, keep using reflection as in the
+ * {@link CglibSubclassingInstantiationStrategy} which this class extends,
+ * including its support for Method Injection.
+ *
+ * <p>This strategy is opt-in: register it through
+ * {@link AbstractAutowireCapableBeanFactory#setInstantiationStrategy}.
+ *
+ * @since 5.3
+ * @see org.springframework.asm.ClassWriter
+ */
+public class BytecodeGeneratingInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	/**
+	 * The default number of reflective instantiations through a given
+	 * constructor before a compiled variant gets generated for it.
+	 */
+	public static final int DEFAULT_COMPILE_THRESHOLD = 1;
+
+	private static final Log logger = LogFactory.getLog(BytecodeGeneratingInstantiationStrategy.class);
+
+	private static final String COMPILED_CONSTRUCTOR_NAME = Type.getInternalName(CompiledConstructor.class);
+
+	private static final AtomicInteger suffixId = new AtomicInteger();
+
+
+	private final Map<Constructor<?>, ConstructorHolder> constructors = new ConcurrentReferenceHashMap<>(64);
+
+	// One child ClassLoader per bean ClassLoader, holding the generated classes
+	private final Map<ClassLoader, CompilerClassLoader> classLoaders = new ConcurrentHashMap<>(4);
+
+	private int compileThreshold = DEFAULT_COMPILE_THRESHOLD;
+
+
+	/**
+	 * Set the number of reflective instantiations through a given constructor
+	 * before a compiled variant gets generated for it.
+	 * <p>Default is 1, i.e. compile on the second instantiation: this avoids
+	 * generating classes for singletons which are only instantiated once.
+	 * A value of 0 compiles right away on first instantiation.
+	 */
+	public void setCompileThreshold(int compileThreshold) {
+		Assert.isTrue(compileThreshold >= 0, "Compile threshold must not be negative");
+		this.compileThreshold = compileThreshold;
+	}
+
+	/**
+	 * Return the number of reflective instantiations through a given
+	 * constructor before a compiled variant gets generated for it.
+	 */
+	public int getCompileThreshold() {
+		return this.compileThreshold;
+	}
+
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner) {
+		if (!bd.hasMethodOverrides()) {
+			Object constructorToUse;
+			synchronized (bd.constructorArgumentLock) {
+				constructorToUse = bd.resolvedConstructorOrFactoryMethod;
+			}
+			if (constructorToUse == null) {
+				// First instantiation: let the superclass resolve the default constructor,
+				// counting this reflective invocation towards the compile threshold.
+				Object instance = super.instantiate(bd, beanName, owner);
+				synchronized (bd.constructorArgumentLock) {
+					constructorToUse = bd.resolvedConstructorOrFactoryMethod;
+				}
+				if (constructorToUse instanceof Constructor) {
+					obtainCompiledConstructor((Constructor<?>) constructorToUse);
+				}
+				return instance;
+			}
+			if (constructorToUse instanceof Constructor) {
+				CompiledConstructor compiled = obtainCompiledConstructor((Constructor<?>) constructorToUse);
+				if (compiled != null) {
+					return newInstance(compiled, (Constructor<?>) constructorToUse, new Object[0]);
+				}
+			}
+		}
+		// No compiled variant available: instantiate reflectively.
+		return super.instantiate(bd, beanName, owner);
+	}
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner,
+			Constructor<?> ctor, Object... args) {
+
+		if (!bd.hasMethodOverrides() && args.length == ctor.getParameterCount() &&
+				!hasNullPrimitiveArgument(ctor, args)) {
+			CompiledConstructor compiled = obtainCompiledConstructor(ctor);
+			if (compiled != null) {
+				return newInstance(compiled, ctor, args);
+			}
+		}
+		return super.instantiate(bd, beanName, owner, ctor, args);
+	}
+
+	/**
+	 * Return the compiled variant of the given constructor, if already generated.
+	 * <p>In contrast to the instantiation methods, this does not count as an
+	 * invocation of the constructor and never triggers its compilation.
+	 * @param ctor the constructor to check
+	 * @return the compiled constructor, or {@code null} if none generated (yet)
+	 */
+	@Nullable
+	CompiledConstructor getCompiledConstructor(Constructor<?> ctor) {
+		ConstructorHolder holder = this.constructors.get(ctor);
+		return (holder != null ? holder.compiled : null);
+	}
+
+	/**
+	 * Record an invocation of the given constructor and return its compiled
+	 * variant, generating it once the compile threshold has been reached.
+	 * @param ctor the constructor to invoke
+	 * @return the compiled constructor, or {@code null} if the constructor
+	 * should still be (or can only be) invoked reflectively
+	 */
+	@Nullable
+	private CompiledConstructor obtainCompiledConstructor(Constructor<?> ctor) {
+		ConstructorHolder holder = this.constructors.get(ctor);
+		if (holder == null) {
+			holder = new ConstructorHolder(isCompilable(ctor));
+			ConstructorHolder existing = this.constructors.putIfAbsent(ctor, holder);
+			if (existing != null) {
+				holder = existing;
+			}
+		}
+		if (!holder.compilable) {
+			return null;
+		}
+		CompiledConstructor compiled = holder.compiled;
+		if (compiled == null && holder.invocations.getAndIncrement() >= this.compileThreshold) {
+			synchronized (holder) {
+				compiled = holder.compiled;
+				if (compiled == null && holder.compilable) {
+					compiled = compile(ctor);
+					if (compiled != null) {
+						holder.compiled = compiled;
+					}
+					else {
+						holder.compilable = false;
+					}
+				}
+			}
+		}
+		return compiled;
+	}
+
+	private Object newInstance(CompiledConstructor compiled, Constructor<?> ctor, Object[] args) {
+		try {
+			return compiled.newInstance(args);
+		}
+		catch (Exception ex) {
+			throw new BeanInstantiationException(ctor, "Constructor threw exception", ex);
+		}
+	}
+
+	private static boolean hasNullPrimitiveArgument(Constructor<?> ctor, Object[] args) {
+		Class<?>[] parameterTypes = ctor.getParameterTypes();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i] == null && parameterTypes[i].isPrimitive()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether generated code in a different package is able to
+	 * invoke the given constructor without reflection.
+	 */
+	private boolean isCompilable(Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		if (System.getSecurityManager() != null || !Modifier.isPublic(ctor.getModifiers()) ||
+				!Modifier.isPublic(clazz.getModifiers()) || Modifier.isAbstract(clazz.getModifiers()) ||
+				(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(clazz))) {
+			return false;
+		}
+		for (Class<?> parameterType : ctor.getParameterTypes()) {
+			Class<?> typeToCheck = parameterType;
+			while (typeToCheck.isArray()) {
+				typeToCheck = typeToCheck.getComponentType();
+			}
+			if (!Modifier.isPublic(typeToCheck.getModifiers())) {
+				return false;
+			}
+		}
+		return (getCompilerClassLoader(clazz) != null);
+	}
+
+	@Nullable
+	private CompilerClassLoader getCompilerClassLoader(Class<?> clazz) {
+		ClassLoader classLoader = clazz.getClassLoader();
+		if (classLoader == null || !ClassUtils.isVisible(CompiledConstructor.class, classLoader)) {
+			// Bootstrap class or bean ClassLoader not seeing Spring's own classes
+			classLoader = CompiledConstructor.class.getClassLoader();
+			if (!ClassUtils.isVisible(clazz, classLoader)) {
+				return null;
+			}
+		}
+		return this.classLoaders.computeIfAbsent(classLoader, CompilerClassLoader::new);
+	}
+
+	@Nullable
+	private CompiledConstructor compile(Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		CompilerClassLoader classLoader = getCompilerClassLoader(clazz);
+		if (classLoader == null) {
+			return null;
+		}
+		String className = "org/springframework/beans/factory/support/generated/" +
+				clazz.getSimpleName() + "$$Instantiator$$" + suffixId.incrementAndGet();
+		try {
+			byte[] bytes = generateClass(className, ctor);
+			Class<?> generated = classLoader.defineClass(className.replace('/', '.'), bytes);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Generated " + generated.getName() + " for constructor " + ctor);
+			}
+			return (CompiledConstructor) generated.getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to generate compiled variant of constructor " + ctor +
+						" - using reflection instead", ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Generate a class which implements {@link CompiledConstructor} by
+	 * unpacking the argument array and invoking the given constructor.
+	 */
+	private static byte[] generateClass(String className, Constructor<?> ctor) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null,
+				"java/lang/Object", new String[] {COMPILED_CONSTRUCTOR_NAME});
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		String beanClassName = Type.getInternalName(ctor.getDeclaringClass());
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "newInstance", "([Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		mv.visitTypeInsn(Opcodes.NEW, beanClassName);
+		mv.visitInsn(Opcodes.DUP);
+		Class<?>[] parameterTypes = ctor.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			insertUnboxOrCast(mv, parameterTypes[i]);
+		}
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, beanClassName, "<init>",
+				Type.getConstructorDescriptor(ctor), false);
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void insertUnboxOrCast(MethodVisitor mv, Class<?> parameterType) {
+		if (parameterType.isPrimitive()) {
+			Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(parameterType);
+			String wrapperName = Type.getInternalName(wrapperType);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, parameterType.getName() + "Value",
+					"()" + Type.getDescriptor(parameterType), false);
+		}
+		else if (parameterType != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(parameterType));
+		}
+	}
+
+
+	/**
+	 * Contract for the generated constructor invokers.
+	 * <p>Only public for access from generated classes; not intended
+	 * to be implemented or called by application code.
+	 */
+	public interface CompiledConstructor {
+
+		/**
+		 * Create a new instance with the given, already resolved arguments.
+		 * @param args the constructor arguments (matching the parameter types)
+		 * @return the new instance
+		 */
+		Object newInstance(Object[] args);
+	}
+
+
+	/**
+	 * Per-constructor state: invocation count and compiled variant, if any.
+	 */
+	private static final class ConstructorHolder {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		volatile boolean compilable;
+
+		@Nullable
+		volatile CompiledConstructor compiled;
+
+		ConstructorHolder(boolean compilable) {
+			this.compilable = compilable;
+		}
+	}
+
+
+	/**
+	 * Child ClassLoader which defines the generated classes.
+	 */
+	private static class CompilerClassLoader extends URLClassLoader {
+
+		private static final URL[] NO_URLS = new URL[0];
+
+		CompilerClassLoader(ClassLoader parent) {
+			super(NO_URLS, parent);
+		}
+
+		Class<?> defineClass(String name, byte[] bytes) {
+			return super.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,7 +40,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -72,12 +77,14 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
 import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
 import org.springframework.core.log.LogMessage;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -164,6 +171,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map from dependency type to corresponding autowired value. */
 	private final Map<Class<?>, Object> resolvableDependencies = new ConcurrentHashMap<>(16);
 
+	/** Optional Executor for pre-instantiating independent singletons in parallel. */
+	@Nullable
+	private volatile Executor bootstrapExecutor;
+
+	/** Marker for threads pre-instantiating singletons on behalf of the bootstrap executor. */
+	private final ThreadLocal<Boolean> bootstrapThread = new NamedThreadLocal<>("Singleton bootstrap thread");
+
 	/**
 	 * Map of bean definition objects, keyed by bean name.
 	 * */
@@ -328,6 +342,37 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.autowireCandidateResolver;
 	}
 
+	/**
+	 * Set an {@link Executor} for pre-instantiating singletons in parallel.
+	 * <p>Default is none, creating all non-lazy singletons one after the other
+	 * in registration order. With an Executor specified, the singletons get
+	 * grouped into subgraphs that are independent of each other according to
+	 * their {@code depends-on} declarations and the dependencies registered so
+	 * far; each subgraph is then created on the Executor, in registration order
+	 * within the subgraph. {@link SmartInitializingSingleton} callbacks are still
+	 * invoked in registration order once all singletons have been created.
+	 * <p>Beans that turn out to depend on beans from another subgraph wait for
+	 * those to be created in the other thread, so that each singleton is only
+	 * created once. A circular reference across threads gets resolved through
+	 * an early reference, just like within a single thread; only a circular
+	 * reference which cannot be resolved that way (e.g. between constructor
+	 * arguments) leaves the affected beans to a sequential pass at the end.
+	 * @since 5.3
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public Executor getBootstrapExecutor() {
+		return this.bootstrapExecutor;
+	}
+
 
 	@Override
 	public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
@@ -337,6 +382,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well
@@ -902,56 +948,189 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// While this may not be part of the regular factory bootstrap, it does otherwise work fine.
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
-		// Trigger initialization of all non-lazy singleton beans...
+		// Create independent subgraphs of non-lazy singleton beans in parallel, if configured...
+		Executor executor = this.bootstrapExecutor;
+		if (executor != null) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+
+		// Trigger initialization of all (remaining) non-lazy singleton beans...
 		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			preInstantiateSingleton(beanName);
+		}
 
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+		// Trigger post-initialization callback for all applicable beans...
+		for (String beanName : beanNames) {
+			Object singletonInstance = getSingleton(beanName);
+
+			if (singletonInstance instanceof SmartInitializingSingleton) {
+				StartupStep smartInitialize = getApplicationStartup().start("spring.beans.smart-initialize")
+						.tag("beanName", beanName);
+				SmartInitializingSingleton smartSingleton = (SmartInitializingSingleton) singletonInstance;
+				try {
+					if (System.getSecurityManager() != null) {
+						AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+							smartSingleton.afterSingletonsInstantiated();
+							return null;
+						}, getAccessControlContext());
+					}
+					else {
+						smartSingleton.afterSingletonsInstantiated();
+					}
+				}
+				finally {
+					smartInitialize.end();
+				}
+			}
+		}
+	}
 
-					if (bean instanceof FactoryBean) {
-						FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
+	private void preInstantiateSingleton(String beanName) {
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
 
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged(
-									(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+			if (isFactoryBean(beanName)) {
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+
+				if (bean instanceof FactoryBean) {
+					FactoryBean<?> factory = (FactoryBean<?>) bean;
+					boolean isEagerInit;
+
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged(
+								(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					}
+					else {
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+
+					if (isEagerInit) {
+						getBean(beanName);
+					}
+				}
+			}
+			else {
+				getBean(beanName);
+			}
+		}
+	}
 
-						if (isEagerInit) {
-							getBean(beanName);
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		List<List<String>> subgraphs = determineIndependentSubgraphs(beanNames);
+		if (subgraphs.size() < 2) {
+			// Nothing to parallelize: leave it to the sequential pass.
+			return;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating " + subgraphs.size() + " independent groups of singletons in parallel");
+		}
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>(subgraphs.size());
+		try {
+			for (List<String> subgraph : subgraphs) {
+				futures.add(CompletableFuture.runAsync(() -> {
+					this.bootstrapThread.set(Boolean.TRUE);
+					try {
+						for (String beanName : subgraph) {
+							preInstantiateSingleton(beanName);
 						}
 					}
+					finally {
+						this.bootstrapThread.remove();
+					}
+				}, executor));
+			}
+		}
+		catch (RejectedExecutionException ex) {
+			// Remaining subgraphs will be created in the sequential pass.
+			logger.debug("Bootstrap executor rejected parallel pre-instantiation", ex);
+		}
+
+		// Wait for all subgraphs, then report the failure of the first one (in registration order)
+		Throwable failure = null;
+		for (CompletableFuture<Void> future : futures) {
+			try {
+				future.join();
+			}
+			catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof BeansException &&
+						((BeansException) cause).contains(BeanCurrentlyInCreationException.class)) {
+					// Circular reference across threads: retry in the sequential pass.
+					logger.debug("Deferring singletons to sequential pre-instantiation", cause);
 				}
-				else {
-					getBean(beanName);
+				else if (failure == null) {
+					failure = cause;
 				}
 			}
 		}
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+	}
 
-		// Trigger post-initialization callback for all applicable beans...
+	/**
+	 * Group the given non-lazy singletons into subgraphs without any known dependency
+	 * between them, based on {@code depends-on} declarations and dependencies registered
+	 * so far. Subgraphs as well as the beans within a subgraph keep registration order.
+	 */
+	private List<List<String>> determineIndependentSubgraphs(List<String> beanNames) {
+		Map<String, String> roots = new HashMap<>(beanNames.size());
+		List<String> candidates = new ArrayList<>(beanNames.size());
 		for (String beanName : beanNames) {
-			Object singletonInstance = getSingleton(beanName);
-
-			if (singletonInstance instanceof SmartInitializingSingleton) {
-				SmartInitializingSingleton smartSingleton = (SmartInitializingSingleton) singletonInstance;
-				if (System.getSecurityManager() != null) {
-					AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
-						smartSingleton.afterSingletonsInstantiated();
-						return null;
-					}, getAccessControlContext());
-				}
-				else {
-					smartSingleton.afterSingletonsInstantiated();
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (bd.isAbstract() || !bd.isSingleton() || bd.isLazyInit()) {
+				continue;
+			}
+			candidates.add(beanName);
+			findRoot(roots, beanName);
+			String[] dependsOn = bd.getDependsOn();
+			if (dependsOn != null) {
+				for (String dependsOnBean : dependsOn) {
+					union(roots, beanName, canonicalName(dependsOnBean));
 				}
 			}
+			for (String dependency : getDependenciesForBean(beanName)) {
+				union(roots, beanName, dependency);
+			}
+			for (String dependentBean : getDependentBeans(beanName)) {
+				union(roots, beanName, dependentBean);
+			}
 		}
+
+		Map<String, List<String>> subgraphs = new LinkedHashMap<>();
+		for (String beanName : candidates) {
+			subgraphs.computeIfAbsent(findRoot(roots, beanName), root -> new ArrayList<>()).add(beanName);
+		}
+		return new ArrayList<>(subgraphs.values());
+	}
+
+	private static String findRoot(Map<String, String> roots, String beanName) {
+		String root = roots.computeIfAbsent(beanName, name -> name);
+		if (!root.equals(beanName)) {
+			root = findRoot(roots, root);
+			roots.put(beanName, root);
+		}
+		return root;
+	}
+
+	private static void union(Map<String, String> roots, String beanName, String otherBeanName) {
+		String root = findRoot(roots, beanName);
+		String otherRoot = findRoot(roots, otherBeanName);
+		if (!root.equals(otherRoot)) {
+			roots.put(otherRoot, root);
+		}
+	}
+
+	@Override
+	protected boolean isCurrentThreadAllowedToHoldSingletonLock() {
+		// Bootstrap threads create singletons in parallel, not serialized by the singleton lock
+		return (this.bootstrapThread.get() == null);
 	}
 
 
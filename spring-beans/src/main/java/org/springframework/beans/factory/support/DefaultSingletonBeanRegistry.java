@@ -17,7 +17,6 @@
 package org.springframework.beans.factory.support;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -82,7 +81,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/**
 	 * Cache of singleton factories: bean name to ObjectFactory.
 	 * */
-	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
 	/**
 	 * Cache of early singleton objects: bean name to bean instance.
@@ -91,7 +90,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	/** Set of registered singletons, containing the bean names in registration order.
 	 * */
-	private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
+	private final Set<String> registeredSingletons = Collections.synchronizedSet(new LinkedHashSet<>(256));
 
 	/** Names of beans that are currently in creation.
 	 * */
@@ -102,6 +101,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Set<String> inCreationCheckExclusions =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
+	/** Threads creating singletons: bean name to thread. */
+	private final Map<String, Thread> singletonCreationThreads = new ConcurrentHashMap<>(16);
+
+	/** Threads waiting for a singleton in creation within another thread: thread to bean name. */
+	private final Map<Thread, String> threadsAwaitingSingleton = new ConcurrentHashMap<>(4);
+
 	/** Collection of suppressed Exceptions, available for associating related causes.
 	 * */
 	@Nullable
@@ -109,21 +114,25 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	/** Flag that indicates whether we're currently within destroySingletons.
 	 * */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
 
 	/** Disposable bean instances: bean name to disposable instance.
 	 * */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
 
 	/** Map between containing bean names: bean name to Set of bean names that the bean contains.
+	 * <p>The Sets are immutable snapshots, replaced on modification within the map lock.
 	 * */
 	private final Map<String, Set<String>> containedBeanMap = new ConcurrentHashMap<>(16);
 
 	/** Map between dependent bean names: bean name to Set of dependent bean names.
+	 * <p>The Sets are immutable snapshots, replaced on modification within the map lock,
+	 * so that lookups (e.g. for prototypes created at runtime) do not need to lock.
 	 * */
 	private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
 
 	/** Map between depending bean names: bean name to Set of bean names for the bean's dependencies.
+	 * <p>The Sets are immutable snapshots, replaced on modification within the map lock.
 	 * */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
@@ -133,31 +142,43 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Assert.notNull(beanName, "Bean name must not be null");
 		Assert.notNull(singletonObject, "Singleton object must not be null");
 
-		synchronized (this.singletonObjects) {
-			Object oldObject = this.singletonObjects.get(beanName);
-			if (oldObject != null) {
-				throw new IllegalStateException("Could not register object [" + singletonObject +
-						"] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
-			}
-
-			addSingleton(beanName, singletonObject);
+		// Atomic registration without the singleton lock: a concurrently
+		// running singleton creation does not block manual registration.
+		if (this.singletonCreationThreads.containsKey(beanName) || isSingletonCurrentlyInCreation(beanName)) {
+			throw new IllegalStateException("Could not register object [" + singletonObject +
+					"] under bean name '" + beanName + "': singleton is currently in creation");
 		}
+		Object oldObject = this.singletonObjects.putIfAbsent(beanName, singletonObject);
+		if (oldObject != null) {
+			throw new IllegalStateException("Could not register object [" + singletonObject +
+					"] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
+		}
+		singletonAdded(beanName);
 	}
 
 	/**
 	 * Add the given singleton object to the singleton cache of this factory.
 	 * <p>To be called for eager registration of singletons.
+	 * <p>Does not require the singleton lock since all singleton caches
+	 * are thread-safe on their own.
 	 *
 	 * @param beanName the name of the bean
 	 * @param singletonObject the singleton object
 	 */
 	protected void addSingleton(String beanName, Object singletonObject) {
-		synchronized (this.singletonObjects) {
-			this.singletonObjects.put(beanName, singletonObject);
-			this.singletonFactories.remove(beanName);
-			this.earlySingletonObjects.remove(beanName);
-			this.registeredSingletons.add(beanName);
-		}
+		this.singletonObjects.put(beanName, singletonObject);
+		singletonAdded(beanName);
+	}
+
+	/**
+	 * Update the bookkeeping for a singleton object that has just been
+	 * stored in the singleton cache.
+	 * @param beanName the name of the bean
+	 */
+	private void singletonAdded(String beanName) {
+		this.singletonFactories.remove(beanName);
+		this.earlySingletonObjects.remove(beanName);
+		this.registeredSingletons.add(beanName);
 	}
 
 	/**
@@ -170,12 +191,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(singletonFactory, "Singleton factory must not be null");
-		synchronized (this.singletonObjects) {
-			if (!this.singletonObjects.containsKey(beanName)) {
-				this.singletonFactories.put(beanName, singletonFactory);
-				this.earlySingletonObjects.remove(beanName);
-				this.registeredSingletons.add(beanName);
-			}
+		if (!this.singletonObjects.containsKey(beanName)) {
+			this.singletonFactories.put(beanName, singletonFactory);
+			this.earlySingletonObjects.remove(beanName);
+			this.registeredSingletons.add(beanName);
 		}
 	}
 
@@ -189,6 +208,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * Return the (raw) singleton object registered under the given name.
 	 * <p>Checks already instantiated singletons and also allows for an early
 	 * reference to a currently created singleton (resolving a circular reference).
+	 * <p>Fully initialized singletons are returned without any locking. An early
+	 * reference is only created by the thread that is actually creating the
+	 * singleton: other threads get {@code null} instead of blocking here and
+	 * will wait for the fully initialized instance in
+	 * {@link #getSingleton(String, ObjectFactory)}.
 	 *
 	 * @param beanName the name of the bean to look for
 	 * @param allowEarlyReference whether early references should be created or not
@@ -200,6 +224,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+			if (allowEarlyReference && !isSingletonCreationThread(beanName)) {
+				// Singleton currently in creation within another thread:
+				// do not expose a partially initialized instance across threads.
+				return null;
+			}
+
 			singletonObject = this.earlySingletonObjects.get(beanName);
 
 			if (singletonObject == null && allowEarlyReference) {
@@ -207,15 +237,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 					// Consistent creation of early reference within full singleton lock
 					singletonObject = this.singletonObjects.get(beanName);
 					if (singletonObject == null) {
-						singletonObject = this.earlySingletonObjects.get(beanName);
-						if (singletonObject == null) {
-							ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-							if (singletonFactory != null) {
-								singletonObject = singletonFactory.getObject();
-								this.earlySingletonObjects.put(beanName, singletonObject);
-								this.singletonFactories.remove(beanName);
-							}
-						}
+						singletonObject = obtainEarlySingletonReference(beanName);
 					}
 				}
 			}
@@ -224,6 +246,27 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return singletonObject;
 	}
 
+	/**
+	 * Return the early reference to the given singleton in creation, creating it
+	 * through the registered singleton factory if necessary.
+	 * To be called within the singleton lock.
+	 * @param beanName the name of the singleton in creation
+	 * @return the early reference, or {@code null} if none available (yet)
+	 */
+	@Nullable
+	private Object obtainEarlySingletonReference(String beanName) {
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject == null) {
+			ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+			if (singletonFactory != null) {
+				singletonObject = singletonFactory.getObject();
+				this.earlySingletonObjects.put(beanName, singletonObject);
+				this.singletonFactories.remove(beanName);
+			}
+		}
+		return singletonObject;
+	}
+
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
@@ -236,65 +279,249 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
 
+		if (!isCurrentThreadAllowedToHoldSingletonLock()) {
+			return getSingletonLeniently(beanName, singletonFactory);
+		}
+
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
 
 			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
-				}
-
-				beforeSingletonCreation(beanName);
-
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
+				boolean acquired = acquireSingletonCreation(beanName);
+				if (!acquired && isSingletonCreationThreadWaitingFor(beanName)) {
+					return obtainEarlySingletonReference(beanName);
 				}
-
 				try {
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
-				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
 					singletonObject = this.singletonObjects.get(beanName);
 					if (singletonObject == null) {
-						throw ex;
+						singletonObject = createSingleton(beanName, singletonFactory, true);
 					}
 				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
-					}
-					throw ex;
-				}
 				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+					if (acquired) {
+						releaseSingletonCreation(beanName);
 					}
+				}
+			}
+
+			return singletonObject;
+		}
+	}
+
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for threads which are
+	 * not allowed to hold the singleton lock: the singleton gets created without it,
+	 * only coordinating with other threads that request the same bean.
+	 */
+	private Object getSingletonLeniently(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+
+		boolean acquired;
+		synchronized (this.singletonObjects) {
+			acquired = acquireSingletonCreation(beanName);
+			if (!acquired && isSingletonCreationThreadWaitingFor(beanName)) {
+				return obtainEarlySingletonReference(beanName);
+			}
+		}
+		try {
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				singletonObject = createSingleton(beanName, singletonFactory, false);
+			}
+		}
+		finally {
+			if (acquired) {
+				synchronized (this.singletonObjects) {
+					releaseSingletonCreation(beanName);
+				}
+			}
+		}
+		return singletonObject;
+	}
+
+	private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory, boolean locked) {
+		if (this.singletonsCurrentlyInDestruction) {
+			throw new BeanCreationNotAllowedException(beanName,
+					"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+					"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+		}
+
+		beforeSingletonCreation(beanName);
+
+		Object singletonObject;
+		boolean newSingleton = false;
+		// Suppressed exceptions are shared state, only to be collected within the singleton lock
+		boolean recordSuppressedExceptions = (locked && this.suppressedExceptions == null);
+		if (recordSuppressedExceptions) {
+			this.suppressedExceptions = new LinkedHashSet<>();
+		}
 
-					afterSingletonCreation(beanName);
+		try {
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime ->
+			// if yes, proceed with it since the exception indicates that state.
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				throw ex;
+			}
+		}
+		catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				for (Exception suppressedException : this.suppressedExceptions) {
+					ex.addRelatedCause(suppressedException);
 				}
+			}
+			throw ex;
+		}
+		finally {
+			if (recordSuppressedExceptions) {
+				this.suppressedExceptions = null;
+			}
 
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+			afterSingletonCreation(beanName);
+		}
+
+		if (newSingleton) {
+			// A manual registration may have slipped in since the creation started:
+			// never replace it, since callers may already hold the registered object.
+			Object registeredObject = this.singletonObjects.putIfAbsent(beanName, singletonObject);
+			if (registeredObject != null && registeredObject != singletonObject) {
+				synchronized (this.disposableBeans) {
+					this.disposableBeans.remove(beanName);
 				}
+				throw new BeanCreationException(beanName, "Singleton object [" + registeredObject +
+						"] has been registered concurrently with the creation of the bean");
 			}
+			singletonAdded(beanName);
+		}
+		return singletonObject;
+	}
 
-			return singletonObject;
+	/**
+	 * Register the current thread as the one creating the given singleton,
+	 * waiting for a creation of the same singleton in another thread to end first.
+	 * <p>To be called within the singleton lock, which gets released while waiting.
+	 * @param beanName the name of the singleton about to be created
+	 * @return {@code true} if the current thread got registered and needs to call
+	 * {@link #releaseSingletonCreation}, or {@code false} if it is already creating
+	 * the singleton, the singleton has been created in the meantime, or the other
+	 * thread in turn waits for the current thread and has exposed an early reference
+	 * @throws BeanCurrentlyInCreationException if the other thread in turn waits
+	 * for a singleton in creation within the current thread, without an early
+	 * reference to resolve the circular reference with
+	 */
+	private boolean acquireSingletonCreation(String beanName) {
+		Thread currentThread = Thread.currentThread();
+		while (!this.singletonObjects.containsKey(beanName)) {
+			Thread creatingThread = this.singletonCreationThreads.putIfAbsent(beanName, currentThread);
+			if (creatingThread == null) {
+				return true;
+			}
+			if (creatingThread == currentThread) {
+				return false;
+			}
+			if (isAwaitingSingletonFrom(creatingThread, currentThread)) {
+				// The other thread cannot proceed before the current thread does: the current
+				// thread may use an early reference to the singleton, if already exposed.
+				if (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName)) {
+					return false;
+				}
+				throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in creation " +
+						"in another thread which in turn waits for a bean in creation within this thread: " +
+						"Is there an unresolvable circular reference between beans created in parallel?");
+			}
+			this.threadsAwaitingSingleton.put(currentThread, beanName);
+			try {
+				this.singletonObjects.wait();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new BeanCreationException(beanName,
+						"Interrupted while waiting for singleton creation in another thread", ex);
+			}
+			finally {
+				this.threadsAwaitingSingleton.remove(currentThread);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Unregister the current thread as the one creating the given singleton,
+	 * notifying threads that wait for it. To be called within the singleton lock.
+	 * @param beanName the name of the singleton that has been created
+	 */
+	private void releaseSingletonCreation(String beanName) {
+		this.singletonCreationThreads.remove(beanName);
+		if (!this.threadsAwaitingSingleton.isEmpty()) {
+			this.singletonObjects.notifyAll();
 		}
 	}
 
+	/**
+	 * Determine whether the given thread waits, directly or through other threads,
+	 * for a singleton that the target thread is creating.
+	 */
+	private boolean isAwaitingSingletonFrom(Thread thread, Thread targetThread) {
+		Set<Thread> visited = new HashSet<>();
+		Thread current = thread;
+		while (current != null && visited.add(current)) {
+			if (current == targetThread) {
+				return true;
+			}
+			String awaitedBeanName = this.threadsAwaitingSingleton.get(current);
+			current = (awaitedBeanName != null ? this.singletonCreationThreads.get(awaitedBeanName) : null);
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether the given singleton is in creation within another thread
+	 * which in turn waits for the current thread, i.e. whether there is a circular
+	 * reference between the threads. To be called within the singleton lock.
+	 * <p>The other thread cannot proceed before the current thread does, so its
+	 * early reference to the singleton may be used, just like within a single thread.
+	 */
+	private boolean isSingletonCreationThreadWaitingFor(String beanName) {
+		Thread creatingThread = this.singletonCreationThreads.get(beanName);
+		return (creatingThread != null && creatingThread != Thread.currentThread() &&
+				isAwaitingSingletonFrom(creatingThread, Thread.currentThread()));
+	}
+
+	/**
+	 * Determine whether the current thread creates the given singleton.
+	 */
+	private boolean isSingletonCreationThread(String beanName) {
+		Thread creatingThread = this.singletonCreationThreads.get(beanName);
+		// Fall back to the singleton lock for creation phases outside of getSingleton
+		return (creatingThread != null ? creatingThread == Thread.currentThread() :
+				Thread.holdsLock(this.singletonObjects));
+	}
+
+	/**
+	 * Determine whether the current thread is allowed to hold the singleton lock
+	 * while creating a singleton.
+	 * <p>The default implementation returns {@code true}, serializing singleton
+	 * creation on {@link #getSingletonMutex()}. Subclasses may return {@code false}
+	 * for threads which create singletons in parallel: those only coordinate with
+	 * other threads requesting the same singleton, waiting for its creation to end.
+	 * @since 5.3
+	 * @see #getSingleton(String, ObjectFactory)
+	 */
+	protected boolean isCurrentThreadAllowedToHoldSingletonLock() {
+		return true;
+	}
+
 	/**
 	 * Register an exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -334,16 +561,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registeredSingletons) {
 			return StringUtils.toStringArray(this.registeredSingletons);
 		}
 	}
 
 	@Override
 	public int getSingletonCount() {
-		synchronized (this.singletonObjects) {
-			return this.registeredSingletons.size();
-		}
+		return this.registeredSingletons.size();
 	}
 
 
@@ -427,12 +652,8 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #registerDependentBean
 	 */
 	public void registerContainedBean(String containedBeanName, String containingBeanName) {
-		synchronized (this.containedBeanMap) {
-			Set<String> containedBeans =
-					this.containedBeanMap.computeIfAbsent(containingBeanName, k -> new LinkedHashSet<>(8));
-			if (!containedBeans.add(containedBeanName)) {
-				return;
-			}
+		if (!addToSetInMap(this.containedBeanMap, containingBeanName, containedBeanName)) {
+			return;
 		}
 		registerDependentBean(containedBeanName, containingBeanName);
 	}
@@ -447,18 +668,35 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	public void registerDependentBean(String beanName, String dependentBeanName) {
 		String canonicalName = canonicalName(beanName);
 
-		synchronized (this.dependentBeanMap) {
-			Set<String> dependentBeans =
-					this.dependentBeanMap.computeIfAbsent(canonicalName, k -> new LinkedHashSet<>(8));
-			if (!dependentBeans.add(dependentBeanName)) {
-				return;
-			}
+		if (!addToSetInMap(this.dependentBeanMap, canonicalName, dependentBeanName)) {
+			return;
 		}
+		addToSetInMap(this.dependenciesForBeanMap, dependentBeanName, canonicalName);
+	}
 
-		synchronized (this.dependenciesForBeanMap) {
-			Set<String> dependenciesForBean =
-					this.dependenciesForBeanMap.computeIfAbsent(dependentBeanName, k -> new LinkedHashSet<>(8));
-			dependenciesForBean.add(canonicalName);
+	/**
+	 * Add the given value to the Set registered under the given key,
+	 * replacing the immutable Set snapshot within the map lock.
+	 * <p>Checks for an existing registration without locking first, since
+	 * the same relationship gets registered over and over again for
+	 * prototype and scoped beans.
+	 * @return {@code true} if the value has been added,
+	 * {@code false} if it was already registered
+	 */
+	private static boolean addToSetInMap(Map<String, Set<String>> map, String key, String value) {
+		Set<String> existing = map.get(key);
+		if (existing != null && existing.contains(value)) {
+			return false;
+		}
+		synchronized (map) {
+			existing = map.get(key);
+			if (existing != null && existing.contains(value)) {
+				return false;
+			}
+			Set<String> updated = (existing != null ? new LinkedHashSet<>(existing) : new LinkedHashSet<>(8));
+			updated.add(value);
+			map.put(key, Collections.unmodifiableSet(updated));
+			return true;
 		}
 	}
 
@@ -471,9 +709,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @since 4.0
 	 */
 	protected boolean isDependent(String beanName, String dependentBeanName) {
-		synchronized (this.dependentBeanMap) {
-			return isDependent(beanName, dependentBeanName, null);
-		}
+		return isDependent(beanName, dependentBeanName, null);
 	}
 
 	private boolean isDependent(String beanName, String dependentBeanName, @Nullable Set<String> alreadySeen) {
@@ -518,9 +754,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (dependentBeans == null) {
 			return new String[0];
 		}
-		synchronized (this.dependentBeanMap) {
-			return StringUtils.toStringArray(dependentBeans);
-		}
+		return StringUtils.toStringArray(dependentBeans);
 	}
 
 	/**
@@ -534,9 +768,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (dependenciesForBean == null) {
 			return new String[0];
 		}
-		synchronized (this.dependenciesForBeanMap) {
-			return StringUtils.toStringArray(dependenciesForBean);
-		}
+		return StringUtils.toStringArray(dependenciesForBean);
 	}
 
 	public void destroySingletons() {
@@ -649,9 +881,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			for (Iterator<Map.Entry<String, Set<String>>> it = this.dependentBeanMap.entrySet().iterator(); it.hasNext();) {
 				Map.Entry<String, Set<String>> entry = it.next();
 				Set<String> dependenciesToClean = entry.getValue();
-				dependenciesToClean.remove(beanName);
-				if (dependenciesToClean.isEmpty()) {
-					it.remove();
+				if (dependenciesToClean.contains(beanName)) {
+					if (dependenciesToClean.size() == 1) {
+						it.remove();
+					}
+					else {
+						Set<String> updated = new LinkedHashSet<>(dependenciesToClean);
+						updated.remove(beanName);
+						entry.setValue(Collections.unmodifiableSet(updated));
+					}
 				}
 			}
 		}
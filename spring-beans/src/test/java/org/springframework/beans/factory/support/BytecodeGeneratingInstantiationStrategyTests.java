@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BytecodeGeneratingInstantiationStrategy}.
+ */
+class BytecodeGeneratingInstantiationStrategyTests {
+
+	private final BytecodeGeneratingInstantiationStrategy strategy = new BytecodeGeneratingInstantiationStrategy();
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@BeforeEach
+	void setup() {
+		this.beanFactory.setInstantiationStrategy(this.strategy);
+	}
+
+
+	@Test
+	void defaultConstructorIsCompiledAfterFirstInstantiation() throws Exception {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "tb");
+		this.beanFactory.registerBeanDefinition("tb", bd);
+
+		TestBean first = this.beanFactory.getBean("tb", TestBean.class);
+		assertThat(this.strategy.getCompiledConstructor(TestBean.class.getConstructor())).isNull();
+		TestBean second = this.beanFactory.getBean("tb", TestBean.class);
+		assertThat(this.strategy.getCompiledConstructor(TestBean.class.getConstructor())).isNotNull();
+		TestBean third = this.beanFactory.getBean("tb", TestBean.class);
+		assertThat(first).isNotSameAs(second).isNotSameAs(third);
+		assertThat(third.getName()).isEqualTo("tb");
+	}
+
+	@Test
+	void constructorWithArgumentsIsCompiled() throws Exception {
+		RootBeanDefinition bd = new RootBeanDefinition(ArgumentsBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addIndexedArgumentValue(0, "foo");
+		bd.getConstructorArgumentValues().addIndexedArgumentValue(1, "42");
+		bd.getConstructorArgumentValues().addIndexedArgumentValue(2, new String[] {"a", "b"});
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		for (int i = 0; i < 3; i++) {
+			ArgumentsBean bean = this.beanFactory.getBean("bean", ArgumentsBean.class);
+			assertThat(bean.name).isEqualTo("foo");
+			assertThat(bean.count).isEqualTo(42);
+			assertThat(bean.values).containsExactly("a", "b");
+		}
+		assertThat(this.strategy.getCompiledConstructor(
+				ArgumentsBean.class.getConstructor(String.class, int.class, String[].class))).isNotNull();
+	}
+
+	@Test
+	void compileThresholdIsRespected() throws Exception {
+		this.strategy.setCompileThreshold(3);
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("tb", bd);
+
+		for (int i = 0; i < 3; i++) {
+			this.beanFactory.getBean("tb");
+		}
+		assertThat(this.strategy.getCompiledConstructor(TestBean.class.getConstructor())).isNull();
+		this.beanFactory.getBean("tb");
+		assertThat(this.strategy.getCompiledConstructor(TestBean.class.getConstructor())).isNotNull();
+	}
+
+	@Test
+	void nonPublicClassIsInstantiatedReflectively() throws Exception {
+		RootBeanDefinition bd = new RootBeanDefinition(NonPublicBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(this.beanFactory.getBean("bean")).isInstanceOf(NonPublicBean.class);
+		}
+		assertThat(this.strategy.getCompiledConstructor(NonPublicBean.class.getDeclaredConstructor())).isNull();
+	}
+
+	@Test
+	void constructorExceptionIsWrapped() {
+		this.strategy.setCompileThreshold(0);
+		RootBeanDefinition bd = new RootBeanDefinition(FailingBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		for (int i = 0; i < 2; i++) {
+			assertThatExceptionOfType(BeanCreationException.class)
+					.isThrownBy(() -> this.beanFactory.getBean("bean"))
+					.withCauseInstanceOf(BeanInstantiationException.class)
+					.withRootCauseInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	@Test
+	void constructorErrorIsNotWrapped() throws Exception {
+		this.strategy.setCompileThreshold(0);
+		RootBeanDefinition bd = new RootBeanDefinition(ErrorBean.class);
+
+		assertThatExceptionOfType(ConstructionError.class).isThrownBy(() ->
+				this.strategy.instantiate(bd, "bean", this.beanFactory, ErrorBean.class.getConstructor()));
+		assertThat(this.strategy.getCompiledConstructor(ErrorBean.class.getConstructor())).isNotNull();
+	}
+
+	@Test
+	void generatedClassesAreHeldPerStrategy() throws Exception {
+		BytecodeGeneratingInstantiationStrategy otherStrategy = new BytecodeGeneratingInstantiationStrategy();
+		this.strategy.setCompileThreshold(0);
+		otherStrategy.setCompileThreshold(0);
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		this.strategy.instantiate(bd, "tb", this.beanFactory, TestBean.class.getConstructor());
+		otherStrategy.instantiate(bd, "tb", this.beanFactory, TestBean.class.getConstructor());
+
+		ClassLoader classLoader = this.strategy.getCompiledConstructor(TestBean.class.getConstructor())
+				.getClass().getClassLoader();
+		ClassLoader otherClassLoader = otherStrategy.getCompiledConstructor(TestBean.class.getConstructor())
+				.getClass().getClassLoader();
+		assertThat(classLoader).isNotSameAs(otherClassLoader);
+		assertThat(classLoader.getParent()).isSameAs(TestBean.class.getClassLoader());
+	}
+
+
+	public static class ArgumentsBean {
+
+		final String name;
+
+		final int count;
+
+		final String[] values;
+
+		public ArgumentsBean(String name, int count, String[] values) {
+			this.name = name;
+			this.count = count;
+			this.values = values;
+		}
+	}
+
+
+	static class NonPublicBean {
+	}
+
+
+	public static class FailingBean {
+
+		public FailingBean() {
+			throw new IllegalStateException("Construction failed");
+		}
+	}
+
+
+	public static class ErrorBean {
+
+		public ErrorBean() {
+			throw new ConstructionError();
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class ConstructionError extends Error {
+	}
+
+}
@@ -16,14 +16,23 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.testfixture.beans.DerivedTestBean;
 import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.lang.Nullable;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * @author Juergen Hoeller
@@ -101,4 +110,126 @@ public class DefaultSingletonBeanRegistryTests {
 		assertThat(beanRegistry.isDependent("c", "c")).isTrue();
 	}
 
+	@Test
+	public void testDependentRegistrationIsIdempotent() {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+
+		beanRegistry.registerDependentBean("a", "b");
+		beanRegistry.registerDependentBean("a", "c");
+		beanRegistry.registerDependentBean("a", "b");
+		assertThat(beanRegistry.getDependentBeans("a")).containsExactly("b", "c");
+		assertThat(beanRegistry.getDependenciesForBean("b")).containsExactly("a");
+
+		beanRegistry.destroySingleton("b");
+		assertThat(beanRegistry.getDependentBeans("a")).containsExactly("c");
+	}
+
+	@Test
+	public void testRegistryAccessDuringSingletonCreationInOtherThread() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		TestBean tb = new TestBean();
+
+		CompletableFuture<Object> creation = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("tb", () -> {
+					inCreation.countDown();
+					try {
+						proceed.await(10, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					return tb;
+				}));
+		assertThat(inCreation.await(10, TimeUnit.SECONDS)).isTrue();
+
+		// Neither lookups nor manual registration block on the ongoing creation
+		assertThat(beanRegistry.isSingletonCurrentlyInCreation("tb")).isTrue();
+		assertThat(beanRegistry.getSingleton("tb")).isNull();
+		beanRegistry.registerSingleton("other", new TestBean());
+		assertThat(beanRegistry.getSingletonNames()).containsExactly("other");
+
+		proceed.countDown();
+		assertThat(creation.get(10, TimeUnit.SECONDS)).isSameAs(tb);
+		assertThat(beanRegistry.getSingleton("tb")).isSameAs(tb);
+		assertThat(beanRegistry.getSingletonCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testRegistrationRejectedDuringSingletonCreationInOtherThread() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		TestBean tb = new TestBean();
+
+		CompletableFuture<Object> creation = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("tb", () -> {
+					inCreation.countDown();
+					try {
+						proceed.await(10, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					return tb;
+				}));
+		assertThat(inCreation.await(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThatIllegalStateException().isThrownBy(() -> beanRegistry.registerSingleton("tb", new TestBean()));
+
+		proceed.countDown();
+		assertThat(creation.get(10, TimeUnit.SECONDS)).isSameAs(tb);
+		assertThat(beanRegistry.getSingleton("tb")).isSameAs(tb);
+	}
+
+	@Test
+	public void testConcurrentRegistrationAndCreationYieldSingleInstance() throws Exception {
+		for (int i = 0; i < 1000; i++) {
+			DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+			CyclicBarrier barrier = new CyclicBarrier(2);
+			TestBean registered = new TestBean();
+
+			CompletableFuture<Object> creation = CompletableFuture.supplyAsync(() -> {
+				await(barrier);
+				return beanRegistry.getSingleton("tb", TestBean::new);
+			});
+			CompletableFuture<Object> registration = CompletableFuture.supplyAsync(() -> {
+				await(barrier);
+				beanRegistry.registerSingleton("tb", registered);
+				return registered;
+			});
+
+			Object created = getOrNull(creation);
+			Object singleton = getOrNull(registration);
+			if (created != null) {
+				assertThat(singleton == null || singleton == created).as("single instance").isTrue();
+				singleton = created;
+			}
+			assertThat(singleton).isNotNull();
+			assertThat(beanRegistry.getSingleton("tb")).isSameAs(singleton);
+		}
+	}
+
+	@Nullable
+	private static Object getOrNull(CompletableFuture<Object> future) throws Exception {
+		try {
+			return future.get(10, TimeUnit.SECONDS);
+		}
+		catch (ExecutionException ex) {
+			// Either side may lose the race, as long as it fails
+			assertThat(ex.getCause()).isInstanceOfAny(IllegalStateException.class, BeanCreationException.class);
+			return null;
+		}
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await(10, TimeUnit.SECONDS);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
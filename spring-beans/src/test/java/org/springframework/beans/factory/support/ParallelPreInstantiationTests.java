@@ -0,0 +1,266 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for parallel pre-instantiation of singletons through
+ * {@link DefaultListableBeanFactory#setBootstrapExecutor}.
+ */
+class ParallelPreInstantiationTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final Map<String, Thread> creationThreads = new ConcurrentHashMap<>();
+
+	private final Map<String, AtomicInteger> creationCounts = new ConcurrentHashMap<>();
+
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void independentSingletonsAreCreatedInParallel() {
+		CountDownLatch latch = new CountDownLatch(2);
+		registerBean("bean1", () -> awaitOther(latch, "bean1"));
+		registerBean("bean2", () -> awaitOther(latch, "bean2"));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(latch.getCount()).isEqualTo(0L);
+		assertThat(this.creationThreads.get("bean1")).isNotSameAs(this.creationThreads.get("bean2"));
+		assertThat(this.creationThreads.get("bean1")).isNotSameAs(Thread.currentThread());
+	}
+
+	@Test
+	void dependsOnKeepsBeansInSameSubgraph() {
+		List<String> order = new ArrayList<>();
+		registerBean("bean1", () -> record(order, "bean1"));
+		registerBean("bean2", () -> record(order, "bean2"));
+		this.beanFactory.getBeanDefinition("bean1").setDependsOn("bean2");
+		registerBean("bean3", () -> "bean3");
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(order).containsExactly("bean2", "bean1");
+		assertThat(this.creationThreads.get("bean1")).isSameAs(this.creationThreads.get("bean2"));
+	}
+
+	@Test
+	void referenceAcrossSubgraphsWaitsForCreation() {
+		RootBeanDefinition holder = new RootBeanDefinition(Holder.class);
+		holder.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("slow"));
+		this.beanFactory.registerBeanDefinition("holder", holder);
+		registerBean("slow", () -> {
+			sleep(100);
+			return "slow";
+		});
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(this.beanFactory.getBean("holder", Holder.class).value).isSameAs(this.beanFactory.getBean("slow"));
+	}
+
+	@Test
+	void sharedDependencyOfTwoRootsIsCreatedOnce() {
+		registerNode("root1", "common", null);
+		registerNode("root2", "common", null);
+		registerNode("common", null, () -> sleep(50));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		Node common = this.beanFactory.getBean("common", Node.class);
+		assertThat(this.beanFactory.getBean("root1", Node.class).ref).isSameAs(common);
+		assertThat(this.beanFactory.getBean("root2", Node.class).ref).isSameAs(common);
+		assertThat(this.creationCounts.get("common").get()).isEqualTo(1);
+	}
+
+	@Test
+	void circularReferenceAcrossThreadsCreatesEachSingletonOnce() {
+		CountDownLatch root2Created = new CountDownLatch(1);
+		registerNode("root1", "common", null);
+		registerNode("root2", "common", root2Created::countDown);
+		// Make sure that root2 is in creation elsewhere when common references it
+		registerNode("common", "root2", () -> await(root2Created));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		Node common = this.beanFactory.getBean("common", Node.class);
+		Node root2 = this.beanFactory.getBean("root2", Node.class);
+		assertThat(this.beanFactory.getBean("root1", Node.class).ref).isSameAs(common);
+		assertThat(root2.ref).isSameAs(common);
+		assertThat(common.ref).isSameAs(root2);
+		assertThat(this.creationCounts).allSatisfy((beanName, count) -> assertThat(count.get()).isEqualTo(1));
+	}
+
+	@Test
+	void smartInitializingSingletonsAreCalledInRegistrationOrder() {
+		List<String> callbacks = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			String beanName = "bean" + i;
+			this.beanFactory.registerBeanDefinition(beanName, new RootBeanDefinition(Callback.class,
+					() -> new Callback(() -> callbacks.add(beanName))));
+		}
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(callbacks).containsExactly("bean0", "bean1", "bean2", "bean3", "bean4", "bean5", "bean6", "bean7");
+	}
+
+	@Test
+	void creationFailureIsPropagated() {
+		registerBean("bean1", () -> "bean1");
+		registerBean("bean2", () -> {
+			throw new IllegalStateException("boom");
+		});
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+				this.beanFactory::preInstantiateSingletons)
+			.withMessageContaining("bean2");
+	}
+
+
+	private void registerBean(String beanName, Supplier<Object> supplier) {
+		this.beanFactory.registerBeanDefinition(beanName, new RootBeanDefinition(Object.class, () -> {
+			this.creationThreads.put(beanName, Thread.currentThread());
+			return supplier.get();
+		}));
+	}
+
+	private void registerNode(String beanName, @Nullable String ref, @Nullable Runnable onCreation) {
+		AtomicInteger count = new AtomicInteger();
+		this.creationCounts.put(beanName, count);
+		RootBeanDefinition bd = new RootBeanDefinition(Node.class, () -> {
+			count.incrementAndGet();
+			if (onCreation != null) {
+				onCreation.run();
+			}
+			return new Node();
+		});
+		if (ref != null) {
+			bd.getPropertyValues().add("ref", new RuntimeBeanReference(ref));
+		}
+		this.beanFactory.registerBeanDefinition(beanName, bd);
+	}
+
+	private static Object awaitOther(CountDownLatch latch, String value) {
+		latch.countDown();
+		try {
+			// Only returns early if the other bean gets created concurrently
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return value;
+	}
+
+	private static Object record(List<String> order, String value) {
+		synchronized (order) {
+			order.add(value);
+		}
+		return value;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	static class Holder {
+
+		final Object value;
+
+		Holder(Object value) {
+			this.value = value;
+		}
+	}
+
+
+	public static class Node {
+
+		@Nullable
+		Object ref;
+
+		public void setRef(Object ref) {
+			this.ref = ref;
+		}
+	}
+
+
+	static class Callback implements SmartInitializingSingleton {
+
+		private final Runnable callback;
+
+		Callback(Runnable callback) {
+			this.callback = callback;
+		}
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.callback.run();
+		}
+	}
+
+}
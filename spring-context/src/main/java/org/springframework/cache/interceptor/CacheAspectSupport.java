@@ -84,6 +84,9 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean flightRecorderPresent =
+			ClassUtils.isPresent("jdk.jfr.Event", CacheAspectSupport.class.getClassLoader());
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
@@ -379,7 +382,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
 				Cache cache = context.getCaches().iterator().next();
 				try {
-					return wrapCacheValue(method, handleSynchronizedGet(invoker, key, cache));
+					return wrapCacheValue(method, handleSynchronizedGet(invoker, key, cache, method));
 				}
 				catch (Cache.ValueRetrievalException ex) {
 					// Directly propagate ThrowableWrapper from the invoker,
@@ -437,8 +440,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	@Nullable
-	private Object handleSynchronizedGet(CacheOperationInvoker invoker, Object key, Cache cache) {
+	private Object handleSynchronizedGet(CacheOperationInvoker invoker, Object key, Cache cache, Method method) {
 		InvocationAwareResult invocationResult = new InvocationAwareResult();
+		FlightRecorderCacheEvent event = beginFlightRecorderEvent();
 		Object result = cache.get(key, () -> {
 			invocationResult.invoked = true;
 			if (logger.isTraceEnabled()) {
@@ -446,6 +450,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			return unwrapReturnValue(invokeOperation(invoker));
 		});
+		if (event != null) {
+			event.end(invocationResult.invoked ? FlightRecorderCacheEvent.MISS : FlightRecorderCacheEvent.HIT,
+					cache, method);
+		}
 		if (!invocationResult.invoked && logger.isTraceEnabled()) {
 			logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
 		}
@@ -568,7 +576,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private Cache.ValueWrapper findInCaches(CacheOperationContext context, Object key) {
 		for (Cache cache : context.getCaches()) {
+			FlightRecorderCacheEvent event = beginFlightRecorderEvent();
 			Cache.ValueWrapper wrapper = doGet(cache, key);
+			if (event != null) {
+				event.end(wrapper != null ? FlightRecorderCacheEvent.HIT : FlightRecorderCacheEvent.MISS,
+						cache, context.metadata.method);
+			}
 			if (wrapper != null) {
 				if (logger.isTraceEnabled()) {
 					logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
@@ -579,6 +592,15 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return null;
 	}
 
+	/**
+	 * Begin a Flight Recorder event for a cache operation, if Flight Recorder
+	 * is available and the event type is enabled.
+	 */
+	@Nullable
+	private static FlightRecorderCacheEvent beginFlightRecorderEvent() {
+		return (flightRecorderPresent ? FlightRecorderCacheEvent.PROBE.beginIfEnabled() : null);
+	}
+
 	private boolean isConditionPassing(CacheOperationContext context, @Nullable Object result) {
 		boolean passing = context.isConditionPassing(result);
 		if (!passing && logger.isTraceEnabled()) {
@@ -834,7 +856,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		public void apply(@Nullable Object result) {
 			if (this.context.canPutToCache(result)) {
 				for (Cache cache : this.context.getCaches()) {
+					FlightRecorderCacheEvent event = beginFlightRecorderEvent();
 					doPut(cache, this.key, result);
+					if (event != null) {
+						event.end(FlightRecorderCacheEvent.PUT, cache, this.context.metadata.method);
+					}
 				}
 			}
 		}
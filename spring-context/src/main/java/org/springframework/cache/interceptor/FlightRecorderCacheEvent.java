@@ -0,0 +1,83 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.metrics.jfr.FlightRecorderEventProbe;
+
+/**
+ * Java Flight Recorder {@link Event} for a cache hit, miss or put performed
+ * by {@link CacheAspectSupport} on behalf of a cached method.
+ *
+ * <p>One event is recorded per cache accessed: a lookup in several caches
+ * records a miss for each cache before the one that holds the entry, and a
+ * put records one event per target cache. For a {@code sync} lookup, the
+ * event covers the cache's value loading and therefore the method invocation.
+ *
+ * @since 5.3
+ */
+@Category({"Spring Application", "Cache"})
+@Label("Cache Operation")
+@Description("Cache hit, miss or put for a cached method")
+@StackTrace(false)
+final class FlightRecorderCacheEvent extends Event {
+
+	static final String HIT = "hit";
+
+	static final String MISS = "miss";
+
+	static final String PUT = "put";
+
+	static final FlightRecorderEventProbe<FlightRecorderCacheEvent> PROBE =
+			new FlightRecorderEventProbe<>(FlightRecorderCacheEvent::new);
+
+
+	@Label("Result")
+	String result;
+
+	@Label("Cache Name")
+	String cacheName;
+
+	@Label("Method")
+	String method;
+
+
+	/**
+	 * End and commit this event.
+	 * @param result one of {@link #HIT}, {@link #MISS} or {@link #PUT}
+	 * @param cache the cache operated on
+	 * @param method the cached method
+	 */
+	void end(String result, Cache cache, Method method) {
+		end();
+		if (shouldCommit()) {
+			this.result = result;
+			this.cacheName = cache.getName();
+			this.method = method.getDeclaringClass().getName() + "." + method.getName();
+			commit();
+		}
+	}
+
+}
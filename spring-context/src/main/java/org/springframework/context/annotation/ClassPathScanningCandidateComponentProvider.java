@@ -23,6 +23,8 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +37,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -88,6 +91,18 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	/**
+	 * System property that instructs Spring to read class metadata in parallel
+	 * during classpath scanning by default: {@code spring.scanning.parallel}.
+	 * <p>The property can also be configured in a {@link SpringProperties} file.
+	 * @since 5.3
+	 * @see #setParallelScanning
+	 */
+	public static final String PARALLEL_SCANNING_PROPERTY_NAME = "spring.scanning.parallel";
+
+	/** Maximum number of resources to read per parallel scanning task. */
+	private static final int PARALLEL_SCANNING_THRESHOLD = 32;
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -112,6 +127,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Nullable
 	private CandidateComponentsIndex componentsIndex;
 
+	private boolean parallelScanning = SpringProperties.getFlag(PARALLEL_SCANNING_PROPERTY_NAME);
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -294,6 +311,28 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		this.metadataReaderFactory = metadataReaderFactory;
 	}
 
+	/**
+	 * Specify whether to read the metadata of scanned classes in parallel,
+	 * using the common {@link ForkJoinPool}.
+	 * <p>Default is "false", unless the {@value #PARALLEL_SCANNING_PROPERTY_NAME}
+	 * property has been set to "true". Type filters and conditions are applied
+	 * on the calling thread in either case, in the order of the scanned resources;
+	 * in parallel mode, the {@link #setMetadataReaderFactory MetadataReaderFactory}
+	 * needs to be thread-safe (as the default {@link CachingMetadataReaderFactory} is).
+	 * @since 5.3
+	 */
+	public void setParallelScanning(boolean parallelScanning) {
+		this.parallelScanning = parallelScanning;
+	}
+
+	/**
+	 * Return whether the metadata of scanned classes is read in parallel.
+	 * @since 5.3
+	 */
+	public boolean isParallelScanning() {
+		return this.parallelScanning;
+	}
+
 	/**
 	 * Return the MetadataReaderFactory used by this component provider.
 	 */
@@ -423,13 +462,20 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 			Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
-			for (Resource resource : resources) {
+			MetadataReader[] metadataReaders = null;
+			if (this.parallelScanning && resources.length > 1) {
+				metadataReaders = new MetadataReader[resources.length];
+				ForkJoinPool.commonPool().invoke(new MetadataReadingTask(resources, metadataReaders, 0, resources.length));
+			}
+			for (int i = 0; i < resources.length; i++) {
+				Resource resource = resources[i];
 				if (traceEnabled) {
 					logger.trace("Scanning " + resource);
 				}
-				if (resource.isReadable()) {
+				if (metadataReaders != null ? metadataReaders[i] != null : resource.isReadable()) {
 					try {
-						MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+						MetadataReader metadataReader = (metadataReaders != null ? metadataReaders[i] :
+								getMetadataReaderFactory().getMetadataReader(resource));
 						if (isCandidateComponent(metadataReader)) {
 							ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
 							sbd.setSource(resource);
@@ -543,4 +589,50 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		}
 	}
 
+
+	/**
+	 * Reads the metadata for a range of resources, splitting larger ranges
+	 * into subtasks. Unreadable resources are left as {@code null}.
+	 */
+	@SuppressWarnings("serial")
+	private class MetadataReadingTask extends RecursiveAction {
+
+		private final Resource[] resources;
+
+		private final MetadataReader[] metadataReaders;
+
+		private final int start;
+
+		private final int end;
+
+		MetadataReadingTask(Resource[] resources, MetadataReader[] metadataReaders, int start, int end) {
+			this.resources = resources;
+			this.metadataReaders = metadataReaders;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start > PARALLEL_SCANNING_THRESHOLD) {
+				int middle = (this.start + this.end) >>> 1;
+				invokeAll(new MetadataReadingTask(this.resources, this.metadataReaders, this.start, middle),
+						new MetadataReadingTask(this.resources, this.metadataReaders, middle, this.end));
+				return;
+			}
+			for (int i = this.start; i < this.end; i++) {
+				Resource resource = this.resources[i];
+				if (resource.isReadable()) {
+					try {
+						this.metadataReaders[i] = getMetadataReaderFactory().getMetadataReader(resource);
+					}
+					catch (Throwable ex) {
+						throw new BeanDefinitionStoreException(
+								"Failed to read candidate component class: " + resource, ex);
+					}
+				}
+			}
+		}
+	}
+
 }
@@ -37,6 +37,7 @@ import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
@@ -57,6 +58,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
@@ -98,7 +101,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	public static final AnnotationBeanNameGenerator IMPORT_BEAN_NAME_GENERATOR =
 			new FullyQualifiedAnnotationBeanNameGenerator();
 
-	private static final String IMPORT_REGISTRY_BEAN_NAME =
+	static final String IMPORT_REGISTRY_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
 
 
@@ -317,21 +320,29 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 		Set<BeanDefinitionHolder> candidates = new LinkedHashSet<>(configCandidates);
 		Set<ConfigurationClass> alreadyParsed = new HashSet<>(configCandidates.size());
+		ApplicationStartup applicationStartup = getApplicationStartup(registry);
 		do {
-			parser.parse(candidates);
-			parser.validate();
-
-			Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
-			configClasses.removeAll(alreadyParsed);
-
-			// Read the model and create bean definitions based on its content
-			if (this.reader == null) {
-				this.reader = new ConfigurationClassBeanDefinitionReader(
-						registry, this.sourceExtractor, this.resourceLoader, this.environment,
-						this.importBeanNameGenerator, parser.getImportRegistry());
+			StartupStep processConfig = applicationStartup.start("spring.context.config-classes.parse");
+			try {
+				parser.parse(candidates);
+				parser.validate();
+
+				Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
+				configClasses.removeAll(alreadyParsed);
+
+				// Read the model and create bean definitions based on its content
+				if (this.reader == null) {
+					this.reader = new ConfigurationClassBeanDefinitionReader(
+							registry, this.sourceExtractor, this.resourceLoader, this.environment,
+							this.importBeanNameGenerator, parser.getImportRegistry());
+				}
+				this.reader.loadBeanDefinitions(configClasses);
+				alreadyParsed.addAll(configClasses);
+				processConfig.tag("classCount", () -> String.valueOf(configClasses.size()));
+			}
+			finally {
+				processConfig.end();
 			}
-			this.reader.loadBeanDefinitions(configClasses);
-			alreadyParsed.addAll(configClasses);
 
 			candidates.clear();
 			if (registry.getBeanDefinitionCount() > candidateNames.length) {
@@ -374,65 +385,77 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	 * @see ConfigurationClassEnhancer
 	 */
 	public void enhanceConfigurationClasses(ConfigurableListableBeanFactory beanFactory) {
-		Map<String, AbstractBeanDefinition> configBeanDefs = new LinkedHashMap<>();
-		for (String beanName : beanFactory.getBeanDefinitionNames()) {
-			BeanDefinition beanDef = beanFactory.getBeanDefinition(beanName);
-			Object configClassAttr = beanDef.getAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE);
-			MethodMetadata methodMetadata = null;
-			if (beanDef instanceof AnnotatedBeanDefinition) {
-				methodMetadata = ((AnnotatedBeanDefinition) beanDef).getFactoryMethodMetadata();
-			}
-			if ((configClassAttr != null || methodMetadata != null) && beanDef instanceof AbstractBeanDefinition) {
-				// Configuration class (full or lite) or a configuration-derived @Bean method
-				// -> resolve bean class at this point...
-				AbstractBeanDefinition abd = (AbstractBeanDefinition) beanDef;
-				if (!abd.hasBeanClass()) {
-					try {
-						abd.resolveBeanClass(this.beanClassLoader);
+		StartupStep enhanceConfigClasses = beanFactory.getApplicationStartup().start("spring.context.config-classes.enhance");
+		try {
+			Map<String, AbstractBeanDefinition> configBeanDefs = new LinkedHashMap<>();
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				BeanDefinition beanDef = beanFactory.getBeanDefinition(beanName);
+				Object configClassAttr = beanDef.getAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE);
+				MethodMetadata methodMetadata = null;
+				if (beanDef instanceof AnnotatedBeanDefinition) {
+					methodMetadata = ((AnnotatedBeanDefinition) beanDef).getFactoryMethodMetadata();
+				}
+				if ((configClassAttr != null || methodMetadata != null) && beanDef instanceof AbstractBeanDefinition) {
+					// Configuration class (full or lite) or a configuration-derived @Bean method
+					// -> resolve bean class at this point...
+					AbstractBeanDefinition abd = (AbstractBeanDefinition) beanDef;
+					if (!abd.hasBeanClass()) {
+						try {
+							abd.resolveBeanClass(this.beanClassLoader);
+						}
+						catch (Throwable ex) {
+							throw new IllegalStateException(
+									"Cannot load configuration class: " + beanDef.getBeanClassName(), ex);
+						}
+					}
+				}
+				if (ConfigurationClassUtils.CONFIGURATION_CLASS_FULL.equals(configClassAttr)) {
+					if (!(beanDef instanceof AbstractBeanDefinition)) {
+						throw new BeanDefinitionStoreException("Cannot enhance @Configuration bean definition '" +
+								beanName + "' since it is not stored in an AbstractBeanDefinition subclass");
 					}
-					catch (Throwable ex) {
-						throw new IllegalStateException(
-								"Cannot load configuration class: " + beanDef.getBeanClassName(), ex);
+					else if (logger.isInfoEnabled() && beanFactory.containsSingleton(beanName)) {
+						logger.info("Cannot enhance @Configuration bean definition '" + beanName +
+								"' since its singleton instance has been created too early. The typical cause " +
+								"is a non-static @Bean method with a BeanDefinitionRegistryPostProcessor " +
+								"return type: Consider declaring such methods as 'static'.");
 					}
+					configBeanDefs.put(beanName, (AbstractBeanDefinition) beanDef);
 				}
 			}
-			if (ConfigurationClassUtils.CONFIGURATION_CLASS_FULL.equals(configClassAttr)) {
-				if (!(beanDef instanceof AbstractBeanDefinition)) {
-					throw new BeanDefinitionStoreException("Cannot enhance @Configuration bean definition '" +
-							beanName + "' since it is not stored in an AbstractBeanDefinition subclass");
-				}
-				else if (logger.isInfoEnabled() && beanFactory.containsSingleton(beanName)) {
-					logger.info("Cannot enhance @Configuration bean definition '" + beanName +
-							"' since its singleton instance has been created too early. The typical cause " +
-							"is a non-static @Bean method with a BeanDefinitionRegistryPostProcessor " +
-							"return type: Consider declaring such methods as 'static'.");
-				}
-				configBeanDefs.put(beanName, (AbstractBeanDefinition) beanDef);
+			if (configBeanDefs.isEmpty()) {
+				// nothing to enhance -> return immediately
+				return;
 			}
-		}
-		if (configBeanDefs.isEmpty()) {
-			// nothing to enhance -> return immediately
-			return;
-		}
 
-		ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
-		for (Map.Entry<String, AbstractBeanDefinition> entry : configBeanDefs.entrySet()) {
-			AbstractBeanDefinition beanDef = entry.getValue();
-			// If a @Configuration class gets proxied, always proxy the target class
-			beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
-			// Set enhanced subclass of the user-specified bean class
-			Class<?> configClass = beanDef.getBeanClass();
-			Class<?> enhancedClass = enhancer.enhance(configClass, this.beanClassLoader);
-			if (configClass != enhancedClass) {
-				if (logger.isTraceEnabled()) {
-					logger.trace(String.format("Replacing bean definition '%s' existing class '%s' with " +
-							"enhanced class '%s'", entry.getKey(), configClass.getName(), enhancedClass.getName()));
+			ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
+			for (Map.Entry<String, AbstractBeanDefinition> entry : configBeanDefs.entrySet()) {
+				AbstractBeanDefinition beanDef = entry.getValue();
+				// If a @Configuration class gets proxied, always proxy the target class
+				beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
+				// Set enhanced subclass of the user-specified bean class
+				Class<?> configClass = beanDef.getBeanClass();
+				Class<?> enhancedClass = enhancer.enhance(configClass, this.beanClassLoader);
+				if (configClass != enhancedClass) {
+					if (logger.isTraceEnabled()) {
+						logger.trace(String.format("Replacing bean definition '%s' existing class '%s' with " +
+								"enhanced class '%s'", entry.getKey(), configClass.getName(), enhancedClass.getName()));
+					}
+					beanDef.setBeanClass(enhancedClass);
 				}
-				beanDef.setBeanClass(enhancedClass);
 			}
+			enhanceConfigClasses.tag("classCount", () -> String.valueOf(configBeanDefs.size()));
+		}
+		finally {
+			enhanceConfigClasses.end();
 		}
 	}
 
+	private static ApplicationStartup getApplicationStartup(BeanDefinitionRegistry registry) {
+		return (registry instanceof ConfigurableBeanFactory ?
+				((ConfigurableBeanFactory) registry).getApplicationStartup() : ApplicationStartup.DEFAULT);
+	}
+
 
 	private static class ImportAwareBeanPostProcessor extends InstantiationAwareBeanPostProcessorAdapter {
 
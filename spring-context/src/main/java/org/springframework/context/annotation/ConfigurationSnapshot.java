@@ -0,0 +1,748 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.CannotLoadBeanClassException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Build-time snapshot of the bean definitions that {@link ConfigurationClassPostProcessor}
+ * derives from a set of component classes and scanned packages, for a fixed set of
+ * active profiles.
+ *
+ * <p>A snapshot captures the outcome of the whole configuration phase: parsed
+ * {@link Configuration @Configuration} classes and their {@link Bean @Bean} methods,
+ * scanned components, {@link Conditional @Conditional} decisions as evaluated for the
+ * recorded profiles, the import graph that backs {@link ImportAware} callbacks and the
+ * contents of any {@link PropertySource @PropertySource} declarations. It can be written
+ * during the build through {@link #main} and loaded at runtime by a
+ * {@link ConfigurationSnapshotApplicationContext}, which then does not need to parse
+ * configuration classes or scan the classpath anymore. This extends the idea of the
+ * {@code META-INF/spring.components} index to the entire configuration phase.
+ *
+ * <p>Only bean definitions whose values are simple types and bean references can be
+ * captured: strings, primitive wrappers, classes, enums, typed string values and
+ * runtime bean references. Definitions with instance suppliers, inner beans, managed
+ * collections, qualifiers or method overrides are rejected when the snapshot is
+ * created, so that unsupported configuration fails the build rather than the
+ * application at runtime.
+ *
+ * <p>The snapshot is stored in {@link Properties} format, with bean definitions kept
+ * in registration order.
+ *
+ * @since 5.3
+ * @see ConfigurationSnapshotApplicationContext
+ * @see #create(AnnotationConfigApplicationContext)
+ */
+public final class ConfigurationSnapshot {
+
+	/**
+	 * The location to look for a snapshot by default, relative to the classpath root.
+	 */
+	public static final String DEFAULT_SNAPSHOT_LOCATION = "META-INF/spring/configuration-snapshot.properties";
+
+	private static final String FORMAT_VERSION = "1";
+
+	private static final String RESOURCE_DESCRIPTION = "configuration snapshot";
+
+
+	private final Properties properties;
+
+
+	private ConfigurationSnapshot(Properties properties) {
+		String version = properties.getProperty("version");
+		if (!FORMAT_VERSION.equals(version)) {
+			throw new BeanDefinitionStoreException(
+					"Unsupported configuration snapshot version [" + version + "]: expected " + FORMAT_VERSION);
+		}
+		this.properties = properties;
+	}
+
+
+	/**
+	 * Return the profiles that were active when this snapshot was created.
+	 */
+	public String[] getActiveProfiles() {
+		return StringUtils.commaDelimitedListToStringArray(this.properties.getProperty("profiles"));
+	}
+
+	/**
+	 * Return the number of bean definitions captured in this snapshot.
+	 */
+	public int getBeanDefinitionCount() {
+		return getInt("bean.count");
+	}
+
+	/**
+	 * Activate the recorded profiles in the given {@link ConfigurableEnvironment}
+	 * and add the recorded {@link PropertySource @PropertySource} contents to it,
+	 * in the order in which configuration class processing added them.
+	 * @param environment the environment to prepare
+	 */
+	public void applyTo(ConfigurableEnvironment environment) {
+		environment.setActiveProfiles(getActiveProfiles());
+		MutablePropertySources propertySources = environment.getPropertySources();
+		int count = getInt("propertySource.count");
+		for (int i = 0; i < count; i++) {
+			String prefix = "propertySource." + i + ".";
+			String name = this.properties.getProperty(prefix + "name");
+			if (!propertySources.contains(name)) {
+				int size = getInt(prefix + "count");
+				Map<String, Object> source = new LinkedHashMap<>(size);
+				for (int j = 0; j < size; j++) {
+					source.put(this.properties.getProperty(prefix + "key." + j),
+							this.properties.getProperty(prefix + "value." + j));
+				}
+				propertySources.addLast(new MapPropertySource(name, source));
+			}
+		}
+	}
+
+	/**
+	 * Register the bean definitions captured in this snapshot with the given registry,
+	 * including their aliases.
+	 * @param registry the registry to populate
+	 * @param classLoader the ClassLoader to resolve bean classes and class values with
+	 * @throws BeanDefinitionStoreException in case of an invalid snapshot entry
+	 */
+	public void registerBeanDefinitions(BeanDefinitionRegistry registry, @Nullable ClassLoader classLoader) {
+		int count = getBeanDefinitionCount();
+		Map<String, String> decoratedDefinitions = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			String prefix = "bean." + i + ".";
+			String beanName = this.properties.getProperty(prefix + "name");
+			AbstractBeanDefinition beanDefinition = readBeanDefinition(prefix, beanName, classLoader);
+			registry.registerBeanDefinition(beanName, beanDefinition);
+			for (String alias : StringUtils.commaDelimitedListToStringArray(
+					this.properties.getProperty(prefix + "aliases"))) {
+				registry.registerAlias(beanName, alias);
+			}
+			String decorated = this.properties.getProperty(prefix + "decoratedDefinition");
+			if (decorated != null) {
+				decoratedDefinitions.put(beanName, decorated);
+			}
+		}
+		decoratedDefinitions.forEach((beanName, decorated) -> {
+			BeanDefinitionHolder holder = new BeanDefinitionHolder(
+					registry.getBeanDefinition(decorated), decorated, registry.getAliases(decorated));
+			((RootBeanDefinition) registry.getBeanDefinition(beanName)).setDecoratedDefinition(holder);
+		});
+	}
+
+	/**
+	 * Create an {@link ImportRegistry} that answers from the recorded import graph,
+	 * for registration in place of the one that configuration class parsing builds.
+	 */
+	ImportRegistry createImportRegistry(@Nullable ClassLoader classLoader) {
+		Map<String, String> imports = new ConcurrentHashMap<>();
+		int count = getInt("import.count");
+		for (int i = 0; i < count; i++) {
+			imports.put(this.properties.getProperty("import." + i + ".imported"),
+					this.properties.getProperty("import." + i + ".importing"));
+		}
+		return new SnapshotImportRegistry(imports, classLoader);
+	}
+
+	/**
+	 * Write this snapshot to the given stream in {@link Properties} format.
+	 * The stream is left open.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		this.properties.store(out, "Spring configuration snapshot");
+	}
+
+
+	private AbstractBeanDefinition readBeanDefinition(String prefix, String beanName, @Nullable ClassLoader classLoader) {
+		Properties props = this.properties;
+		String parentName = props.getProperty(prefix + "parent");
+		boolean beanMethod = Boolean.parseBoolean(props.getProperty(prefix + "beanMethod"));
+		AbstractBeanDefinition bd;
+		if (parentName != null) {
+			GenericBeanDefinition gbd = new GenericBeanDefinition();
+			gbd.setParentName(parentName);
+			bd = gbd;
+		}
+		else {
+			bd = new SnapshotBeanDefinition(beanMethod);
+		}
+
+		String className = props.getProperty(prefix + "class");
+		bd.setBeanClassName(className);
+		bd.setScope(props.getProperty(prefix + "scope"));
+		bd.setAbstract(Boolean.parseBoolean(props.getProperty(prefix + "abstract")));
+		String lazyInit = props.getProperty(prefix + "lazyInit");
+		if (lazyInit != null) {
+			bd.setLazyInit(Boolean.parseBoolean(lazyInit));
+		}
+		bd.setAutowireMode(getInt(prefix + "autowireMode"));
+		bd.setDependencyCheck(getInt(prefix + "dependencyCheck"));
+		String dependsOn = props.getProperty(prefix + "dependsOn");
+		if (dependsOn != null) {
+			bd.setDependsOn(StringUtils.commaDelimitedListToStringArray(dependsOn));
+		}
+		bd.setAutowireCandidate(Boolean.parseBoolean(props.getProperty(prefix + "autowireCandidate")));
+		bd.setPrimary(Boolean.parseBoolean(props.getProperty(prefix + "primary")));
+		bd.setNonPublicAccessAllowed(Boolean.parseBoolean(props.getProperty(prefix + "nonPublicAccessAllowed")));
+		bd.setLenientConstructorResolution(
+				Boolean.parseBoolean(props.getProperty(prefix + "lenientConstructorResolution")));
+		bd.setFactoryBeanName(props.getProperty(prefix + "factoryBean"));
+		String factoryMethodName = props.getProperty(prefix + "factoryMethod");
+		if (factoryMethodName != null && beanMethod) {
+			((RootBeanDefinition) bd).setUniqueFactoryMethodName(factoryMethodName);
+		}
+		else {
+			bd.setFactoryMethodName(factoryMethodName);
+		}
+		bd.setInitMethodName(props.getProperty(prefix + "initMethod"));
+		bd.setEnforceInitMethod(Boolean.parseBoolean(props.getProperty(prefix + "enforceInitMethod")));
+		bd.setDestroyMethodName(props.getProperty(prefix + "destroyMethod"));
+		bd.setEnforceDestroyMethod(Boolean.parseBoolean(props.getProperty(prefix + "enforceDestroyMethod")));
+		bd.setSynthetic(Boolean.parseBoolean(props.getProperty(prefix + "synthetic")));
+		bd.setRole(getInt(prefix + "role"));
+		bd.setDescription(props.getProperty(prefix + "description"));
+		bd.setResourceDescription(props.getProperty(prefix + "resourceDescription"));
+
+		int attributeCount = getInt(prefix + "attribute.count");
+		for (int i = 0; i < attributeCount; i++) {
+			String attributePrefix = prefix + "attribute." + i + ".";
+			bd.setAttribute(props.getProperty(attributePrefix + "name"),
+					decodeValue(props.getProperty(attributePrefix + "value"), beanName, classLoader));
+		}
+		int propertyCount = getInt(prefix + "property.count");
+		for (int i = 0; i < propertyCount; i++) {
+			String propertyPrefix = prefix + "property." + i + ".";
+			bd.getPropertyValues().add(props.getProperty(propertyPrefix + "name"),
+					decodeValue(props.getProperty(propertyPrefix + "value"), beanName, classLoader));
+		}
+		int argumentCount = getInt(prefix + "constructorArgument.count");
+		for (int i = 0; i < argumentCount; i++) {
+			String argumentPrefix = prefix + "constructorArgument." + i + ".";
+			ValueHolder valueHolder = new ValueHolder(
+					decodeValue(props.getProperty(argumentPrefix + "value"), beanName, classLoader),
+					props.getProperty(argumentPrefix + "type"), props.getProperty(argumentPrefix + "name"));
+			String index = props.getProperty(argumentPrefix + "index");
+			if (index != null) {
+				bd.getConstructorArgumentValues().addIndexedArgumentValue(Integer.parseInt(index), valueHolder);
+			}
+			else {
+				bd.getConstructorArgumentValues().addGenericArgumentValue(valueHolder);
+			}
+		}
+
+		// Resolve the class of plain bean definitions upfront, so that the candidate check in
+		// ConfigurationClassPostProcessor can introspect it without reading the class file.
+		if (className != null && factoryMethodName == null &&
+				!bd.hasAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE)) {
+			try {
+				bd.resolveBeanClass(classLoader);
+			}
+			catch (ClassNotFoundException ex) {
+				throw new CannotLoadBeanClassException(RESOURCE_DESCRIPTION, beanName, className, ex);
+			}
+			catch (LinkageError err) {
+				throw new CannotLoadBeanClassException(RESOURCE_DESCRIPTION, beanName, className, err);
+			}
+		}
+		return bd;
+	}
+
+	@Nullable
+	private static Object decodeValue(String encoded, String beanName, @Nullable ClassLoader classLoader) {
+		int separator = encoded.indexOf(':');
+		String type = encoded.substring(0, separator);
+		String value = encoded.substring(separator + 1);
+		try {
+			switch (type) {
+				case "null":
+					return null;
+				case "string":
+					return value;
+				case "boolean":
+					return Boolean.valueOf(value);
+				case "int":
+					return Integer.valueOf(value);
+				case "long":
+					return Long.valueOf(value);
+				case "class":
+					return ClassUtils.forName(value, classLoader);
+				case "enum":
+					int hash = value.indexOf('#');
+					Class<?> enumType = ClassUtils.forName(value.substring(0, hash), classLoader);
+					return ObjectUtils.caseInsensitiveValueOf(
+							(Enum<?>[]) enumType.getEnumConstants(), value.substring(hash + 1));
+				case "ref":
+					return new RuntimeBeanReference(value);
+				case "idref":
+					return new RuntimeBeanNameReference(value);
+				case "typed":
+					int colon = value.indexOf(':');
+					TypedStringValue typedValue = new TypedStringValue(value.substring(colon + 1));
+					if (colon > 0) {
+						typedValue.setTargetTypeName(value.substring(0, colon));
+					}
+					return typedValue;
+				case "typedNull":
+					TypedStringValue nullValue = new TypedStringValue(null);
+					if (!value.isEmpty()) {
+						nullValue.setTargetTypeName(value);
+					}
+					return nullValue;
+				default:
+					throw new BeanDefinitionStoreException(RESOURCE_DESCRIPTION, beanName,
+							"Unknown value type '" + type + "' in configuration snapshot");
+			}
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			throw new BeanDefinitionStoreException(RESOURCE_DESCRIPTION, beanName,
+					"Cannot resolve class for value [" + value + "] in configuration snapshot", ex);
+		}
+	}
+
+	private int getInt(String key) {
+		String value = this.properties.getProperty(key);
+		return (value != null ? Integer.parseInt(value) : 0);
+	}
+
+
+	/**
+	 * Read a snapshot from the given resource.
+	 * @param resource the resource to read the snapshot from
+	 * @return the snapshot
+	 * @throws IOException if the resource cannot be read
+	 */
+	public static ConfigurationSnapshot readFrom(Resource resource) throws IOException {
+		return new ConfigurationSnapshot(PropertiesLoaderUtils.loadProperties(resource));
+	}
+
+	/**
+	 * Read a snapshot from the given stream. The stream is left open.
+	 * @param in the stream to read the snapshot from
+	 * @return the snapshot
+	 * @throws IOException if the stream cannot be read
+	 */
+	public static ConfigurationSnapshot readFrom(InputStream in) throws IOException {
+		Properties properties = new Properties();
+		properties.load(in);
+		return new ConfigurationSnapshot(properties);
+	}
+
+	/**
+	 * Create a snapshot of the given context's configuration.
+	 * <p>The context needs to have its component classes {@linkplain
+	 * AnnotationConfigApplicationContext#register registered} and its packages
+	 * {@linkplain AnnotationConfigApplicationContext#scan scanned}, with the
+	 * environment set up for the profiles to capture, but must not have been
+	 * refreshed. Only the configuration class phase is applied to it; no bean
+	 * gets instantiated.
+	 * @param context the context to derive the snapshot from
+	 * @return the snapshot
+	 * @throws BeanDefinitionStoreException if a bean definition cannot be captured
+	 */
+	public static ConfigurationSnapshot create(AnnotationConfigApplicationContext context) {
+		Assert.state(!context.isActive(), "Cannot create a configuration snapshot of a refreshed context");
+		DefaultListableBeanFactory beanFactory = context.getDefaultListableBeanFactory();
+		ConfigurableEnvironment environment = context.getEnvironment();
+		Set<String> existingPropertySources = new HashSet<>();
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			existingPropertySources.add(propertySource.getName());
+		}
+
+		ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+		postProcessor.setEnvironment(environment);
+		postProcessor.setResourceLoader(context);
+		if (beanFactory.getBeanClassLoader() != null) {
+			postProcessor.setBeanClassLoader(beanFactory.getBeanClassLoader());
+		}
+		postProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+
+		Properties properties = new Properties();
+		properties.setProperty("version", FORMAT_VERSION);
+		properties.setProperty("profiles", StringUtils.arrayToCommaDelimitedString(environment.getActiveProfiles()));
+
+		ImportRegistry importRegistry = (ImportRegistry) beanFactory.getSingleton(
+				ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME);
+		Set<String> infrastructureBeanNames = getInfrastructureBeanNames();
+		Set<String> importedClasses = new HashSet<>();
+		int beanCount = 0;
+		int importCount = 0;
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			if (infrastructureBeanNames.contains(beanName)) {
+				continue;
+			}
+			BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+			writeBeanDefinition(properties, "bean." + beanCount++ + ".", beanName, bd, beanFactory);
+			String className = bd.getBeanClassName();
+			if (importRegistry != null && className != null && bd.getFactoryMethodName() == null &&
+					importedClasses.add(className)) {
+				AnnotationMetadata importingClass = importRegistry.getImportingClassFor(className);
+				if (importingClass != null) {
+					properties.setProperty("import." + importCount + ".imported", className);
+					properties.setProperty("import." + importCount + ".importing", importingClass.getClassName());
+					importCount++;
+				}
+			}
+		}
+		properties.setProperty("bean.count", String.valueOf(beanCount));
+		properties.setProperty("import.count", String.valueOf(importCount));
+
+		int propertySourceCount = 0;
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			if (existingPropertySources.contains(propertySource.getName())) {
+				continue;
+			}
+			if (!(propertySource instanceof EnumerablePropertySource)) {
+				throw new BeanDefinitionStoreException("Cannot capture property source '" +
+						propertySource.getName() + "' in configuration snapshot: not enumerable");
+			}
+			String prefix = "propertySource." + propertySourceCount++ + ".";
+			properties.setProperty(prefix + "name", propertySource.getName());
+			String[] propertyNames = ((EnumerablePropertySource<?>) propertySource).getPropertyNames();
+			properties.setProperty(prefix + "count", String.valueOf(propertyNames.length));
+			for (int i = 0; i < propertyNames.length; i++) {
+				properties.setProperty(prefix + "key." + i, propertyNames[i]);
+				properties.setProperty(prefix + "value." + i,
+						String.valueOf(propertySource.getProperty(propertyNames[i])));
+			}
+		}
+		properties.setProperty("propertySource.count", String.valueOf(propertySourceCount));
+
+		return new ConfigurationSnapshot(properties);
+	}
+
+	/**
+	 * Determine the names of the annotation config processors that every
+	 * {@link ConfigurationSnapshotApplicationContext} registers by itself.
+	 */
+	private static Set<String> getInfrastructureBeanNames() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		AnnotationConfigUtils.registerAnnotationConfigProcessors(beanFactory);
+		Set<String> beanNames = new HashSet<>(Arrays.asList(beanFactory.getBeanDefinitionNames()));
+		beanNames.add(AnnotationConfigUtils.CONFIGURATION_BEAN_NAME_GENERATOR);
+		return beanNames;
+	}
+
+	private static void writeBeanDefinition(Properties props, String prefix, String beanName,
+			BeanDefinition definition, DefaultListableBeanFactory beanFactory) {
+
+		if (!(definition instanceof AbstractBeanDefinition)) {
+			throw unsupported(beanName, "not an AbstractBeanDefinition");
+		}
+		AbstractBeanDefinition bd = (AbstractBeanDefinition) definition;
+		if (bd.getInstanceSupplier() != null) {
+			throw unsupported(beanName, "instance supplier");
+		}
+		if (!bd.getQualifiers().isEmpty()) {
+			throw unsupported(beanName, "qualifiers");
+		}
+		if (bd.hasMethodOverrides()) {
+			throw unsupported(beanName, "method overrides");
+		}
+
+		props.setProperty(prefix + "name", beanName);
+		setIfNotNull(props, prefix + "class", bd.getBeanClassName());
+		setIfNotNull(props, prefix + "parent", bd.getParentName());
+		String[] aliases = beanFactory.getAliases(beanName);
+		if (aliases.length > 0) {
+			props.setProperty(prefix + "aliases", StringUtils.arrayToCommaDelimitedString(aliases));
+		}
+		props.setProperty(prefix + "scope", bd.getScope());
+		props.setProperty(prefix + "abstract", String.valueOf(bd.isAbstract()));
+		if (bd.getLazyInit() != null) {
+			props.setProperty(prefix + "lazyInit", bd.getLazyInit().toString());
+		}
+		props.setProperty(prefix + "autowireMode", String.valueOf(bd.getAutowireMode()));
+		props.setProperty(prefix + "dependencyCheck", String.valueOf(bd.getDependencyCheck()));
+		if (bd.getDependsOn() != null) {
+			props.setProperty(prefix + "dependsOn", StringUtils.arrayToCommaDelimitedString(bd.getDependsOn()));
+		}
+		props.setProperty(prefix + "autowireCandidate", String.valueOf(bd.isAutowireCandidate()));
+		props.setProperty(prefix + "primary", String.valueOf(bd.isPrimary()));
+		props.setProperty(prefix + "nonPublicAccessAllowed", String.valueOf(bd.isNonPublicAccessAllowed()));
+		props.setProperty(prefix + "lenientConstructorResolution",
+				String.valueOf(bd.isLenientConstructorResolution()));
+		setIfNotNull(props, prefix + "factoryBean", bd.getFactoryBeanName());
+		setIfNotNull(props, prefix + "factoryMethod", bd.getFactoryMethodName());
+		if (bd instanceof AnnotatedBeanDefinition &&
+				((AnnotatedBeanDefinition) bd).getFactoryMethodMetadata() != null) {
+			props.setProperty(prefix + "beanMethod", "true");
+		}
+		setIfNotNull(props, prefix + "initMethod", bd.getInitMethodName());
+		props.setProperty(prefix + "enforceInitMethod", String.valueOf(bd.isEnforceInitMethod()));
+		setIfNotNull(props, prefix + "destroyMethod", bd.getDestroyMethodName());
+		props.setProperty(prefix + "enforceDestroyMethod", String.valueOf(bd.isEnforceDestroyMethod()));
+		props.setProperty(prefix + "synthetic", String.valueOf(bd.isSynthetic()));
+		props.setProperty(prefix + "role", String.valueOf(bd.getRole()));
+		setIfNotNull(props, prefix + "description", bd.getDescription());
+		setIfNotNull(props, prefix + "resourceDescription", bd.getResourceDescription());
+
+		if (bd instanceof RootBeanDefinition && ((RootBeanDefinition) bd).getDecoratedDefinition() != null) {
+			BeanDefinitionHolder decorated = ((RootBeanDefinition) bd).getDecoratedDefinition();
+			String decoratedName = decorated.getBeanName();
+			if (!beanFactory.containsBeanDefinition(decoratedName) ||
+					beanFactory.getBeanDefinition(decoratedName) != decorated.getBeanDefinition()) {
+				throw unsupported(beanName, "decorated definition that is not registered itself");
+			}
+			props.setProperty(prefix + "decoratedDefinition", decoratedName);
+		}
+
+		String[] attributeNames = bd.attributeNames();
+		props.setProperty(prefix + "attribute.count", String.valueOf(attributeNames.length));
+		for (int i = 0; i < attributeNames.length; i++) {
+			props.setProperty(prefix + "attribute." + i + ".name", attributeNames[i]);
+			props.setProperty(prefix + "attribute." + i + ".value",
+					encodeValue(bd.getAttribute(attributeNames[i]), beanName));
+		}
+
+		List<PropertyValue> propertyValues = bd.getPropertyValues().getPropertyValueList();
+		props.setProperty(prefix + "property.count", String.valueOf(propertyValues.size()));
+		for (int i = 0; i < propertyValues.size(); i++) {
+			PropertyValue pv = propertyValues.get(i);
+			props.setProperty(prefix + "property." + i + ".name", pv.getName());
+			props.setProperty(prefix + "property." + i + ".value", encodeValue(pv.getValue(), beanName));
+		}
+
+		ConstructorArgumentValues cav = bd.getConstructorArgumentValues();
+		props.setProperty(prefix + "constructorArgument.count", String.valueOf(cav.getArgumentCount()));
+		int argumentCount = 0;
+		for (Map.Entry<Integer, ValueHolder> entry : cav.getIndexedArgumentValues().entrySet()) {
+			String argumentPrefix = prefix + "constructorArgument." + argumentCount++ + ".";
+			props.setProperty(argumentPrefix + "index", entry.getKey().toString());
+			writeArgumentValue(props, argumentPrefix, entry.getValue(), beanName);
+		}
+		for (ValueHolder valueHolder : cav.getGenericArgumentValues()) {
+			writeArgumentValue(props, prefix + "constructorArgument." + argumentCount++ + ".", valueHolder, beanName);
+		}
+	}
+
+	private static void writeArgumentValue(Properties props, String prefix, ValueHolder valueHolder, String beanName) {
+		setIfNotNull(props, prefix + "type", valueHolder.getType());
+		setIfNotNull(props, prefix + "name", valueHolder.getName());
+		props.setProperty(prefix + "value", encodeValue(valueHolder.getValue(), beanName));
+	}
+
+	private static String encodeValue(@Nullable Object value, String beanName) {
+		if (value == null) {
+			return "null:";
+		}
+		if (value instanceof String) {
+			return "string:" + value;
+		}
+		if (value instanceof Boolean) {
+			return "boolean:" + value;
+		}
+		if (value instanceof Integer) {
+			return "int:" + value;
+		}
+		if (value instanceof Long) {
+			return "long:" + value;
+		}
+		if (value instanceof Class) {
+			return "class:" + ((Class<?>) value).getName();
+		}
+		if (value instanceof Enum) {
+			Enum<?> enumValue = (Enum<?>) value;
+			return "enum:" + enumValue.getDeclaringClass().getName() + "#" + enumValue.name();
+		}
+		if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference reference = (RuntimeBeanReference) value;
+			if (!reference.isToParent() && reference.getBeanType() == null) {
+				return "ref:" + reference.getBeanName();
+			}
+		}
+		else if (value instanceof RuntimeBeanNameReference) {
+			return "idref:" + ((RuntimeBeanNameReference) value).getBeanName();
+		}
+		else if (value instanceof TypedStringValue) {
+			TypedStringValue typedValue = (TypedStringValue) value;
+			if (!typedValue.isDynamic()) {
+				String targetTypeName = typedValue.getTargetTypeName();
+				String typeName = (targetTypeName != null ? targetTypeName : "");
+				return (typedValue.getValue() != null ? "typed:" + typeName + ":" + typedValue.getValue() :
+						"typedNull:" + typeName);
+			}
+		}
+		throw unsupported(beanName, "value of type [" + value.getClass().getName() + "]");
+	}
+
+	private static void setIfNotNull(Properties props, String key, @Nullable String value) {
+		if (value != null) {
+			props.setProperty(key, value);
+		}
+	}
+
+	private static BeanDefinitionStoreException unsupported(String beanName, String feature) {
+		return new BeanDefinitionStoreException(RESOURCE_DESCRIPTION, beanName,
+				"Cannot capture bean definition in configuration snapshot: unsupported " + feature);
+	}
+
+
+	/**
+	 * Command-line entry point for creating a snapshot during the build.
+	 * <p>Usage: {@code ConfigurationSnapshot <output file> [--profiles=<profiles>]
+	 * [--packages=<base packages>] [<component class>...]}, with profiles and
+	 * base packages given as comma-separated lists. The output file would usually
+	 * end up as {@value #DEFAULT_SNAPSHOT_LOCATION} in the application jar.
+	 * @param args the command-line arguments
+	 * @throws Exception if the snapshot cannot be created or written
+	 */
+	public static void main(String[] args) throws Exception {
+		Assert.isTrue(args.length > 0, "Usage: ConfigurationSnapshot <output file> [--profiles=<profiles>] " +
+				"[--packages=<base packages>] [<component class>...]");
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		List<Class<?>> componentClasses = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.startsWith("--profiles=")) {
+				context.getEnvironment().setActiveProfiles(
+						StringUtils.commaDelimitedListToStringArray(arg.substring("--profiles=".length())));
+			}
+			else if (arg.startsWith("--packages=")) {
+				context.scan(StringUtils.commaDelimitedListToStringArray(arg.substring("--packages=".length())));
+			}
+			else {
+				componentClasses.add(ClassUtils.forName(arg, context.getClassLoader()));
+			}
+		}
+		if (!componentClasses.isEmpty()) {
+			context.register(ClassUtils.toClassArray(componentClasses));
+		}
+		ConfigurationSnapshot snapshot = create(context);
+		File output = new File(args[0]);
+		if (output.getParentFile() != null) {
+			Files.createDirectories(output.getParentFile().toPath());
+		}
+		try (OutputStream out = Files.newOutputStream(output.toPath())) {
+			snapshot.writeTo(out);
+		}
+	}
+
+
+	/**
+	 * {@link ImportRegistry} backed by the import graph recorded in a snapshot.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> imports;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		SnapshotImportRegistry(Map<String, String> imports, @Nullable ClassLoader classLoader) {
+			this.imports = imports;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClass = this.imports.get(importedClass);
+			if (importingClass == null) {
+				return null;
+			}
+			try {
+				return AnnotationMetadata.introspect(ClassUtils.forName(importingClass, this.classLoader));
+			}
+			catch (ClassNotFoundException | LinkageError ex) {
+				throw new IllegalStateException("Cannot load importing class [" + importingClass +
+						"] of [" + importedClass + "] recorded in configuration snapshot", ex);
+			}
+		}
+
+		@Override
+		public void removeImportingClass(String importingClass) {
+			this.imports.values().removeIf(importingClass::equals);
+		}
+	}
+
+
+	/**
+	 * Bean definition loaded from a snapshot. For definitions derived from
+	 * {@link Bean @Bean} methods, only annotated methods qualify as factory
+	 * method, in line with the definitions that configuration class parsing
+	 * registers.
+	 */
+	@SuppressWarnings("serial")
+	private static class SnapshotBeanDefinition extends RootBeanDefinition {
+
+		private final boolean beanMethod;
+
+		SnapshotBeanDefinition(boolean beanMethod) {
+			this.beanMethod = beanMethod;
+		}
+
+		SnapshotBeanDefinition(SnapshotBeanDefinition original) {
+			super(original);
+			this.beanMethod = original.beanMethod;
+		}
+
+		@Override
+		public boolean isFactoryMethod(Method candidate) {
+			return (super.isFactoryMethod(candidate) &&
+					(!this.beanMethod || BeanAnnotationHelper.isBeanAnnotated(candidate)));
+		}
+
+		@Override
+		public SnapshotBeanDefinition cloneBeanDefinition() {
+			return new SnapshotBeanDefinition(this);
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * Application context that loads its bean definitions from a {@link ConfigurationSnapshot}
+ * created at build time, instead of parsing configuration classes and scanning the
+ * classpath on every startup.
+ *
+ * <p>The regular annotation config processors are registered as for an
+ * {@link AnnotationConfigApplicationContext}, so that autowiring, lifecycle callbacks,
+ * {@link ImportAware} and the enhancement of {@link Configuration @Configuration}
+ * classes behave the same. {@link ConfigurationClassPostProcessor} recognizes the
+ * loaded configuration classes as already processed and leaves them as they are.
+ *
+ * <p>The snapshot determines the active profiles of this context's environment:
+ * conditions have been evaluated for those profiles when the snapshot was created.
+ *
+ * @since 5.3
+ * @see ConfigurationSnapshot
+ * @see #load
+ */
+public class ConfigurationSnapshotApplicationContext extends GenericApplicationContext {
+
+	private boolean snapshotLoaded;
+
+
+	/**
+	 * Create a new ConfigurationSnapshotApplicationContext that needs to be
+	 * {@link #load loaded} and then manually {@link #refresh refreshed}.
+	 */
+	public ConfigurationSnapshotApplicationContext() {
+		AnnotationConfigUtils.registerAnnotationConfigProcessors(this);
+	}
+
+	/**
+	 * Create a new ConfigurationSnapshotApplicationContext, loading bean definitions
+	 * from the given snapshot and automatically refreshing the context.
+	 * @param snapshot the snapshot resource to load from
+	 */
+	public ConfigurationSnapshotApplicationContext(Resource snapshot) {
+		this();
+		load(snapshot);
+		refresh();
+	}
+
+	/**
+	 * Create a new ConfigurationSnapshotApplicationContext, loading bean definitions
+	 * from the given snapshot location and automatically refreshing the context.
+	 * @param snapshotLocation the location of the snapshot to load from, e.g.
+	 * {@value ConfigurationSnapshot#DEFAULT_SNAPSHOT_LOCATION}
+	 */
+	public ConfigurationSnapshotApplicationContext(String snapshotLocation) {
+		this();
+		load(snapshotLocation);
+		refresh();
+	}
+
+
+	/**
+	 * Load bean definitions from the given snapshot resource.
+	 * <p>Only one snapshot can be loaded per context.
+	 * @param snapshot the snapshot resource to load from
+	 * @throws BeanDefinitionStoreException if the snapshot cannot be read
+	 */
+	public void load(Resource snapshot) {
+		ConfigurationSnapshot configurationSnapshot;
+		try {
+			configurationSnapshot = ConfigurationSnapshot.readFrom(snapshot);
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException(snapshot.getDescription(),
+					"IOException parsing configuration snapshot", ex);
+		}
+		load(configurationSnapshot);
+	}
+
+	/**
+	 * Load bean definitions from the given snapshot location.
+	 * <p>Only one snapshot can be loaded per context.
+	 * @param snapshotLocation the location of the snapshot to load from
+	 * @throws BeanDefinitionStoreException if the snapshot cannot be read
+	 */
+	public void load(String snapshotLocation) {
+		load(getResource(snapshotLocation));
+	}
+
+	/**
+	 * Load bean definitions from the given snapshot.
+	 * <p>Only one snapshot can be loaded per context.
+	 * @param snapshot the snapshot to load from
+	 */
+	public void load(ConfigurationSnapshot snapshot) {
+		Assert.state(!this.snapshotLoaded, "A configuration snapshot has already been loaded");
+		this.snapshotLoaded = true;
+		snapshot.applyTo(getEnvironment());
+		snapshot.registerBeanDefinitions(this, getClassLoader());
+		getDefaultListableBeanFactory().registerSingleton(
+				ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME, snapshot.createImportRegistry(getClassLoader()));
+	}
+
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
@@ -39,6 +40,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.support.ResourceEditorRegistrar;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -77,6 +79,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -152,6 +156,15 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	 */
 	public static final String APPLICATION_EVENT_MULTICASTER_BEAN_NAME = "applicationEventMulticaster";
 
+	/**
+	 * Name of the bootstrap Executor bean in the factory.
+	 * If one is supplied, independent non-lazy singletons get pre-instantiated
+	 * in parallel on it; otherwise they are created one after the other.
+	 * @since 5.3
+	 * @see DefaultListableBeanFactory#setBootstrapExecutor
+	 */
+	public static final String BOOTSTRAP_EXECUTOR_BEAN_NAME = "bootstrapExecutor";
+
 
 	static {
 		// Eagerly load the ContextClosedEvent class to avoid weird classloader issues
@@ -225,6 +238,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Nullable
 	private Set<ApplicationEvent> earlyApplicationEvents;
 
+	/** Application startup metrics. **/
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 
 	/**
 	 * Create a new AbstractApplicationContext with no parent.
@@ -327,6 +343,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.environment;
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "applicationStartup should not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Create and return a new {@link StandardEnvironment}.
 	 * <p>Subclasses may override this method in order to supply
@@ -526,64 +553,82 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Override
 	public void refresh() throws BeansException, IllegalStateException {
 		synchronized (this.startupShutdownMonitor) {
-			// Prepare this context for refreshing.
-			prepareRefresh();
-
-			// Tell the subclass to refresh the internal bean factory.
-			ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
+			try {
+				// Prepare this context for refreshing.
+				prepareRefresh();
 
-			// Prepare the bean factory for use in this context.
-			prepareBeanFactory(beanFactory);
+				// Tell the subclass to refresh the internal bean factory.
+				ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
 
-			try {
-				// Allows post-processing of the bean factory in context subclasses.
-				postProcessBeanFactory(beanFactory);
+				// Prepare the bean factory for use in this context.
+				prepareBeanFactory(beanFactory);
 
-				// Invoke factory processors registered as beans in the context.
-				invokeBeanFactoryPostProcessors(beanFactory);
+				try {
+					// Allows post-processing of the bean factory in context subclasses.
+					postProcessBeanFactory(beanFactory);
 
-				// Register bean processors that intercept bean creation.
-				registerBeanPostProcessors(beanFactory);
+					StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+					try {
+						// Invoke factory processors registered as beans in the context.
+						invokeBeanFactoryPostProcessors(beanFactory);
 
-				// Initialize message source for this context.
-				initMessageSource();
+						// Register bean processors that intercept bean creation.
+						registerBeanPostProcessors(beanFactory);
+					}
+					finally {
+						beanPostProcess.end();
+					}
 
-				// Initialize event multicaster for this context.
-				initApplicationEventMulticaster();
+					// Initialize message source for this context.
+					initMessageSource();
 
-				// Initialize other special beans in specific context subclasses.
-				onRefresh();
+					// Initialize event multicaster for this context.
+					initApplicationEventMulticaster();
 
-				// Check for listener beans and register them.
-				registerListeners();
+					// Initialize other special beans in specific context subclasses.
+					onRefresh();
 
-				// Instantiate all remaining (non-lazy-init) singletons.
-				finishBeanFactoryInitialization(beanFactory);
+					// Check for listener beans and register them.
+					StartupStep listenerRegistration = this.applicationStartup.start("spring.context.listeners.register");
+					try {
+						registerListeners();
+					}
+					finally {
+						listenerRegistration.end();
+					}
 
-				// Last step: publish corresponding event.
-				finishRefresh();
-			}
+					// Instantiate all remaining (non-lazy-init) singletons.
+					finishBeanFactoryInitialization(beanFactory);
 
-			catch (BeansException ex) {
-				if (logger.isWarnEnabled()) {
-					logger.warn("Exception encountered during context initialization - " +
-							"cancelling refresh attempt: " + ex);
+					// Last step: publish corresponding event.
+					finishRefresh();
 				}
 
-				// Destroy already created singletons to avoid dangling resources.
-				destroyBeans();
+				catch (BeansException ex) {
+					if (logger.isWarnEnabled()) {
+						logger.warn("Exception encountered during context initialization - " +
+								"cancelling refresh attempt: " + ex);
+					}
 
-				// Reset 'active' flag.
-				cancelRefresh(ex);
+					// Destroy already created singletons to avoid dangling resources.
+					destroyBeans();
 
-				// Propagate exception to caller.
-				throw ex;
-			}
+					// Reset 'active' flag.
+					cancelRefresh(ex);
 
+					// Propagate exception to caller.
+					throw ex;
+				}
+
+				finally {
+					// Reset common introspection caches in Spring's core, since we
+					// might not ever need metadata for singleton beans anymore...
+					resetCommonCaches();
+				}
+			}
 			finally {
-				// Reset common introspection caches in Spring's core, since we
-				// might not ever need metadata for singleton beans anymore...
-				resetCommonCaches();
+				contextRefresh.end();
 			}
 		}
 	}
@@ -664,6 +709,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		beanFactory.setBeanClassLoader(getClassLoader());
 		beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
 		beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
+		beanFactory.setApplicationStartup(getApplicationStartup());
 
 		// Configure the bean factory with context callbacks.
 		beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(this));
@@ -702,6 +748,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		if (!beanFactory.containsLocalBean(SYSTEM_ENVIRONMENT_BEAN_NAME)) {
 			beanFactory.registerSingleton(SYSTEM_ENVIRONMENT_BEAN_NAME, getEnvironment().getSystemEnvironment());
 		}
+		if (!beanFactory.containsLocalBean(APPLICATION_STARTUP_BEAN_NAME)) {
+			beanFactory.registerSingleton(APPLICATION_STARTUP_BEAN_NAME, getApplicationStartup());
+		}
 	}
 
 	/**
@@ -893,6 +942,14 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			getBean(weaverAwareName);
 		}
 
+		// Initialize bootstrap executor for parallel pre-instantiation, if any.
+		if (beanFactory instanceof DefaultListableBeanFactory &&
+				beanFactory.containsBean(BOOTSTRAP_EXECUTOR_BEAN_NAME) &&
+				beanFactory.isTypeMatch(BOOTSTRAP_EXECUTOR_BEAN_NAME, Executor.class)) {
+			((DefaultListableBeanFactory) beanFactory).setBootstrapExecutor(
+					beanFactory.getBean(BOOTSTRAP_EXECUTOR_BEAN_NAME, Executor.class));
+		}
+
 		// Stop using the temporary ClassLoader for type matching.
 		beanFactory.setTempClassLoader(null);
 
@@ -1381,6 +1438,19 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.resourcePatternResolver.getResources(locationPattern);
 	}
 
+	/**
+	 * Also clears the jar entry cache of this context's
+	 * {@link PathMatchingResourcePatternResolver}, if any.
+	 * @see PathMatchingResourcePatternResolver#clearCache()
+	 */
+	@Override
+	public void clearResourceCaches() {
+		super.clearResourceCaches();
+		if (this.resourcePatternResolver instanceof PathMatchingResourcePatternResolver) {
+			((PathMatchingResourcePatternResolver) this.resourcePatternResolver).clearCache();
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of Lifecycle interface
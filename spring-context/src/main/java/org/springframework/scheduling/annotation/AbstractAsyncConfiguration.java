@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
+import org.springframework.aop.interceptor.AsyncExecutionMetricsRecorder;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +52,9 @@ public abstract class AbstractAsyncConfiguration implements ImportAware {
 	@Nullable
 	protected Supplier<AsyncUncaughtExceptionHandler> exceptionHandler;
 
+	@Nullable
+	protected Supplier<AsyncExecutionMetricsRecorder> metricsRecorder;
+
 
 	@Override
 	public void setImportMetadata(AnnotationMetadata importMetadata) {
@@ -76,6 +80,7 @@ public abstract class AbstractAsyncConfiguration implements ImportAware {
 		AsyncConfigurer configurer = configurers.iterator().next();
 		this.executor = configurer::getAsyncExecutor;
 		this.exceptionHandler = configurer::getAsyncUncaughtExceptionHandler;
+		this.metricsRecorder = configurer::getAsyncExecutionMetricsRecorder;
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,8 @@ import java.util.function.Supplier;
 import org.aopalliance.aop.Advice;
 
 import org.springframework.aop.Pointcut;
+import org.springframework.aop.interceptor.AsyncExecutionAspectSupport;
+import org.springframework.aop.interceptor.AsyncExecutionMetricsRecorder;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.support.AbstractPointcutAdvisor;
 import org.springframework.aop.support.ComposablePointcut;
@@ -125,6 +127,20 @@ public class AsyncAnnotationAdvisor extends AbstractPointcutAdvisor implements B
 		this.pointcut = buildPointcut(asyncAnnotationTypes);
 	}
 
+	/**
+	 * Set the {@link AsyncExecutionMetricsRecorder} to report queue wait times,
+	 * execution times and rejections of asynchronous method executions to.
+	 * <p>Only applies to advice built as an {@link AsyncExecutionAspectSupport},
+	 * as the default {@link AnnotationAsyncExecutionInterceptor} is.
+	 * @since 5.3
+	 * @see AsyncExecutionAspectSupport#setMetricsRecorder
+	 */
+	public void setMetricsRecorder(@Nullable AsyncExecutionMetricsRecorder metricsRecorder) {
+		if (this.advice instanceof AsyncExecutionAspectSupport) {
+			((AsyncExecutionAspectSupport) this.advice).setMetricsRecorder(metricsRecorder);
+		}
+	}
+
 	/**
 	 * Set the {@code BeanFactory} to be used when looking up executors by qualifier.
 	 */
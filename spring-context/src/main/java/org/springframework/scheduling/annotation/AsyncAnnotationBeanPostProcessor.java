@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.interceptor.AsyncExecutionMetricsRecorder;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.task.TaskExecutor;
@@ -83,6 +84,9 @@ public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAd
 	@Nullable
 	private Supplier<AsyncUncaughtExceptionHandler> exceptionHandler;
 
+	@Nullable
+	private AsyncExecutionMetricsRecorder metricsRecorder;
+
 	@Nullable
 	private Class<? extends Annotation> asyncAnnotationType;
 
@@ -127,6 +131,15 @@ public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAd
 		this.exceptionHandler = SingletonSupplier.of(exceptionHandler);
 	}
 
+	/**
+	 * Set the {@link AsyncExecutionMetricsRecorder} to report queue wait times,
+	 * execution times and rejections of asynchronous method executions to.
+	 * @since 5.3
+	 */
+	public void setMetricsRecorder(@Nullable AsyncExecutionMetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+	}
+
 	/**
 	 * Set the 'async' annotation type to be detected at either class or method
 	 * level. By default, both the {@link Async} annotation and the EJB 3.1
@@ -150,6 +163,9 @@ public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAd
 		if (this.asyncAnnotationType != null) {
 			advisor.setAsyncAnnotationType(this.asyncAnnotationType);
 		}
+		if (this.metricsRecorder != null) {
+			advisor.setMetricsRecorder(this.metricsRecorder);
+		}
 		advisor.setBeanFactory(beanFactory);
 		this.advisor = advisor;
 	}
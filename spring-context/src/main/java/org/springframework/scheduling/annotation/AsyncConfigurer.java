@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.scheduling.annotation;
 
 import java.util.concurrent.Executor;
 
+import org.springframework.aop.interceptor.AsyncExecutionMetricsRecorder;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.lang.Nullable;
 
@@ -63,4 +64,14 @@ public interface AsyncConfigurer {
 		return null;
 	}
 
+	/**
+	 * The {@link AsyncExecutionMetricsRecorder} instance to report queue wait
+	 * times, execution times and rejections of async method invocations to.
+	 * @since 5.3
+	 */
+	@Nullable
+	default AsyncExecutionMetricsRecorder getAsyncExecutionMetricsRecorder() {
+		return null;
+	}
+
 }
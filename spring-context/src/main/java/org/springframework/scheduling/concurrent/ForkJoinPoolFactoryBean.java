@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,14 @@ import org.springframework.lang.Nullable;
 /**
  * A Spring {@link FactoryBean} that builds and exposes a preconfigured {@link ForkJoinPool}.
  *
+ * <p>The exposed pool may also serve as a work-stealing executor for
+ * {@link org.springframework.scheduling.annotation.Async @Async} methods,
+ * e.g. through an executor qualifier matching the name of this FactoryBean.
+ * Each worker thread has its own task queue, avoiding contention on a single
+ * shared queue for bursty fan-out workloads with high submission rates.
+ * Consider switching on {@link #setAsyncMode "asyncMode"} for such event-style
+ * tasks which never get joined.
+ *
  * @author Juergen Hoeller
  * @since 3.1
  */
@@ -0,0 +1,617 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ScheduledExecutorService} backed by a hierarchical hashed timer wheel,
+ * handing due tasks to a separate worker {@link Executor}.
+ *
+ * <p>Time is divided into ticks of a fixed duration. The wheel consists of
+ * several levels of {@code ticksPerWheel} buckets each, where every bucket of
+ * a level spans a full rotation of the level below it. A task is placed into
+ * a bucket in constant time, based on its deadline tick, and is cascaded down
+ * to a finer-grained level whenever the wheel rotates into its bucket, until
+ * it is handed to the worker executor on its due tick. Cancelled tasks are
+ * unlinked from their bucket in constant time as well, so the cost of
+ * scheduling and cancelling does not depend on the number of pending tasks.
+ *
+ * <p>Tasks are never executed before their delay has elapsed, but may be
+ * executed up to one tick late. Schedule and cancel requests from arbitrary
+ * threads are queued without locking and applied by a single timer thread on
+ * its next tick, which never runs user code itself.
+ *
+ * <p>On {@link #shutdown()}, periodic tasks are cancelled while delayed
+ * one-shot tasks still execute once due, in line with the default policies of
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ *
+ * @since 5.3
+ * @see TimerWheelTaskScheduler
+ */
+class TimerWheelScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+	private static final int RUNNING = 0;
+
+	private static final int SHUTDOWN = 1;
+
+	private static final int STOP = 2;
+
+	// Cap for delays, keeping deadline arithmetic clear of overflow
+	private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 2;
+
+
+	private final long tickNanos;
+
+	private final int wheelBits;
+
+	private final int mask;
+
+	private final Bucket[][] wheels;
+
+	private final Executor workerExecutor;
+
+	private final boolean shutdownWorker;
+
+	private final long startNanos;
+
+	private final Queue<WheelTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger runState = new AtomicInteger(RUNNING);
+
+	private final CountDownLatch timerTermination = new CountDownLatch(1);
+
+	private final Thread timerThread;
+
+	private volatile List<Runnable> remainingTasks = Collections.emptyList();
+
+	// Only accessed by the timer thread
+
+	private long tick;
+
+	private int size;
+
+	private boolean shutdownObserved;
+
+
+	/**
+	 * Create a new {@code TimerWheelScheduledExecutor} and start its timer thread.
+	 * @param tickNanos the duration of a single tick, in nanoseconds
+	 * @param ticksPerWheel the number of buckets per wheel level (a power of two)
+	 * @param threadFactory the factory for the timer thread
+	 * @param workerExecutor the executor to hand due tasks to
+	 * @param shutdownWorker whether the given worker executor is an
+	 * {@link ExecutorService} to be shut down along with this executor
+	 */
+	TimerWheelScheduledExecutor(long tickNanos, int ticksPerWheel, ThreadFactory threadFactory,
+			Executor workerExecutor, boolean shutdownWorker) {
+
+		Assert.isTrue(tickNanos > 0, "Tick duration must be positive");
+		Assert.isTrue(ticksPerWheel > 1 && (ticksPerWheel & (ticksPerWheel - 1)) == 0,
+				"Ticks per wheel must be a power of two");
+		Assert.notNull(workerExecutor, "Worker executor must not be null");
+		Assert.isTrue(!shutdownWorker || workerExecutor instanceof ExecutorService,
+				"Worker executor to shut down must be an ExecutorService");
+
+		this.tickNanos = tickNanos;
+		this.wheelBits = Integer.numberOfTrailingZeros(ticksPerWheel);
+		this.mask = ticksPerWheel - 1;
+		// Enough levels to address any non-negative tick
+		this.wheels = new Bucket[62 / this.wheelBits + 1][ticksPerWheel];
+		for (Bucket[] wheel : this.wheels) {
+			for (int i = 0; i < wheel.length; i++) {
+				wheel[i] = new Bucket();
+			}
+		}
+		this.workerExecutor = workerExecutor;
+		this.shutdownWorker = shutdownWorker;
+		this.startNanos = System.nanoTime();
+		this.timerThread = threadFactory.newThread(this::runTimer);
+		this.timerThread.start();
+	}
+
+
+	// ScheduledExecutorService implementation
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		Assert.notNull(command, "Runnable must not be null");
+		WheelTask<Void> task = new WheelTask<>(command, null, triggerTime(delay, unit), 0);
+		delayedExecute(task, delay <= 0);
+		return task;
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		Assert.notNull(callable, "Callable must not be null");
+		WheelTask<V> task = new WheelTask<>(callable, triggerTime(delay, unit), 0);
+		delayedExecute(task, delay <= 0);
+		return task;
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		Assert.notNull(command, "Runnable must not be null");
+		Assert.isTrue(period > 0, "Period must be positive");
+		WheelTask<Void> task = new WheelTask<>(command, null, triggerTime(initialDelay, unit), unit.toNanos(period));
+		delayedExecute(task, initialDelay <= 0);
+		return task;
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		Assert.notNull(command, "Runnable must not be null");
+		Assert.isTrue(delay > 0, "Delay must be positive");
+		WheelTask<Void> task = new WheelTask<>(command, null, triggerTime(initialDelay, unit), -unit.toNanos(delay));
+		delayedExecute(task, initialDelay <= 0);
+		return task;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		schedule(command, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		return schedule(task, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		return schedule(Executors.callable(task, result), 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return schedule(task, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void shutdown() {
+		this.runState.compareAndSet(RUNNING, SHUTDOWN);
+		LockSupport.unpark(this.timerThread);
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		int state = this.runState.get();
+		while (state != STOP && !this.runState.compareAndSet(state, STOP)) {
+			state = this.runState.get();
+		}
+		LockSupport.unpark(this.timerThread);
+		List<Runnable> remaining = new ArrayList<>();
+		if (this.shutdownWorker) {
+			remaining.addAll(((ExecutorService) this.workerExecutor).shutdownNow());
+		}
+		if (Thread.currentThread() != this.timerThread) {
+			awaitTimerTermination();
+		}
+		remaining.addAll(this.remainingTasks);
+		return remaining;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return (this.runState.get() != RUNNING);
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return (this.timerTermination.getCount() == 0 &&
+				(!this.shutdownWorker || ((ExecutorService) this.workerExecutor).isTerminated()));
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		if (!this.timerTermination.await(timeout, unit)) {
+			return false;
+		}
+		if (this.shutdownWorker) {
+			return ((ExecutorService) this.workerExecutor).awaitTermination(
+					deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+		return true;
+	}
+
+
+	private long triggerTime(long delay, TimeUnit unit) {
+		long delayNanos = (delay > 0 ? Math.min(unit.toNanos(delay), MAX_DELAY_NANOS) : 0);
+		return System.nanoTime() + delayNanos;
+	}
+
+	private void delayedExecute(WheelTask<?> task, boolean due) {
+		if (isShutdown()) {
+			throw new RejectedExecutionException("Executor [" + this + "] has been shut down");
+		}
+		if (due) {
+			this.workerExecutor.execute(task);
+		}
+		else {
+			this.pendingTasks.offer(task);
+			if (isShutdown() && this.pendingTasks.remove(task)) {
+				task.cancel(false);
+				throw new RejectedExecutionException("Executor [" + this + "] has been shut down");
+			}
+		}
+	}
+
+	private void reExecutePeriodic(WheelTask<?> task) {
+		if (!isShutdown()) {
+			this.pendingTasks.offer(task);
+			if (!isShutdown() || !this.pendingTasks.remove(task)) {
+				return;
+			}
+		}
+		task.cancel(false);
+	}
+
+	private void awaitTimerTermination() {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				this.timerTermination.await();
+				break;
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	// Timer thread
+
+	private void runTimer() {
+		try {
+			while (true) {
+				long targetTick = awaitTick();
+				int state = this.runState.get();
+				if (state == STOP) {
+					break;
+				}
+				if (state == SHUTDOWN && !this.shutdownObserved) {
+					this.shutdownObserved = true;
+					purgePeriodicTasks();
+				}
+				while (this.tick < targetTick) {
+					processTick(this.tick + 1);
+				}
+				if (this.shutdownObserved && this.size == 0 && this.pendingTasks.isEmpty()) {
+					break;
+				}
+			}
+		}
+		finally {
+			terminate();
+		}
+	}
+
+	/**
+	 * Park until the next tick is due, returning the tick to advance to
+	 * (possibly several ticks ahead), or the current tick if the run state
+	 * changed in the meantime.
+	 */
+	private long awaitTick() {
+		long nextTickNanos = (this.tick + 1) * this.tickNanos;
+		while (true) {
+			long elapsed = System.nanoTime() - this.startNanos;
+			if (elapsed >= nextTickNanos) {
+				return elapsed / this.tickNanos;
+			}
+			int state = this.runState.get();
+			if (state == STOP || (state == SHUTDOWN && !this.shutdownObserved)) {
+				return this.tick;
+			}
+			LockSupport.parkNanos(this, nextTickNanos - elapsed);
+		}
+	}
+
+	private void processTick(long tick) {
+		this.tick = tick;
+		WheelTask<?> task;
+		while ((task = this.cancelledTasks.poll()) != null) {
+			if (task.bucket != null) {
+				task.bucket.remove(task);
+				this.size--;
+			}
+		}
+		while ((task = this.pendingTasks.poll()) != null) {
+			if (task.isCancelled()) {
+				continue;
+			}
+			if (this.shutdownObserved && task.isPeriodic()) {
+				task.cancel(false);
+				continue;
+			}
+			place(task);
+		}
+		// Cascade every level whose lower levels have completed a full rotation
+		for (int level = 1; level < this.wheels.length; level++) {
+			int shift = level * this.wheelBits;
+			if ((tick & ((1L << shift) - 1)) != 0) {
+				break;
+			}
+			Bucket bucket = this.wheels[level][(int) (tick >>> shift) & this.mask];
+			while ((task = bucket.poll()) != null) {
+				this.size--;
+				if (!task.isCancelled()) {
+					place(task);
+				}
+			}
+		}
+		Bucket bucket = this.wheels[0][(int) tick & this.mask];
+		while ((task = bucket.poll()) != null) {
+			this.size--;
+			if (!task.isCancelled()) {
+				place(task);
+			}
+		}
+	}
+
+	/**
+	 * Dispatch the given task if due, or place it into the bucket of the
+	 * highest level in which its deadline tick differs from the current tick.
+	 */
+	private void place(WheelTask<?> task) {
+		long deadlineTick = tickFor(task.deadlineNanos);
+		if (deadlineTick <= this.tick) {
+			dispatch(task);
+			return;
+		}
+		int level = (63 - Long.numberOfLeadingZeros(deadlineTick ^ this.tick)) / this.wheelBits;
+		int index = (int) (deadlineTick >>> (level * this.wheelBits)) & this.mask;
+		this.wheels[level][index].add(task);
+		this.size++;
+	}
+
+	private long tickFor(long deadlineNanos) {
+		long elapsed = deadlineNanos - this.startNanos;
+		return (elapsed > 0 ? (elapsed + this.tickNanos - 1) / this.tickNanos : 0);
+	}
+
+	private void dispatch(WheelTask<?> task) {
+		try {
+			this.workerExecutor.execute(task);
+		}
+		catch (Throwable ex) {
+			task.reject(ex);
+		}
+	}
+
+	private void purgePeriodicTasks() {
+		for (Bucket[] wheel : this.wheels) {
+			for (Bucket bucket : wheel) {
+				WheelTask<?> task = bucket.head;
+				while (task != null) {
+					WheelTask<?> next = task.next;
+					if (task.isPeriodic()) {
+						bucket.remove(task);
+						this.size--;
+						task.cancel(false);
+					}
+					task = next;
+				}
+			}
+		}
+	}
+
+	private void terminate() {
+		List<Runnable> remaining = new ArrayList<>();
+		for (Bucket[] wheel : this.wheels) {
+			for (Bucket bucket : wheel) {
+				WheelTask<?> task;
+				while ((task = bucket.poll()) != null) {
+					if (!task.isCancelled()) {
+						remaining.add(task);
+					}
+				}
+			}
+		}
+		WheelTask<?> task;
+		while ((task = this.pendingTasks.poll()) != null) {
+			if (!task.isCancelled()) {
+				remaining.add(task);
+			}
+		}
+		this.size = 0;
+		if (this.runState.get() == STOP) {
+			this.remainingTasks = remaining;
+		}
+		else {
+			for (Runnable remainingTask : remaining) {
+				((Future<?>) remainingTask).cancel(false);
+			}
+			if (this.shutdownWorker) {
+				((ExecutorService) this.workerExecutor).shutdown();
+			}
+		}
+		this.timerTermination.countDown();
+	}
+
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[tickNanos=" + this.tickNanos +
+				", ticksPerWheel=" + (this.mask + 1) + ", workerExecutor=" + this.workerExecutor + "]";
+	}
+
+
+	/**
+	 * Doubly-linked list of the tasks in a single wheel bucket.
+	 * Only accessed by the timer thread.
+	 */
+	private static final class Bucket {
+
+		@Nullable
+		WheelTask<?> head;
+
+		@Nullable
+		WheelTask<?> tail;
+
+		void add(WheelTask<?> task) {
+			task.bucket = this;
+			task.prev = this.tail;
+			task.next = null;
+			if (this.tail == null) {
+				this.head = task;
+			}
+			else {
+				this.tail.next = task;
+			}
+			this.tail = task;
+		}
+
+		void remove(WheelTask<?> task) {
+			if (task.prev == null) {
+				this.head = task.next;
+			}
+			else {
+				task.prev.next = task.next;
+			}
+			if (task.next == null) {
+				this.tail = task.prev;
+			}
+			else {
+				task.next.prev = task.prev;
+			}
+			task.prev = null;
+			task.next = null;
+			task.bucket = null;
+		}
+
+		@Nullable
+		WheelTask<?> poll() {
+			WheelTask<?> task = this.head;
+			if (task != null) {
+				remove(task);
+			}
+			return task;
+		}
+	}
+
+
+	/**
+	 * Future for a task scheduled on the wheel, executed by the worker executor.
+	 */
+	private class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+		private volatile long deadlineNanos;
+
+		// Positive for fixed-rate, negative for fixed-delay, 0 for one-shot execution
+		private final long period;
+
+		// Links within the current bucket, only accessed by the timer thread
+
+		@Nullable
+		Bucket bucket;
+
+		@Nullable
+		WheelTask<?> prev;
+
+		@Nullable
+		WheelTask<?> next;
+
+		WheelTask(Runnable runnable, @Nullable V result, long deadlineNanos, long period) {
+			super(runnable, result);
+			this.deadlineNanos = deadlineNanos;
+			this.period = period;
+		}
+
+		WheelTask(Callable<V> callable, long deadlineNanos, long period) {
+			super(callable);
+			this.deadlineNanos = deadlineNanos;
+			this.period = period;
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return (this.period != 0);
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = (other instanceof WheelTask ? this.deadlineNanos - ((WheelTask<?>) other).deadlineNanos :
+					getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS));
+			return (diff == 0 ? 0 : (diff < 0 ? -1 : 1));
+		}
+
+		@Override
+		public void run() {
+			if (!isPeriodic()) {
+				super.run();
+			}
+			else if (runAndReset()) {
+				this.deadlineNanos = (this.period > 0 ? this.deadlineNanos + this.period :
+						System.nanoTime() - this.period);
+				reExecutePeriodic(this);
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				cancelledTasks.offer(this);
+			}
+			return cancelled;
+		}
+
+		void reject(Throwable ex) {
+			setException(ex);
+		}
+	}
+
+}
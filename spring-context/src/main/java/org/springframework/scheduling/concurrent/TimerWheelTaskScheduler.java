@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link ThreadPoolTaskScheduler} backed by a hierarchical hashed
+ * timer wheel instead of a {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ *
+ * <p>Scheduling and cancelling a task take constant time, independent of the
+ * number of pending tasks, and do not contend on a shared lock. This makes it
+ * suitable for very large numbers of short-lived timeouts that are mostly
+ * cancelled before they fire, such as the heartbeat and disconnect tasks of
+ * many concurrent WebSocket, SockJS or STOMP sessions. In exchange, tasks
+ * fire with the granularity of the {@link #setTickDuration tick duration}.
+ *
+ * <p>A single timer thread advances the wheel and hands due tasks to a
+ * worker executor: by default, a fixed thread pool of the configured
+ * {@link #setPoolSize pool size}, or alternatively an externally managed
+ * {@link #setWorkerExecutor worker executor}.
+ *
+ * @since 5.3
+ * @see #setTickDuration
+ * @see #setTicksPerWheel
+ * @see #setWorkerExecutor
+ */
+@SuppressWarnings("serial")
+public class TimerWheelTaskScheduler extends ThreadPoolTaskScheduler {
+
+	private Duration tickDuration = Duration.ofMillis(10);
+
+	private int ticksPerWheel = 512;
+
+	@Nullable
+	private Executor workerExecutor;
+
+	private volatile int poolSize = 1;
+
+	@Nullable
+	private volatile ThreadPoolExecutor workerPool;
+
+
+	/**
+	 * Set the duration of a single tick of the timer wheel, i.e. the
+	 * granularity at which scheduled tasks are triggered.
+	 * <p>Default is 10 milliseconds. Shorter ticks trigger tasks more precisely
+	 * at the expense of more frequent wake-ups of the timer thread.
+	 */
+	public void setTickDuration(Duration tickDuration) {
+		Assert.isTrue(!tickDuration.isNegative() && !tickDuration.isZero(), "'tickDuration' must be positive");
+		this.tickDuration = tickDuration;
+	}
+
+	/**
+	 * Set the number of buckets in each level of the timer wheel.
+	 * <p>Default is 512. Must be a power of two.
+	 */
+	public void setTicksPerWheel(int ticksPerWheel) {
+		Assert.isTrue(ticksPerWheel > 1 && (ticksPerWheel & (ticksPerWheel - 1)) == 0,
+				"'ticksPerWheel' must be a power of two");
+		this.ticksPerWheel = ticksPerWheel;
+	}
+
+	/**
+	 * Specify an externally managed executor to hand due tasks to.
+	 * <p>Default is a fixed thread pool of the configured {@link #setPoolSize
+	 * pool size}, created with this scheduler's thread factory and shut down
+	 * along with this scheduler. An executor specified here needs to be shut
+	 * down separately.
+	 */
+	public void setWorkerExecutor(Executor workerExecutor) {
+		this.workerExecutor = workerExecutor;
+	}
+
+	/**
+	 * Set the size of the default worker pool.
+	 * Default is 1.
+	 * <p><b>This setting can be modified at runtime, for example through JMX.</b>
+	 * @see #setWorkerExecutor
+	 */
+	@Override
+	public void setPoolSize(int poolSize) {
+		super.setPoolSize(poolSize);
+		this.poolSize = poolSize;
+		ThreadPoolExecutor workerPool = this.workerPool;
+		if (workerPool != null) {
+			if (poolSize > workerPool.getMaximumPoolSize()) {
+				workerPool.setMaximumPoolSize(poolSize);
+				workerPool.setCorePoolSize(poolSize);
+			}
+			else {
+				workerPool.setCorePoolSize(poolSize);
+				workerPool.setMaximumPoolSize(poolSize);
+			}
+		}
+	}
+
+
+	/**
+	 * Create a {@link ScheduledExecutorService} backed by a timer wheel, along
+	 * with its default worker pool unless a worker executor has been specified.
+	 * @param poolSize the specified size of the default worker pool
+	 * @param threadFactory the ThreadFactory to use for the timer thread and the
+	 * default worker pool
+	 * @param rejectedExecutionHandler the RejectedExecutionHandler to use for
+	 * the default worker pool
+	 * @return a new ScheduledExecutorService instance
+	 */
+	@Override
+	protected ScheduledExecutorService createExecutor(
+			int poolSize, ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		Executor workerExecutor = this.workerExecutor;
+		boolean shutdownWorker = false;
+		if (workerExecutor == null) {
+			ThreadPoolExecutor workerPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(), threadFactory, rejectedExecutionHandler);
+			this.workerPool = workerPool;
+			workerExecutor = workerPool;
+			shutdownWorker = true;
+		}
+		return new TimerWheelScheduledExecutor(this.tickDuration.toNanos(), this.ticksPerWheel,
+				threadFactory, workerExecutor, shutdownWorker);
+	}
+
+	/**
+	 * Return the current size of the default worker pool.
+	 * @see java.util.concurrent.ThreadPoolExecutor#getPoolSize()
+	 */
+	@Override
+	public int getPoolSize() {
+		ThreadPoolExecutor workerPool = this.workerPool;
+		if (workerPool == null) {
+			// Not initialized yet or external worker executor: assume initial pool size.
+			return this.poolSize;
+		}
+		return workerPool.getPoolSize();
+	}
+
+	/**
+	 * Always returns {@code true}, since cancelled tasks are removed from the
+	 * timer wheel on its next tick.
+	 */
+	@Override
+	public boolean isRemoveOnCancelPolicy() {
+		return true;
+	}
+
+	/**
+	 * Return the number of currently active threads in the default worker pool.
+	 * @see java.util.concurrent.ThreadPoolExecutor#getActiveCount()
+	 */
+	@Override
+	public int getActiveCount() {
+		ThreadPoolExecutor workerPool = this.workerPool;
+		if (workerPool == null) {
+			// Not initialized yet or external worker executor: no pool threads.
+			return 0;
+		}
+		return workerPool.getActiveCount();
+	}
+
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.support;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Extension of {@link CronField} for
+ * <a href="https://www.quartz-scheduler.org">Quartz</a>-specific fields.
+ * Created using the {@code parse*} methods, uses a {@link TemporalAdjuster}
+ * internally.
+ *
+ * <p>Supports {@code L} (last day of the month), {@code L-n} (nth-to-last
+ * day of the month), {@code nW} (nearest weekday to the nth day),
+ * {@code LW} (last weekday of the month), {@code dL} (last day-of-week
+ * {@code d} of the month) and {@code d#n} (nth day-of-week {@code d} of the
+ * month).
+ *
+ * @since 5.3
+ */
+final class QuartzCronField extends CronField {
+
+	private final Type rollForwardType;
+
+	private final TemporalAdjuster adjuster;
+
+	private final String value;
+
+
+	private QuartzCronField(Type type, TemporalAdjuster adjuster, String value) {
+		this(type, type, adjuster, value);
+	}
+
+	/**
+	 * Constructor for fields that need to roll forward over a different type
+	 * than the type this field represents. See {@link #parseDaysOfWeek(String)}.
+	 */
+	private QuartzCronField(Type type, Type rollForwardType, TemporalAdjuster adjuster, String value) {
+		super(type);
+		this.adjuster = adjuster;
+		this.value = value;
+		this.rollForwardType = rollForwardType;
+	}
+
+
+	/**
+	 * Determine whether the given value is a Quartz day-of-month field.
+	 */
+	public static boolean isQuartzDaysOfMonthField(String value) {
+		return value.contains("L") || value.contains("W");
+	}
+
+	/**
+	 * Parse the given value into a days of months {@code QuartzCronField},
+	 * the fourth entry of a cron expression.
+	 * Expects a "L" or "W" in the given value.
+	 */
+	public static QuartzCronField parseDaysOfMonth(String value) {
+		int idx = value.lastIndexOf('L');
+		if (idx != -1) {
+			TemporalAdjuster adjuster;
+			if (idx != 0) {
+				throw new IllegalArgumentException("Unrecognized characters before 'L' in '" + value + "'");
+			}
+			else if (value.length() == 2 && value.charAt(1) == 'W') {  // "LW"
+				adjuster = lastWeekdayOfMonth();
+			}
+			else {
+				if (value.length() == 1) {  // "L"
+					adjuster = lastDayOfMonth();
+				}
+				else {  // "L-[0-9]+"
+					int offset = Integer.parseInt(value.substring(idx + 1));
+					if (offset >= 0) {
+						throw new IllegalArgumentException("Offset '" + offset + " should be < 0 '" + value + "'");
+					}
+					adjuster = lastDayWithOffset(offset);
+				}
+			}
+			return new QuartzCronField(Type.DAY_OF_MONTH, adjuster, value);
+		}
+		idx = value.lastIndexOf('W');
+		if (idx != -1) {
+			if (idx == 0) {
+				throw new IllegalArgumentException("No day-of-month before 'W' in '" + value + "'");
+			}
+			else if (idx != value.length() - 1) {
+				throw new IllegalArgumentException("Unrecognized characters after 'W' in '" + value + "'");
+			}
+			else {  // "[0-9]+W"
+				int dayOfMonth = Integer.parseInt(value.substring(0, idx));
+				dayOfMonth = Type.DAY_OF_MONTH.checkValidValue(dayOfMonth);
+				TemporalAdjuster adjuster = weekdayNearestTo(dayOfMonth);
+				return new QuartzCronField(Type.DAY_OF_MONTH, adjuster, value);
+			}
+		}
+		throw new IllegalArgumentException("No 'L' or 'W' found in '" + value + "'");
+	}
+
+	/**
+	 * Determine whether the given value is a Quartz day-of-week field.
+	 */
+	public static boolean isQuartzDaysOfWeekField(String value) {
+		return value.contains("L") || value.contains("#");
+	}
+
+	/**
+	 * Parse the given value into a days of week {@code QuartzCronField},
+	 * the sixth entry of a cron expression.
+	 * Expects a "L" or "#" in the given value.
+	 */
+	public static QuartzCronField parseDaysOfWeek(String value) {
+		int idx = value.lastIndexOf('L');
+		if (idx != -1) {
+			if (idx != value.length() - 1) {
+				throw new IllegalArgumentException("Unrecognized characters after 'L' in '" + value + "'");
+			}
+			else {
+				TemporalAdjuster adjuster;
+				if (idx == 0) {
+					throw new IllegalArgumentException("No day-of-week before 'L' in '" + value + "'");
+				}
+				else {  // "[0-7]L"
+					DayOfWeek dayOfWeek = parseDayOfWeek(value.substring(0, idx));
+					adjuster = lastInMonth(dayOfWeek);
+				}
+				return new QuartzCronField(Type.DAY_OF_WEEK, Type.DAY_OF_MONTH, adjuster, value);
+			}
+		}
+		idx = value.lastIndexOf('#');
+		if (idx != -1) {
+			if (idx == 0) {
+				throw new IllegalArgumentException("No day-of-week before '#' in '" + value + "'");
+			}
+			else if (idx == value.length() - 1) {
+				throw new IllegalArgumentException("No ordinal after '#' in '" + value + "'");
+			}
+			// "[0-7]#[0-9]+"
+			DayOfWeek dayOfWeek = parseDayOfWeek(value.substring(0, idx));
+			int ordinal = Integer.parseInt(value.substring(idx + 1));
+			if (ordinal <= 0) {
+				throw new IllegalArgumentException("Ordinal '" + ordinal + "' in '" + value +
+						"' must be positive number ");
+			}
+			TemporalAdjuster adjuster = dayOfWeekInMonth(ordinal, dayOfWeek);
+			return new QuartzCronField(Type.DAY_OF_WEEK, Type.DAY_OF_MONTH, adjuster, value);
+		}
+		throw new IllegalArgumentException("No 'L' or '#' found in '" + value + "'");
+	}
+
+	private static DayOfWeek parseDayOfWeek(String value) {
+		int dayOfWeek = Integer.parseInt(value);
+		if (dayOfWeek == 0) {
+			dayOfWeek = 7;  // cron is 0 based; java.time 1 based
+		}
+		try {
+			return DayOfWeek.of(dayOfWeek);
+		}
+		catch (DateTimeException ex) {
+			String msg = ex.getMessage() + " '" + value + "'";
+			throw new IllegalArgumentException(msg, ex);
+		}
+	}
+
+	/**
+	 * Return a temporal adjuster that finds the nth-to-last day of the month.
+	 * @param offset the negative offset, i.e. -3 means third-to-last
+	 * @return a nth-to-last day-of-month adjuster
+	 */
+	private static TemporalAdjuster lastDayWithOffset(int offset) {
+		Assert.isTrue(offset < 0, "Offset should be < 0");
+		TemporalAdjuster adjuster = TemporalAdjusters.lastDayOfMonth();
+		return temporal -> {
+			Temporal lastDay = adjuster.adjustInto(temporal).plus(offset, ChronoUnit.DAYS);
+			if (lastDay.get(ChronoField.MONTH_OF_YEAR) != temporal.get(ChronoField.MONTH_OF_YEAR)) {
+				// offset exceeds the length of this month
+				return firstDayOfNextMonth(temporal);
+			}
+			return adjustTime(temporal, lastDay);
+		};
+	}
+
+	/**
+	 * Return a temporal adjuster that finds the last day of the month.
+	 */
+	private static TemporalAdjuster lastDayOfMonth() {
+		TemporalAdjuster adjuster = TemporalAdjusters.lastDayOfMonth();
+		return temporal -> adjustTime(temporal, adjuster.adjustInto(temporal));
+	}
+
+	/**
+	 * Return a temporal adjuster that finds the last weekday of the month.
+	 */
+	private static TemporalAdjuster lastWeekdayOfMonth() {
+		TemporalAdjuster adjuster = TemporalAdjusters.lastDayOfMonth();
+		return temporal -> {
+			Temporal lastDom = adjuster.adjustInto(temporal);
+			Temporal result;
+			int dow = lastDom.get(ChronoField.DAY_OF_WEEK);
+			if (dow == 6) {  // Saturday
+				result = lastDom.minus(1, ChronoUnit.DAYS);
+			}
+			else if (dow == 7) {  // Sunday
+				result = lastDom.minus(2, ChronoUnit.DAYS);
+			}
+			else {
+				result = lastDom;
+			}
+			return adjustTime(temporal, result);
+		};
+	}
+
+	/**
+	 * Return a temporal adjuster that finds the weekday nearest to the given
+	 * day-of-month. If {@code dayOfMonth} falls on a Saturday, the date is moved
+	 * back to Friday; if it falls on a Sunday (or if {@code dayOfMonth} is 1 and
+	 * it falls on a Saturday), it is moved forward to Monday. The result never
+	 * leaves the month of the given temporal.
+	 */
+	private static TemporalAdjuster weekdayNearestTo(int dayOfMonth) {
+		return temporal -> {
+			int current = Type.DAY_OF_MONTH.get(temporal);
+			int lengthOfMonth = (int) temporal.range(ChronoField.DAY_OF_MONTH).getMaximum();
+			if (dayOfMonth > lengthOfMonth) {
+				// no such day in this month, e.g. 31W in April
+				return firstDayOfNextMonth(temporal);
+			}
+			Temporal candidate = temporal.with(ChronoField.DAY_OF_MONTH, dayOfMonth);
+			int dayOfWeek = candidate.get(ChronoField.DAY_OF_WEEK);
+			if (dayOfWeek == 6) {  // Saturday
+				if (dayOfMonth != 1) {
+					candidate = candidate.minus(1, ChronoUnit.DAYS);
+				}
+				else {
+					candidate = candidate.plus(2, ChronoUnit.DAYS);
+				}
+			}
+			else if (dayOfWeek == 7) {  // Sunday
+				if (dayOfMonth != lengthOfMonth) {
+					candidate = candidate.plus(1, ChronoUnit.DAYS);
+				}
+				else {
+					candidate = candidate.minus(2, ChronoUnit.DAYS);
+				}
+			}
+			if (current > Type.DAY_OF_MONTH.get(candidate)) {
+				// nearest weekday already passed in this month
+				return firstDayOfNextMonth(temporal);
+			}
+			return adjustTime(temporal, candidate);
+		};
+	}
+
+	/**
+	 * Return a temporal adjuster that finds the last of the given day-of-week
+	 * in a month.
+	 */
+	private static TemporalAdjuster lastInMonth(DayOfWeek dayOfWeek) {
+		TemporalAdjuster adjuster = TemporalAdjusters.lastInMonth(dayOfWeek);
+		return temporal -> adjustTime(temporal, adjuster.adjustInto(temporal));
+	}
+
+	/**
+	 * Return a temporal adjuster that finds the {@code ordinal}-th occurrence
+	 * of the given day-of-week in a month. If there is no such occurrence in
+	 * the current month, e.g. a fifth Monday, the first day of the next month
+	 * is returned.
+	 */
+	private static TemporalAdjuster dayOfWeekInMonth(int ordinal, DayOfWeek dayOfWeek) {
+		TemporalAdjuster adjuster = TemporalAdjusters.dayOfWeekInMonth(ordinal, dayOfWeek);
+		return temporal -> {
+			Temporal result = adjuster.adjustInto(temporal);
+			if (result.get(ChronoField.MONTH_OF_YEAR) != temporal.get(ChronoField.MONTH_OF_YEAR)) {
+				return firstDayOfNextMonth(temporal);
+			}
+			return adjustTime(temporal, result);
+		};
+	}
+
+	/**
+	 * Return midnight of the first day of the month following the given
+	 * temporal, for adjusters that find no match in the current month.
+	 */
+	private static Temporal firstDayOfNextMonth(Temporal temporal) {
+		return Type.DAY_OF_MONTH.reset(temporal.with(ChronoField.DAY_OF_MONTH, 1).plus(1, ChronoUnit.MONTHS));
+	}
+
+	/**
+	 * Keep the time of the original temporal if the adjusted temporal falls on
+	 * the same day; otherwise, rewind the adjusted temporal to midnight.
+	 */
+	private static Temporal adjustTime(Temporal original, Temporal adjusted) {
+		if (original.get(ChronoField.DAY_OF_MONTH) == adjusted.get(ChronoField.DAY_OF_MONTH)) {
+			return adjusted;
+		}
+		return Type.DAY_OF_MONTH.reset(adjusted);
+	}
+
+
+	@Nullable
+	@Override
+	public <T extends Temporal & Comparable<? super T>> T nextOrSame(T temporal) {
+		T result = adjust(temporal);
+		if (result != null) {
+			if (result.compareTo(temporal) < 0) {
+				// We ended up before the start, roll forward and try again
+				temporal = this.rollForwardType.rollForward(temporal);
+				result = adjust(temporal);
+				if (result != null) {
+					result = type().reset(result);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private <T extends Temporal & Comparable<? super T>> T adjust(T temporal) {
+		return (T) this.adjuster.adjustInto(temporal);
+	}
+
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof QuartzCronField)) {
+			return false;
+		}
+		QuartzCronField otherField = (QuartzCronField) other;
+		return (type() == otherField.type() && this.value.equals(otherField.value));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.value.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return type() + " '" + this.value + "'";
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.testfixture.jfr.FlightRecorderTestUtils.recordEvents;
+
+/**
+ * Tests for {@link FlightRecorderCacheEvent}.
+ */
+class FlightRecorderCacheEventTests {
+
+	private ConfigurableApplicationContext context;
+
+	private SimpleService service;
+
+
+	@BeforeEach
+	void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(SimpleService.class);
+	}
+
+	@AfterEach
+	void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	void missPutAndHitAreRecorded() throws Exception {
+		List<RecordedEvent> events = recordEvents(FlightRecorderCacheEvent.class, true, () -> {
+			Long first = this.service.get("key");
+			assertThat(this.service.get("key")).isSameAs(first);
+		});
+
+		assertThat(events).extracting(event -> event.getString("result")).containsExactly(
+				FlightRecorderCacheEvent.MISS, FlightRecorderCacheEvent.PUT, FlightRecorderCacheEvent.HIT);
+		for (RecordedEvent event : events) {
+			assertThat(event.getString("cacheName")).isEqualTo("test");
+			assertThat(event.getString("method")).isEqualTo(SimpleService.class.getName() + ".get");
+		}
+	}
+
+	@Test
+	void synchronizedGetIsRecorded() throws Exception {
+		List<RecordedEvent> events = recordEvents(FlightRecorderCacheEvent.class, true, () -> {
+			Long first = this.service.getSynchronized("key");
+			assertThat(this.service.getSynchronized("key")).isSameAs(first);
+		});
+
+		assertThat(events).extracting(event -> event.getString("result")).containsExactly(
+				FlightRecorderCacheEvent.MISS, FlightRecorderCacheEvent.HIT);
+		assertThat(events.get(0).getString("method")).isEqualTo(SimpleService.class.getName() + ".getSynchronized");
+	}
+
+	@Test
+	void nothingIsRecordedIfDisabled() throws Exception {
+		List<RecordedEvent> events = recordEvents(FlightRecorderCacheEvent.class, false, () -> {
+			Long first = this.service.get("key");
+			assertThat(this.service.get("key")).isSameAs(first);
+		});
+
+		assertThat(events).isEmpty();
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	static class SimpleService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		@Cacheable("test")
+		public Long get(String key) {
+			return this.counter.getAndIncrement();
+		}
+
+		@Cacheable(cacheNames = "test", sync = true)
+		public Long getSynchronized(String key) {
+			return this.counter.getAndIncrement();
+		}
+	}
+
+}
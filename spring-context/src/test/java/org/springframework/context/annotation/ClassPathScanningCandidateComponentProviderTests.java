@@ -18,8 +18,10 @@ package org.springframework.context.annotation;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import example.gh24375.AnnotatedComponent;
 import example.profilescan.DevComponent;
@@ -82,6 +84,29 @@ public class ClassPathScanningCandidateComponentProviderTests {
 		testDefault(provider);
 	}
 
+	@Test
+	public void defaultsWithParallelScan() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setParallelScanning(true);
+		testDefault(provider);
+	}
+
+	@Test
+	public void parallelScanKeepsResourceOrder() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		List<String> sequential = provider.findCandidateComponents("example").stream()
+				.map(BeanDefinition::getBeanClassName).collect(Collectors.toList());
+		provider.setParallelScanning(true);
+		List<String> parallel = provider.findCandidateComponents("example").stream()
+				.map(BeanDefinition::getBeanClassName).collect(Collectors.toList());
+		assertThat(sequential).isNotEmpty();
+		assertThat(parallel).isEqualTo(sequential);
+	}
+
 	@Test
 	public void defaultsWithIndex() {
 		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
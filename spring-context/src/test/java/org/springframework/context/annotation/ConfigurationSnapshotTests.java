@@ -0,0 +1,183 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.context.annotation6.ComponentForScanning;
+import org.springframework.core.type.AnnotationMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ConfigurationSnapshot} and {@link ConfigurationSnapshotApplicationContext}.
+ */
+class ConfigurationSnapshotTests {
+
+	@Test
+	void snapshotCapturesBeanDefinitions() throws IOException {
+		ConfigurationSnapshotApplicationContext context = load(createSnapshot("dev"));
+
+		assertThat(context.getBean("holder", Holder.class).testBean).isSameAs(context.getBean("testBean"));
+		assertThat(context.getAliases("testBean")).containsExactly("aliasedTestBean");
+		assertThat(context.containsBean("devOnly")).isTrue();
+		assertThat(context.containsBean("prodOnly")).isFalse();
+		assertThat(context.getBean(ComponentForScanning.class)).isNotNull();
+		assertThat(context.getEnvironment().getActiveProfiles()).containsExactly("dev");
+		context.close();
+	}
+
+	@Test
+	void snapshotKeepsConfigurationClassEnhancement() throws IOException {
+		ConfigurationSnapshotApplicationContext context = load(createSnapshot("dev"));
+
+		SnapshotConfig config = context.getBean(SnapshotConfig.class);
+		assertThat(config.testBean()).isSameAs(context.getBean("testBean"));
+		context.close();
+	}
+
+	@Test
+	void snapshotCapturesImportGraph() throws IOException {
+		ConfigurationSnapshotApplicationContext context = load(createSnapshot("dev"));
+
+		AnnotationMetadata importMetadata = context.getBean(ImportAwareConfig.class).importMetadata;
+		assertThat(importMetadata).isNotNull();
+		assertThat(importMetadata.getClassName()).isEqualTo(SnapshotConfig.class.getName());
+		context.close();
+	}
+
+	@Test
+	void snapshotCapturesPropertySources() throws IOException {
+		ConfigurationSnapshotApplicationContext context = load(createSnapshot("dev"));
+
+		assertThat(context.getEnvironment().getProperty("testbean.name")).isEqualTo("p1TestBean");
+		assertThat(context.getBean(Holder.class).name).isEqualTo("p1TestBean");
+		context.close();
+	}
+
+	@Test
+	void snapshotEvaluatesConditionsForRecordedProfiles() throws IOException {
+		ConfigurationSnapshotApplicationContext context = load(createSnapshot("prod"));
+
+		assertThat(context.containsBean("devOnly")).isFalse();
+		assertThat(context.containsBean("prodOnly")).isTrue();
+		context.close();
+	}
+
+	@Test
+	void instanceSupplierIsRejected() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.registerBean("supplied", TestBean.class, () -> new TestBean());
+
+		assertThatExceptionOfType(BeanDefinitionStoreException.class).isThrownBy(() ->
+				ConfigurationSnapshot.create(context))
+			.withMessageContaining("instance supplier");
+	}
+
+	@Test
+	void refreshedContextIsRejected() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(SnapshotConfig.class);
+
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() ->
+				ConfigurationSnapshot.create(context));
+		context.close();
+	}
+
+
+	private static ConfigurationSnapshot createSnapshot(String profile) throws IOException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().setActiveProfiles(profile);
+		context.register(SnapshotConfig.class);
+		context.scan("org.springframework.context.annotation6");
+		ConfigurationSnapshot snapshot = ConfigurationSnapshot.create(context);
+
+		// Round-trip through the serialized form, as between build and runtime
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(out);
+		return ConfigurationSnapshot.readFrom(new ByteArrayInputStream(out.toByteArray()));
+	}
+
+	private static ConfigurationSnapshotApplicationContext load(ConfigurationSnapshot snapshot) {
+		ConfigurationSnapshotApplicationContext context = new ConfigurationSnapshotApplicationContext();
+		context.load(snapshot);
+		context.refresh();
+		return context;
+	}
+
+
+	@Configuration
+	@Import(ImportAwareConfig.class)
+	@PropertySource("classpath:org/springframework/context/annotation/p1.properties")
+	static class SnapshotConfig {
+
+		@Bean({"testBean", "aliasedTestBean"})
+		public TestBean testBean() {
+			return new TestBean();
+		}
+
+		@Bean
+		public Holder holder(@Value("${testbean.name}") String name) {
+			return new Holder(testBean(), name);
+		}
+
+		@Bean
+		@Profile("dev")
+		public String devOnly() {
+			return "dev";
+		}
+
+		@Bean
+		@Profile("prod")
+		public String prodOnly() {
+			return "prod";
+		}
+	}
+
+
+	@Configuration
+	static class ImportAwareConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+	}
+
+
+	static class Holder {
+
+		final TestBean testBean;
+
+		final String name;
+
+		Holder(TestBean testBean, String name) {
+			this.testBean = testBean;
+			this.name = name;
+		}
+	}
+
+}
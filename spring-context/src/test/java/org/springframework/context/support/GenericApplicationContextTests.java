@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.context.support;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
@@ -23,6 +25,9 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.BufferingApplicationStartup.TimelineEntry;
 import org.springframework.util.ObjectUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -201,6 +206,55 @@ public class GenericApplicationContextTests {
 		assertThat(context.getBeansOfType(BeanC.class).values().iterator().next()).isSameAs(context.getBean(BeanC.class));
 	}
 
+	@Test
+	public void refreshWithApplicationStartup() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		context.registerBeanDefinition("a", new RootBeanDefinition(BeanA.class));
+		context.registerBeanDefinition("b", new RootBeanDefinition(BeanB.class));
+		context.registerBeanDefinition("c", new RootBeanDefinition(BeanC.class));
+		context.refresh();
+
+		assertThat(context.getBean(ConfigurableApplicationContext.APPLICATION_STARTUP_BEAN_NAME)).isSameAs(applicationStartup);
+		assertThat(context.getBeanFactory().getApplicationStartup()).isSameAs(applicationStartup);
+
+		List<TimelineEntry> timeline = applicationStartup.getBufferedTimeline();
+		assertThat(timeline).extracting(TimelineEntry::getName).contains(
+				"spring.context.refresh", "spring.context.beans.post-process",
+				"spring.context.listeners.register", "spring.beans.instantiate", "spring.beans.initialize");
+		TimelineEntry refresh = timeline.get(0);
+		assertThat(refresh.getName()).isEqualTo("spring.context.refresh");
+		assertThat(refresh.getParentId()).isNull();
+		TimelineEntry beanA = findBeanInstantiation(timeline, "a");
+		TimelineEntry beanB = findBeanInstantiation(timeline, "b");
+		assertThat(beanA.getParentId()).isEqualTo(refresh.getId());
+		assertThat(beanB.getParentId()).isEqualTo(beanA.getId());
+	}
+
+	@Test
+	public void refreshWithApplicationStartupEndsStepsOnFailure() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		context.addBeanFactoryPostProcessor(beanFactory -> {
+			throw new IllegalStateException("boom");
+		});
+		assertThatIllegalStateException().isThrownBy(context::refresh).withMessage("boom");
+
+		assertThat(applicationStartup.getBufferedTimeline()).extracting(TimelineEntry::getName).contains(
+				"spring.context.refresh", "spring.context.beans.post-process",
+				"spring.context.bean-factory.post-process");
+		assertThat(applicationStartup.start("spring.test.step").getParentId()).isNull();
+	}
+
+	private static TimelineEntry findBeanInstantiation(List<TimelineEntry> timeline, String beanName) {
+		return timeline.stream()
+				.filter(entry -> entry.getName().equals("spring.beans.instantiate"))
+				.filter(entry -> entry.getTags().stream().anyMatch(tag -> tag.getValue().equals(beanName)))
+				.findFirst().orElseThrow(IllegalStateException::new);
+	}
+
 
 	static class BeanA {
 
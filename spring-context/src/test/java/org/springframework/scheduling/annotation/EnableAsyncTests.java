@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,7 +24,10 @@ import java.lang.reflect.Method;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import org.awaitility.Awaitility;
@@ -33,7 +36,9 @@ import org.mockito.Mockito;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.framework.Advised;
+import org.springframework.aop.interceptor.AsyncExecutionMetricsRecorder;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.aop.interceptor.SimpleAsyncExecutionMetricsRecorder;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
@@ -48,8 +53,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ForkJoinPoolFactoryBean;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ReflectionUtils;
@@ -322,6 +329,37 @@ public class EnableAsyncTests {
 			.withCauseInstanceOf(BeanNotOfRequiredTypeException.class);
 	}
 
+	@Test
+	public void metricsRecorderWithForkJoinPool() throws Exception {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(MetricsRecorderConfig.class);
+		ForkJoinAsyncBean asyncBean = ctx.getBean(ForkJoinAsyncBean.class);
+		SimpleAsyncExecutionMetricsRecorder recorder = ctx.getBean(SimpleAsyncExecutionMetricsRecorder.class);
+
+		assertThat(asyncBean.work().get()).isInstanceOf(ForkJoinPool.class);
+		assertThat(asyncBean.work().get()).isInstanceOf(ForkJoinPool.class);
+		Method method = ForkJoinAsyncBean.class.getMethod("work");
+		Awaitility.await()
+				.atMost(500, TimeUnit.MILLISECONDS)
+				.pollInterval(10, TimeUnit.MILLISECONDS)
+				.until(() -> recorder.getMetrics(method) != null && recorder.getMetrics(method).getExecutionCount() == 2);
+		assertThat(recorder.getMetrics(method).getRejectionCount()).isEqualTo(0);
+		assertThat(recorder.getMetrics(method).getMaxExecutionTime(TimeUnit.NANOSECONDS)).isGreaterThan(0);
+		ctx.close();
+	}
+
+	@Test
+	public void metricsRecorderWithRejectingExecutor() throws Exception {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(RejectingExecutorConfig.class);
+		AsyncBean asyncBean = ctx.getBean(AsyncBean.class);
+		SimpleAsyncExecutionMetricsRecorder recorder = ctx.getBean(SimpleAsyncExecutionMetricsRecorder.class);
+
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(asyncBean::work);
+		Method method = AsyncBean.class.getMethod("work");
+		assertThat(recorder.getMetrics(method).getRejectionCount()).isEqualTo(1);
+		assertThat(recorder.getMetrics(method).getExecutionCount()).isEqualTo(0);
+		ctx.close();
+	}
+
 
 	static class AsyncBeanWithExecutorQualifiedByName {
 
@@ -662,4 +700,69 @@ public class EnableAsyncTests {
 		}
 	}
 
+
+	static class ForkJoinAsyncBean {
+
+		@Async("forkJoinPool")
+		public Future<ForkJoinPool> work() {
+			return new AsyncResult<>(ForkJoinTask.getPool());
+		}
+	}
+
+
+	@Configuration
+	@EnableAsync
+	static class MetricsRecorderConfig implements AsyncConfigurer {
+
+		@Bean
+		public ForkJoinAsyncBean asyncBean() {
+			return new ForkJoinAsyncBean();
+		}
+
+		@Bean
+		public ForkJoinPoolFactoryBean forkJoinPool() {
+			ForkJoinPoolFactoryBean factoryBean = new ForkJoinPoolFactoryBean();
+			factoryBean.setAsyncMode(true);
+			return factoryBean;
+		}
+
+		@Bean
+		public SimpleAsyncExecutionMetricsRecorder metricsRecorder() {
+			return new SimpleAsyncExecutionMetricsRecorder();
+		}
+
+		@Override
+		public AsyncExecutionMetricsRecorder getAsyncExecutionMetricsRecorder() {
+			return metricsRecorder();
+		}
+	}
+
+
+	@Configuration
+	@EnableAsync
+	static class RejectingExecutorConfig implements AsyncConfigurer {
+
+		@Bean
+		public AsyncBean asyncBean() {
+			return new AsyncBean();
+		}
+
+		@Bean
+		public SimpleAsyncExecutionMetricsRecorder metricsRecorder() {
+			return new SimpleAsyncExecutionMetricsRecorder();
+		}
+
+		@Override
+		public Executor getAsyncExecutor() {
+			return task -> {
+				throw new RejectedExecutionException("Saturated");
+			};
+		}
+
+		@Override
+		public AsyncExecutionMetricsRecorder getAsyncExecutionMetricsRecorder() {
+			return metricsRecorder();
+		}
+	}
+
 }
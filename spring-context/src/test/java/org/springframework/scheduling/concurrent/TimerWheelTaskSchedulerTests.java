@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link TimerWheelTaskScheduler}.
+ */
+public class TimerWheelTaskSchedulerTests extends AbstractSchedulingTaskExecutorTests {
+
+	private final TimerWheelTaskScheduler scheduler = new TimerWheelTaskScheduler();
+
+
+	@Override
+	protected AsyncListenableTaskExecutor buildExecutor() {
+		scheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		scheduler.setTickDuration(Duration.ofMillis(1));
+		// Small wheel in order to exercise cascading between levels
+		scheduler.setTicksPerWheel(8);
+		scheduler.afterPropertiesSet();
+		return scheduler;
+	}
+
+
+	@Test
+	public void scheduleOneTimeTask() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		ScheduledFuture<?> future = scheduler.schedule(latch::countDown, new Date());
+		assertThat(future.get(1000, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(future.isDone()).isTrue();
+		assertThat(latch.getCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void scheduleDelayedTasksNotBeforeTheirStartTime() throws Exception {
+		int count = 500;
+		CountDownLatch latch = new CountDownLatch(count);
+		AtomicInteger early = new AtomicInteger();
+		Random random = new Random();
+		for (int i = 0; i < count; i++) {
+			long startTime = System.currentTimeMillis() + random.nextInt(300);
+			scheduler.schedule(() -> {
+				if (System.currentTimeMillis() < startTime) {
+					early.incrementAndGet();
+				}
+				latch.countDown();
+			}, new Date(startTime));
+		}
+		assertThat(latch.await(2000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(early.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void cancelledTasksAreNotExecuted() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		List<ScheduledFuture<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			futures.add(scheduler.schedule(count::incrementAndGet, new Date(System.currentTimeMillis() + 100 + i % 100)));
+		}
+		for (int i = 0; i < futures.size(); i += 2) {
+			assertThat(futures.get(i).cancel(false)).isTrue();
+		}
+		CountDownLatch latch = new CountDownLatch(1);
+		scheduler.schedule(latch::countDown, new Date(System.currentTimeMillis() + 300));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(count.get()).isEqualTo(500);
+		assertThat(futures.get(0).isCancelled()).isTrue();
+		assertThat(futures.get(1).isDone()).isTrue();
+	}
+
+	@Test
+	public void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(latch::countDown, 10);
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	public void scheduleTriggerTask() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = scheduler.schedule(latch::countDown, new PeriodicTrigger(10));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	public void poolSizeAppliesToWorkerPool() throws Exception {
+		scheduler.setPoolSize(3);
+		AtomicInteger running = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(3);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(4);
+		for (int i = 0; i < 4; i++) {
+			scheduler.execute(() -> {
+				running.incrementAndGet();
+				started.countDown();
+				try {
+					release.await(1000, TimeUnit.MILLISECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				finished.countDown();
+			});
+		}
+		assertThat(started.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(scheduler.getActiveCount()).isEqualTo(3);
+		assertThat(scheduler.getPoolSize()).isEqualTo(3);
+		// The fourth task has to wait for a worker thread to become available
+		Thread.sleep(50);
+		assertThat(running.get()).isEqualTo(3);
+
+		release.countDown();
+		assertThat(finished.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(running.get()).isEqualTo(4);
+		assertThat(scheduler.isRemoveOnCancelPolicy()).isTrue();
+	}
+
+	@Test
+	public void ticksPerWheelMustBePowerOfTwo() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new TimerWheelTaskScheduler().setTicksPerWheel(100));
+	}
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.support;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link CronExpression}.
+ */
+class CronExpressionTests {
+
+	@Test
+	void matchAll() {
+		CronExpression expression = CronExpression.parse("* * * * * *");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 1, 10, 0, 0);
+		assertThat(expression.next(last)).isEqualTo(last.plusSeconds(1));
+	}
+
+	@Test
+	void discardsFractionalSeconds() {
+		CronExpression expression = CronExpression.parse("*/15 * * * * *");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 1, 10, 0, 7, 500_000_000);
+		assertThat(expression.next(last)).isEqualTo(LocalDateTime.of(2020, 1, 1, 10, 0, 15));
+	}
+
+	@Test
+	void incrementRollsOverIntoNextHigherField() {
+		CronExpression expression = CronExpression.parse("*/15 * 1-4 * * *");
+
+		LocalDateTime last = LocalDateTime.of(2012, 7, 1, 9, 53, 50);
+		assertThat(expression.next(last)).isEqualTo(LocalDateTime.of(2012, 7, 2, 1, 0));
+	}
+
+	@Test
+	void weekdaysOnly() {
+		CronExpression expression = CronExpression.parse("0 0 9-17 * * MON-FRI");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 3, 17, 30);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 1, 6, 9, 0));
+		assertThat(actual.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+	}
+
+	@Test
+	void daysOfWeekIncrementStartsOnSunday() {
+		assertThat(CronExpression.parse("0 0 0 * * */2")).isEqualTo(CronExpression.parse("0 0 0 * * SUN,TUE,THU,SAT"));
+		assertThat(CronExpression.parse("0 0 0 * * */3")).isEqualTo(CronExpression.parse("0 0 0 * * SUN,WED,SAT"));
+		assertThat(CronExpression.parse("0 0 0 * * 1/2")).isEqualTo(CronExpression.parse("0 0 0 * * MON,WED,FRI,SUN"));
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 6, 12, 0);
+		LocalDateTime actual = CronExpression.parse("0 0 0 * * */2").next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 1, 7, 0, 0));
+		assertThat(actual.getDayOfWeek()).isEqualTo(DayOfWeek.TUESDAY);
+	}
+
+	@Test
+	void leapDay() {
+		CronExpression expression = CronExpression.parse("0 0 0 29 2 *");
+
+		LocalDateTime last = LocalDateTime.of(2020, 3, 1, 0, 0);
+		assertThat(expression.next(last)).isEqualTo(LocalDateTime.of(2024, 2, 29, 0, 0));
+	}
+
+	@Test
+	void fridayTheThirteenth() {
+		CronExpression expression = CronExpression.parse("0 0 0 13 * FRI");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 1, 0, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 3, 13, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 11, 13, 0, 0));
+	}
+
+	@Test
+	void nonExistentDate() {
+		CronExpression expression = CronExpression.parse("0 0 0 31 6 *");
+
+		assertThat(expression.next(LocalDateTime.of(2020, 1, 1, 0, 0))).isNull();
+	}
+
+	@Test
+	void daylightSavingTimeGap() {
+		CronExpression expression = CronExpression.parse("0 10 2 * * *");
+
+		ZonedDateTime last = ZonedDateTime.of(2013, 3, 31, 1, 0, 0, 0, ZoneId.of("CET"));
+		ZonedDateTime expected = ZonedDateTime.of(2013, 4, 1, 2, 10, 0, 0, ZoneId.of("CET"));
+		assertThat(expression.next(last)).isEqualTo(expected);
+	}
+
+	@Test
+	void lastDayOfMonth() {
+		CronExpression expression = CronExpression.parse("0 0 0 L * *");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 15, 10, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 1, 31, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 2, 29, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 3, 31, 0, 0));
+	}
+
+	@Test
+	void lastDayOfMonthWithOffset() {
+		CronExpression expression = CronExpression.parse("0 0 0 L-3 * *");
+
+		LocalDateTime last = LocalDateTime.of(2020, 2, 27, 10, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 3, 28, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 4, 27, 0, 0));
+	}
+
+	@Test
+	void lastWeekdayOfMonth() {
+		CronExpression expression = CronExpression.parse("0 0 0 LW * *");
+
+		LocalDateTime last = LocalDateTime.of(2020, 2, 1, 0, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 2, 28, 0, 0));
+		assertThat(actual.getDayOfWeek()).isEqualTo(DayOfWeek.FRIDAY);
+	}
+
+	@Test
+	void nearestWeekday() {
+		CronExpression expression = CronExpression.parse("0 0 0 15W * ?");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 20, 0, 0);
+		LocalDateTime actual = expression.next(last);
+		// 15 February 2020 is a Saturday
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 2, 14, 0, 0));
+		actual = expression.next(actual);
+		// 15 March 2020 is a Sunday
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 3, 16, 0, 0));
+	}
+
+	@Test
+	void firstWeekdayDoesNotLeaveMonth() {
+		CronExpression expression = CronExpression.parse("0 0 0 1W * ?");
+
+		// 1 February 2020 is a Saturday
+		LocalDateTime last = LocalDateTime.of(2020, 1, 2, 0, 0);
+		assertThat(expression.next(last)).isEqualTo(LocalDateTime.of(2020, 2, 3, 0, 0));
+	}
+
+	@Test
+	void nearestWeekdaySkipsShortMonths() {
+		CronExpression expression = CronExpression.parse("0 0 0 31W * ?");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 31, 0, 0);
+		assertThat(expression.next(last)).isEqualTo(LocalDateTime.of(2020, 3, 31, 0, 0));
+	}
+
+	@Test
+	void lastDayOfWeekInMonth() {
+		CronExpression expression = CronExpression.parse("0 0 0 ? * FRIL");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 1, 0, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 1, 31, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 2, 28, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 3, 27, 0, 0));
+	}
+
+	@Test
+	void nthDayOfWeekInMonth() {
+		CronExpression expression = CronExpression.parse("0 0 0 ? * 5#3");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 1, 0, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 1, 17, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 2, 21, 0, 0));
+	}
+
+	@Test
+	void nthDayOfWeekInMonthSkipsMonthsWithoutOccurrence() {
+		CronExpression expression = CronExpression.parse("0 0 0 ? * MON#5");
+
+		LocalDateTime last = LocalDateTime.of(2020, 1, 1, 0, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 3, 30, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 6, 29, 0, 0));
+	}
+
+	@Test
+	void listWithQuartzValue() {
+		CronExpression expression = CronExpression.parse("0 0 0 1,15,L * *");
+
+		LocalDateTime last = LocalDateTime.of(2020, 2, 10, 0, 0);
+		LocalDateTime actual = expression.next(last);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 2, 15, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 2, 29, 0, 0));
+		actual = expression.next(actual);
+		assertThat(actual).isEqualTo(LocalDateTime.of(2020, 3, 1, 0, 0));
+	}
+
+	@Test
+	void macros() {
+		assertThat(CronExpression.parse("@yearly")).isEqualTo(CronExpression.parse("0 0 0 1 1 *"));
+		assertThat(CronExpression.parse("@annually")).isEqualTo(CronExpression.parse("0 0 0 1 1 *"));
+		assertThat(CronExpression.parse("@monthly")).isEqualTo(CronExpression.parse("0 0 0 1 * *"));
+		assertThat(CronExpression.parse("@weekly")).isEqualTo(CronExpression.parse("0 0 0 * * 0"));
+		assertThat(CronExpression.parse("@daily")).isEqualTo(CronExpression.parse("0 0 0 * * *"));
+		assertThat(CronExpression.parse("@midnight")).isEqualTo(CronExpression.parse("0 0 0 * * *"));
+		assertThat(CronExpression.parse("@hourly")).isEqualTo(CronExpression.parse("0 0 * * * *"));
+	}
+
+	@Test
+	void equalsForEquivalentExpressions() {
+		assertThat(CronExpression.parse("* * * * * 0-6"))
+				.isEqualTo(CronExpression.parse("* * * * * TUE,WED,THU,FRI,SAT,SUN,MON"));
+		assertThat(CronExpression.parse("* * * * * 0")).isEqualTo(CronExpression.parse("* * * * * SUN"));
+		assertThat(CronExpression.parse("* * * * * 7")).isEqualTo(CronExpression.parse("* * * * * 0"));
+		assertThat(CronExpression.parse("* * * * Feb *")).isEqualTo(CronExpression.parse("* * * * 2 *"));
+		assertThat(CronExpression.parse("* * * * * SUN-SAT")).isEqualTo(CronExpression.parse("* * * * * *"));
+		assertThat(CronExpression.parse("*  *  * *  1 *")).isEqualTo(CronExpression.parse("* * * * 1 *"));
+	}
+
+	@Test
+	void invalidExpressions() {
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("*/0 * * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("*/-1 * * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* 6-5 * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("0 0 0 44-77 * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* * * 32 * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* * * * 13 *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("0 0 0 L-0 * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("0 0 0 W * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("0 0 0 ? * 8#1"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("0 0 0 ? * 1#0"));
+	}
+
+	@Test
+	void isValidExpression() {
+		assertThat(CronExpression.isValidExpression(null)).isFalse();
+		assertThat(CronExpression.isValidExpression("")).isFalse();
+		assertThat(CronExpression.isValidExpression("*")).isFalse();
+		assertThat(CronExpression.isValidExpression("* * * * *")).isFalse();
+		assertThat(CronExpression.isValidExpression("0 0 0 LW * ?")).isTrue();
+		assertThat(CronExpression.isValidExpression("@daily")).isTrue();
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+
+/**
+ * Benchmarks for merged annotation lookups through {@link AnnotatedElementUtils}
+ * and {@link MergedAnnotations}, on classes and methods with meta-annotations
+ * and inherited annotations.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MergedAnnotationsBenchmark {
+
+	@Benchmark
+	public void annotatedElementUtilsFindOnClass(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.findMergedAnnotation(state.type, Base.class));
+	}
+
+	@Benchmark
+	public void annotatedElementUtilsHasOnMethod(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.hasAnnotation(state.method, Base.class));
+	}
+
+	@Benchmark
+	public void annotatedElementUtilsMissing(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.findMergedAnnotation(state.type, Deprecated.class));
+	}
+
+	@Benchmark
+	public void mergedAnnotationsTypeHierarchy(BenchmarkState state, Blackhole bh) {
+		bh.consume(MergedAnnotations.from(state.type, SearchStrategy.TYPE_HIERARCHY)
+				.get(Base.class).synthesize());
+	}
+
+	@Benchmark
+	public void mergedAnnotationsDirect(BenchmarkState state, Blackhole bh) {
+		bh.consume(MergedAnnotations.from(state.method).isPresent(Base.class));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Class<?> type;
+
+		public Method method;
+
+		@Setup(Level.Trial)
+		public void setup() throws NoSuchMethodException {
+			this.type = AnnotatedSubclass.class;
+			this.method = AnnotatedSubclass.class.getMethod("handle");
+		}
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	@interface Base {
+
+		String value() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@Base
+	@interface Composed {
+
+		@AliasFor(annotation = Base.class)
+		String value() default "";
+	}
+
+
+	@Composed("superclass")
+	public static class AnnotatedSuperclass {
+
+		@Composed("method")
+		public void handle() {
+		}
+	}
+
+
+	public static class AnnotatedSubclass extends AnnotatedSuperclass {
+
+		@Override
+		public void handle() {
+		}
+	}
+
+}
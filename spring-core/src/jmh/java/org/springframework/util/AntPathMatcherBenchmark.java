@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AntPathMatcher}, matching request paths against a
+ * set of typical MVC route patterns and extracting URI template variables.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AntPathMatcherBenchmark {
+
+	@Benchmark
+	public void matchAllPatterns(BenchmarkState state, Blackhole bh) {
+		for (String path : state.paths) {
+			for (String pattern : state.patterns) {
+				bh.consume(state.matcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void extractUriTemplateVariables(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.matcher.extractUriTemplateVariables(
+				"/api/users/{userId}/orders/{orderId}", "/api/users/42/orders/4711"));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public AntPathMatcher matcher;
+
+		public List<String> patterns;
+
+		public List<String> paths;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.matcher = new AntPathMatcher();
+			this.patterns = new ArrayList<>();
+			this.patterns.add("/");
+			this.patterns.add("/login");
+			this.patterns.add("/static/**");
+			this.patterns.add("/resources/**/*.css");
+			this.patterns.add("/api/users");
+			this.patterns.add("/api/users/{userId}");
+			this.patterns.add("/api/users/{userId}/orders/{orderId}");
+			this.patterns.add("/api/products/*/reviews");
+			this.patterns.add("/api/search?q");
+			this.patterns.add("/**/*.html");
+			this.paths = new ArrayList<>();
+			this.paths.add("/login");
+			this.paths.add("/static/js/app.js");
+			this.paths.add("/resources/css/theme/site.css");
+			this.paths.add("/api/users/42");
+			this.paths.add("/api/users/42/orders/4711");
+			this.paths.add("/api/products/17/reviews");
+			this.paths.add("/docs/reference/index.html");
+		}
+	}
+
+}
@@ -27,11 +27,15 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -50,6 +54,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.CompiledAntPattern;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.ResourceUtils;
@@ -182,6 +187,13 @@ import org.springframework.util.StringUtils;
  */
 public class PathMatchingResourcePatternResolver implements ResourcePatternResolver {
 
+	/**
+	 * Default maximum number of jar files whose entries are kept indexed: 256.
+	 * @since 5.3
+	 * @see #setCacheLimit
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 256;
+
 	private static final Log logger = LogFactory.getLog(PathMatchingResourcePatternResolver.class);
 
 	@Nullable
@@ -204,6 +216,22 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	/** Compiled form of the most recently matched pattern, for an AntPathMatcher. */
+	@Nullable
+	private volatile CompiledAntPattern compiledPattern;
+
+	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+	/** Indexed jar file entries by jar file URL, synchronized and in LRU order. */
+	@SuppressWarnings("serial")
+	private final Map<String, JarEntryIndex> jarEntryIndexCache =
+			new LinkedHashMap<String, JarEntryIndex>(64, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, JarEntryIndex> eldest) {
+					return (size() > getCacheLimit());
+				}
+			};
+
 
 	/**
 	 * Create a new PathMatchingResourcePatternResolver with a DefaultResourceLoader.
@@ -263,6 +291,7 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		Assert.notNull(pathMatcher, "PathMatcher must not be null");
 		this.pathMatcher = pathMatcher;
+		this.compiledPattern = null;
 	}
 
 	/**
@@ -273,6 +302,45 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Specify the maximum number of jar files whose entries are kept indexed.
+	 * <p>Default is {@link #DEFAULT_CACHE_LIMIT}; the least recently matched
+	 * jar files are evicted first. Only jar files with a last-modified
+	 * timestamp in the file system are cached, and their index is rebuilt
+	 * once that timestamp changes. A limit of 0 turns the cache off.
+	 * @since 5.3
+	 * @see #clearCache()
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.cacheLimit = cacheLimit;
+		if (cacheLimit <= 0) {
+			clearCache();
+		}
+	}
+
+	/**
+	 * Return the maximum number of jar files whose entries are kept indexed.
+	 * @since 5.3
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+
+	/**
+	 * Clear the cache of jar file entries that this resolver builds up
+	 * when matching patterns against jar files.
+	 * <p>Jar file entries are indexed once per resolver and reused for
+	 * subsequent patterns, up to the {@link #setCacheLimit cache limit};
+	 * call this method to release that memory.
+	 * @since 5.3
+	 */
+	public void clearCache() {
+		synchronized (this.jarEntryIndexCache) {
+			this.jarEntryIndexCache.clear();
+		}
+	}
+
 
 	@Override
 	public Resource getResource(String location) {
@@ -606,6 +674,8 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		String jarFileUrl;
 		String rootEntryPath;
 		boolean closeJarFile;
+		long jarFileTimestamp;
+		JarEntryIndex index;
 
 		if (con instanceof JarURLConnection) {
 			// Should usually be the case for traditional JAR files.
@@ -616,6 +686,8 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 			JarEntry jarEntry = jarCon.getJarEntry();
 			rootEntryPath = (jarEntry != null ? jarEntry.getName() : "");
 			closeJarFile = !jarCon.getUseCaches();
+			jarFileTimestamp = getJarFileTimestamp(jarCon.getJarFileURL());
+			index = getCachedJarEntryIndex(jarFileUrl, jarFileTimestamp);
 		}
 		else {
 			// No JarURLConnection -> need to resort to URL file parsing.
@@ -631,12 +703,17 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				if (separatorIndex != -1) {
 					jarFileUrl = urlFile.substring(0, separatorIndex);
 					rootEntryPath = urlFile.substring(separatorIndex + 2);  // both separators are 2 chars
-					jarFile = getJarFile(jarFileUrl);
+					jarFileTimestamp = getJarFileTimestamp(jarFileUrl);
+					index = getCachedJarEntryIndex(jarFileUrl, jarFileTimestamp);
+					// No need to open the jar file again if its entries are indexed already.
+					jarFile = (index == null ? getJarFile(jarFileUrl) : null);
 				}
 				else {
 					jarFile = new JarFile(urlFile);
 					jarFileUrl = urlFile;
 					rootEntryPath = "";
+					jarFileTimestamp = new File(urlFile).lastModified();
+					index = getCachedJarEntryIndex(jarFileUrl, jarFileTimestamp);
 				}
 				closeJarFile = true;
 			}
@@ -657,26 +734,83 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				// The Sun JRE does not return a slash here, but BEA JRockit does.
 				rootEntryPath = rootEntryPath + "/";
 			}
+			if (index == null) {
+				Assert.state(jarFile != null, "No JarFile available");
+				index = new JarEntryIndex(jarFile, jarFileTimestamp);
+				cacheJarEntryIndex(jarFileUrl, index);
+			}
 			Set<Resource> result = new LinkedHashSet<>(8);
-			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
-				JarEntry entry = entries.nextElement();
-				String entryPath = entry.getName();
-				if (entryPath.startsWith(rootEntryPath)) {
-					String relativePath = entryPath.substring(rootEntryPath.length());
-					if (getPathMatcher().match(subPattern, relativePath)) {
-						result.add(rootDirResource.createRelative(relativePath));
-					}
+			for (String entryPath : index.getEntryPaths(rootEntryPath)) {
+				String relativePath = entryPath.substring(rootEntryPath.length());
+				if (matchPath(subPattern, relativePath, true)) {
+					result.add(rootDirResource.createRelative(relativePath));
 				}
 			}
 			return result;
 		}
 		finally {
-			if (closeJarFile) {
+			if (closeJarFile && jarFile != null) {
 				jarFile.close();
 			}
 		}
 	}
 
+	/**
+	 * Return the cached entry index for the given jar file, provided that
+	 * it has been built for the given last-modified timestamp of the jar file.
+	 */
+	@Nullable
+	private JarEntryIndex getCachedJarEntryIndex(String jarFileUrl, long jarFileTimestamp) {
+		if (jarFileTimestamp == 0 || getCacheLimit() <= 0) {
+			return null;
+		}
+		synchronized (this.jarEntryIndexCache) {
+			JarEntryIndex index = this.jarEntryIndexCache.get(jarFileUrl);
+			return (index != null && index.getTimestamp() == jarFileTimestamp ? index : null);
+		}
+	}
+
+	private void cacheJarEntryIndex(String jarFileUrl, JarEntryIndex index) {
+		if (index.getTimestamp() != 0 && getCacheLimit() > 0) {
+			synchronized (this.jarEntryIndexCache) {
+				this.jarEntryIndexCache.put(jarFileUrl, index);
+			}
+		}
+	}
+
+	/**
+	 * Determine the last-modified timestamp of the given jar file, or of the
+	 * outermost archive that contains it, if it is located in the file system.
+	 * @return the timestamp, or 0 if not determinable
+	 */
+	private static long getJarFileTimestamp(String jarFileUrl) {
+		try {
+			return getJarFileTimestamp(ResourceUtils.getURL(jarFileUrl));
+		}
+		catch (FileNotFoundException ex) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Determine the last-modified timestamp of the given jar file, or of the
+	 * outermost archive that contains it, if it is located in the file system.
+	 * @return the timestamp, or 0 if not determinable
+	 */
+	private static long getJarFileTimestamp(URL jarFileUrl) {
+		try {
+			URL archiveUrl = (ResourceUtils.isJarURL(jarFileUrl) ?
+					ResourceUtils.extractArchiveURL(jarFileUrl) : jarFileUrl);
+			if (ResourceUtils.isFileURL(archiveUrl)) {
+				return ResourceUtils.getFile(archiveUrl).lastModified();
+			}
+		}
+		catch (IOException ex) {
+			// Not a file in the file system: no timestamp available.
+		}
+		return 0;
+	}
+
 	/**
 	 * Resolve the given jar file URL into a JarFile object.
 	 */
@@ -695,6 +829,25 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+	/**
+	 * Match the given path against the given pattern via the PathMatcher, reusing
+	 * the compiled pattern across calls for the same pattern with a plain
+	 * AntPathMatcher. Subclasses of AntPathMatcher may customize the matching
+	 * algorithm and are therefore always called through the PathMatcher interface.
+	 */
+	private boolean matchPath(String pattern, String path, boolean fullMatch) {
+		PathMatcher pathMatcher = getPathMatcher();
+		if (pathMatcher.getClass() == AntPathMatcher.class) {
+			CompiledAntPattern compiledPattern = this.compiledPattern;
+			if (compiledPattern == null || !compiledPattern.getPattern().equals(pattern)) {
+				compiledPattern = ((AntPathMatcher) pathMatcher).compile(pattern);
+				this.compiledPattern = compiledPattern;
+			}
+			return (fullMatch ? compiledPattern.match(path) : compiledPattern.matchStart(path));
+		}
+		return (fullMatch ? pathMatcher.match(pattern, path) : pathMatcher.matchStart(pattern, path));
+	}
+
 	/**
 	 * Find all resources in the file system that match the given location pattern
 	 * via the Ant-style PathMatcher.
@@ -807,7 +960,7 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 		for (File content : listDirectory(dir)) {
 			String currPath = StringUtils.replace(content.getAbsolutePath(), File.separator, "/");
-			if (content.isDirectory() && getPathMatcher().matchStart(fullPattern, currPath + "/")) {
+			if (content.isDirectory() && matchPath(fullPattern, currPath + "/", false)) {
 				if (!content.canRead()) {
 					if (logger.isDebugEnabled()) {
 						logger.debug("Skipping subdirectory [" + dir.getAbsolutePath() +
@@ -818,7 +971,7 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 					doRetrieveMatchingFiles(fullPattern, content, result);
 				}
 			}
-			if (getPathMatcher().match(fullPattern, currPath)) {
+			if (matchPath(fullPattern, currPath, true)) {
 				result.add(content);
 			}
 		}
@@ -934,4 +1087,74 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+
+	/**
+	 * Sorted index of the entry names in a jar file, allowing for the entries
+	 * below a given root entry path to be found without iterating all entries.
+	 * Records the last-modified timestamp of the jar file it has been built for.
+	 */
+	private static class JarEntryIndex {
+
+		/** Entry names in jar file order. */
+		private final String[] entryPaths;
+
+		/** Positions in {@link #entryPaths}, sorted by entry name. */
+		private final int[] sortedPositions;
+
+		private final long timestamp;
+
+		JarEntryIndex(JarFile jarFile, long timestamp) {
+			this.timestamp = timestamp;
+			List<String> entryPaths = new ArrayList<>();
+			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+				entryPaths.add(entries.nextElement().getName());
+			}
+			this.entryPaths = StringUtils.toStringArray(entryPaths);
+			Integer[] positions = new Integer[this.entryPaths.length];
+			for (int i = 0; i < positions.length; i++) {
+				positions[i] = i;
+			}
+			Arrays.sort(positions, Comparator.comparing(position -> this.entryPaths[position]));
+			this.sortedPositions = new int[positions.length];
+			for (int i = 0; i < positions.length; i++) {
+				this.sortedPositions[i] = positions[i];
+			}
+		}
+
+		long getTimestamp() {
+			return this.timestamp;
+		}
+
+		/**
+		 * Return all entry names starting with the given prefix, in jar file order.
+		 */
+		List<String> getEntryPaths(String prefix) {
+			if (prefix.isEmpty()) {
+				return Arrays.asList(this.entryPaths);
+			}
+			int low = 0;
+			int high = this.sortedPositions.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (this.entryPaths[this.sortedPositions[mid]].compareTo(prefix) < 0) {
+					low = mid + 1;
+				}
+				else {
+					high = mid;
+				}
+			}
+			int end = low;
+			while (end < this.sortedPositions.length && this.entryPaths[this.sortedPositions[end]].startsWith(prefix)) {
+				end++;
+			}
+			int[] positions = Arrays.copyOfRange(this.sortedPositions, low, end);
+			Arrays.sort(positions);
+			List<String> result = new ArrayList<>(positions.length);
+			for (int position : positions) {
+				result.add(this.entryPaths[position]);
+			}
+			return result;
+		}
+	}
+
 }
@@ -0,0 +1,469 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * and records their timestamps as well as their processing time.
+ *
+ * <p>Once recording has been started, steps are buffered up until the configured
+ * {@link #BufferingApplicationStartup(int) capacity}; after that, new steps are
+ * not recorded anymore but only counted as {@link #getDroppedStepCount() dropped}.
+ * A {@link #setFilter filter} can be used to only record steps of interest, e.g.
+ * the instantiation of beans which take longer than a given threshold.
+ *
+ * <p>The buffered timeline can be retrieved as a list of {@link TimelineEntry}
+ * instances or {@link #writeJson(Appendable) exported as JSON}. For recording
+ * to Java Flight Recorder, use a
+ * {@link org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup}
+ * instead.
+ *
+ * <p>Steps are nested per thread: the parent of a step is the step most recently
+ * started and not yet ended on the same thread. Steps should therefore be ended
+ * on the thread that started them.
+ *
+ * @since 5.3
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final Instant startTime;
+
+	private final long startNanoTime;
+
+	private final AtomicLong idSeq = new AtomicLong();
+
+	private final ThreadLocal<Deque<BufferedStartupStep>> currentSteps =
+			new NamedThreadLocal<>("Current startup steps");
+
+	private final Queue<TimelineEntry> events = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger estimatedSize = new AtomicInteger();
+
+	private final AtomicLong droppedStepCount = new AtomicLong();
+
+	private volatile Predicate<StartupStep> filter = step -> true;
+
+
+	/**
+	 * Create a new buffered {@link ApplicationStartup} with a limited capacity.
+	 * @param capacity the configured capacity; once reached, new steps are not recorded.
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+		this.startTime = Instant.now();
+		this.startNanoTime = System.nanoTime();
+	}
+
+
+	/**
+	 * Set a predicate that decides whether an ended {@link StartupStep} is
+	 * recorded, replacing any previously set filter.
+	 * <p>The predicate is evaluated once the step has ended, i.e. with all of
+	 * its tags available. Steps that are not recorded still contribute to the
+	 * nesting of other steps.
+	 * @param filter the predicate filter to use
+	 */
+	public void setFilter(Predicate<StartupStep> filter) {
+		Assert.notNull(filter, "Filter must not be null");
+		this.filter = filter;
+	}
+
+	/**
+	 * Return the number of steps that were not recorded because the buffer
+	 * was full.
+	 */
+	public long getDroppedStepCount() {
+		return this.droppedStepCount.get();
+	}
+
+	/**
+	 * Return the time at which this instance started recording.
+	 */
+	public Instant getStartTime() {
+		return this.startTime;
+	}
+
+	@Override
+	public StartupStep start(String name) {
+		Deque<BufferedStartupStep> steps = this.currentSteps.get();
+		if (steps == null) {
+			steps = new ArrayDeque<>();
+			this.currentSteps.set(steps);
+		}
+		BufferedStartupStep parent = steps.peek();
+		BufferedStartupStep step = new BufferedStartupStep(this.idSeq.incrementAndGet(), name,
+				(parent != null ? parent.getId() : null), System.nanoTime(), steps);
+		steps.push(step);
+		return step;
+	}
+
+	private void record(BufferedStartupStep step) {
+		Deque<BufferedStartupStep> steps = step.owner;
+		steps.remove(step);
+		if (steps.isEmpty() && this.currentSteps.get() == steps) {
+			this.currentSteps.remove();
+		}
+		if (!this.filter.test(step)) {
+			return;
+		}
+		if (this.estimatedSize.incrementAndGet() <= this.capacity) {
+			this.events.add(new TimelineEntry(step, toInstant(step.startNanoTime), step.thread));
+		}
+		else {
+			this.estimatedSize.decrementAndGet();
+			this.droppedStepCount.incrementAndGet();
+		}
+	}
+
+	private Instant toInstant(long nanoTime) {
+		return this.startTime.plusNanos(nanoTime - this.startNanoTime);
+	}
+
+	/**
+	 * Return the recorded steps, ordered by start time. The buffer is kept
+	 * as is, see {@link #drainBufferedTimeline()}.
+	 */
+	public List<TimelineEntry> getBufferedTimeline() {
+		List<TimelineEntry> entries = new ArrayList<>(this.events);
+		entries.sort(Comparator.comparing(TimelineEntry::getStartTime));
+		return entries;
+	}
+
+	/**
+	 * Return the recorded steps, ordered by start time, and remove them from
+	 * the buffer, making room for new steps.
+	 */
+	public List<TimelineEntry> drainBufferedTimeline() {
+		List<TimelineEntry> entries = new ArrayList<>();
+		TimelineEntry entry;
+		while ((entry = this.events.poll()) != null) {
+			this.estimatedSize.decrementAndGet();
+			entries.add(entry);
+		}
+		entries.sort(Comparator.comparing(TimelineEntry::getStartTime));
+		return entries;
+	}
+
+	/**
+	 * Write the {@link #getBufferedTimeline() recorded steps} as a JSON document
+	 * to the given output, for further analysis with external tooling.
+	 * <p>The document has the following structure, with a "parentId" of
+	 * {@code null} for top-level steps, and durations in nanoseconds:
+	 * <pre class="code">
+	 * {"startTime":"2020-10-01T10:15:30.123Z","droppedSteps":0,"events":[
+	 *   {"id":2,"parentId":1,"name":"spring.beans.instantiate","thread":"main",
+	 *    "startTime":"...","endTime":"...","duration":1204500,
+	 *    "tags":{"beanName":"myService"}}, ...]}
+	 * </pre>
+	 * @param out the output to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeJson(Appendable out) throws IOException {
+		out.append("{\"startTime\":");
+		appendJsonString(out, this.startTime.toString());
+		out.append(",\"droppedSteps\":").append(String.valueOf(getDroppedStepCount()));
+		out.append(",\"events\":[");
+		Iterator<TimelineEntry> it = getBufferedTimeline().iterator();
+		while (it.hasNext()) {
+			TimelineEntry entry = it.next();
+			out.append("{\"id\":").append(String.valueOf(entry.getId()));
+			out.append(",\"parentId\":").append(String.valueOf(entry.getParentId()));
+			out.append(",\"name\":");
+			appendJsonString(out, entry.getName());
+			out.append(",\"thread\":");
+			appendJsonString(out, entry.getThreadName());
+			out.append(",\"startTime\":");
+			appendJsonString(out, entry.getStartTime().toString());
+			out.append(",\"endTime\":");
+			appendJsonString(out, entry.getEndTime().toString());
+			out.append(",\"duration\":").append(String.valueOf(entry.getDuration().toNanos()));
+			out.append(",\"tags\":{");
+			Iterator<StartupStep.Tag> tags = entry.getTags().iterator();
+			while (tags.hasNext()) {
+				StartupStep.Tag tag = tags.next();
+				appendJsonString(out, tag.getKey());
+				out.append(':');
+				appendJsonString(out, tag.getValue());
+				if (tags.hasNext()) {
+					out.append(',');
+				}
+			}
+			out.append("}}");
+			if (it.hasNext()) {
+				out.append(',');
+			}
+		}
+		out.append("]}");
+	}
+
+	private static void appendJsonString(Appendable out, String value) throws IOException {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					out.append("\\\"");
+					break;
+				case '\\':
+					out.append("\\\\");
+					break;
+				case '\n':
+					out.append("\\n");
+					break;
+				case '\r':
+					out.append("\\r");
+					break;
+				case '\t':
+					out.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						out.append(String.format("\\u%04x", (int) c));
+					}
+					else {
+						out.append(c);
+					}
+			}
+		}
+		out.append('"');
+	}
+
+
+	/**
+	 * A recorded {@link StartupStep}, with its start time and duration.
+	 */
+	public static final class TimelineEntry {
+
+		private final long id;
+
+		@Nullable
+		private final Long parentId;
+
+		private final String name;
+
+		private final List<StartupStep.Tag> tags;
+
+		private final Instant startTime;
+
+		private final Duration duration;
+
+		private final String threadName;
+
+		TimelineEntry(BufferedStartupStep step, Instant startTime, String threadName) {
+			this.id = step.getId();
+			this.parentId = step.getParentId();
+			this.name = step.getName();
+			this.tags = Collections.unmodifiableList(step.tags);
+			this.startTime = startTime;
+			this.duration = Duration.ofNanos(step.endNanoTime - step.startNanoTime);
+			this.threadName = threadName;
+		}
+
+		/**
+		 * Return the id of the recorded step.
+		 */
+		public long getId() {
+			return this.id;
+		}
+
+		/**
+		 * Return the id of the parent step, if any.
+		 */
+		@Nullable
+		public Long getParentId() {
+			return this.parentId;
+		}
+
+		/**
+		 * Return the name of the recorded step.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the tags attached to the recorded step.
+		 */
+		public List<StartupStep.Tag> getTags() {
+			return this.tags;
+		}
+
+		/**
+		 * Return the time at which the step started.
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the time at which the step ended.
+		 */
+		public Instant getEndTime() {
+			return this.startTime.plus(this.duration);
+		}
+
+		/**
+		 * Return the processing time of the step.
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Return the name of the thread that started the step.
+		 */
+		public String getThreadName() {
+			return this.threadName;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + " [id=" + this.id + ", parentId=" + this.parentId + ", tags=" + this.tags +
+					", duration=" + this.duration + "]";
+		}
+	}
+
+
+	private class BufferedStartupStep implements StartupStep, StartupStep.Tags {
+
+		private final long id;
+
+		private final String name;
+
+		@Nullable
+		private final Long parentId;
+
+		private final long startNanoTime;
+
+		private final Deque<BufferedStartupStep> owner;
+
+		private final String thread;
+
+		private final List<StartupStep.Tag> tags = new ArrayList<>();
+
+		private long endNanoTime = -1;
+
+		BufferedStartupStep(long id, String name, @Nullable Long parentId, long startNanoTime,
+				Deque<BufferedStartupStep> owner) {
+
+			this.id = id;
+			this.name = name;
+			this.parentId = parentId;
+			this.startNanoTime = startNanoTime;
+			this.owner = owner;
+			this.thread = Thread.currentThread().getName();
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return this.parentId;
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(this.endNanoTime == -1, "StartupStep has already ended");
+			this.tags.add(new BufferedTag(key, value));
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			return this;
+		}
+
+		@Override
+		public Iterator<StartupStep.Tag> iterator() {
+			return Collections.unmodifiableList(this.tags).iterator();
+		}
+
+		@Override
+		public void end() {
+			Assert.state(this.endNanoTime == -1, "StartupStep has already ended");
+			this.endNanoTime = System.nanoTime();
+			record(this);
+		}
+	}
+
+
+	private static class BufferedTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		BufferedTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.jfr;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * {@link ApplicationStartup} implementation for the Java Flight Recorder.
+ *
+ * <p>This variant records {@link StartupStep} as Flight Recorder events; because
+ * such events only support base types, the
+ * {@link org.springframework.core.metrics.StartupStep.Tags} are serialized as a
+ * single String attribute.
+ *
+ * <p>Once this is configured on the application context, you can record data by
+ * launching the application with recording enabled:
+ * {@code java -XX:StartFlightRecording:filename=recording.jfr,duration=10s -jar app.jar}.
+ *
+ * @since 5.3
+ */
+public class FlightRecorderApplicationStartup implements ApplicationStartup {
+
+	private final AtomicLong currentSequenceId = new AtomicLong();
+
+	private final ThreadLocal<Deque<Long>> currentSteps = new NamedThreadLocal<>("Current startup step ids");
+
+
+	@Override
+	public StartupStep start(String name) {
+		Deque<Long> steps = this.currentSteps.get();
+		if (steps == null) {
+			steps = new ArrayDeque<>();
+			this.currentSteps.set(steps);
+		}
+		long sequenceId = this.currentSequenceId.incrementAndGet();
+		Long parentId = steps.peek();
+		steps.push(sequenceId);
+		return new FlightRecorderStartupStep(sequenceId, name, (parentId != null ? parentId : 0L), this::endStep);
+	}
+
+	private void endStep(FlightRecorderStartupStep step) {
+		Deque<Long> steps = this.currentSteps.get();
+		if (steps != null) {
+			steps.remove(step.getId());
+			if (steps.isEmpty()) {
+				this.currentSteps.remove();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.jfr;
+
+import java.util.function.Supplier;
+
+import jdk.jfr.Event;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Guard for Java Flight Recorder {@link Event} types that should only be
+ * instantiated while they are actually recorded.
+ *
+ * <p>A probe holds a single instance of the event type that is never begun
+ * or committed, and whose {@link Event#isEnabled()} flag reflects the
+ * settings of all running recordings. Instrumented code can therefore hold
+ * a probe in a static field and merely performs a flag check per operation
+ * as long as the event type is not enabled.
+ *
+ * <p>This class must only be accessed if {@code jdk.jfr} is available, e.g.
+ * behind a {@code ClassUtils.isPresent("jdk.jfr.Event", classLoader)} check.
+ *
+ * @since 5.3
+ * @param <E> the event type
+ */
+public final class FlightRecorderEventProbe<E extends Event> {
+
+	private final Supplier<E> eventFactory;
+
+	private final E probe;
+
+
+	/**
+	 * Create a new probe for the event type created by the given factory.
+	 * @param eventFactory the factory for new events, typically a constructor
+	 * reference; called once for the probe instance itself
+	 */
+	public FlightRecorderEventProbe(Supplier<E> eventFactory) {
+		Assert.notNull(eventFactory, "Event factory must not be null");
+		this.eventFactory = eventFactory;
+		this.probe = eventFactory.get();
+	}
+
+
+	/**
+	 * Return whether the event type is enabled in a running recording.
+	 */
+	public boolean isEnabled() {
+		return this.probe.isEnabled();
+	}
+
+	/**
+	 * Create and begin a new event, if the event type is enabled.
+	 * @return the begun event, or {@code null} if the event type is disabled
+	 */
+	@Nullable
+	public E beginIfEnabled() {
+		if (!this.probe.isEnabled()) {
+			return null;
+		}
+		E event = this.eventFactory.get();
+		event.begin();
+		return event;
+	}
+
+}
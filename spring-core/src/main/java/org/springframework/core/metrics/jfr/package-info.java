@@ -0,0 +1,10 @@
+/**
+ * Support package for recording startup metrics and other events
+ * using Java Flight Recorder.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.metrics.jfr;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -38,7 +38,9 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  *
  * <p><b>NOTE: This implementation does not reuse threads!</b> Consider a
  * thread-pooling TaskExecutor implementation instead, in particular for
- * executing a large number of short-lived tasks.
+ * executing a large number of short-lived tasks. Alternatively, consider
+ * switching this executor to {@link #setVirtualThreads virtual threads}
+ * which are cheap to create, e.g. for a large number of blocking tasks.
  *
  * @author Juergen Hoeller
  * @since 2.0
@@ -73,6 +75,8 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	@Nullable
 	private TaskDecorator taskDecorator;
 
+	private boolean virtualThreads = false;
+
 
 	/**
 	 * Create a new SimpleAsyncTaskExecutor with default thread name prefix.
@@ -118,6 +122,33 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 		return this.threadFactory;
 	}
 
+	/**
+	 * Switch this executor to virtual threads, if supported by the JVM
+	 * (as of JDK 21), falling back on regular platform threads otherwise.
+	 * <p>Virtual threads are named according to the
+	 * {@link #setThreadNamePrefix thread name prefix} but ignore other
+	 * thread settings of this executor, such as the thread priority.
+	 * An {@link #setThreadFactory external ThreadFactory} takes precedence.
+	 * <p>Along with a {@link #setConcurrencyLimit concurrency limit}, this
+	 * allows for executing a large number of concurrent blocking tasks
+	 * without the need for tuning a thread pool.
+	 * @since 5.3
+	 * @see #isVirtualThreads()
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = (virtualThreads && VirtualThreadDelegate.isSupported());
+	}
+
+	/**
+	 * Return whether this executor creates virtual threads: that is, if
+	 * {@link #setVirtualThreads virtual threads} have been requested and
+	 * are supported by the JVM.
+	 * @since 5.3
+	 */
+	public final boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
 	/**
 	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
 	 * about to be executed.
@@ -234,11 +265,21 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	 * <p>The default implementation creates a new Thread and starts it.
 	 * @param task the Runnable to execute
 	 * @see #setThreadFactory
+	 * @see #setVirtualThreads
 	 * @see #createThread
 	 * @see java.lang.Thread#start()
 	 */
 	protected void doExecute(Runnable task) {
-		Thread thread = (this.threadFactory != null ? this.threadFactory.newThread(task) : createThread(task));
+		Thread thread;
+		if (this.threadFactory != null) {
+			thread = this.threadFactory.newThread(task);
+		}
+		else if (this.virtualThreads) {
+			thread = VirtualThreadDelegate.newVirtualThread(nextThreadName(), task);
+		}
+		else {
+			thread = createThread(task);
+		}
 		thread.start();
 	}
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.Method;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Internal delegate for creating virtual threads through reflection,
+ * on JVMs that support them (JDK 21+ or earlier JDKs with preview features
+ * enabled) while compiling against the Java 8 API.
+ *
+ * @since 5.3
+ * @see SimpleAsyncTaskExecutor#setVirtualThreads
+ */
+final class VirtualThreadDelegate {
+
+	@Nullable
+	private static final Method ofVirtualMethod;
+
+	@Nullable
+	private static final Method nameMethod;
+
+	@Nullable
+	private static final Method unstartedMethod;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method unstarted = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			Object builder = ofVirtual.invoke(null);
+			Class<?> builderType = ofVirtual.getReturnType();
+			name = builderType.getMethod("name", String.class);
+			unstarted = builderType.getMethod("unstarted", Runnable.class);
+			// Fails for preview API on JDK 19/20 without --enable-preview
+			unstarted.invoke(name.invoke(builder, "probe"), (Runnable) () -> {});
+		}
+		catch (Throwable ex) {
+			ofVirtual = null;
+		}
+		ofVirtualMethod = ofVirtual;
+		nameMethod = name;
+		unstartedMethod = unstarted;
+	}
+
+
+	private VirtualThreadDelegate() {
+	}
+
+
+	/**
+	 * Return whether the current JVM supports virtual threads.
+	 */
+	public static boolean isSupported() {
+		return (ofVirtualMethod != null);
+	}
+
+	/**
+	 * Create a new unstarted virtual thread with the given name for the given task.
+	 * @param name the name of the thread
+	 * @param task the task to execute in the thread
+	 * @throws IllegalStateException if virtual threads are not supported
+	 * @see #isSupported()
+	 */
+	public static Thread newVirtualThread(String name, Runnable task) {
+		if (ofVirtualMethod == null || nameMethod == null || unstartedMethod == null) {
+			throw new IllegalStateException("Virtual threads not supported on current JVM");
+		}
+		Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+		builder = ReflectionUtils.invokeMethod(nameMethod, builder, name);
+		Thread thread = (Thread) ReflectionUtils.invokeMethod(unstartedMethod, builder, task);
+		if (thread == null) {
+			throw new IllegalStateException("No virtual thread returned from " + unstartedMethod);
+		}
+		return thread;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,11 @@ import org.springframework.lang.Nullable;
  * caching a {@link MetadataReader} instance per Spring {@link Resource} handle
  * (i.e. per ".class" file).
  *
+ * <p>Class metadata read from jar files can additionally be kept in a
+ * {@link PersistentMetadataReaderCache} across JVM restarts, as configured
+ * through the {@value PersistentMetadataReaderCache#CACHE_DIRECTORY_PROPERTY_NAME}
+ * property or {@link #setPersistentCache}.
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @since 2.5
@@ -44,6 +49,10 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	@Nullable
 	private Map<Resource, MetadataReader> metadataReaderCache;
 
+	/** Optional on-disk cache for class metadata read from jar files. */
+	@Nullable
+	private PersistentMetadataReaderCache persistentCache = PersistentMetadataReaderCache.getDefaultCache();
+
 
 	/**
 	 * Create a new CachingMetadataReaderFactory for the default class loader,
@@ -119,36 +128,83 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	}
 
 
+	/**
+	 * Specify a {@link PersistentMetadataReaderCache} for class metadata read from
+	 * jar files, or {@code null} for none.
+	 * <p>Default is the cache configured through the
+	 * {@value PersistentMetadataReaderCache#CACHE_DIRECTORY_PROPERTY_NAME} property, if any.
+	 * @since 5.3
+	 */
+	public void setPersistentCache(@Nullable PersistentMetadataReaderCache persistentCache) {
+		this.persistentCache = persistentCache;
+	}
+
+	/**
+	 * Return the {@link PersistentMetadataReaderCache} in use, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PersistentMetadataReaderCache getPersistentCache() {
+		return this.persistentCache;
+	}
+
+
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
 		if (this.metadataReaderCache instanceof ConcurrentMap) {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+				metadataReader = readMetadataReader(resource);
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
 			return metadataReader;
 		}
 		else if (this.metadataReaderCache != null) {
-			synchronized (this.metadataReaderCache) {
-				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
-					this.metadataReaderCache.put(resource, metadataReader);
+			Map<Resource, MetadataReader> metadataReaderCache = this.metadataReaderCache;
+			MetadataReader metadataReader;
+			synchronized (metadataReaderCache) {
+				metadataReader = metadataReaderCache.get(resource);
+			}
+			if (metadataReader == null) {
+				// Read outside of the lock, allowing for concurrent scanning threads...
+				metadataReader = readMetadataReader(resource);
+				synchronized (metadataReaderCache) {
+					MetadataReader existing = metadataReaderCache.get(resource);
+					if (existing != null) {
+						return existing;
+					}
+					metadataReaderCache.put(resource, metadataReader);
 				}
-				return metadataReader;
 			}
+			return metadataReader;
 		}
 		else {
-			return super.getMetadataReader(resource);
+			return readMetadataReader(resource);
 		}
 	}
 
+	private MetadataReader readMetadataReader(Resource resource) throws IOException {
+		PersistentMetadataReaderCache persistentCache = this.persistentCache;
+		if (persistentCache != null) {
+			MetadataReader metadataReader =
+					persistentCache.getMetadataReader(resource, getResourceLoader().getClassLoader());
+			if (metadataReader != null) {
+				return metadataReader;
+			}
+		}
+		return super.getMetadataReader(resource);
+	}
+
 	/**
 	 * Clear the local MetadataReader cache, if any, removing all cached class metadata.
+	 * <p>A {@link #setPersistentCache persistent cache} gets saved to disk at this point,
+	 * releasing the class files that it holds in memory.
 	 */
 	public void clearCache() {
+		if (this.persistentCache != null) {
+			this.persistentCache.save();
+		}
 		if (this.metadataReaderCache instanceof LocalResourceCache) {
 			synchronized (this.metadataReaderCache) {
 				this.metadataReaderCache.clear();
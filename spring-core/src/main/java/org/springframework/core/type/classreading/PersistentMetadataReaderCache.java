@@ -0,0 +1,348 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * On-disk cache for class metadata read from jar files, allowing a
+ * {@link CachingMetadataReaderFactory} to reuse metadata across JVM restarts.
+ *
+ * <p>Keeps one cache file per jar in the given directory, holding the class files
+ * read so far stripped down to what metadata reading needs (i.e. without code).
+ * A cache file is only used while the jar's path, length and last-modified
+ * timestamp match the ones it has been created for; otherwise it gets rebuilt.
+ * Classes outside of jar files are always read from their original resource.
+ *
+ * <p>New entries are written to disk on {@link #save()}, which a
+ * {@link CachingMetadataReaderFactory} triggers when its cache gets cleared
+ * at the end of configuration class processing. Class files are only held
+ * in memory until then: a save releases them, with subsequent lookups
+ * reading them from the cache files again.
+ *
+ * @since 5.3
+ * @see CachingMetadataReaderFactory#setPersistentCache
+ * @see #CACHE_DIRECTORY_PROPERTY_NAME
+ */
+public class PersistentMetadataReaderCache {
+
+	/**
+	 * System property that specifies the directory for a persistent metadata cache
+	 * to be used by default: {@code spring.metadata.cache.dir}.
+	 * <p>The property can also be configured in a {@link SpringProperties} file.
+	 */
+	public static final String CACHE_DIRECTORY_PROPERTY_NAME = "spring.metadata.cache.dir";
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String CACHE_FILE_SUFFIX = ".metadata";
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderCache.class);
+
+
+	private final File directory;
+
+	private final Map<File, ArchiveEntries> archiveEntries = new ConcurrentHashMap<>(64);
+
+
+	/**
+	 * Create a new PersistentMetadataReaderCache for the given directory.
+	 * @param directory the directory to keep the cache files in
+	 * (created on demand)
+	 */
+	public PersistentMetadataReaderCache(File directory) {
+		Assert.notNull(directory, "Directory must not be null");
+		this.directory = directory;
+	}
+
+
+	/**
+	 * Return the directory that this cache keeps its files in.
+	 */
+	public final File getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * Return a metadata reader for the given resource, using the cached class file
+	 * if available and caching the class file otherwise.
+	 * @param resource the class file resource
+	 * @param classLoader the ClassLoader to use for the metadata
+	 * @return the metadata reader, or {@code null} if the resource is not
+	 * contained in a jar file and therefore not subject to caching
+	 * @throws IOException in case of I/O failure
+	 */
+	@Nullable
+	MetadataReader getMetadataReader(Resource resource, @Nullable ClassLoader classLoader) throws IOException {
+		URL url = resource.getURL();
+		if (!ResourceUtils.isJarURL(url)) {
+			return null;
+		}
+		File archive;
+		try {
+			archive = ResourceUtils.getFile(ResourceUtils.extractArchiveURL(url));
+		}
+		catch (FileNotFoundException ex) {
+			// Not a jar in the file system...
+			return null;
+		}
+		String urlString = url.toString();
+		String entryName = urlString.substring(urlString.indexOf(ResourceUtils.JAR_URL_SEPARATOR) +
+				ResourceUtils.JAR_URL_SEPARATOR.length());
+
+		byte[] classFile = null;
+		while (true) {
+			ArchiveEntries entries = this.archiveEntries.computeIfAbsent(archive, this::loadArchiveEntries);
+			byte[] cachedClassFile = entries.get(entryName);
+			if (cachedClassFile != null) {
+				classFile = cachedClassFile;
+				break;
+			}
+			if (classFile == null) {
+				classFile = SimpleMetadataReader.stripClassFile(SimpleMetadataReader.getClassReader(resource));
+			}
+			if (entries.put(entryName, classFile)) {
+				break;
+			}
+			// Released by a concurrent save: add to the entries that replace it.
+		}
+		return new SimpleMetadataReader(resource, new ClassReader(classFile), classLoader);
+	}
+
+	/**
+	 * Write all entries added since the last save to disk, and release the
+	 * class files held in memory.
+	 * <p>Class files that get added to an archive's entries while they are
+	 * being written are kept in memory until the next save.
+	 * <p>Failures are logged rather than propagated: the cache is only an optimization.
+	 */
+	public void save() {
+		for (ArchiveEntries entries : this.archiveEntries.values()) {
+			if (entries.markSaved()) {
+				try {
+					writeArchiveEntries(entries);
+				}
+				catch (IOException ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Failed to write metadata cache for " + entries.archive, ex);
+					}
+				}
+			}
+			if (entries.release()) {
+				this.archiveEntries.remove(entries.archive, entries);
+			}
+		}
+	}
+
+	/**
+	 * Return the number of archives whose class files are currently held in memory.
+	 */
+	int getLoadedArchiveCount() {
+		return this.archiveEntries.size();
+	}
+
+	private ArchiveEntries loadArchiveEntries(File archive) {
+		ArchiveEntries entries = new ArchiveEntries(archive);
+		File cacheFile = getCacheFile(archive);
+		if (!cacheFile.isFile()) {
+			return entries;
+		}
+		try (InputStream is = Files.newInputStream(cacheFile.toPath());
+				DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+			if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(entries.path) ||
+					in.readLong() != entries.length || in.readLong() != entries.lastModified) {
+				// Outdated: start over for the current state of the archive.
+				return entries;
+			}
+			int count = in.readInt();
+			Map<String, byte[]> classFiles = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				String entryName = in.readUTF();
+				byte[] classFile = new byte[in.readInt()];
+				in.readFully(classFile);
+				classFiles.put(entryName, classFile);
+			}
+			entries.load(classFiles);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Loaded " + count + " cached class files for " + archive);
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring unreadable metadata cache file " + cacheFile, ex);
+			}
+		}
+		return entries;
+	}
+
+	private void writeArchiveEntries(ArchiveEntries entries) throws IOException {
+		if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("Cannot create metadata cache directory " + this.directory);
+		}
+		Map<String, byte[]> classFiles = entries.getClassFiles();
+		File cacheFile = getCacheFile(entries.archive);
+		File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", this.directory);
+		try {
+			try (OutputStream os = Files.newOutputStream(tempFile.toPath());
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(entries.path);
+				out.writeLong(entries.length);
+				out.writeLong(entries.lastModified);
+				out.writeInt(classFiles.size());
+				for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeInt(entry.getValue().length);
+					out.write(entry.getValue());
+				}
+			}
+			try {
+				Files.move(tempFile.toPath(), cacheFile.toPath(),
+						StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	private File getCacheFile(File archive) {
+		String key = DigestUtils.md5DigestAsHex(archive.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		return new File(this.directory, archive.getName() + '-' + key + CACHE_FILE_SUFFIX);
+	}
+
+
+	/**
+	 * Create a PersistentMetadataReaderCache for the directory specified
+	 * through the {@link #CACHE_DIRECTORY_PROPERTY_NAME} property, if any.
+	 * @return a new cache instance, or {@code null} if none configured
+	 */
+	@Nullable
+	public static PersistentMetadataReaderCache getDefaultCache() {
+		String directory = SpringProperties.getProperty(CACHE_DIRECTORY_PROPERTY_NAME);
+		return (StringUtils.hasText(directory) ? new PersistentMetadataReaderCache(new File(directory.trim())) : null);
+	}
+
+
+	/**
+	 * Cached class files for a specific archive, along with the archive state
+	 * that they have been read from.
+	 */
+	private static class ArchiveEntries {
+
+		final File archive;
+
+		final String path;
+
+		final long length;
+
+		final long lastModified;
+
+		private final Map<String, byte[]> classFiles = new ConcurrentHashMap<>(256);
+
+		private boolean modified;
+
+		private boolean released;
+
+		ArchiveEntries(File archive) {
+			this.archive = archive;
+			this.path = archive.getAbsolutePath();
+			this.length = archive.length();
+			this.lastModified = archive.lastModified();
+		}
+
+		void load(Map<String, byte[]> classFiles) {
+			this.classFiles.putAll(classFiles);
+		}
+
+		@Nullable
+		byte[] get(String entryName) {
+			return this.classFiles.get(entryName);
+		}
+
+		/**
+		 * Add the given class file, unless these entries have been released.
+		 * @return {@code true} if added, {@code false} if released
+		 */
+		synchronized boolean put(String entryName, byte[] classFile) {
+			if (this.released) {
+				return false;
+			}
+			this.classFiles.put(entryName, classFile);
+			this.modified = true;
+			return true;
+		}
+
+		Map<String, byte[]> getClassFiles() {
+			return new HashMap<>(this.classFiles);
+		}
+
+		/**
+		 * Reset the modified flag, returning whether there is anything to save.
+		 */
+		synchronized boolean markSaved() {
+			boolean modified = this.modified;
+			this.modified = false;
+			return modified;
+		}
+
+		/**
+		 * Release these entries unless anything has been added since the
+		 * last {@link #markSaved()} call, rejecting any further additions.
+		 * @return {@code true} if released, {@code false} if there is
+		 * anything left to save
+		 */
+		synchronized boolean release() {
+			if (!this.modified) {
+				this.released = true;
+			}
+			return this.released;
+		}
+	}
+
+}
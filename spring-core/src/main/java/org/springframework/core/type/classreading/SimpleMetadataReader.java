@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassWriter;
 import org.springframework.core.NestedIOException;
 import org.springframework.core.io.Resource;
 import org.springframework.core.type.AnnotationMetadata;
@@ -45,13 +46,17 @@ final class SimpleMetadataReader implements MetadataReader {
 
 
 	SimpleMetadataReader(Resource resource, @Nullable ClassLoader classLoader) throws IOException {
+		this(resource, getClassReader(resource), classLoader);
+	}
+
+	SimpleMetadataReader(Resource resource, ClassReader classReader, @Nullable ClassLoader classLoader) {
 		SimpleAnnotationMetadataReadingVisitor visitor = new SimpleAnnotationMetadataReadingVisitor(classLoader);
-		getClassReader(resource).accept(visitor, PARSING_OPTIONS);
+		classReader.accept(visitor, PARSING_OPTIONS);
 		this.resource = resource;
 		this.annotationMetadata = visitor.getMetadata();
 	}
 
-	private static ClassReader getClassReader(Resource resource) throws IOException {
+	static ClassReader getClassReader(Resource resource) throws IOException {
 		try (InputStream is = resource.getInputStream()) {
 			try {
 				return new ClassReader(is);
@@ -63,6 +68,19 @@ final class SimpleMetadataReader implements MetadataReader {
 		}
 	}
 
+	/**
+	 * Strip the given class file down to the parts that metadata reading looks at,
+	 * i.e. without code, debug information and frames.
+	 * @param classReader the reader for the original class file
+	 * @return the stripped class file, to be read again through a ClassReader
+	 * @since 5.3
+	 */
+	static byte[] stripClassFile(ClassReader classReader) {
+		ClassWriter classWriter = new ClassWriter(0);
+		classReader.accept(classWriter, PARSING_OPTIONS);
+		return classWriter.toByteArray();
+	}
+
 
 	@Override
 	public Resource getResource() {
@@ -132,6 +132,14 @@ public class AntPathMatcher implements PathMatcher {
 		this.pathSeparatorPatternCache = new PathSeparatorPatternCache(this.pathSeparator);
 	}
 
+	/**
+	 * Return the path separator used for pattern parsing.
+	 * @since 5.3
+	 */
+	public String getPathSeparator() {
+		return this.pathSeparator;
+	}
+
 	/**
 	 * Specify whether to perform pattern matching in a case-sensitive fashion.
 	 * <p>Default is {@code true}. Switch this to {@code false} for case-insensitive matching.
@@ -141,6 +149,14 @@ public class AntPathMatcher implements PathMatcher {
 		this.caseSensitive = caseSensitive;
 	}
 
+	/**
+	 * Return whether pattern matching is performed in a case-sensitive fashion.
+	 * @since 5.3
+	 */
+	public boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
 	/**
 	 * Specify whether to trim tokenized paths and patterns.
 	 * <p>Default is {@code false}.
@@ -149,6 +165,14 @@ public class AntPathMatcher implements PathMatcher {
 		this.trimTokens = trimTokens;
 	}
 
+	/**
+	 * Return whether tokenized paths and patterns are trimmed.
+	 * @since 5.3
+	 */
+	public boolean isTrimTokens() {
+		return this.trimTokens;
+	}
+
 	/**
 	 * Specify whether to cache parsed pattern metadata for patterns passed
 	 * into this matcher's {@link #match} method. A value of {@code true}
@@ -197,6 +221,21 @@ public class AntPathMatcher implements PathMatcher {
 		return false;
 	}
 
+	/**
+	 * Compile the given pattern for repeated matching, as an alternative to
+	 * passing the pattern into {@link #match}, {@link #matchStart} or
+	 * {@link #extractUriTemplateVariables} for every path.
+	 * <p>The compiled pattern captures the current path separator, case sensitivity
+	 * and token trimming settings of this matcher. It matches paths the same way as
+	 * this class does, but does not go through any methods overridden in subclasses.
+	 * @param pattern the pattern to compile
+	 * @return the compiled pattern
+	 * @since 5.3
+	 */
+	public CompiledAntPattern compile(String pattern) {
+		return new CompiledAntPattern(pattern, this.pathSeparator, this.caseSensitive, this.trimTokens);
+	}
+
 	@Override
 	public boolean match(String pattern, String path) {
 		return doMatch(pattern, path, true, null);
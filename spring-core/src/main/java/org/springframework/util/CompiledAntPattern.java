@@ -0,0 +1,531 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * An Ant-style path pattern compiled for repeated matching, as returned by
+ * {@link AntPathMatcher#compile(String)}.
+ *
+ * <p>Matches paths exactly like the {@link AntPathMatcher} that compiled it,
+ * based on the configuration of that matcher at the time of compilation.
+ * The pattern gets tokenized once, with literal segments and segments with
+ * plain {@code ?} and {@code *} wildcards matched directly against the path:
+ * no path tokenization, no regular expressions and no allocations per match,
+ * except for segments with URI template variables.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @since 5.3
+ * @see AntPathMatcher#compile(String)
+ */
+public final class CompiledAntPattern {
+
+	private final String pattern;
+
+	private final String pathSeparator;
+
+	private final boolean trimTokens;
+
+	private final Segment[] segments;
+
+
+	CompiledAntPattern(String pattern, String pathSeparator, boolean caseSensitive, boolean trimTokens) {
+		this.pattern = pattern;
+		this.pathSeparator = pathSeparator;
+		this.trimTokens = trimTokens;
+		String[] tokens = StringUtils.tokenizeToStringArray(pattern, pathSeparator, trimTokens, true);
+		this.segments = new Segment[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			this.segments[i] = compileSegment(tokens[i], caseSensitive);
+		}
+	}
+
+	private static Segment compileSegment(String token, boolean caseSensitive) {
+		if (token.equals("**")) {
+			return DoubleWildcardSegment.INSTANCE;
+		}
+		if (token.equals("*")) {
+			return WildcardSegment.INSTANCE;
+		}
+		if (caseSensitive && token.indexOf('{') == -1) {
+			if (token.indexOf('*') == -1 && token.indexOf('?') == -1) {
+				return new LiteralSegment(token);
+			}
+			return new GlobSegment(token);
+		}
+		return new RegexSegment(new AntPathMatcher.AntPathStringMatcher(token, caseSensitive));
+	}
+
+
+	/**
+	 * Return the original pattern string.
+	 */
+	public String getPattern() {
+		return this.pattern;
+	}
+
+	/**
+	 * Match the given {@code path} against this pattern.
+	 * @param path the path to test
+	 * @return {@code true} if the supplied {@code path} matched,
+	 * {@code false} if it didn't
+	 * @see AntPathMatcher#match(String, String)
+	 */
+	public boolean match(String path) {
+		return doMatch(path, true, null);
+	}
+
+	/**
+	 * Match the given {@code path} against the corresponding part of this pattern,
+	 * i.e. determine whether the pattern matches at least as far as the given
+	 * base path goes.
+	 * @param path the path to test
+	 * @return {@code true} if the supplied {@code path} matched,
+	 * {@code false} if it didn't
+	 * @see AntPathMatcher#matchStart(String, String)
+	 */
+	public boolean matchStart(String path) {
+		return doMatch(path, false, null);
+	}
+
+	/**
+	 * Extract the URI template variables from the given path.
+	 * @param path the full path to extract template variables from
+	 * @return a map, containing variable names as keys; variables values as values
+	 * @throws IllegalStateException if the path does not match this pattern
+	 * @see AntPathMatcher#extractUriTemplateVariables(String, String)
+	 */
+	public Map<String, String> extractUriTemplateVariables(String path) {
+		Map<String, String> variables = new LinkedHashMap<>();
+		if (!doMatch(path, true, variables)) {
+			throw new IllegalStateException("Pattern \"" + this.pattern + "\" is not a match for \"" + path + "\"");
+		}
+		return variables;
+	}
+
+
+	/**
+	 * Same algorithm as {@link AntPathMatcher#doMatch}, but walking the path
+	 * by segment positions instead of tokenizing it.
+	 */
+	private boolean doMatch(String path, boolean fullMatch, @Nullable Map<String, String> uriTemplateVariables) {
+		String separator = this.pathSeparator;
+		if (path.startsWith(separator) != this.pattern.startsWith(separator)) {
+			return false;
+		}
+
+		Segment[] segments = this.segments;
+		int pattIdxStart = 0;
+		int pattIdxEnd = segments.length - 1;
+		// Remaining path segments are located between these positions
+		int pathStart = 0;
+		int pathEnd = path.length();
+
+		// Match all elements up to the first **
+		int segmentStart = nextSegmentStart(path, pathStart, pathEnd);
+		while (pattIdxStart <= pattIdxEnd && segmentStart != -1) {
+			Segment segment = segments[pattIdxStart];
+			if (segment.isDoubleWildcard()) {
+				break;
+			}
+			int segmentEnd = segmentEnd(path, segmentStart);
+			if (!segment.matches(path, segmentStart, segmentEnd, uriTemplateVariables)) {
+				return false;
+			}
+			pattIdxStart++;
+			pathStart = segmentEnd;
+			segmentStart = nextSegmentStart(path, pathStart, pathEnd);
+		}
+
+		if (segmentStart == -1) {
+			// Path is exhausted, only match if rest of pattern is * or **'s
+			if (pattIdxStart > pattIdxEnd) {
+				return (this.pattern.endsWith(separator) == path.endsWith(separator));
+			}
+			if (!fullMatch) {
+				return true;
+			}
+			if (pattIdxStart == pattIdxEnd && segments[pattIdxStart].isWildcard() && path.endsWith(separator)) {
+				return true;
+			}
+			return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+		}
+		else if (pattIdxStart > pattIdxEnd) {
+			// String not exhausted, but pattern is. Failure.
+			return false;
+		}
+		else if (!fullMatch && segments[pattIdxStart].isDoubleWildcard()) {
+			// Path start definitely matches due to "**" part in pattern.
+			return true;
+		}
+
+		// up to last '**'
+		int segmentEnd = previousSegmentEnd(path, pathEnd, pathStart);
+		while (pattIdxStart <= pattIdxEnd && segmentEnd != -1) {
+			Segment segment = segments[pattIdxEnd];
+			if (segment.isDoubleWildcard()) {
+				break;
+			}
+			segmentStart = segmentStart(path, segmentEnd);
+			if (!segment.matches(path, segmentStart, segmentEnd, uriTemplateVariables)) {
+				return false;
+			}
+			pattIdxEnd--;
+			pathEnd = segmentStart;
+			segmentEnd = previousSegmentEnd(path, pathEnd, pathStart);
+		}
+		if (segmentEnd == -1) {
+			// String is exhausted
+			return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+		}
+
+		while (pattIdxStart != pattIdxEnd && nextSegmentStart(path, pathStart, pathEnd) != -1) {
+			int patIdxTmp = -1;
+			for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+				if (segments[i].isDoubleWildcard()) {
+					patIdxTmp = i;
+					break;
+				}
+			}
+			if (patIdxTmp == pattIdxStart + 1) {
+				// '**/**' situation, so skip one
+				pattIdxStart++;
+				continue;
+			}
+			// Find the pattern between pattIdxStart & patIdxTmp in the remaining path
+			int patLength = (patIdxTmp - pattIdxStart - 1);
+			int strLength = countSegments(path, pathStart, pathEnd);
+			int foundEnd = -1;
+
+			int candidateStart = nextSegmentStart(path, pathStart, pathEnd);
+			strLoop:
+			for (int i = 0; i <= strLength - patLength; i++) {
+				int subStart = candidateStart;
+				int subEnd = -1;
+				for (int j = 0; j < patLength; j++) {
+					subEnd = segmentEnd(path, subStart);
+					if (!segments[pattIdxStart + j + 1].matches(path, subStart, subEnd, uriTemplateVariables)) {
+						candidateStart = nextSegmentStart(path, segmentEnd(path, candidateStart), pathEnd);
+						continue strLoop;
+					}
+					subStart = nextSegmentStart(path, subEnd, pathEnd);
+				}
+				foundEnd = subEnd;
+				break;
+			}
+
+			if (foundEnd == -1) {
+				return false;
+			}
+
+			pattIdxStart = patIdxTmp;
+			pathStart = foundEnd;
+		}
+
+		return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+	}
+
+	private boolean onlyDoubleWildcards(int start, int end) {
+		for (int i = start; i <= end; i++) {
+			if (!this.segments[i].isDoubleWildcard()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	// Path segments, as StringUtils.tokenizeToStringArray(path, pathSeparator, trimTokens, true) would return them
+
+	private boolean isSeparator(char c) {
+		return (this.pathSeparator.indexOf(c) != -1);
+	}
+
+	/**
+	 * Return the start of the first segment that starts at or after {@code from}
+	 * and before {@code limit}, or -1 if none.
+	 */
+	private int nextSegmentStart(String path, int from, int limit) {
+		int pos = from;
+		while (pos < limit) {
+			while (pos < limit && isSeparator(path.charAt(pos))) {
+				pos++;
+			}
+			if (pos >= limit || !this.trimTokens) {
+				break;
+			}
+			int rawEnd = pos;
+			while (rawEnd < path.length() && !isSeparator(path.charAt(rawEnd))) {
+				rawEnd++;
+			}
+			while (pos < rawEnd && path.charAt(pos) <= ' ') {
+				pos++;
+			}
+			if (pos < rawEnd) {
+				break;
+			}
+		}
+		return (pos < limit ? pos : -1);
+	}
+
+	/**
+	 * Return the end of the segment starting at {@code start}.
+	 */
+	private int segmentEnd(String path, int start) {
+		int end = start;
+		while (end < path.length() && !isSeparator(path.charAt(end))) {
+			end++;
+		}
+		if (this.trimTokens) {
+			while (end > start && path.charAt(end - 1) <= ' ') {
+				end--;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Return the end of the last segment that ends at or before {@code from}
+	 * and after {@code limit}, or -1 if none.
+	 */
+	private int previousSegmentEnd(String path, int from, int limit) {
+		int pos = from;
+		while (pos > limit) {
+			while (pos > limit && isSeparator(path.charAt(pos - 1))) {
+				pos--;
+			}
+			if (pos <= limit || !this.trimTokens) {
+				break;
+			}
+			int rawStart = pos;
+			while (rawStart > 0 && !isSeparator(path.charAt(rawStart - 1))) {
+				rawStart--;
+			}
+			while (pos > rawStart && path.charAt(pos - 1) <= ' ') {
+				pos--;
+			}
+			if (pos > rawStart) {
+				break;
+			}
+		}
+		return (pos > limit ? pos : -1);
+	}
+
+	/**
+	 * Return the start of the segment ending at {@code end}.
+	 */
+	private int segmentStart(String path, int end) {
+		int start = end;
+		while (start > 0 && !isSeparator(path.charAt(start - 1))) {
+			start--;
+		}
+		if (this.trimTokens) {
+			while (start < end && path.charAt(start) <= ' ') {
+				start++;
+			}
+		}
+		return start;
+	}
+
+	private int countSegments(String path, int from, int limit) {
+		int count = 0;
+		int start = nextSegmentStart(path, from, limit);
+		while (start != -1) {
+			count++;
+			start = nextSegmentStart(path, segmentEnd(path, start), limit);
+		}
+		return count;
+	}
+
+
+	@Override
+	public String toString() {
+		return this.pattern;
+	}
+
+
+	/**
+	 * Whether the given character is a line terminator, which a regular
+	 * expression's "." does not match.
+	 */
+	private static boolean isLineTerminator(char c) {
+		return (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029');
+	}
+
+
+	/**
+	 * Matcher for a single pattern segment.
+	 */
+	private abstract static class Segment {
+
+		public abstract boolean matches(String path, int start, int end,
+				@Nullable Map<String, String> uriTemplateVariables);
+
+		public boolean isWildcard() {
+			return false;
+		}
+
+		public boolean isDoubleWildcard() {
+			return false;
+		}
+	}
+
+
+	/**
+	 * A "**" segment, matching any number of path segments.
+	 */
+	private static final class DoubleWildcardSegment extends Segment {
+
+		static final DoubleWildcardSegment INSTANCE = new DoubleWildcardSegment();
+
+		@Override
+		public boolean matches(String path, int start, int end, @Nullable Map<String, String> uriTemplateVariables) {
+			return WildcardSegment.INSTANCE.matches(path, start, end, uriTemplateVariables);
+		}
+
+		@Override
+		public boolean isDoubleWildcard() {
+			return true;
+		}
+	}
+
+
+	/**
+	 * A "*" segment, matching any path segment.
+	 */
+	private static final class WildcardSegment extends Segment {
+
+		static final WildcardSegment INSTANCE = new WildcardSegment();
+
+		@Override
+		public boolean matches(String path, int start, int end, @Nullable Map<String, String> uriTemplateVariables) {
+			for (int i = start; i < end; i++) {
+				if (isLineTerminator(path.charAt(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isWildcard() {
+			return true;
+		}
+	}
+
+
+	/**
+	 * A segment without any wildcards, matched case-sensitively.
+	 */
+	private static final class LiteralSegment extends Segment {
+
+		private final String literal;
+
+		LiteralSegment(String literal) {
+			this.literal = literal;
+		}
+
+		@Override
+		public boolean matches(String path, int start, int end, @Nullable Map<String, String> uriTemplateVariables) {
+			return (end - start == this.literal.length() &&
+					path.regionMatches(start, this.literal, 0, this.literal.length()));
+		}
+	}
+
+
+	/**
+	 * A segment with {@code ?} and {@code *} wildcards but no URI template
+	 * variables, matched case-sensitively.
+	 */
+	private static final class GlobSegment extends Segment {
+
+		private final String glob;
+
+		GlobSegment(String glob) {
+			this.glob = glob;
+		}
+
+		@Override
+		public boolean matches(String path, int start, int end, @Nullable Map<String, String> uriTemplateVariables) {
+			String glob = this.glob;
+			int globPos = 0;
+			int pathPos = start;
+			int starGlobPos = -1;
+			int starPathPos = -1;
+			while (pathPos < end) {
+				if (globPos < glob.length()) {
+					char globChar = glob.charAt(globPos);
+					if (globChar == '*') {
+						starGlobPos = globPos++;
+						starPathPos = pathPos;
+						continue;
+					}
+					char pathChar = path.charAt(pathPos);
+					if (globChar == '?') {
+						if (!isLineTerminator(pathChar)) {
+							globPos++;
+							// Like "." in a regular expression, "?" matches a code point
+							pathPos += (Character.isHighSurrogate(pathChar) && pathPos + 1 < end &&
+									Character.isLowSurrogate(path.charAt(pathPos + 1)) ? 2 : 1);
+							continue;
+						}
+					}
+					else if (globChar == pathChar) {
+						globPos++;
+						pathPos++;
+						continue;
+					}
+				}
+				// Mismatch: let the last "*" consume one more character, if any
+				if (starGlobPos != -1 && !isLineTerminator(path.charAt(starPathPos))) {
+					globPos = starGlobPos + 1;
+					pathPos = ++starPathPos;
+					continue;
+				}
+				return false;
+			}
+			while (globPos < glob.length() && glob.charAt(globPos) == '*') {
+				globPos++;
+			}
+			return (globPos == glob.length());
+		}
+	}
+
+
+	/**
+	 * Any other segment, matched through a regular expression.
+	 */
+	private static final class RegexSegment extends Segment {
+
+		private final AntPathMatcher.AntPathStringMatcher matcher;
+
+		RegexSegment(AntPathMatcher.AntPathStringMatcher matcher) {
+			this.matcher = matcher;
+		}
+
+		@Override
+		public boolean matches(String path, int start, int end, @Nullable Map<String, String> uriTemplateVariables) {
+			return this.matcher.matchStrings(path.substring(start, end), uriTemplateVariables);
+		}
+	}
+
+}
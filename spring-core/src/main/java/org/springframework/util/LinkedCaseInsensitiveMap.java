@@ -16,28 +16,52 @@
 
 package org.springframework.util;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.reflect.Method;
 import java.util.AbstractCollection;
 import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.springframework.lang.Nullable;
 
 /**
- * {@link LinkedHashMap} variant that stores String keys in a case-insensitive
+ * {@link Map} implementation that stores String keys in a case-insensitive
  * manner, for example for key-based access in a results table.
  *
  * <p>Preserves the original order as well as the original casing of keys,
  * while allowing for contains, get and remove calls with any case of key.
+ * Iteration follows insertion order, as with a {@link LinkedHashMap}.
+ *
+ * <p>As of 5.3, entries are kept in an insertion-ordered array that is indexed
+ * by an open-addressing hash table with linear probing, instead of in a
+ * {@code LinkedHashMap} and a separate map of converted keys. This suits the
+ * small maps that this class is typically used for. Keys that consist of ASCII
+ * characters only are hashed and compared case-insensitively without being
+ * {@linkplain #convertKey converted}, so that lookups do not allocate.
+ *
+ * <p>The serialized form consists of the {@code Locale}, followed by the number
+ * of entries and then each key and value in insertion order. It is therefore
+ * not compatible with the serialized form of earlier versions, which contained
+ * the internal {@code LinkedHashMap} and {@code HashMap} instances.
  *
  * <p>Does <i>not</i> support {@code null} keys.
  *
@@ -49,12 +73,35 @@ import org.springframework.lang.Nullable;
 @SuppressWarnings("serial")
 public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable, Cloneable {
 
-	private final LinkedHashMap<String, V> targetMap;
+	private static final int MINIMUM_CAPACITY = 4;
+
+	/**
+	 * Languages for which {@link String#toLowerCase(Locale)} does not simply
+	 * map ASCII upper-case letters to their lower-case counterparts.
+	 */
+	private static final Set<String> languagesWithSpecialCasing = new HashSet<>(Arrays.asList("tr", "az", "lt"));
+
+	/** Whether subclasses customize the conversion of keys. */
+	private static final Map<Class<?>, Boolean> keyConversionCustomized = new ConcurrentReferenceHashMap<>();
 
-	private final HashMap<String, String> caseInsensitiveKeys;
 
 	private final Locale locale;
 
+	private transient boolean asciiFolding;
+
+	/** Entries in insertion order, with {@code null} for removed entries. */
+	private transient Node<V>[] entries;
+
+	/** Number of positions used in {@link #entries}, including removed entries. */
+	private transient int entryCount;
+
+	/** Hash table with linear probing, holding entry positions + 1, or 0 for empty slots. */
+	private transient int[] table;
+
+	private transient int size;
+
+	private transient int modCount;
+
 	@Nullable
 	private transient volatile Set<String> keySet;
 
@@ -85,9 +132,9 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 	}
 
 	/**
-	 * Create a new LinkedCaseInsensitiveMap that wraps a {@link LinkedHashMap}
-	 * with the given initial capacity and stores case-insensitive keys
-	 * according to the default Locale (by default in lower case).
+	 * Create a new LinkedCaseInsensitiveMap with the given initial capacity
+	 * and stores case-insensitive keys according to the default Locale
+	 * (by default in lower case).
 	 * @param initialCapacity the initial capacity
 	 * @see #convertKey(String)
 	 */
@@ -96,40 +143,35 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 	}
 
 	/**
-	 * Create a new LinkedCaseInsensitiveMap that wraps a {@link LinkedHashMap}
-	 * with the given initial capacity and stores case-insensitive keys
-	 * according to the given Locale (by default in lower case).
+	 * Create a new LinkedCaseInsensitiveMap with the given initial capacity
+	 * and stores case-insensitive keys according to the given Locale
+	 * (by default in lower case).
 	 * @param initialCapacity the initial capacity
 	 * @param locale the Locale to use for case-insensitive key conversion
 	 * @see #convertKey(String)
 	 */
 	public LinkedCaseInsensitiveMap(int initialCapacity, @Nullable Locale locale) {
-		this.targetMap = new LinkedHashMap<String, V>(initialCapacity) {
-			@Override
-			public boolean containsKey(Object key) {
-				return LinkedCaseInsensitiveMap.this.containsKey(key);
-			}
-			@Override
-			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
-				boolean doRemove = LinkedCaseInsensitiveMap.this.removeEldestEntry(eldest);
-				if (doRemove) {
-					removeCaseInsensitiveKey(eldest.getKey());
-				}
-				return doRemove;
-			}
-		};
-		this.caseInsensitiveKeys = new HashMap<>(initialCapacity);
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+		}
 		this.locale = (locale != null ? locale : Locale.getDefault());
+		this.asciiFolding = isAsciiFoldingApplicable();
+		initEntries(initialCapacity);
 	}
 
 	/**
 	 * Copy constructor.
 	 */
-	@SuppressWarnings("unchecked")
 	private LinkedCaseInsensitiveMap(LinkedCaseInsensitiveMap<V> other) {
-		this.targetMap = (LinkedHashMap<String, V>) other.targetMap.clone();
-		this.caseInsensitiveKeys = (HashMap<String, String>) other.caseInsensitiveKeys.clone();
 		this.locale = other.locale;
+		this.asciiFolding = isAsciiFoldingApplicable();
+		initEntries(other.size);
+		for (int i = 0; i < other.entryCount; i++) {
+			Node<V> node = other.entries[i];
+			if (node != null) {
+				addNode(node.key, hash(node.key), node.value);
+			}
+		}
 	}
 
 
@@ -137,58 +179,65 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 
 	@Override
 	public int size() {
-		return this.targetMap.size();
+		return this.size;
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return this.targetMap.isEmpty();
+		return (this.size == 0);
 	}
 
 	@Override
 	public boolean containsKey(Object key) {
-		return (key instanceof String && this.caseInsensitiveKeys.containsKey(convertKey((String) key)));
+		return (getNode(key) != null);
 	}
 
 	@Override
 	public boolean containsValue(Object value) {
-		return this.targetMap.containsValue(value);
+		for (int i = 0; i < this.entryCount; i++) {
+			Node<V> node = this.entries[i];
+			if (node != null && Objects.equals(node.value, value)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
 	@Nullable
 	public V get(Object key) {
-		if (key instanceof String) {
-			String caseInsensitiveKey = this.caseInsensitiveKeys.get(convertKey((String) key));
-			if (caseInsensitiveKey != null) {
-				return this.targetMap.get(caseInsensitiveKey);
-			}
-		}
-		return null;
+		Node<V> node = getNode(key);
+		return (node != null ? node.value : null);
 	}
 
 	@Override
 	@Nullable
 	public V getOrDefault(Object key, V defaultValue) {
-		if (key instanceof String) {
-			String caseInsensitiveKey = this.caseInsensitiveKeys.get(convertKey((String) key));
-			if (caseInsensitiveKey != null) {
-				return this.targetMap.get(caseInsensitiveKey);
-			}
-		}
-		return defaultValue;
+		Node<V> node = getNode(key);
+		return (node != null ? node.value : defaultValue);
 	}
 
 	@Override
 	@Nullable
 	public V put(String key, @Nullable V value) {
-		String oldKey = this.caseInsensitiveKeys.put(convertKey(key), key);
-		V oldKeyValue = null;
-		if (oldKey != null && !oldKey.equals(key)) {
-			oldKeyValue = this.targetMap.remove(oldKey);
-		}
-		V oldValue = this.targetMap.put(key, value);
-		return (oldKeyValue != null ? oldKeyValue : oldValue);
+		int hash = hash(key);
+		int slot = findSlot(key, hash);
+		if (slot != -1) {
+			Node<V> node = this.entries[this.table[slot] - 1];
+			V oldValue = node.value;
+			if (node.key.equals(key)) {
+				node.value = value;
+				return oldValue;
+			}
+			// Same key with different casing: replace the entry
+			removeSlot(slot);
+			addNode(key, hash, value);
+			afterNodeInsertion();
+			return oldValue;
+		}
+		addNode(key, hash, value);
+		afterNodeInsertion();
+		return null;
 	}
 
 	@Override
@@ -202,30 +251,46 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 	@Override
 	@Nullable
 	public V putIfAbsent(String key, @Nullable V value) {
-		String oldKey = this.caseInsensitiveKeys.putIfAbsent(convertKey(key), key);
-		if (oldKey != null) {
-			return this.targetMap.get(oldKey);
+		int hash = hash(key);
+		int slot = findSlot(key, hash);
+		if (slot != -1) {
+			return this.entries[this.table[slot] - 1].value;
 		}
-		return this.targetMap.putIfAbsent(key, value);
+		addNode(key, hash, value);
+		afterNodeInsertion();
+		return null;
 	}
 
 	@Override
 	@Nullable
 	public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
-		String oldKey = this.caseInsensitiveKeys.putIfAbsent(convertKey(key), key);
-		if (oldKey != null) {
-			return this.targetMap.get(oldKey);
+		int hash = hash(key);
+		int slot = findSlot(key, hash);
+		if (slot != -1) {
+			return this.entries[this.table[slot] - 1].value;
 		}
-		return this.targetMap.computeIfAbsent(key, mappingFunction);
+		int expectedModCount = this.modCount;
+		V value = mappingFunction.apply(key);
+		if (this.modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+		if (value != null) {
+			addNode(key, hash, value);
+			afterNodeInsertion();
+		}
+		return value;
 	}
 
 	@Override
 	@Nullable
 	public V remove(Object key) {
 		if (key instanceof String) {
-			String caseInsensitiveKey = removeCaseInsensitiveKey((String) key);
-			if (caseInsensitiveKey != null) {
-				return this.targetMap.remove(caseInsensitiveKey);
+			String stringKey = (String) key;
+			int slot = findSlot(stringKey, hash(stringKey));
+			if (slot != -1) {
+				V oldValue = this.entries[this.table[slot] - 1].value;
+				removeSlot(slot);
+				return oldValue;
 			}
 		}
 		return null;
@@ -233,15 +298,34 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 
 	@Override
 	public void clear() {
-		this.caseInsensitiveKeys.clear();
-		this.targetMap.clear();
+		if (this.entryCount > 0) {
+			Arrays.fill(this.entries, 0, this.entryCount, null);
+			Arrays.fill(this.table, 0);
+			this.entryCount = 0;
+			this.size = 0;
+			this.modCount++;
+		}
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super V> action) {
+		int expectedModCount = this.modCount;
+		for (int i = 0; i < this.entryCount; i++) {
+			Node<V> node = this.entries[i];
+			if (node != null) {
+				action.accept(node.key, node.value);
+			}
+			if (this.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
 	}
 
 	@Override
 	public Set<String> keySet() {
 		Set<String> keySet = this.keySet;
 		if (keySet == null) {
-			keySet = new KeySet(this.targetMap.keySet());
+			keySet = new KeySet();
 			this.keySet = keySet;
 		}
 		return keySet;
@@ -251,7 +335,7 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 	public Collection<V> values() {
 		Collection<V> values = this.values;
 		if (values == null) {
-			values = new Values(this.targetMap.values());
+			values = new Values();
 			this.values = values;
 		}
 		return values;
@@ -261,7 +345,7 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 	public Set<Entry<String, V>> entrySet() {
 		Set<Entry<String, V>> entrySet = this.entrySet;
 		if (entrySet == null) {
-			entrySet = new EntrySet(this.targetMap.entrySet());
+			entrySet = new EntrySet();
 			this.entrySet = entrySet;
 		}
 		return entrySet;
@@ -274,17 +358,62 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 
 	@Override
 	public boolean equals(@Nullable Object other) {
-		return (this == other || this.targetMap.equals(other));
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof Map)) {
+			return false;
+		}
+		Map<?, ?> otherMap = (Map<?, ?>) other;
+		if (otherMap.size() != this.size) {
+			return false;
+		}
+		try {
+			for (int i = 0; i < this.entryCount; i++) {
+				Node<V> node = this.entries[i];
+				if (node != null) {
+					if (node.value == null) {
+						if (otherMap.get(node.key) != null || !otherMap.containsKey(node.key)) {
+							return false;
+						}
+					}
+					else if (!node.value.equals(otherMap.get(node.key))) {
+						return false;
+					}
+				}
+			}
+		}
+		catch (ClassCastException | NullPointerException ex) {
+			return false;
+		}
+		return true;
 	}
 
 	@Override
 	public int hashCode() {
-		return this.targetMap.hashCode();
+		int hashCode = 0;
+		for (int i = 0; i < this.entryCount; i++) {
+			Node<V> node = this.entries[i];
+			if (node != null) {
+				hashCode += node.hashCode();
+			}
+		}
+		return hashCode;
 	}
 
 	@Override
 	public String toString() {
-		return this.targetMap.toString();
+		StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < this.entryCount; i++) {
+			Node<V> node = this.entries[i];
+			if (node != null) {
+				if (sb.length() > 1) {
+					sb.append(", ");
+				}
+				sb.append(node.key).append('=').append(node.value == this ? "(this Map)" : node.value);
+			}
+		}
+		return sb.append('}').toString();
 	}
 
 
@@ -305,6 +434,9 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 	 * Convert the given key to a case-insensitive key.
 	 * <p>The default implementation converts the key
 	 * to lower-case according to this Map's Locale.
+	 * <p>Keys with ASCII characters only are hashed and compared without
+	 * conversion, unless this method or {@link #getLocale()} is overridden,
+	 * or the Locale has special casing rules for ASCII characters.
 	 * @param key the user-specified key
 	 * @return the key to use for storing
 	 * @see String#toLowerCase(Locale)
@@ -323,28 +455,327 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 		return false;
 	}
 
+
+	// Hash table internals
+
+	private boolean isAsciiFoldingApplicable() {
+		if (languagesWithSpecialCasing.contains(this.locale.getLanguage())) {
+			return false;
+		}
+		Class<?> clazz = getClass();
+		return (clazz == LinkedCaseInsensitiveMap.class ||
+				!keyConversionCustomized.computeIfAbsent(clazz, LinkedCaseInsensitiveMap::declaresKeyConversion));
+	}
+
+	private static boolean declaresKeyConversion(Class<?> clazz) {
+		for (Class<?> current = clazz; current != LinkedCaseInsensitiveMap.class; current = current.getSuperclass()) {
+			for (Method method : current.getDeclaredMethods()) {
+				if ((method.getName().equals("convertKey") && method.getParameterCount() == 1) ||
+						(method.getName().equals("getLocale") && method.getParameterCount() == 0)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void initEntries(int initialCapacity) {
+		int capacity = Math.max(initialCapacity, MINIMUM_CAPACITY);
+		this.entries = (Node<V>[]) new Node<?>[capacity];
+		this.table = new int[tableSizeFor(capacity)];
+	}
+
+	/**
+	 * Return a power of two table size that keeps the table at most half full.
+	 */
+	private static int tableSizeFor(int capacity) {
+		return Integer.highestOneBit(Math.max(capacity, MINIMUM_CAPACITY) - 1) << 2;
+	}
+
+	/**
+	 * Return the hash code of the {@linkplain #convertKey converted} key.
+	 */
+	private int hash(String key) {
+		if (this.asciiFolding) {
+			int hash = 0;
+			for (int i = 0; i < key.length(); i++) {
+				char c = key.charAt(i);
+				if (c >= 0x80) {
+					return convertKey(key).hashCode();
+				}
+				hash = 31 * hash + toLowerCase(c);
+			}
+			return hash;
+		}
+		return convertKey(key).hashCode();
+	}
+
+	/**
+	 * Determine whether the given keys are equal once {@linkplain #convertKey converted}.
+	 */
+	private boolean matches(String key1, String key2) {
+		if (key1.equals(key2)) {
+			return true;
+		}
+		if (this.asciiFolding && key1.length() == key2.length()) {
+			int i = 0;
+			for (; i < key1.length(); i++) {
+				char c1 = key1.charAt(i);
+				char c2 = key2.charAt(i);
+				if (c1 >= 0x80 || c2 >= 0x80) {
+					break;
+				}
+				if (c1 != c2 && toLowerCase(c1) != toLowerCase(c2)) {
+					return false;
+				}
+			}
+			if (i == key1.length()) {
+				return true;
+			}
+		}
+		return convertKey(key1).equals(convertKey(key2));
+	}
+
+	private static char toLowerCase(char c) {
+		return (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+	}
+
+	private static int spread(int hash) {
+		return (hash ^ (hash >>> 16));
+	}
+
 	@Nullable
-	private String removeCaseInsensitiveKey(String key) {
-		return this.caseInsensitiveKeys.remove(convertKey(key));
+	private Node<V> getNode(Object key) {
+		if (key instanceof String) {
+			String stringKey = (String) key;
+			int slot = findSlot(stringKey, hash(stringKey));
+			if (slot != -1) {
+				return this.entries[this.table[slot] - 1];
+			}
+		}
+		return null;
 	}
 
+	/**
+	 * Return the table slot for the given key, or -1 if not found.
+	 */
+	private int findSlot(String key, int hash) {
+		int[] table = this.table;
+		int mask = table.length - 1;
+		for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+			int position = table[slot];
+			if (position == 0) {
+				return -1;
+			}
+			Node<V> node = this.entries[position - 1];
+			if (node.hash == hash && matches(node.key, key)) {
+				return slot;
+			}
+		}
+	}
 
-	private class KeySet extends AbstractSet<String> {
+	private void addNode(String key, int hash, @Nullable V value) {
+		if (this.entryCount == this.entries.length) {
+			resize();
+		}
+		int position = this.entryCount++;
+		this.entries[position] = new Node<>(key, hash, value);
+		insertIntoTable(hash, position);
+		this.size++;
+		this.modCount++;
+	}
+
+	private void afterNodeInsertion() {
+		for (int i = 0; i < this.entryCount; i++) {
+			Node<V> eldest = this.entries[i];
+			if (eldest != null) {
+				if (removeEldestEntry(eldest)) {
+					remove(eldest.key);
+				}
+				return;
+			}
+		}
+	}
 
-		private final Set<String> delegate;
+	private void insertIntoTable(int hash, int position) {
+		int[] table = this.table;
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = position + 1;
+	}
 
-		KeySet(Set<String> delegate) {
-			this.delegate = delegate;
+	/**
+	 * Remove the entry at the given table slot, shifting back subsequent
+	 * entries of the same probe sequence.
+	 */
+	private void removeSlot(int slot) {
+		int[] table = this.table;
+		int mask = table.length - 1;
+		int position = table[slot] - 1;
+		this.entries[position] = null;
+		this.size--;
+		this.modCount++;
+		while (this.entryCount > 0 && this.entries[this.entryCount - 1] == null) {
+			this.entryCount--;
+		}
+
+		int free = slot;
+		table[free] = 0;
+		for (int current = (free + 1) & mask; table[current] != 0; current = (current + 1) & mask) {
+			int home = spread(this.entries[table[current] - 1].hash) & mask;
+			boolean movable = (current > free ? (home <= free || home > current) : (home <= free && home > current));
+			if (movable) {
+				table[free] = table[current];
+				table[current] = 0;
+				free = current;
+			}
 		}
+	}
+
+	/**
+	 * Make room for another entry, compacting removed entries and growing
+	 * the entries array and the table if necessary.
+	 */
+	@SuppressWarnings("unchecked")
+	private void resize() {
+		Node<V>[] oldEntries = this.entries;
+		int capacity = (this.size >= oldEntries.length / 2 ? oldEntries.length * 2 : oldEntries.length);
+		Node<V>[] newEntries = (Node<V>[]) new Node<?>[capacity];
+		int[] newTable = (capacity != oldEntries.length ? new int[tableSizeFor(capacity)] : this.table);
+		Arrays.fill(newTable, 0);
+		this.entries = newEntries;
+		this.table = newTable;
+		int count = 0;
+		for (int i = 0; i < this.entryCount; i++) {
+			Node<V> node = oldEntries[i];
+			if (node != null) {
+				newEntries[count] = node;
+				insertIntoTable(node.hash, count);
+				count++;
+			}
+		}
+		this.entryCount = count;
+	}
+
+	private void removeNode(Node<V> node) {
+		int slot = findSlot(node.key, node.hash);
+		if (slot != -1) {
+			removeSlot(slot);
+		}
+	}
+
+	/**
+	 * Write the locale, followed by the entries in insertion order.
+	 * @serialData the number of entries ({@code int}), followed by the key
+	 * ({@code String}) and value ({@code Object}) of each entry
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(this.size);
+		for (int i = 0; i < this.entryCount; i++) {
+			Node<V> node = this.entries[i];
+			if (node != null) {
+				out.writeObject(node.key);
+				out.writeObject(node.value);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		int size = in.readInt();
+		if (size < 0) {
+			throw new InvalidObjectException("Illegal size: " + size);
+		}
+		this.asciiFolding = isAsciiFoldingApplicable();
+		initEntries(size);
+		for (int i = 0; i < size; i++) {
+			String key = (String) in.readObject();
+			V value = (V) in.readObject();
+			int hash = hash(key);
+			int slot = findSlot(key, hash);
+			if (slot != -1) {
+				removeSlot(slot);
+			}
+			addNode(key, hash, value);
+		}
+	}
+
+
+	private static final class Node<V> implements Map.Entry<String, V> {
+
+		final String key;
+
+		final int hash;
+
+		@Nullable
+		V value;
+
+		Node(String key, int hash, @Nullable V value) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		@Nullable
+		public V getValue() {
+			return this.value;
+		}
+
+		@Override
+		@Nullable
+		public V setValue(@Nullable V value) {
+			V oldValue = this.value;
+			this.value = value;
+			return oldValue;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> otherEntry = (Map.Entry<?, ?>) other;
+			return (this.key.equals(otherEntry.getKey()) &&
+					Objects.equals(this.value, otherEntry.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.key.hashCode() ^ Objects.hashCode(this.value));
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+
+	private class KeySet extends AbstractSet<String> {
 
 		@Override
 		public int size() {
-			return this.delegate.size();
+			return LinkedCaseInsensitiveMap.this.size;
 		}
 
 		@Override
 		public boolean contains(Object o) {
-			return this.delegate.contains(o);
+			return containsKey(o);
 		}
 
 		@Override
@@ -364,32 +795,26 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 
 		@Override
 		public Spliterator<String> spliterator() {
-			return this.delegate.spliterator();
+			return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
 		}
 
 		@Override
 		public void forEach(Consumer<? super String> action) {
-			this.delegate.forEach(action);
+			LinkedCaseInsensitiveMap.this.forEach((key, value) -> action.accept(key));
 		}
 	}
 
 
 	private class Values extends AbstractCollection<V> {
 
-		private final Collection<V> delegate;
-
-		Values(Collection<V> delegate) {
-			this.delegate = delegate;
-		}
-
 		@Override
 		public int size() {
-			return this.delegate.size();
+			return LinkedCaseInsensitiveMap.this.size;
 		}
 
 		@Override
 		public boolean contains(Object o) {
-			return this.delegate.contains(o);
+			return containsValue(o);
 		}
 
 		@Override
@@ -404,32 +829,26 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 
 		@Override
 		public Spliterator<V> spliterator() {
-			return this.delegate.spliterator();
+			return Spliterators.spliterator(this, Spliterator.ORDERED);
 		}
 
 		@Override
 		public void forEach(Consumer<? super V> action) {
-			this.delegate.forEach(action);
+			LinkedCaseInsensitiveMap.this.forEach((key, value) -> action.accept(value));
 		}
 	}
 
 
 	private class EntrySet extends AbstractSet<Entry<String, V>> {
 
-		private final Set<Entry<String, V>> delegate;
-
-		public EntrySet(Set<Entry<String, V>> delegate) {
-			this.delegate = delegate;
-		}
-
 		@Override
 		public int size() {
-			return this.delegate.size();
+			return LinkedCaseInsensitiveMap.this.size;
 		}
 
 		@Override
 		public boolean contains(Object o) {
-			return this.delegate.contains(o);
+			return (getMatchingNode(o) != null);
 		}
 
 		@Override
@@ -438,10 +857,10 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 		}
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public boolean remove(Object o) {
-			if (this.delegate.remove(o)) {
-				removeCaseInsensitiveKey(((Map.Entry<String, V>) o).getKey());
+			Node<V> node = getMatchingNode(o);
+			if (node != null) {
+				removeNode(node);
 				return true;
 			}
 			return false;
@@ -449,51 +868,91 @@ public class LinkedCaseInsensitiveMap<V> implements Map<String, V>, Serializable
 
 		@Override
 		public void clear() {
-			this.delegate.clear();
-			caseInsensitiveKeys.clear();
+			LinkedCaseInsensitiveMap.this.clear();
 		}
 
 		@Override
 		public Spliterator<Entry<String, V>> spliterator() {
-			return this.delegate.spliterator();
+			return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT);
 		}
 
 		@Override
 		public void forEach(Consumer<? super Entry<String, V>> action) {
-			this.delegate.forEach(action);
+			int expectedModCount = modCount;
+			for (int i = 0; i < entryCount; i++) {
+				Node<V> node = entries[i];
+				if (node != null) {
+					action.accept(node);
+				}
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		}
+
+		@Nullable
+		private Node<V> getMatchingNode(Object o) {
+			if (o instanceof Map.Entry) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				Node<V> node = getNode(entry.getKey());
+				if (node != null && node.key.equals(entry.getKey()) &&
+						Objects.equals(node.value, entry.getValue())) {
+					return node;
+				}
+			}
+			return null;
 		}
 	}
 
 
 	private abstract class EntryIterator<T> implements Iterator<T> {
 
-		private final Iterator<Entry<String, V>> delegate;
+		private int position;
 
 		@Nullable
-		private Entry<String, V> last;
+		private Node<V> last;
+
+		private int expectedModCount = modCount;
 
-		public EntryIterator() {
-			this.delegate = targetMap.entrySet().iterator();
+		EntryIterator() {
+			advance();
 		}
 
-		protected Entry<String, V> nextEntry() {
-			Entry<String, V> entry = this.delegate.next();
-			this.last = entry;
-			return entry;
+		private void advance() {
+			while (this.position < entryCount && entries[this.position] == null) {
+				this.position++;
+			}
+		}
+
+		protected Node<V> nextEntry() {
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (this.position >= entryCount) {
+				throw new NoSuchElementException();
+			}
+			Node<V> node = entries[this.position++];
+			advance();
+			this.last = node;
+			return node;
 		}
 
 		@Override
 		public boolean hasNext() {
-			return this.delegate.hasNext();
+			return (this.position < entryCount);
 		}
 
 		@Override
 		public void remove() {
-			this.delegate.remove();
-			if (this.last != null) {
-				removeCaseInsensitiveKey(this.last.getKey());
-				this.last = null;
+			if (this.last == null) {
+				throw new IllegalStateException();
+			}
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
 			}
+			removeNode(this.last);
+			this.last = null;
+			this.expectedModCount = modCount;
 		}
 	}
 
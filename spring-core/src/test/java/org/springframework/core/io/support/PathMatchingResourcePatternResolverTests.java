@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,14 +19,22 @@ package org.springframework.core.io.support;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -129,6 +137,95 @@ class PathMatchingResourcePatternResolverTests {
 		assertThat(found).as("Could not find aspectj_1_5_0.dtd in the root of the aspectjweaver jar").isTrue();
 	}
 
+	@Test
+	void patternsInJarFileKeepEntryOrder(@TempDir Path tempDir) throws IOException {
+		File jar = tempDir.resolve("test.jar").toFile();
+		try (JarOutputStream jarOut = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+			for (String entryName : new String[] {"b/", "b/z.txt", "a/", "a/y.txt", "ba/", "ba/q.txt",
+					"b/a.txt", "b/sub/", "b/sub/c.txt", "c/", "c/x.txt"}) {
+				jarOut.putNextEntry(new JarEntry(entryName));
+				jarOut.closeEntry();
+			}
+		}
+		String jarRoot = "jar:" + jar.toURI() + "!/";
+
+		assertThat(entryPaths(resolver.getResources(jarRoot + "b/**/*.txt"), jarRoot))
+				.containsExactly("b/z.txt", "b/a.txt", "b/sub/c.txt");
+		assertThat(entryPaths(resolver.getResources(jarRoot + "b/*.txt"), jarRoot))
+				.containsExactly("b/z.txt", "b/a.txt");
+		assertThat(entryPaths(resolver.getResources(jarRoot + "a/*.txt"), jarRoot))
+				.containsExactly("a/y.txt");
+		assertThat(entryPaths(resolver.getResources(jarRoot + "*/x.txt"), jarRoot))
+				.containsExactly("c/x.txt");
+	}
+
+	@Test
+	void customAntPathMatcherIsUsedForMatching(@TempDir Path tempDir) throws IOException {
+		File jar = tempDir.resolve("test.jar").toFile();
+		try (JarOutputStream jarOut = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+			for (String entryName : new String[] {"b/", "b/z.txt", "b/a.txt", "b/sub/", "b/sub/c.txt"}) {
+				jarOut.putNextEntry(new JarEntry(entryName));
+				jarOut.closeEntry();
+			}
+		}
+		String jarRoot = "jar:" + jar.toURI() + "!/";
+		resolver.setPathMatcher(new AntPathMatcher() {
+			@Override
+			protected boolean doMatch(String pattern, @Nullable String path, boolean fullMatch,
+					@Nullable Map<String, String> uriTemplateVariables) {
+				return (path != null && !path.endsWith("a.txt") &&
+						super.doMatch(pattern, path, fullMatch, uriTemplateVariables));
+			}
+		});
+
+		assertThat(entryPaths(resolver.getResources(jarRoot + "b/**/*.txt"), jarRoot))
+				.containsExactly("b/z.txt", "b/sub/c.txt");
+	}
+
+	@Test
+	void changedJarFileIsIndexedAgain(@TempDir Path tempDir) throws IOException {
+		File jar = tempDir.resolve("test.jar").toFile();
+		writeJar(jar, "a/", "a/x.txt");
+		assertThat(jar.setLastModified(1_000_000_000L)).isTrue();
+		String jarRoot = "jar:" + jar.toURI() + "!/";
+		assertThat(entryPaths(resolver.getResources(jarRoot + "a/*.txt"), jarRoot)).containsExactly("a/x.txt");
+
+		writeJar(jar, "a/", "a/x.txt", "a/y.txt");
+		assertThat(jar.setLastModified(2_000_000_000L)).isTrue();
+		assertThat(entryPaths(resolver.getResources(jarRoot + "a/*.txt"), jarRoot)).containsExactly("a/x.txt", "a/y.txt");
+	}
+
+	@Test
+	void jarFilesAreNotIndexedWithoutCache(@TempDir Path tempDir) throws IOException {
+		File jar = tempDir.resolve("test.jar").toFile();
+		writeJar(jar, "a/", "a/x.txt");
+		String jarRoot = "jar:" + jar.toURI() + "!/";
+		resolver.setCacheLimit(0);
+		assertThat(entryPaths(resolver.getResources(jarRoot + "a/*.txt"), jarRoot)).containsExactly("a/x.txt");
+
+		long lastModified = jar.lastModified();
+		writeJar(jar, "a/", "a/x.txt", "a/y.txt");
+		assertThat(jar.setLastModified(lastModified)).isTrue();
+		assertThat(entryPaths(resolver.getResources(jarRoot + "a/*.txt"), jarRoot)).containsExactly("a/x.txt", "a/y.txt");
+	}
+
+
+	private static void writeJar(File jar, String... entryNames) throws IOException {
+		try (JarOutputStream jarOut = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+			for (String entryName : entryNames) {
+				jarOut.putNextEntry(new JarEntry(entryName));
+				jarOut.closeEntry();
+			}
+		}
+	}
+
+	private static List<String> entryPaths(Resource[] resources, String jarRoot) throws IOException {
+		List<String> entryPaths = new ArrayList<>();
+		for (Resource resource : resources) {
+			entryPaths.add(resource.getURL().toString().substring(jarRoot.length()));
+		}
+		return entryPaths;
+	}
 
 	private void assertProtocolAndFilenames(Resource[] resources, String protocol, String... filenames)
 			throws IOException {
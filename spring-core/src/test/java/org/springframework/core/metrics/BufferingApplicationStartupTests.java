@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.BufferingApplicationStartup.TimelineEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BufferingApplicationStartup}.
+ */
+class BufferingApplicationStartupTests {
+
+	@Test
+	void createWithInvalidCapacity() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new BufferingApplicationStartup(0));
+	}
+
+	@Test
+	void recordNestedSteps() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("spring.test.outer").tag("name", "value");
+		StartupStep inner = applicationStartup.start("spring.test.inner");
+		inner.end();
+		outer.end();
+
+		assertThat(inner.getParentId()).isEqualTo(outer.getId());
+		assertThat(outer.getParentId()).isNull();
+
+		List<TimelineEntry> timeline = applicationStartup.getBufferedTimeline();
+		assertThat(timeline).extracting(TimelineEntry::getName)
+				.containsExactly("spring.test.outer", "spring.test.inner");
+		assertThat(timeline.get(0).getTags()).hasSize(1);
+		assertThat(timeline.get(0).getTags().get(0).getKey()).isEqualTo("name");
+		assertThat(timeline.get(0).getTags().get(0).getValue()).isEqualTo("value");
+		assertThat(timeline.get(1).getParentId()).isEqualTo(timeline.get(0).getId());
+		assertThat(timeline.get(0).getDuration()).isGreaterThanOrEqualTo(timeline.get(1).getDuration());
+	}
+
+	@Test
+	void dropStepsOnceCapacityIsReached() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+		for (int i = 0; i < 5; i++) {
+			applicationStartup.start("spring.test.step").end();
+		}
+
+		assertThat(applicationStartup.getBufferedTimeline()).hasSize(2);
+		assertThat(applicationStartup.getDroppedStepCount()).isEqualTo(3);
+	}
+
+	@Test
+	void filterSteps() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		applicationStartup.setFilter(step -> step.getName().startsWith("spring.beans"));
+		applicationStartup.start("spring.beans.instantiate").tag("beanName", "test").end();
+		applicationStartup.start("spring.context.refresh").end();
+
+		assertThat(applicationStartup.getBufferedTimeline()).extracting(TimelineEntry::getName)
+				.containsExactly("spring.beans.instantiate");
+	}
+
+	@Test
+	void drainTimeline() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		applicationStartup.start("spring.test.step").end();
+
+		assertThat(applicationStartup.drainBufferedTimeline()).hasSize(1);
+		assertThat(applicationStartup.getBufferedTimeline()).isEmpty();
+	}
+
+	@Test
+	void writeJson() throws Exception {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		applicationStartup.start("spring.test.step").tag("beanName", "my \"bean\"").end();
+
+		StringBuilder json = new StringBuilder();
+		applicationStartup.writeJson(json);
+		assertThat(json.toString())
+				.startsWith("{\"startTime\":")
+				.contains("\"droppedSteps\":0")
+				.contains("\"name\":\"spring.test.step\"")
+				.contains("\"parentId\":null")
+				.contains("\"tags\":{\"beanName\":\"my \\\"bean\\\"\"}");
+	}
+
+}
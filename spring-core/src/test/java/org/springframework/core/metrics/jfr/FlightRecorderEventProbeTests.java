@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.jfr;
+
+import java.util.List;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.testfixture.jfr.FlightRecorderTestUtils.recordEvents;
+
+/**
+ * Tests for {@link FlightRecorderEventProbe}.
+ */
+class FlightRecorderEventProbeTests {
+
+	private final FlightRecorderEventProbe<TestEvent> probe = new FlightRecorderEventProbe<>(TestEvent::new);
+
+
+	@Test
+	void eventIsBegunIfEnabled() throws Exception {
+		List<RecordedEvent> events = recordEvents(TestEvent.class, true, () -> {
+			assertThat(this.probe.isEnabled()).isTrue();
+			TestEvent event = this.probe.beginIfEnabled();
+			assertThat(event).isNotNull();
+			event.name = "test";
+			event.commit();
+		});
+
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getString("name")).isEqualTo("test");
+	}
+
+	@Test
+	void noEventIsBegunIfDisabled() throws Exception {
+		List<RecordedEvent> events = recordEvents(TestEvent.class, false, () -> {
+			assertThat(this.probe.isEnabled()).isFalse();
+			assertThat(this.probe.beginIfEnabled()).isNull();
+		});
+
+		assertThat(events).isEmpty();
+	}
+
+
+	static class TestEvent extends Event {
+
+		@Label("Name")
+		String name;
+	}
+
+}
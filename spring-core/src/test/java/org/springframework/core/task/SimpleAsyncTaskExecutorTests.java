@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -72,6 +72,18 @@ class SimpleAsyncTaskExecutorTests {
 		assertThat(task.getThreadName()).isEqualTo("test");
 	}
 
+	@Test
+	void virtualThreadsWithFallbackOnPlatformThreads() throws Exception {
+		final String customPrefix = "virtual#";
+		final Object monitor = new Object();
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(customPrefix);
+		executor.setVirtualThreads(true);
+		assertThat(executor.isVirtualThreads()).isEqualTo(VirtualThreadDelegate.isSupported());
+		ThreadNameHarvester task = new ThreadNameHarvester(monitor);
+		executeAndWait(executor, task, monitor);
+		assertThat(task.getThreadName()).startsWith(customPrefix);
+	}
+
 	@Test
 	void throwsExceptionWhenSuppliedWithNullRunnable() throws Exception {
 		assertThatIllegalArgumentException().isThrownBy(() ->
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMetadataReaderCache}.
+ */
+class PersistentMetadataReaderCacheTests {
+
+	private static final String ENTRY_NAME = "example/Entry.class";
+
+
+	@Test
+	void readsMetadataFromJar(@TempDir Path tempDir) throws IOException {
+		File jar = createJar(tempDir, AnnotatedClass.class);
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(tempDir.resolve("cache").toFile());
+
+		MetadataReader metadataReader = cache.getMetadataReader(jarResource(jar), getClass().getClassLoader());
+
+		assertThat(metadataReader).isNotNull();
+		AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+		assertThat(metadata.getClassName()).isEqualTo(AnnotatedClass.class.getName());
+		assertThat(metadata.hasAnnotation(Marker.class.getName())).isTrue();
+		assertThat(metadata.hasAnnotatedMethods(Marker.class.getName())).isTrue();
+		assertThat(metadata.getMemberClassNames()).isEmpty();
+		assertThat(metadata.getEnclosingClassName()).isEqualTo(getClass().getName());
+	}
+
+	@Test
+	void savedCacheIsUsedByNewInstance(@TempDir Path tempDir) throws IOException {
+		File jar = createJar(tempDir, AnnotatedClass.class);
+		File directory = tempDir.resolve("cache").toFile();
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(directory);
+		cache.getMetadataReader(jarResource(jar), getClass().getClassLoader());
+		cache.save();
+
+		File[] cacheFiles = directory.listFiles((dir, name) -> name.endsWith(".metadata"));
+		assertThat(cacheFiles).hasSize(1);
+		long cacheFileModified = cacheFiles[0].lastModified();
+
+		PersistentMetadataReaderCache newCache = new PersistentMetadataReaderCache(directory);
+		MetadataReader metadataReader = newCache.getMetadataReader(jarResource(jar), getClass().getClassLoader());
+		assertThat(metadataReader.getAnnotationMetadata().hasAnnotation(Marker.class.getName())).isTrue();
+		newCache.save();
+		assertThat(cacheFiles[0].lastModified()).isEqualTo(cacheFileModified);
+	}
+
+	@Test
+	void saveReleasesClassFilesInMemory(@TempDir Path tempDir) throws IOException {
+		File jar = createJar(tempDir, AnnotatedClass.class);
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(tempDir.resolve("cache").toFile());
+		cache.getMetadataReader(jarResource(jar), getClass().getClassLoader());
+		assertThat(cache.getLoadedArchiveCount()).isEqualTo(1);
+
+		cache.save();
+		assertThat(cache.getLoadedArchiveCount()).isEqualTo(0);
+
+		// Reloaded from the cache file
+		MetadataReader metadataReader = cache.getMetadataReader(jarResource(jar), getClass().getClassLoader());
+		assertThat(metadataReader.getAnnotationMetadata().hasAnnotation(Marker.class.getName())).isTrue();
+		assertThat(cache.getLoadedArchiveCount()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentSaveDoesNotLoseEntries(@TempDir Path tempDir) throws Exception {
+		int threadCount = 4;
+		int entriesPerThread = 50;
+		File jar = createJar(tempDir, AnnotatedClass.class, threadCount * entriesPerThread);
+		File directory = tempDir.resolve("cache").toFile();
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(directory);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threadCount; i++) {
+				int offset = i * entriesPerThread;
+				futures.add(executor.submit(() -> {
+					for (int j = offset; j < offset + entriesPerThread; j++) {
+						cache.getMetadataReader(jarResource(jar, entryName(j)), getClass().getClassLoader());
+					}
+					return null;
+				}));
+			}
+			while (!futures.stream().allMatch(Future::isDone)) {
+				cache.save();
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		cache.save();
+		assertThat(cache.getLoadedArchiveCount()).isEqualTo(0);
+
+		// Any entry missing from the cache file would lead to rewriting it
+		File cacheFile = directory.listFiles((dir, name) -> name.endsWith(".metadata"))[0];
+		assertThat(cacheFile.setLastModified(0)).isTrue();
+		PersistentMetadataReaderCache newCache = new PersistentMetadataReaderCache(directory);
+		for (int i = 0; i < threadCount * entriesPerThread; i++) {
+			newCache.getMetadataReader(jarResource(jar, entryName(i)), getClass().getClassLoader());
+		}
+		newCache.save();
+		assertThat(cacheFile.lastModified()).isEqualTo(0);
+	}
+
+	@Test
+	void modifiedJarInvalidatesCache(@TempDir Path tempDir) throws IOException {
+		File jar = createJar(tempDir, AnnotatedClass.class);
+		File directory = tempDir.resolve("cache").toFile();
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(directory);
+		cache.getMetadataReader(jarResource(jar), getClass().getClassLoader());
+		cache.save();
+
+		long lastModified = jar.lastModified();
+		jar = createJar(tempDir, PlainClass.class);
+		jar.setLastModified(lastModified + 2000);
+
+		PersistentMetadataReaderCache newCache = new PersistentMetadataReaderCache(directory);
+		MetadataReader metadataReader = newCache.getMetadataReader(jarResource(jar), getClass().getClassLoader());
+		assertThat(metadataReader.getClassMetadata().getClassName()).isEqualTo(PlainClass.class.getName());
+	}
+
+	@Test
+	void resourceOutsideOfJarIsNotCached(@TempDir Path tempDir) throws IOException {
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(tempDir.toFile());
+		Resource resource = new ClassPathResource(classFileName(PlainClass.class));
+		assertThat(cache.getMetadataReader(resource, getClass().getClassLoader())).isNull();
+	}
+
+	@Test
+	void cachingMetadataReaderFactorySavesOnClearCache(@TempDir Path tempDir) throws IOException {
+		File jar = createJar(tempDir, AnnotatedClass.class);
+		File directory = tempDir.resolve("cache").toFile();
+		CachingMetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory();
+		metadataReaderFactory.setPersistentCache(new PersistentMetadataReaderCache(directory));
+
+		MetadataReader metadataReader = metadataReaderFactory.getMetadataReader(jarResource(jar));
+		assertThat(metadataReader.getClassMetadata().getClassName()).isEqualTo(AnnotatedClass.class.getName());
+		assertThat(directory.exists()).isFalse();
+
+		metadataReaderFactory.clearCache();
+		assertThat(directory.listFiles()).hasSize(1);
+		assertThat(metadataReaderFactory.getPersistentCache().getLoadedArchiveCount()).isEqualTo(0);
+	}
+
+
+	private static File createJar(Path tempDir, Class<?> clazz) throws IOException {
+		File jar = tempDir.resolve("test.jar").toFile();
+		try (InputStream in = new ClassPathResource(classFileName(clazz)).getInputStream();
+				OutputStream out = Files.newOutputStream(jar.toPath());
+				JarOutputStream jarOut = new JarOutputStream(out)) {
+			jarOut.putNextEntry(new JarEntry(ENTRY_NAME));
+			StreamUtils.copy(in, jarOut);
+		}
+		return jar;
+	}
+
+	private static File createJar(Path tempDir, Class<?> clazz, int entryCount) throws IOException {
+		File jar = tempDir.resolve("test.jar").toFile();
+		byte[] classFile = StreamUtils.copyToByteArray(new ClassPathResource(classFileName(clazz)).getInputStream());
+		try (OutputStream out = Files.newOutputStream(jar.toPath());
+				JarOutputStream jarOut = new JarOutputStream(out)) {
+			for (int i = 0; i < entryCount; i++) {
+				jarOut.putNextEntry(new JarEntry(entryName(i)));
+				jarOut.write(classFile);
+			}
+		}
+		return jar;
+	}
+
+	private static String entryName(int index) {
+		return "example/Entry" + index + ".class";
+	}
+
+	private static String classFileName(Class<?> clazz) {
+		return ClassUtils.convertClassNameToResourcePath(clazz.getName()) + ClassUtils.CLASS_FILE_SUFFIX;
+	}
+
+	private static Resource jarResource(File jar) throws IOException {
+		return jarResource(jar, ENTRY_NAME);
+	}
+
+	private static Resource jarResource(File jar, String entryName) throws IOException {
+		return new UrlResource("jar:" + jar.toURI() + "!/" + entryName);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Marker {
+	}
+
+
+	@Marker
+	static class AnnotatedClass {
+
+		@Marker
+		public void annotatedMethod() {
+		}
+
+		public void plainMethod() {
+		}
+	}
+
+
+	static class PlainClass {
+	}
+
+}
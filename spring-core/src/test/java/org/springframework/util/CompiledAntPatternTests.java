@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link CompiledAntPattern}, verifying that it agrees with
+ * {@link AntPathMatcher#match} and {@link AntPathMatcher#matchStart}.
+ */
+class CompiledAntPatternTests {
+
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+
+	@Test
+	void match() {
+		assertMatch("test", "test", true);
+		assertMatch("/test", "/test", true);
+		assertMatch("https://example.org", "https://example.org", true);
+		assertMatch("/test.jpg", "test.jpg", false);
+		assertMatch("test", "/test", false);
+		assertMatch("/test", "test", false);
+
+		assertMatch("t?st", "test", true);
+		assertMatch("??st", "test", true);
+		assertMatch("tes?", "tes", false);
+		assertMatch("tes?", "testt", false);
+
+		assertMatch("*", "test", true);
+		assertMatch("test*", "testTest", true);
+		assertMatch("*test*", "AnothertestTest", true);
+		assertMatch("*.*", "test.test.test", true);
+		assertMatch("test*aaa", "testblaaab", false);
+		assertMatch("/*/**", "/bla", true);
+		assertMatch("/*/**", "/bla/bla", true);
+		assertMatch("/x/x/**/bla", "/x/x/x/", false);
+
+		assertMatch("/**", "/testing/testing", true);
+		assertMatch("/bla/**/bla", "/bla/testing/testing/bla", true);
+		assertMatch("/bla/**/bla", "/bla/testing/testing/bla/bla", true);
+		assertMatch("/**/test", "/bla/bla/test", true);
+		assertMatch("/bla*bla/test", "/blaXXXbl/test", false);
+		assertMatch("/*bla/test", "XXXblab/test", false);
+		assertMatch("/????", "/bala/bla", false);
+		assertMatch("/**/*bla", "/bla/bla/bla/bbb", false);
+		assertMatch("/*bla*/**/bla/**", "/XXXblaXXXX/testing/testing/bla/testing/testing/", true);
+		assertMatch("/*bla*/**/bla/*", "/XXXblaXXXX/testing/testing/bla/testing/testing", false);
+		assertMatch("*bla*/**/bla/**", "XXXblaXXXX/testing/testing/bla/testing/testing.jpg", true);
+		assertMatch("/x/x/**/bla", "/x/x/x/", false);
+		assertMatch("/foo/bar/**", "/foo/bar", true);
+
+		assertMatch("", "", true);
+		assertMatch("/{bla}.*", "/testing.html", true);
+		assertMatch("/{bla}", "//x\ny", false);
+	}
+
+	@Test
+	void matchStart() {
+		assertMatchStart("test", "test", true);
+		assertMatchStart("/test", "test", false);
+		assertMatchStart("/test/**", "/test", true);
+		assertMatchStart("/**/bla", "/x", true);
+		assertMatchStart("/*/bla", "/x", true);
+		assertMatchStart("/*/bla", "/x/y", false);
+		assertMatchStart("/x/x/**/bla", "/x/x/x/", true);
+		assertMatchStart("/test/*", "/test", true);
+		assertMatchStart("/????", "/bala/bla", false);
+		assertMatchStart("*bla*/**/bla/**", "XXXblaXXXX/testing/testing/bla/testing/testing.jpg", true);
+	}
+
+	@Test
+	void matchWithLineTerminators() {
+		assertMatch("/*", "/a\nb", false);
+		assertMatch("/a?b", "/a\rb", false);
+		assertMatch("/a?b", "/a b", false);
+		assertMatch("/**", "/a\nb", true);
+	}
+
+	@Test
+	void matchWithTrimTokens() {
+		this.pathMatcher.setTrimTokens(true);
+		assertMatch("/foo/bar", "/foo /bar", true);
+		assertMatch("/ foo/**", "/foo/bar", true);
+		assertMatchStart("/foo/bar", "/foo ", true);
+	}
+
+	@Test
+	void matchWithoutTrimTokens() {
+		assertMatch("/group/{groupName}/members", "/group/sales/members", true);
+		assertMatch("/group/{groupName}/members", "/group/  sales/members", true);
+		assertMatch("/group/{groupName}/members", "/Group/  Sales/Members", false);
+	}
+
+	@Test
+	void matchCaseInsensitive() {
+		this.pathMatcher.setCaseSensitive(false);
+		assertMatch("/group/{groupName}/members", "/group/sales/members", true);
+		assertMatch("/group/{groupName}/members", "/Group/Sales/Members", true);
+		assertMatch("/Group/{groupName}/Members", "/group/Sales/members", true);
+		assertMatch("/Te?t/*.JPG", "/test/Photo.jpg", true);
+	}
+
+	@Test
+	void matchWithCustomPathSeparator() {
+		this.pathMatcher.setPathSeparator(".");
+		assertMatch("test.*.bla", "test.x.bla", true);
+		assertMatch("test.**.bla", "test.x.y.bla", true);
+		assertMatch("test.*", "test.x.y", false);
+		assertMatch("*.html", "test.html", true);
+		assertMatchStart("test.**", "test", true);
+	}
+
+	@Test
+	void extractUriTemplateVariables() {
+		CompiledAntPattern pattern = this.pathMatcher.compile("/hotels/{hotel}/bookings/{booking}");
+		Map<String, String> result = pattern.extractUriTemplateVariables("/hotels/1/bookings/2");
+		assertThat(result).hasSize(2);
+		assertThat(result.get("hotel")).isEqualTo("1");
+		assertThat(result.get("booking")).isEqualTo("2");
+
+		pattern = this.pathMatcher.compile("/**/hotels/**/{hotel}");
+		assertThat(pattern.extractUriTemplateVariables("/foo/hotels/bar/1").get("hotel")).isEqualTo("1");
+
+		pattern = this.pathMatcher.compile("/{page}.{extension}");
+		result = pattern.extractUriTemplateVariables("/42.html");
+		assertThat(result.get("page")).isEqualTo("42");
+		assertThat(result.get("extension")).isEqualTo("html");
+
+		pattern = this.pathMatcher.compile("/hotels");
+		assertThat(pattern.extractUriTemplateVariables("/hotels")).isEmpty();
+	}
+
+	@Test
+	void extractUriTemplateVariablesWithRegex() {
+		CompiledAntPattern pattern = this.pathMatcher.compile("{symbolicName:[\\w\\.]+}-{version:[\\w\\.]+}.jar");
+		Map<String, String> result = pattern.extractUriTemplateVariables("com.example-1.0.0.jar");
+		assertThat(result.get("symbolicName")).isEqualTo("com.example");
+		assertThat(result.get("version")).isEqualTo("1.0.0");
+	}
+
+	@Test
+	void extractUriTemplateVariablesForNonMatchingPath() {
+		CompiledAntPattern pattern = this.pathMatcher.compile("/hotels/{hotel}");
+		assertThatIllegalStateException().isThrownBy(() ->
+				pattern.extractUriTemplateVariables("/bookings/1"));
+	}
+
+	@Test
+	void compiledPatternCapturesSettings() {
+		CompiledAntPattern pattern = this.pathMatcher.compile("/Test/*");
+		this.pathMatcher.setCaseSensitive(false);
+		assertThat(pattern.getPattern()).isEqualTo("/Test/*");
+		assertThat(pattern.match("/test/x")).isFalse();
+		assertThat(this.pathMatcher.compile("/Test/*").match("/test/x")).isTrue();
+	}
+
+
+	private void assertMatch(String pattern, String path, boolean expected) {
+		assertThat(this.pathMatcher.match(pattern, path)).isEqualTo(expected);
+		assertThat(this.pathMatcher.compile(pattern).match(path)).isEqualTo(expected);
+	}
+
+	private void assertMatchStart(String pattern, String path, boolean expected) {
+		assertThat(this.pathMatcher.matchStart(pattern, path)).isEqualTo(expected);
+		assertThat(this.pathMatcher.compile(pattern).matchStart(path)).isEqualTo(expected);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,14 @@
 package org.springframework.util;
 
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.testfixture.io.SerializationTestUtils;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -212,6 +217,92 @@ class LinkedCaseInsensitiveMapTests {
 		assertThat(map.get("key")).isEqualTo("newvalue");
 	}
 
+	@Test
+	void insertionOrderWithRemovalAndGrowth() {
+		for (int i = 0; i < 40; i++) {
+			map.put("Key" + i, "value" + i);
+		}
+		for (int i = 0; i < 40; i += 2) {
+			map.remove("KEY" + i);
+		}
+		map.put("key1", "newvalue");
+		map.put("Extra", "value");
+
+		assertThat(map).hasSize(21);
+		assertThat(map.keySet().iterator().next()).isEqualTo("Key3");
+		assertThat(map.get("KEY39")).isEqualTo("value39");
+		assertThat(map.get("key2")).isNull();
+		assertThat(map.toString()).endsWith("Key39=value39, key1=newvalue, Extra=value}");
+	}
+
+	@Test
+	void equalsAndHashCode() {
+		map.put("Key", "value1");
+		map.put("Other", "value2");
+		Map<String, String> other = new LinkedHashMap<>();
+		other.put("Key", "value1");
+		other.put("Other", "value2");
+
+		assertThat(map).isEqualTo(other);
+		assertThat(other).isEqualTo(map);
+		assertThat(map.hashCode()).isEqualTo(other.hashCode());
+		assertThat(map.toString()).isEqualTo(other.toString());
+	}
+
+	@Test
+	void nonAsciiKeys() {
+		map.put("Stra\u00DFe", "value1");
+		map.put("\u212A", "value2");
+		assertThat(map.get("STRA\u00DFE")).isEqualTo("value1");
+		assertThat(map.get("k")).isEqualTo("value2");
+		assertThat(map.get("K")).isEqualTo("value2");
+	}
+
+	@Test
+	void localeWithSpecialCasing() {
+		LinkedCaseInsensitiveMap<String> map = new LinkedCaseInsensitiveMap<>(new Locale("tr"));
+		map.put("ID", "value1");
+		assertThat(map.get("\u0131d")).isEqualTo("value1");
+		assertThat(map.get("id")).isNull();
+	}
+
+	@Test
+	void customKeyConversion() {
+		LinkedCaseInsensitiveMap<String> map = new LinkedCaseInsensitiveMap<String>() {
+			@Override
+			protected String convertKey(String key) {
+				return super.convertKey(key).replace('_', '-');
+			}
+		};
+		map.put("Content_Type", "value");
+		assertThat(map.get("content-type")).isEqualTo("value");
+	}
+
+	@Test
+	void removeEldestEntry() {
+		LinkedCaseInsensitiveMap<String> map = new LinkedCaseInsensitiveMap<String>() {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > 2;
+			}
+		};
+		map.put("key1", "value1");
+		map.put("key2", "value2");
+		map.put("KEY1", "value3");
+		map.put("key3", "value4");
+		assertThat(map.keySet()).containsExactly("KEY1", "key3");
+	}
+
+	@Test
+	void serialization() throws Exception {
+		map.put("Key", "value1");
+		map.put("Other", null);
+		LinkedCaseInsensitiveMap<?> copy = (LinkedCaseInsensitiveMap<?>) SerializationTestUtils.serializeAndDeserialize(map);
+		assertThat(copy).isEqualTo(map);
+		assertThat(copy.get("KEY")).isEqualTo("value1");
+		assertThat(copy.containsKey("other")).isTrue();
+	}
+
 	private void nextAndRemove(Iterator<?> iterator) {
 		iterator.next();
 		iterator.remove();
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.testfixture.jfr;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test utilities for Java Flight Recorder events.
+ */
+public abstract class FlightRecorderTestUtils {
+
+	/**
+	 * Perform the given action within a Flight Recorder recording and return
+	 * the recorded events of the given type.
+	 * @param eventType the event type, named after its class
+	 * @param enabled whether the event type should be enabled in the recording
+	 * @param action the action to perform while recording
+	 * @return the recorded events of the given type
+	 */
+	public static List<RecordedEvent> recordEvents(Class<? extends Event> eventType, boolean enabled,
+			RecordedAction action) throws Exception {
+
+		String eventName = eventType.getName();
+		Path file = Files.createTempFile("spring-test-", ".jfr");
+		try (Recording recording = new Recording()) {
+			if (enabled) {
+				recording.enable(eventName).withoutThreshold();
+			}
+			else {
+				recording.disable(eventName);
+			}
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals(eventName))
+					.collect(Collectors.toList());
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+
+	/**
+	 * An action to perform while recording.
+	 */
+	@FunctionalInterface
+	public interface RecordedAction {
+
+		void run() throws Exception;
+	}
+
+}
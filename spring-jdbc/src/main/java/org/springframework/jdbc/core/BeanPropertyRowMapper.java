@@ -16,7 +16,13 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -31,10 +37,14 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
-import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
@@ -42,6 +52,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -67,6 +78,14 @@ import org.springframework.util.StringUtils;
  * Be aware that if you use the values from the generated bean to update the database the primitive value
  * will have been set to the primitive's default value instead of null.
  *
+ * <p>The columns of a result set are resolved against the bean properties once for each
+ * shape of {@link ResultSetMetaData}, i.e. once per query rather than once per row. Values
+ * of simple types that can be assigned to their property as-is are then passed to the
+ * corresponding setter directly, bypassing the {@link BeanWrapper}. This is not the case
+ * if {@link #initBeanWrapper} has been overridden or a custom {@link ConversionService}
+ * has been specified, since either may apply to values that do not need conversion.
+ * A {@link BeanWrapper} is only created for a row once one of its values needs it.
+ *
  * <p>Please note that this class is designed to provide convenience rather than high performance.
  * For best performance, consider using a custom {@link RowMapper} implementation.
  *
@@ -74,6 +93,7 @@ import org.springframework.util.StringUtils;
  * @author Juergen Hoeller
  * @since 2.5
  * @param <T> the result type
+ * @see DataClassRowMapper
  */
 public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 
@@ -102,6 +122,15 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Whether {@link #initBeanWrapper} is the default implementation. */
+	private final boolean defaultBeanWrapper =
+			(ReflectionUtils.findMethod(getClass(), "initBeanWrapper", BeanWrapper.class).getDeclaringClass() ==
+					BeanPropertyRowMapper.class);
+
+	/** Mapping of the columns of the most recent result set. */
+	@Nullable
+	private volatile ColumnMapping columnMapping;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -231,6 +260,23 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 				this.mappedProperties.add(pd.getName());
 			}
 		}
+		this.columnMapping = null;
+	}
+
+	/**
+	 * Remove the specified property from the mapped fields.
+	 * @param propertyName the property name (as used by property descriptors)
+	 * @since 5.3
+	 */
+	protected void suppressProperty(String propertyName) {
+		if (this.mappedFields != null) {
+			this.mappedFields.remove(lowerCaseName(propertyName));
+			this.mappedFields.remove(underscoreName(propertyName));
+		}
+		if (this.mappedProperties != null) {
+			this.mappedProperties.remove(propertyName);
+		}
+		this.columnMapping = null;
 	}
 
 	/**
@@ -280,19 +326,18 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
-		Assert.state(this.mappedClass != null, "Mapped class was not specified");
-		T mappedObject = BeanUtils.instantiateClass(this.mappedClass);
-		BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
-		initBeanWrapper(bw);
-
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int columnCount = rsmd.getColumnCount();
-		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
-
-		for (int index = 1; index <= columnCount; index++) {
-			String column = JdbcUtils.lookupColumnName(rsmd, index);
-			String field = lowerCaseName(StringUtils.delete(column, " "));
-			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+		RowTypeConverter tc = new RowTypeConverter();
+		T mappedObject = constructMappedInstance(rs, tc);
+		tc.setMappedObject(mappedObject);
+
+		ColumnMapping columnMapping = getColumnMapping(rs);
+		ConversionService cs = getConversionService();
+		boolean directAccess = (this.defaultBeanWrapper &&
+				(cs == null || cs == DefaultConversionService.getSharedInstance()));
+
+		for (int index = 1; index <= columnMapping.columns.length; index++) {
+			String column = columnMapping.columns[index - 1];
+			PropertyDescriptor pd = columnMapping.properties[index - 1];
 			if (pd != null) {
 				try {
 					Object value = getColumnValue(rs, index, pd);
@@ -300,8 +345,13 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
 								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
 					}
+					Method writeMethod = columnMapping.writeMethods[index - 1];
+					if (directAccess && writeMethod != null && isDirectlyAssignable(pd.getPropertyType(), value)) {
+						invokeWriteMethod(writeMethod, mappedObject, pd, value);
+						continue;
+					}
 					try {
-						bw.setPropertyValue(pd.getName(), value);
+						tc.getBeanWrapper().setPropertyValue(pd.getName(), value);
 					}
 					catch (TypeMismatchException ex) {
 						if (value == null && this.primitivesDefaultedForNullValue) {
@@ -317,9 +367,6 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 							throw ex;
 						}
 					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
-					}
 				}
 				catch (NotWritablePropertyException ex) {
 					throw new DataRetrievalFailureException(
@@ -329,12 +376,13 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			else {
 				// No PropertyDescriptor found
 				if (rowNumber == 0 && logger.isDebugEnabled()) {
+					String field = lowerCaseName(StringUtils.delete(column, " "));
 					logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
 				}
 			}
 		}
 
-		if (populatedProperties != null && !populatedProperties.equals(this.mappedProperties)) {
+		if (isCheckFullyPopulated() && !columnMapping.populatedProperties.equals(this.mappedProperties)) {
 			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
 					"necessary to populate object of " + this.mappedClass + ": " + this.mappedProperties);
 		}
@@ -342,9 +390,24 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return mappedObject;
 	}
 
+	/**
+	 * Construct an instance of the mapped class for the current row.
+	 * @param rs the ResultSet to map (pre-initialized for the current row)
+	 * @param tc a TypeConverter with this RowMapper's conversion service
+	 * @return a corresponding instance of the mapped class
+	 * @throws SQLException if an SQLException is encountered
+	 * @since 5.3
+	 */
+	protected T constructMappedInstance(ResultSet rs, TypeConverter tc) throws SQLException {
+		Assert.state(this.mappedClass != null, "Mapped class was not specified");
+		return BeanUtils.instantiateClass(this.mappedClass);
+	}
+
 	/**
 	 * Initialize the given BeanWrapper to be used for row mapping.
-	 * To be called for each row.
+	 * To be called for each row that needs a BeanWrapper, i.e. for
+	 * constructor argument conversion or for setting a property value
+	 * that cannot be passed to its setter as-is.
 	 * <p>The default implementation applies the configured {@link ConversionService},
 	 * if any. Can be overridden in subclasses.
 	 * @param bw the BeanWrapper to initialize
@@ -373,7 +436,102 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	@Nullable
 	protected Object getColumnValue(ResultSet rs, int index, PropertyDescriptor pd) throws SQLException {
-		return JdbcUtils.getResultSetValue(rs, index, pd.getPropertyType());
+		return getColumnValue(rs, index, pd.getPropertyType());
+	}
+
+	/**
+	 * Retrieve a JDBC object value for the specified column.
+	 * <p>The default implementation calls
+	 * {@link JdbcUtils#getResultSetValue(java.sql.ResultSet, int, Class)}.
+	 * Subclasses may override this to check specific value types upfront,
+	 * or to post-process values return from {@code getResultSetValue}.
+	 * @param rs is the ResultSet holding the data
+	 * @param index is the column index
+	 * @param paramType the target parameter type
+	 * @return the Object value
+	 * @throws SQLException in case of extraction failure
+	 * @since 5.3
+	 * @see org.springframework.jdbc.support.JdbcUtils#getResultSetValue(java.sql.ResultSet, int, Class)
+	 */
+	@Nullable
+	protected Object getColumnValue(ResultSet rs, int index, Class<?> paramType) throws SQLException {
+		return JdbcUtils.getResultSetValue(rs, index, paramType);
+	}
+
+	/**
+	 * Return the column indexes of the given ResultSet that the mapped class'
+	 * constructor parameters map to, if any.
+	 * <p>Resolved once per ResultSet, along with the mapping of the columns
+	 * to bean properties.
+	 * @param rs the ResultSet to map
+	 * @see #resolveConstructorColumns
+	 */
+	@Nullable
+	int[] getConstructorColumns(ResultSet rs) throws SQLException {
+		return getColumnMapping(rs).constructorColumns;
+	}
+
+	/**
+	 * Resolve the column indexes of the given ResultSet that the mapped class'
+	 * constructor parameters map to. The default implementation returns {@code null}.
+	 * @param rs the ResultSet to map
+	 * @see DataClassRowMapper
+	 */
+	@Nullable
+	int[] resolveConstructorColumns(ResultSet rs) throws SQLException {
+		return null;
+	}
+
+	/**
+	 * Return the mapping of the columns of the given ResultSet: only checking
+	 * its meta-data for a ResultSet other than the one of the previous row,
+	 * resolving a new mapping if the shape of the result set has changed.
+	 */
+	private ColumnMapping getColumnMapping(ResultSet rs) throws SQLException {
+		ColumnMapping columnMapping = this.columnMapping;
+		if (columnMapping == null || columnMapping.resultSet.get() != rs) {
+			ResultSetMetaData rsmd = rs.getMetaData();
+			columnMapping = (columnMapping != null && columnMapping.matches(rsmd) ?
+					new ColumnMapping(columnMapping, rs) : new ColumnMapping(rs, rsmd));
+			this.columnMapping = columnMapping;
+		}
+		return columnMapping;
+	}
+
+	/**
+	 * Whether the given value can be passed to a setter for the given property
+	 * type as-is, without any conversion that a BeanWrapper would apply.
+	 */
+	private static boolean isDirectlyAssignable(Class<?> propertyType, @Nullable Object value) {
+		return (BeanUtils.isSimpleValueType(propertyType) &&
+				(value != null ? ClassUtils.isAssignableValue(propertyType, value) : !propertyType.isPrimitive()));
+	}
+
+	/**
+	 * Invoke the given write method, translating failures the same way that
+	 * {@link BeanWrapper#setPropertyValue} does.
+	 */
+	private static void invokeWriteMethod(
+			Method writeMethod, Object mappedObject, PropertyDescriptor pd, @Nullable Object value) {
+
+		try {
+			writeMethod.invoke(mappedObject, value);
+		}
+		catch (InvocationTargetException ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(mappedObject, pd.getName(), null, value);
+			if (ex.getTargetException() instanceof ClassCastException) {
+				throw new TypeMismatchException(pce, pd.getPropertyType(), ex.getTargetException());
+			}
+			Throwable cause = ex.getTargetException();
+			if (cause instanceof UndeclaredThrowableException) {
+				cause = cause.getCause();
+			}
+			throw new MethodInvocationException(pce, cause);
+		}
+		catch (Exception ex) {
+			PropertyChangeEvent pce = new PropertyChangeEvent(mappedObject, pd.getName(), null, value);
+			throw new MethodInvocationException(pce, ex);
+		}
 	}
 
 
@@ -403,4 +561,137 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * {@link TypeConverter} for a single row, creating and initializing
+	 * the row's {@link BeanWrapper} on first use only.
+	 */
+	private final class RowTypeConverter implements TypeConverter {
+
+		@Nullable
+		private Object mappedObject;
+
+		@Nullable
+		private BeanWrapperImpl beanWrapper;
+
+		void setMappedObject(Object mappedObject) {
+			this.mappedObject = mappedObject;
+			if (this.beanWrapper != null) {
+				this.beanWrapper.setBeanInstance(mappedObject);
+			}
+		}
+
+		BeanWrapperImpl getBeanWrapper() {
+			BeanWrapperImpl bw = this.beanWrapper;
+			if (bw == null) {
+				bw = new BeanWrapperImpl();
+				initBeanWrapper(bw);
+				if (this.mappedObject != null) {
+					bw.setBeanInstance(this.mappedObject);
+				}
+				this.beanWrapper = bw;
+			}
+			return bw;
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType) {
+			return getBeanWrapper().convertIfNecessary(value, requiredType);
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType,
+				@Nullable MethodParameter methodParam) {
+
+			return getBeanWrapper().convertIfNecessary(value, requiredType, methodParam);
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType,
+				@Nullable Field field) {
+
+			return getBeanWrapper().convertIfNecessary(value, requiredType, field);
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType,
+				@Nullable TypeDescriptor typeDescriptor) {
+
+			return getBeanWrapper().convertIfNecessary(value, requiredType, typeDescriptor);
+		}
+	}
+
+
+	/**
+	 * The bean properties and constructor parameters that the columns of a
+	 * result set map to, resolved once for each shape of result set meta-data.
+	 * Bound to the ResultSet it has last been used for, which is weakly
+	 * referenced in order to not hold on to it beyond its use.
+	 */
+	private final class ColumnMapping {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final String[] columns;
+
+		final PropertyDescriptor[] properties;
+
+		final Method[] writeMethods;
+
+		final Set<String> populatedProperties;
+
+		@Nullable
+		final int[] constructorColumns;
+
+		ColumnMapping(ResultSet rs, ResultSetMetaData rsmd) throws SQLException {
+			int columnCount = rsmd.getColumnCount();
+			this.resultSet = new WeakReference<>(rs);
+			this.columns = new String[columnCount];
+			this.properties = new PropertyDescriptor[columnCount];
+			this.writeMethods = new Method[columnCount];
+			this.populatedProperties = new HashSet<>();
+			for (int index = 1; index <= columnCount; index++) {
+				String column = JdbcUtils.lookupColumnName(rsmd, index);
+				String field = lowerCaseName(StringUtils.delete(column, " "));
+				PropertyDescriptor pd = (mappedFields != null ? mappedFields.get(field) : null);
+				this.columns[index - 1] = column;
+				if (pd != null) {
+					this.properties[index - 1] = pd;
+					Method writeMethod = pd.getWriteMethod();
+					if (writeMethod != null) {
+						ReflectionUtils.makeAccessible(writeMethod);
+						this.writeMethods[index - 1] = writeMethod;
+					}
+					this.populatedProperties.add(pd.getName());
+				}
+			}
+			this.constructorColumns = resolveConstructorColumns(rs);
+		}
+
+		ColumnMapping(ColumnMapping other, ResultSet rs) {
+			this.resultSet = new WeakReference<>(rs);
+			this.columns = other.columns;
+			this.properties = other.properties;
+			this.writeMethods = other.writeMethods;
+			this.populatedProperties = other.populatedProperties;
+			this.constructorColumns = other.constructorColumns;
+		}
+
+		boolean matches(ResultSetMetaData rsmd) throws SQLException {
+			if (rsmd.getColumnCount() != this.columns.length) {
+				return false;
+			}
+			for (int index = 1; index <= this.columns.length; index++) {
+				if (!this.columns[index - 1].equals(JdbcUtils.lookupColumnName(rsmd, index))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
 }
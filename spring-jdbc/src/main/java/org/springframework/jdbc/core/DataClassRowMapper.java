@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Constructor;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.TypeConverter;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RowMapper} implementation that converts a row into a new instance
+ * of the specified mapped target class. The mapped target class must be a
+ * top-level class and may either expose a data class constructor with named
+ * parameters corresponding to column names or classic bean property setters
+ * (or even a combination of both).
+ *
+ * <p>Note that this class extends {@link BeanPropertyRowMapper} and can
+ * therefore serve as a common choice for any mapped target class, flexibly
+ * adapting to constructor style versus setter methods in the mapped class.
+ * This makes it suitable for immutable value types, including Java records
+ * and Kotlin data classes.
+ *
+ * <p>The data class constructor is resolved in the same way as for data binding
+ * of model attributes: a Kotlin primary constructor, a single public constructor,
+ * or a default constructor. Constructor parameter names are determined through
+ * the JavaBeans {@link ConstructorProperties} annotation or a
+ * {@link DefaultParameterNameDiscoverer}, and matched against column names in
+ * their underscored form, e.g. "firstName" against a "first_name" column.
+ *
+ * @since 5.3
+ * @param <T> the result type
+ */
+public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
+
+	private static final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+
+	@Nullable
+	private Constructor<T> mappedConstructor;
+
+	@Nullable
+	private String[] constructorParameterNames;
+
+	@Nullable
+	private TypeDescriptor[] constructorParameterTypes;
+
+
+	/**
+	 * Create a new {@code DataClassRowMapper} for bean-style configuration.
+	 * @see #setMappedClass
+	 * @see #setConversionService
+	 */
+	public DataClassRowMapper() {
+	}
+
+	/**
+	 * Create a new {@code DataClassRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	public DataClassRowMapper(Class<T> mappedClass) {
+		super(mappedClass);
+	}
+
+
+	@Override
+	protected void initialize(Class<T> mappedClass) {
+		super.initialize(mappedClass);
+
+		this.mappedConstructor = getDataClassConstructor(mappedClass);
+		int paramCount = this.mappedConstructor.getParameterCount();
+		if (paramCount > 0) {
+			ConstructorProperties cp = this.mappedConstructor.getAnnotation(ConstructorProperties.class);
+			String[] paramNames = (cp != null ? cp.value() :
+					parameterNameDiscoverer.getParameterNames(this.mappedConstructor));
+			Assert.state(paramNames != null,
+					() -> "Cannot resolve parameter names for constructor " + this.mappedConstructor);
+			Assert.state(paramNames.length == paramCount,
+					() -> "Invalid number of parameter names: " + paramNames.length +
+							" for constructor " + this.mappedConstructor);
+			for (String name : paramNames) {
+				suppressProperty(name);
+			}
+			this.constructorParameterNames = new String[paramCount];
+			this.constructorParameterTypes = new TypeDescriptor[paramCount];
+			for (int i = 0; i < paramCount; i++) {
+				this.constructorParameterNames[i] = underscoreName(paramNames[i]);
+				this.constructorParameterTypes[i] = new TypeDescriptor(new MethodParameter(this.mappedConstructor, i));
+			}
+		}
+	}
+
+	@Override
+	protected T constructMappedInstance(ResultSet rs, TypeConverter tc) throws SQLException {
+		Assert.state(this.mappedConstructor != null, "Mapped constructor was not initialized");
+
+		Object[] args;
+		int[] constructorColumns = getConstructorColumns(rs);
+		if (constructorColumns != null && this.constructorParameterTypes != null) {
+			args = new Object[constructorColumns.length];
+			for (int i = 0; i < args.length; i++) {
+				TypeDescriptor td = this.constructorParameterTypes[i];
+				Object value = getColumnValue(rs, constructorColumns[i], td.getType());
+				args[i] = tc.convertIfNecessary(value, td.getType(), td);
+			}
+		}
+		else {
+			args = new Object[0];
+		}
+
+		return BeanUtils.instantiateClass(this.mappedConstructor, args);
+	}
+
+	@Override
+	@Nullable
+	int[] resolveConstructorColumns(ResultSet rs) throws SQLException {
+		if (this.constructorParameterNames == null) {
+			return null;
+		}
+		int[] columns = new int[this.constructorParameterNames.length];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = rs.findColumn(this.constructorParameterNames[i]);
+		}
+		return columns;
+	}
+
+
+	/**
+	 * Determine the constructor to use for the given class: a primary
+	 * constructor, a single public constructor, or a default constructor.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Constructor<T> getDataClassConstructor(Class<T> clazz) {
+		Constructor<T> ctor = BeanUtils.findPrimaryConstructor(clazz);
+		if (ctor != null) {
+			return ctor;
+		}
+		Constructor<?>[] ctors = clazz.getConstructors();
+		if (ctors.length == 1) {
+			return (Constructor<T>) ctors[0];
+		}
+		try {
+			return clazz.getDeclaredConstructor();
+		}
+		catch (NoSuchMethodException ex) {
+			throw new IllegalStateException("No primary or default constructor found for " + clazz, ex);
+		}
+	}
+
+
+	/**
+	 * Static factory method to create a new {@code DataClassRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @see #newInstance(Class, ConversionService)
+	 */
+	public static <T> DataClassRowMapper<T> newInstance(Class<T> mappedClass) {
+		return new DataClassRowMapper<>(mappedClass);
+	}
+
+	/**
+	 * Static factory method to create a new {@code DataClassRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @param conversionService the {@link ConversionService} for binding
+	 * JDBC values to bean properties, or {@code null} for none
+	 * @see #newInstance(Class)
+	 * @see #setConversionService
+	 */
+	public static <T> DataClassRowMapper<T> newInstance(
+			Class<T> mappedClass, @Nullable ConversionService conversionService) {
+
+		DataClassRowMapper<T> rowMapper = newInstance(mappedClass);
+		rowMapper.setConversionService(conversionService);
+		return rowMapper;
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.SQLException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import org.springframework.core.metrics.jfr.FlightRecorderEventProbe;
+import org.springframework.lang.Nullable;
+
+/**
+ * Java Flight Recorder {@link Event} for the execution of a JDBC statement
+ * through a {@link JdbcTemplate} callback.
+ *
+ * <p>The event covers the statement callback only, i.e. neither obtaining the
+ * connection nor creating the statement. The SQL is recorded if the callback
+ * or statement creator implements {@link SqlProvider}, and the SQL state if
+ * the callback failed with an {@link SQLException}.
+ *
+ * @since 5.3
+ */
+@Category({"Spring Application", "JDBC"})
+@Label("Statement Execution")
+@Description("JDBC statement executed by a JdbcTemplate")
+@StackTrace(false)
+final class FlightRecorderStatementEvent extends Event {
+
+	static final FlightRecorderEventProbe<FlightRecorderStatementEvent> PROBE =
+			new FlightRecorderEventProbe<>(FlightRecorderStatementEvent::new);
+
+
+	@Label("Statement Type")
+	String statementType;
+
+	@Label("SQL")
+	String sql;
+
+	@Label("SQL State")
+	String sqlState;
+
+	private transient boolean completed;
+
+
+	/**
+	 * End and commit this event, unless it has been completed already.
+	 * @param statementType the type of statement executed, e.g. "PreparedStatement"
+	 * @param sqlProvider the callback or creator, possibly exposing the SQL
+	 * through {@link SqlProvider}
+	 * @param ex the exception thrown by the execution, if any
+	 */
+	void end(String statementType, @Nullable Object sqlProvider, @Nullable SQLException ex) {
+		if (this.completed) {
+			return;
+		}
+		this.completed = true;
+		end();
+		if (shouldCommit()) {
+			this.statementType = statementType;
+			if (sqlProvider instanceof SqlProvider) {
+				this.sql = ((SqlProvider) sqlProvider).getSql();
+			}
+			if (ex != null) {
+				this.sqlState = ex.getSQLState();
+			}
+			commit();
+		}
+	}
+
+}
@@ -34,6 +34,10 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
@@ -50,6 +54,7 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
 
@@ -104,6 +109,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	private static final String RETURN_UPDATE_COUNT_PREFIX = "#update-count-";
 
+	private static final boolean flightRecorderPresent =
+			ClassUtils.isPresent("jdk.jfr.Event", JdbcTemplate.class.getClassLoader());
+
 
 	/** If this variable is false, we will throw exceptions on SQL warnings. */
 	private boolean ignoreWarnings = true;
@@ -366,6 +374,21 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Override
 	@Nullable
 	public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+		return execute(action, true);
+	}
+
+	/**
+	 * Execute a JDBC data access operation, implemented as callback action
+	 * working on a JDBC Statement.
+	 * @param action the callback to execute
+	 * @param closeResources whether to close the Statement and release the
+	 * Connection before returning, or to hand them over to the {@link Stream}
+	 * that the callback returns, to be released when the Stream is closed
+	 * @return a result object returned by the action, or {@code null}
+	 * @throws DataAccessException if there is any problem
+	 */
+	@Nullable
+	private <T> T execute(StatementCallback<T> action, boolean closeResources) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
@@ -373,8 +396,28 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		try {
 			stmt = con.createStatement();
 			applyStatementSettings(stmt);
-			T result = action.doInStatement(stmt);
+			FlightRecorderStatementEvent event = beginFlightRecorderEvent();
+			T result;
+			try {
+				result = action.doInStatement(stmt);
+			}
+			catch (SQLException ex) {
+				if (event != null) {
+					event.end("Statement", action, ex);
+				}
+				throw ex;
+			}
+			finally {
+				if (event != null) {
+					event.end("Statement", action, null);
+				}
+			}
 			handleWarnings(stmt);
+			if (!closeResources) {
+				result = releaseOnClose(result, stmt, con, null);
+				stmt = null;
+				con = null;
+			}
 			return result;
 		}
 		catch (SQLException ex) {
@@ -462,6 +505,32 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result(query(sql, new RowMapperResultSetExtractor<>(rowMapper)));
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(final String sql, final RowMapper<T> rowMapper) throws DataAccessException {
+		Assert.notNull(sql, "SQL must not be null");
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL query [" + sql + "]");
+		}
+
+		/**
+		 * Callback to execute the query, leaving the ResultSet open for the Stream.
+		 */
+		class StreamStatementCallback implements StatementCallback<Stream<T>>, SqlProvider {
+			@Override
+			public Stream<T> doInStatement(Statement stmt) throws SQLException {
+				ResultSet rs = stmt.executeQuery(sql);
+				return new ResultSetSpliterator<>(rs, rowMapper).stream();
+			}
+			@Override
+			public String getSql() {
+				return sql;
+			}
+		}
+
+		return result(execute(new StreamStatementCallback(), false));
+	}
+
 	@Override
 	public Map<String, Object> queryForMap(String sql) throws DataAccessException {
 		return result(queryForObject(sql, getColumnMapRowMapper()));
@@ -602,6 +671,24 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
 			throws DataAccessException {
 
+		return execute(psc, action, true);
+	}
+
+	/**
+	 * Execute a JDBC data access operation, implemented as callback action
+	 * working on a JDBC PreparedStatement.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param action the callback to execute
+	 * @param closeResources whether to close the PreparedStatement and release
+	 * the Connection before returning, or to hand them over to the {@link Stream}
+	 * that the callback returns, to be released when the Stream is closed
+	 * @return a result object returned by the action, or {@code null}
+	 * @throws DataAccessException if there is any problem
+	 */
+	@Nullable
+	private <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action, boolean closeResources)
+			throws DataAccessException {
+
 		Assert.notNull(psc, "PreparedStatementCreator must not be null");
 		Assert.notNull(action, "Callback object must not be null");
 		if (logger.isDebugEnabled()) {
@@ -614,8 +701,29 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		try {
 			ps = psc.createPreparedStatement(con);
 			applyStatementSettings(ps);
-			T result = action.doInPreparedStatement(ps);
+			FlightRecorderStatementEvent event = beginFlightRecorderEvent();
+			T result;
+			try {
+				result = action.doInPreparedStatement(ps);
+			}
+			catch (SQLException ex) {
+				if (event != null) {
+					event.end("PreparedStatement", psc, ex);
+				}
+				throw ex;
+			}
+			finally {
+				if (event != null) {
+					event.end("PreparedStatement", psc, null);
+				}
+			}
 			handleWarnings(ps);
+			if (!closeResources) {
+				result = releaseOnClose(result, ps, con, psc);
+				psc = null;
+				ps = null;
+				con = null;
+			}
 			return result;
 		}
 		catch (SQLException ex) {
@@ -688,6 +796,43 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		});
 	}
 
+	/**
+	 * Query using a prepared statement, allowing for a PreparedStatementCreator
+	 * and a PreparedStatementSetter, mapping each row to a result object via a
+	 * RowMapper, and turning it into an iterable and closeable Stream.
+	 * Most other {@code queryForStream} methods use this method.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if there is any problem
+	 * @since 5.3
+	 */
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper) throws DataAccessException {
+
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		logger.debug("Executing prepared SQL query");
+
+		return result(execute(psc, ps -> {
+			ResultSet rs;
+			try {
+				if (pss != null) {
+					pss.setValues(ps);
+				}
+				rs = ps.executeQuery();
+			}
+			finally {
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+			}
+			return new ResultSetSpliterator<>(rs, rowMapper).stream();
+		}, false));
+	}
+
 	@Override
 	@Nullable
 	public <T> T query(PreparedStatementCreator psc, ResultSetExtractor<T> rse) throws DataAccessException {
@@ -768,6 +913,25 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result(query(sql, args, new RowMapperResultSetExtractor<>(rowMapper)));
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, RowMapper<T> rowMapper) throws DataAccessException {
+		return queryForStream(psc, null, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(new SimplePreparedStatementCreator(sql), pss, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args)
+			throws DataAccessException {
+
+		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(args), rowMapper);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, Object[] args, int[] argTypes, RowMapper<T> rowMapper)
@@ -1089,7 +1253,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		try {
 			cs = csc.createCallableStatement(con);
 			applyStatementSettings(cs);
-			T result = action.doInCallableStatement(cs);
+			FlightRecorderStatementEvent event = beginFlightRecorderEvent();
+			T result;
+			try {
+				result = action.doInCallableStatement(cs);
+			}
+			catch (SQLException ex) {
+				if (event != null) {
+					event.end("CallableStatement", csc, ex);
+				}
+				throw ex;
+			}
+			finally {
+				if (event != null) {
+					event.end("CallableStatement", csc, null);
+				}
+			}
 			handleWarnings(cs);
 			return result;
 		}
@@ -1461,6 +1640,15 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+	/**
+	 * Begin a Flight Recorder event for a statement execution, if Flight
+	 * Recorder is available and the event type is enabled.
+	 */
+	@Nullable
+	private static FlightRecorderStatementEvent beginFlightRecorderEvent() {
+		return (flightRecorderPresent ? FlightRecorderStatementEvent.PROBE.beginIfEnabled() : null);
+	}
+
 	private static <T> T result(@Nullable T result) {
 		Assert.state(result != null, "No result");
 		return result;
@@ -1471,6 +1659,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result;
 	}
 
+	/**
+	 * Hand the given JDBC resources over to the given Stream result,
+	 * releasing them once the Stream is closed.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T releaseOnClose(@Nullable T result, Statement stmt, Connection con, @Nullable Object psc) {
+		Assert.state(result instanceof Stream, "Stream result expected");
+		return (T) ((Stream<?>) result).onClose(() -> {
+			if (psc instanceof ParameterDisposer) {
+				((ParameterDisposer) psc).cleanupParameters();
+			}
+			JdbcUtils.closeStatement(stmt);
+			DataSourceUtils.releaseConnection(con, getDataSource());
+		});
+	}
+
 
 	/**
 	 * Invocation handler that suppresses close calls on JDBC Connections.
@@ -1610,4 +1814,58 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+
+	/**
+	 * Spliterator for queryForStream adaptation of a ResultSet to a Stream,
+	 * reading one row from the ResultSet for each element consumed.
+	 * @since 5.3
+	 */
+	private class ResultSetSpliterator<T> implements Spliterator<T> {
+
+		private final ResultSet rs;
+
+		private final RowMapper<T> rowMapper;
+
+		private int rowNum = 0;
+
+		public ResultSetSpliterator(ResultSet rs, RowMapper<T> rowMapper) {
+			this.rs = rs;
+			this.rowMapper = rowMapper;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			try {
+				if (this.rs.next()) {
+					action.accept(this.rowMapper.mapRow(this.rs, this.rowNum++));
+					return true;
+				}
+				return false;
+			}
+			catch (SQLException ex) {
+				throw translateException("ResultSetSpliterator", null, ex);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Spliterator<T> trySplit() {
+			return null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED;
+		}
+
+		public Stream<T> stream() {
+			return StreamSupport.stream(this, false).onClose(() -> JdbcUtils.closeResultSet(this.rs));
+		}
+	}
+
 }
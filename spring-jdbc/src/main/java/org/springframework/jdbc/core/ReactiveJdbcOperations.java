@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.List;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Interface specifying a basic set of JDBC operations with a Reactor-based API,
+ * each performing blocking {@link JdbcOperations} calls on a dedicated scheduler.
+ * Implemented by {@link ReactiveJdbcTemplate}.
+ *
+ * <p>Returned publishers are lazy: the JDBC operation is only performed once
+ * subscribed to. Errors are signalled as {@link DataAccessException DataAccessExceptions},
+ * just like {@link JdbcOperations} throws them.
+ *
+ * @since 5.3
+ * @see ReactiveJdbcTemplate
+ * @see JdbcOperations
+ */
+public interface ReactiveJdbcOperations {
+
+	/**
+	 * Execute the given action against the underlying {@link JdbcOperations},
+	 * participating in a reactive transaction if any.
+	 * <p>This allows for performing arbitrary blocking JDBC operations off the
+	 * calling thread, e.g. a series of statements to be executed together.
+	 * @param action a callback that performs operations on the given JdbcOperations
+	 * @return a Mono with the result object returned by the action, if any
+	 */
+	<T> Mono<T> execute(Function<JdbcOperations, T> action);
+
+	/**
+	 * Query using a prepared statement, mapping each row to a result object
+	 * via a RowMapper and emitting the objects as they are read.
+	 * <p>Rows are read from the ResultSet on demand, with demand requested
+	 * upstream in batches of the fetch size of the underlying JdbcTemplate.
+	 * The ResultSet and the Connection are released on completion, on error
+	 * and on cancellation.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param rowMapper a callback that will map one object per row
+	 * @return a Flux of mapped objects
+	 * @see JdbcOperations#queryForStream(PreparedStatementCreator, RowMapper)
+	 */
+	<T> Flux<T> query(PreparedStatementCreator psc, RowMapper<T> rowMapper);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, mapping each row to a result object
+	 * via a RowMapper and emitting the objects as they are read.
+	 * <p>Rows are read from the ResultSet on demand, with demand requested
+	 * upstream in batches of the fetch size of the underlying JdbcTemplate.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @param args arguments to bind to the query
+	 * @return a Flux of mapped objects
+	 * @see JdbcOperations#queryForStream(String, RowMapper, Object...)
+	 */
+	<T> Flux<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list
+	 * of arguments to bind to the query, mapping a single result row to a
+	 * result object via a RowMapper.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @param args arguments to bind to the query
+	 * @return a Mono with the single mapped object, empty if the given
+	 * {@link RowMapper} returned {@code null}, or signalling an
+	 * {@link org.springframework.dao.IncorrectResultSizeDataAccessException}
+	 * if the query does not return exactly one row
+	 * @see JdbcOperations#queryForObject(String, RowMapper, Object...)
+	 */
+	<T> Mono<T> queryForObject(String sql, RowMapper<T> rowMapper, @Nullable Object... args);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, expecting a result object.
+	 * @param sql the SQL query to execute
+	 * @param requiredType the type that the result object is expected to match
+	 * @param args arguments to bind to the query
+	 * @return a Mono with the result object of the required type, empty in
+	 * case of SQL NULL, or signalling an
+	 * {@link org.springframework.dao.IncorrectResultSizeDataAccessException}
+	 * if the query does not return exactly one row
+	 * @see JdbcOperations#queryForObject(String, Class, Object...)
+	 */
+	<T> Mono<T> queryForObject(String sql, Class<T> requiredType, @Nullable Object... args);
+
+	/**
+	 * Issue a single SQL update operation (such as an insert, update or delete
+	 * statement) via a prepared statement, binding the given arguments.
+	 * @param sql the SQL containing bind parameters
+	 * @param args arguments to bind to the query
+	 * @return a Mono with the number of rows affected
+	 * @see JdbcOperations#update(String, Object...)
+	 */
+	Mono<Integer> update(String sql, @Nullable Object... args);
+
+	/**
+	 * Execute a batch using the supplied SQL statement with the batch of supplied arguments.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the List of Object arrays containing the batch of arguments for the query
+	 * @return a Mono with an array containing the numbers of rows affected by each update in the batch
+	 * @see JdbcOperations#batchUpdate(String, List)
+	 */
+	Mono<int[]> batchUpdate(String sql, List<Object[]> batchArgs);
+
+}
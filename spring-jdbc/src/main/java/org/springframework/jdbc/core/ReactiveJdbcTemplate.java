@@ -0,0 +1,240 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Default implementation of {@link ReactiveJdbcOperations}, delegating to a
+ * {@link JdbcTemplate} whose blocking calls are performed on a {@link Scheduler}.
+ *
+ * <p>The scheduler is meant to be bounded to the maximum number of Connections
+ * that the underlying DataSource provides, e.g. the maximum size of its pool:
+ * the {@link #ReactiveJdbcTemplate(JdbcTemplate, int)} constructor creates
+ * a {@link Schedulers#newBoundedElastic bounded elastic scheduler} with that
+ * number of threads. Operations beyond that number get queued rather than
+ * blocking further threads while waiting for a Connection.
+ *
+ * <p>Operations participate in reactive transactions managed by a
+ * {@link org.springframework.jdbc.datasource.ReactiveDataSourceTransactionManager}
+ * for the same DataSource, e.g. through a
+ * {@link org.springframework.transaction.reactive.TransactionalOperator}:
+ * the transactional Connection is exposed to the JdbcTemplate for the
+ * duration of each operation.
+ *
+ * @since 5.3
+ * @see JdbcTemplate
+ * @see org.springframework.jdbc.datasource.ReactiveDataSourceTransactionManager
+ */
+public class ReactiveJdbcTemplate implements ReactiveJdbcOperations, DisposableBean {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final Scheduler scheduler;
+
+	private final boolean schedulerOwned;
+
+
+	/**
+	 * Create a new ReactiveJdbcTemplate for the given DataSource, with a
+	 * dedicated scheduler for the given maximum number of concurrent operations.
+	 * @param dataSource the JDBC DataSource to obtain connections from
+	 * @param maxConcurrency the maximum number of concurrently executing
+	 * operations, typically the maximum number of pooled Connections
+	 */
+	public ReactiveJdbcTemplate(DataSource dataSource, int maxConcurrency) {
+		this(new JdbcTemplate(dataSource), maxConcurrency);
+	}
+
+	/**
+	 * Create a new ReactiveJdbcTemplate for the given JdbcTemplate, with a
+	 * dedicated scheduler for the given maximum number of concurrent operations.
+	 * The scheduler gets disposed when this template is {@link #destroy() destroyed}.
+	 * @param jdbcTemplate the JdbcTemplate to delegate to
+	 * @param maxConcurrency the maximum number of concurrently executing
+	 * operations, typically the maximum number of pooled Connections
+	 */
+	public ReactiveJdbcTemplate(JdbcTemplate jdbcTemplate, int maxConcurrency) {
+		Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
+		Assert.isTrue(maxConcurrency > 0, "Max concurrency must be greater than 0");
+		this.jdbcTemplate = jdbcTemplate;
+		this.scheduler = Schedulers.newBoundedElastic(
+				maxConcurrency, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "jdbc");
+		this.schedulerOwned = true;
+	}
+
+	/**
+	 * Create a new ReactiveJdbcTemplate for the given JdbcTemplate and scheduler.
+	 * The scheduler is not disposed when this template is destroyed.
+	 * @param jdbcTemplate the JdbcTemplate to delegate to
+	 * @param scheduler the scheduler to perform blocking JDBC calls on
+	 */
+	public ReactiveJdbcTemplate(JdbcTemplate jdbcTemplate, Scheduler scheduler) {
+		Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		this.jdbcTemplate = jdbcTemplate;
+		this.scheduler = scheduler;
+		this.schedulerOwned = false;
+	}
+
+
+	/**
+	 * Return the underlying JdbcTemplate, e.g. for configuring its
+	 * fetch size or other settings.
+	 */
+	public JdbcTemplate getJdbcTemplate() {
+		return this.jdbcTemplate;
+	}
+
+	/**
+	 * Return the scheduler that blocking JDBC calls are performed on.
+	 */
+	public Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
+
+	@Override
+	public <T> Mono<T> execute(Function<JdbcOperations, T> action) {
+		Assert.notNull(action, "Callback object must not be null");
+		return currentConnectionHolder().flatMap(conHolder ->
+				Mono.fromCallable(() -> doWithConnectionHolder(conHolder.orElse(null),
+						() -> action.apply(this.jdbcTemplate)))
+				.subscribeOn(this.scheduler));
+	}
+
+	@Override
+	public <T> Flux<T> query(PreparedStatementCreator psc, RowMapper<T> rowMapper) {
+		return stream(jdbcOperations -> jdbcOperations.queryForStream(psc, rowMapper));
+	}
+
+	@Override
+	public <T> Flux<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args) {
+		return stream(jdbcOperations -> jdbcOperations.queryForStream(sql, rowMapper, args));
+	}
+
+	@Override
+	public <T> Mono<T> queryForObject(String sql, RowMapper<T> rowMapper, @Nullable Object... args) {
+		return execute(jdbcOperations -> jdbcOperations.queryForObject(sql, rowMapper, args));
+	}
+
+	@Override
+	public <T> Mono<T> queryForObject(String sql, Class<T> requiredType, @Nullable Object... args) {
+		return execute(jdbcOperations -> jdbcOperations.queryForObject(sql, requiredType, args));
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, @Nullable Object... args) {
+		return execute(jdbcOperations -> jdbcOperations.update(sql, args));
+	}
+
+	@Override
+	public Mono<int[]> batchUpdate(String sql, List<Object[]> batchArgs) {
+		return execute(jdbcOperations -> jdbcOperations.batchUpdate(sql, batchArgs));
+	}
+
+
+	/**
+	 * Dispose the scheduler if created by this template.
+	 */
+	@Override
+	public void destroy() {
+		if (this.schedulerOwned) {
+			this.scheduler.dispose();
+		}
+	}
+
+
+	/**
+	 * Emit the elements of the Stream opened by the given function, reading
+	 * them on the scheduler as requested and closing the Stream on termination.
+	 */
+	private <T> Flux<T> stream(Function<JdbcOperations, Stream<T>> streamFunction) {
+		Flux<T> flux = currentConnectionHolder().flatMapMany(holder -> {
+			ConnectionHolder conHolder = holder.orElse(null);
+			return Flux.using(
+					() -> doWithConnectionHolder(conHolder, () -> streamFunction.apply(this.jdbcTemplate)),
+					stream -> Flux.fromIterable(stream::iterator),
+					stream -> doWithConnectionHolder(conHolder, () -> {
+						stream.close();
+						return null;
+					}))
+					.subscribeOn(this.scheduler);
+		});
+		int fetchSize = this.jdbcTemplate.getFetchSize();
+		return (fetchSize > 0 ? flux.limitRate(fetchSize) : flux);
+	}
+
+	/**
+	 * Determine the ConnectionHolder bound to the current reactive transaction, if any.
+	 */
+	private Mono<Optional<ConnectionHolder>> currentConnectionHolder() {
+		DataSource dataSource = obtainDataSource();
+		return TransactionSynchronizationManager.forCurrentTransaction()
+				.map(synchronizationManager ->
+						Optional.ofNullable((ConnectionHolder) synchronizationManager.getResource(dataSource)))
+				.onErrorResume(NoTransactionException.class, ex -> Mono.just(Optional.empty()));
+	}
+
+	/**
+	 * Perform the given action with the given ConnectionHolder bound to the
+	 * current thread, making the JdbcTemplate use its Connection.
+	 */
+	@Nullable
+	private <T> T doWithConnectionHolder(@Nullable ConnectionHolder conHolder, Supplier<T> action) {
+		if (conHolder == null) {
+			return action.get();
+		}
+		DataSource dataSource = obtainDataSource();
+		if (org.springframework.transaction.support.TransactionSynchronizationManager.getResource(dataSource) ==
+				conHolder) {
+			return action.get();
+		}
+		org.springframework.transaction.support.TransactionSynchronizationManager.bindResource(dataSource, conHolder);
+		try {
+			return action.get();
+		}
+		finally {
+			org.springframework.transaction.support.TransactionSynchronizationManager.unbindResource(dataSource);
+		}
+	}
+
+	private DataSource obtainDataSource() {
+		DataSource dataSource = this.jdbcTemplate.getDataSource();
+		Assert.state(dataSource != null, "No DataSource set");
+		return dataSource;
+	}
+
+}
@@ -18,6 +18,8 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcOperations;
@@ -226,6 +228,37 @@ public interface NamedParameterJdbcOperations {
 	 */
 	<T> List<T> query(String sql, RowMapper<T> rowMapper) throws DataAccessException;
 
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list
+	 * of arguments to bind to the query, mapping each row to a Java object
+	 * via a RowMapper, and turning it into an iterable and closeable Stream.
+	 * @param sql the SQL query to execute
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper object that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 5.3
+	 */
+	<T> Stream<T> queryForStream(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
+			throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list
+	 * of arguments to bind to the query, mapping each row to a Java object
+	 * via a RowMapper, and turning it into an iterable and closeable Stream.
+	 * @param sql the SQL query to execute
+	 * @param paramMap map of parameters to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type)
+	 * @param rowMapper object that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 5.3
+	 */
+	<T> Stream<T> queryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)
+			throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
@@ -516,4 +549,51 @@ public interface NamedParameterJdbcOperations {
 	 */
 	int[] batchUpdate(String sql, SqlParameterSource[] batchArgs);
 
+	/**
+	 * Execute multiple batches using the supplied SQL statement with the collection
+	 * of supplied arguments, sending them to the database in sub-batches of the
+	 * given size and reusing the same PreparedStatement for all of them.
+	 * <p>The SQL statement gets derived from the first {@link SqlParameterSource};
+	 * all further parameter sources need to provide compatible values, e.g. collections
+	 * of the same size for parameters that get expanded into a list of placeholders.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the {@link SqlParameterSource} instances containing the batch
+	 * of arguments for the query, iterated once
+	 * @param batchSize the maximum number of updates per sub-batch
+	 * @return an array of arrays containing the numbers of rows affected by each
+	 * update in each sub-batch (may also contain special JDBC-defined negative values
+	 * for affected rows such as {@link java.sql.Statement#SUCCESS_NO_INFO}/
+	 * {@link java.sql.Statement#EXECUTE_FAILED})
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 5.3
+	 */
+	int[][] batchUpdate(String sql, Iterable<? extends SqlParameterSource> batchArgs, int batchSize);
+
+	/**
+	 * Execute multiple batches using the supplied SQL statement with the stream
+	 * of supplied arguments, sending them to the database in sub-batches of the
+	 * given size and reusing the same PreparedStatement for all of them.
+	 * <p>In contrast to {@link #batchUpdate(String, Iterable, int)}, the numbers
+	 * of rows affected are handed to the given callback once per sub-batch rather
+	 * than collected, so that memory consumption is bounded by the batch size
+	 * regardless of the number of updates. The given stream is consumed but not
+	 * closed by this method.
+	 * <p>The SQL statement gets derived from the first {@link SqlParameterSource};
+	 * all further parameter sources need to provide compatible values, e.g. collections
+	 * of the same size for parameters that get expanded into a list of placeholders.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the {@link SqlParameterSource} instances containing the batch
+	 * of arguments for the query
+	 * @param batchSize the maximum number of updates per sub-batch
+	 * @param rowsAffectedCallback a callback receiving an array containing the numbers
+	 * of rows affected by each update in a sub-batch, once that sub-batch has been
+	 * executed (may also contain special JDBC-defined negative values for affected
+	 * rows such as {@link java.sql.Statement#SUCCESS_NO_INFO}/
+	 * {@link java.sql.Statement#EXECUTE_FAILED})
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 5.3
+	 */
+	void batchUpdate(String sql, Stream<? extends SqlParameterSource> batchArgs, int batchSize,
+			Consumer<int[]> rowsAffectedCallback);
+
 }
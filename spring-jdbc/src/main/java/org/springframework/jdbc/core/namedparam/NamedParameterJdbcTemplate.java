@@ -18,10 +18,14 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -31,15 +35,18 @@ import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterDisposer;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
@@ -228,6 +235,20 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return query(sql, EmptySqlParameterSource.INSTANCE, rowMapper);
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return getJdbcOperations().queryForStream(getPreparedStatementCreator(sql, paramSource), rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(sql, new MapSqlParameterSource(paramMap), rowMapper);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
@@ -378,6 +399,73 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 				});
 	}
 
+	@Override
+	public int[][] batchUpdate(String sql, Iterable<? extends SqlParameterSource> batchArgs, int batchSize) {
+		List<int[]> rowsAffected = new ArrayList<>();
+		batchUpdate(sql, batchArgs.iterator(), batchSize, rowsAffected::add);
+		return rowsAffected.toArray(new int[0][]);
+	}
+
+	@Override
+	public void batchUpdate(String sql, Stream<? extends SqlParameterSource> batchArgs, int batchSize,
+			Consumer<int[]> rowsAffectedCallback) {
+
+		batchUpdate(sql, batchArgs.iterator(), batchSize, rowsAffectedCallback);
+	}
+
+	private void batchUpdate(String sql, Iterator<? extends SqlParameterSource> batchArgs, int batchSize,
+			Consumer<int[]> rowsAffectedCallback) {
+
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		if (!batchArgs.hasNext()) {
+			return;
+		}
+
+		SqlParameterSource firstArgs = batchArgs.next();
+		ParsedSql parsedSql = getParsedSql(sql);
+		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, firstArgs);
+
+		getJdbcOperations().execute(pscf.getSql(), (PreparedStatementCallback<Object>) ps -> {
+			boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+			List<PreparedStatementSetter> setters = new ArrayList<>(Math.min(batchSize, 1024));
+			int[] rowsAffected = (batchSupported ? null : new int[batchSize]);
+			try {
+				SqlParameterSource paramSource = firstArgs;
+				while (paramSource != null) {
+					Object[] values = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+					PreparedStatementSetter pss = pscf.newPreparedStatementSetter(values);
+					setters.add(pss);
+					pss.setValues(ps);
+					if (batchSupported) {
+						ps.addBatch();
+					}
+					else {
+						rowsAffected[setters.size() - 1] = ps.executeUpdate();
+					}
+					paramSource = (batchArgs.hasNext() ? batchArgs.next() : null);
+					if (setters.size() == batchSize || paramSource == null) {
+						rowsAffectedCallback.accept(rowsAffected != null ?
+								Arrays.copyOf(rowsAffected, setters.size()) : ps.executeBatch());
+						cleanupParameters(setters);
+					}
+				}
+			}
+			finally {
+				cleanupParameters(setters);
+			}
+			return null;
+		});
+	}
+
+	private static void cleanupParameters(List<PreparedStatementSetter> setters) {
+		for (PreparedStatementSetter pss : setters) {
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+		}
+		setters.clear();
+	}
+
 
 	/**
 	 * Build a {@link PreparedStatementCreator} based on the given SQL and named parameters.
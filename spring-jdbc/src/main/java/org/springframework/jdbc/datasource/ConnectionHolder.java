@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,6 +60,11 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
 	private int savepointCounter = 0;
 
+	private int statementCacheLimit = 0;
+
+	@Nullable
+	private PreparedStatementCache statementCache;
+
 
 	/**
 	 * Create a new ConnectionHolder for the given ConnectionHandle.
@@ -126,6 +131,31 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		return this.transactionActive;
 	}
 
+	/**
+	 * Set the maximum number of PreparedStatements to keep open for reuse
+	 * on the held Connection, keyed by SQL text, result set type and result
+	 * set concurrency. Beyond that number, the least recently used statement
+	 * gets closed. Default is 0, not caching any statements.
+	 * <p>Cached statements are closed along with the Connection, or when this
+	 * holder gets cleared or receives a different Connection. Only applies to
+	 * a Connection given to this holder directly (as with
+	 * {@link DataSourceTransactionManager}), not to a custom ConnectionHandle.
+	 * @since 5.3
+	 * @see DataSourceTransactionManager#setStatementCacheLimit
+	 */
+	public void setStatementCacheLimit(int statementCacheLimit) {
+		this.statementCacheLimit = statementCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of PreparedStatements to keep open for reuse
+	 * on the held Connection.
+	 * @since 5.3
+	 */
+	public int getStatementCacheLimit() {
+		return this.statementCacheLimit;
+	}
+
 
 	/**
 	 * Override the existing Connection handle with the given Connection.
@@ -140,6 +170,7 @@ public class ConnectionHolder extends ResourceHolderSupport {
 			}
 			this.currentConnection = null;
 		}
+		closeStatementCache();
 		if (connection != null) {
 			this.connectionHandle = new SimpleConnectionHandle(connection);
 		}
@@ -159,7 +190,15 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	public Connection getConnection() {
 		Assert.notNull(this.connectionHandle, "Active Connection is required");
 		if (this.currentConnection == null) {
-			this.currentConnection = this.connectionHandle.getConnection();
+			Connection con = this.connectionHandle.getConnection();
+			if (this.statementCacheLimit > 0 && this.connectionHandle instanceof SimpleConnectionHandle) {
+				if (this.statementCache == null || !this.statementCache.isFor(con)) {
+					closeStatementCache();
+					this.statementCache = new PreparedStatementCache(con, this.statementCacheLimit);
+				}
+				con = this.statementCache.getConnectionProxy();
+			}
+			this.currentConnection = con;
 		}
 		return this.currentConnection;
 	}
@@ -212,6 +251,18 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		this.transactionActive = false;
 		this.savepointsSupported = null;
 		this.savepointCounter = 0;
+		closeStatementCache();
+	}
+
+	/**
+	 * Close the PreparedStatements cached for the held Connection, if any.
+	 */
+	private void closeStatementCache() {
+		if (this.statementCache != null) {
+			this.statementCache.close();
+			this.statementCache = null;
+			this.currentConnection = null;
+		}
 	}
 
 }
@@ -118,6 +118,8 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 
 	private boolean enforceReadOnly = false;
 
+	private int statementCacheLimit = 0;
+
 
 	/**
 	 * Create a new DataSourceTransactionManager instance.
@@ -221,6 +223,29 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 		return this.enforceReadOnly;
 	}
 
+	/**
+	 * Specify the maximum number of PreparedStatements to cache per transactional
+	 * Connection, reusing statements for the same SQL within a transaction.
+	 * Default is 0, not caching any statements.
+	 * <p>Cached statements are closed at the end of the transaction, along with
+	 * the Connection. This is mainly useful with a DataSource that does not pool
+	 * statements itself.
+	 * @since 5.3
+	 * @see ConnectionHolder#setStatementCacheLimit
+	 */
+	public void setStatementCacheLimit(int statementCacheLimit) {
+		this.statementCacheLimit = statementCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of PreparedStatements to cache per transactional
+	 * Connection.
+	 * @since 5.3
+	 */
+	public int getStatementCacheLimit() {
+		return this.statementCacheLimit;
+	}
+
 	@Override
 	public void afterPropertiesSet() {
 		if (getDataSource() == null) {
@@ -262,7 +287,9 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 				if (logger.isDebugEnabled()) {
 					logger.debug("Acquired Connection [" + newCon + "] for JDBC transaction");
 				}
-				txObject.setConnectionHolder(new ConnectionHolder(newCon), true);
+				ConnectionHolder conHolder = new ConnectionHolder(newCon);
+				conHolder.setStatementCacheLimit(this.statementCacheLimit);
+				txObject.setConnectionHolder(conHolder, true);
 			}
 
 			txObject.getConnectionHolder().setSynchronizedWithTransaction(true);
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache of {@link PreparedStatement PreparedStatements} for a single JDBC
+ * {@link Connection}, exposed through a Connection proxy that hands out
+ * cached statements from {@code prepareStatement} calls.
+ *
+ * <p>Statements are keyed by SQL text, result set type and result set
+ * concurrency. Closing a statement obtained from the proxy returns it to the
+ * cache, with its parameters cleared and its fetch size, max rows and query
+ * timeout reset. Beyond the given limit, the least recently used statement
+ * gets closed. Closing the Connection proxy closes all cached statements.
+ *
+ * <p>Not thread-safe: meant for a Connection that is bound to a transaction.
+ *
+ * @since 5.3
+ * @see ConnectionHolder#setStatementCacheLimit
+ */
+final class PreparedStatementCache {
+
+	private final Connection target;
+
+	private final Map<StatementKey, CachedStatement> statements;
+
+	private final Connection connectionProxy;
+
+	private boolean closed;
+
+
+	PreparedStatementCache(Connection target, int limit) {
+		this.target = target;
+		this.statements = new LinkedHashMap<StatementKey, CachedStatement>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+				if (size() > limit) {
+					evict(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+		this.connectionProxy = (Connection) Proxy.newProxyInstance(
+				ConnectionProxy.class.getClassLoader(),
+				new Class<?>[] {ConnectionProxy.class},
+				new CachingConnectionInvocationHandler());
+	}
+
+
+	/**
+	 * Return whether this cache holds statements for the given Connection.
+	 */
+	boolean isFor(Connection connection) {
+		return (this.target == connection);
+	}
+
+	/**
+	 * Return the Connection proxy that caches the statements it prepares.
+	 */
+	Connection getConnectionProxy() {
+		return this.connectionProxy;
+	}
+
+	/**
+	 * Close all cached statements, leaving the target Connection open.
+	 * Statements in use at this point get closed when they are closed
+	 * by the caller.
+	 */
+	void close() {
+		this.closed = true;
+		for (CachedStatement statement : new ArrayList<>(this.statements.values())) {
+			evict(statement);
+		}
+		this.statements.clear();
+	}
+
+
+	private PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+			boolean defaultType) throws SQLException {
+
+		if (this.closed) {
+			throw new SQLException("Statement cache has been closed");
+		}
+		StatementKey key = new StatementKey(sql, resultSetType, resultSetConcurrency);
+		CachedStatement statement = this.statements.get(key);
+		if (statement != null) {
+			if (!statement.inUse) {
+				statement.inUse = true;
+				return statement.proxy;
+			}
+			// Same statement still in use (e.g. while iterating over a result set):
+			// hand out a plain statement instead of caching a second one.
+			return (defaultType ? this.target.prepareStatement(sql) :
+					this.target.prepareStatement(sql, resultSetType, resultSetConcurrency));
+		}
+		PreparedStatement ps = (defaultType ? this.target.prepareStatement(sql) :
+				this.target.prepareStatement(sql, resultSetType, resultSetConcurrency));
+		statement = new CachedStatement(key, ps);
+		statement.inUse = true;
+		this.statements.put(key, statement);
+		return statement.proxy;
+	}
+
+	private void release(CachedStatement statement) {
+		if (!statement.inUse) {
+			return;
+		}
+		statement.inUse = false;
+		if (statement.evicted) {
+			JdbcUtils.closeStatement(statement.target);
+			return;
+		}
+		try {
+			statement.reset();
+		}
+		catch (SQLException | RuntimeException ex) {
+			// Not reusable anymore: discard it.
+			this.statements.remove(statement.key);
+			JdbcUtils.closeStatement(statement.target);
+		}
+	}
+
+	private void evict(CachedStatement statement) {
+		statement.evicted = true;
+		if (!statement.inUse) {
+			JdbcUtils.closeStatement(statement.target);
+		}
+	}
+
+
+	/**
+	 * Invocation handler for the Connection proxy, caching the statements
+	 * prepared through it.
+	 */
+	private class CachingConnectionInvocationHandler implements InvocationHandler {
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			// Invocation on ConnectionProxy interface coming in...
+
+			switch (method.getName()) {
+				case "equals":
+					// Only consider equal when proxies are identical.
+					return (proxy == args[0]);
+				case "hashCode":
+					// Use hashCode of Connection proxy.
+					return System.identityHashCode(proxy);
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+				case "getTargetConnection":
+					// Handle getTargetConnection method: return underlying Connection.
+					return target;
+				case "close":
+					// Close cached statements along with the Connection.
+					close();
+					target.close();
+					return null;
+				case "prepareStatement":
+					if (args.length == 1) {
+						return prepareStatement((String) args[0],
+								ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, true);
+					}
+					else if (args.length == 3) {
+						return prepareStatement((String) args[0], (Integer) args[1], (Integer) args[2], false);
+					}
+					break;
+			}
+
+			// Invoke method on target Connection.
+			try {
+				return method.invoke(target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+
+	/**
+	 * A cached statement along with its proxy and its initial settings.
+	 */
+	private final class CachedStatement implements InvocationHandler {
+
+		final StatementKey key;
+
+		final PreparedStatement target;
+
+		final PreparedStatement proxy;
+
+		private final int fetchSize;
+
+		private final int maxRows;
+
+		private final int queryTimeout;
+
+		boolean inUse;
+
+		boolean evicted;
+
+		private boolean batched;
+
+		CachedStatement(StatementKey key, PreparedStatement target) throws SQLException {
+			this.key = key;
+			this.target = target;
+			this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+					PreparedStatement.class.getClassLoader(), new Class<?>[] {PreparedStatement.class}, this);
+			this.fetchSize = target.getFetchSize();
+			this.maxRows = target.getMaxRows();
+			this.queryTimeout = target.getQueryTimeout();
+		}
+
+		void reset() throws SQLException {
+			this.target.clearParameters();
+			this.target.clearWarnings();
+			if (this.batched) {
+				this.target.clearBatch();
+				this.batched = false;
+			}
+			if (this.target.getFetchSize() != this.fetchSize) {
+				this.target.setFetchSize(this.fetchSize);
+			}
+			if (this.target.getMaxRows() != this.maxRows) {
+				this.target.setMaxRows(this.maxRows);
+			}
+			if (this.target.getQueryTimeout() != this.queryTimeout) {
+				this.target.setQueryTimeout(this.queryTimeout);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			// Invocation on PreparedStatement interface coming in...
+
+			switch (method.getName()) {
+				case "equals":
+					return (proxy == args[0]);
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+				case "close":
+					// Handle close method: return the statement to the cache.
+					release(this);
+					return null;
+				case "isClosed":
+					return (!this.inUse || this.target.isClosed());
+				case "getConnection":
+					return connectionProxy;
+				case "addBatch":
+					this.batched = true;
+					break;
+			}
+
+			if (!this.inUse) {
+				throw new SQLException("Statement has been closed");
+			}
+
+			// Invoke method on target PreparedStatement.
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+
+	/**
+	 * Cache key for a statement: SQL text, result set type and concurrency.
+	 */
+	private static final class StatementKey {
+
+		private final String sql;
+
+		private final int resultSetType;
+
+		private final int resultSetConcurrency;
+
+		StatementKey(String sql, int resultSetType, int resultSetConcurrency) {
+			this.sql = sql;
+			this.resultSetType = resultSetType;
+			this.resultSetConcurrency = resultSetConcurrency;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof StatementKey)) {
+				return false;
+			}
+			StatementKey otherKey = (StatementKey) other;
+			return (this.sql.equals(otherKey.sql) && this.resultSetType == otherKey.resultSetType &&
+					this.resultSetConcurrency == otherKey.resultSetConcurrency);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.sql.hashCode() * 29 + this.resultSetType) * 29 + this.resultSetConcurrency;
+		}
+	}
+
+}
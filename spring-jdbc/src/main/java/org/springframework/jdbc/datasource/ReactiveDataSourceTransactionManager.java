@@ -0,0 +1,386 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.transaction.ReactiveTransactionManager} implementation
+ * for a single JDBC {@link javax.sql.DataSource}, for use with a
+ * {@link org.springframework.transaction.reactive.TransactionalOperator} or
+ * reactive {@code @Transactional} methods.
+ *
+ * <p>Binds a {@link ConnectionHolder} for the specified DataSource to the
+ * reactive transaction context, in the same form as {@link DataSourceTransactionManager}
+ * binds it to the thread. Blocking JDBC calls for beginning and completing
+ * transactions are performed on the given {@link #setScheduler Scheduler}.
+ *
+ * <p>Application code is required to access the transactional Connection through
+ * {@link org.springframework.jdbc.core.ReactiveJdbcTemplate}, which exposes it
+ * to the underlying {@link org.springframework.jdbc.core.JdbcTemplate} for the
+ * duration of each operation. Operations within the same transaction need to be
+ * performed one after the other since they share a single JDBC Connection.
+ *
+ * @since 5.3
+ * @see DataSourceTransactionManager
+ * @see org.springframework.jdbc.core.ReactiveJdbcTemplate
+ * @see org.springframework.transaction.reactive.TransactionalOperator
+ */
+@SuppressWarnings("serial")
+public class ReactiveDataSourceTransactionManager extends AbstractReactiveTransactionManager
+		implements InitializingBean {
+
+	@Nullable
+	private DataSource dataSource;
+
+	private Scheduler scheduler = Schedulers.boundedElastic();
+
+
+	/**
+	 * Create a new ReactiveDataSourceTransactionManager instance.
+	 * A DataSource has to be set to be able to use it.
+	 * @see #setDataSource
+	 */
+	public ReactiveDataSourceTransactionManager() {
+	}
+
+	/**
+	 * Create a new ReactiveDataSourceTransactionManager instance.
+	 * @param dataSource the JDBC DataSource to manage transactions for
+	 */
+	public ReactiveDataSourceTransactionManager(DataSource dataSource) {
+		this();
+		setDataSource(dataSource);
+		afterPropertiesSet();
+	}
+
+
+	/**
+	 * Set the JDBC DataSource that this instance should manage transactions for.
+	 * <p>As with {@link DataSourceTransactionManager}, a passed-in
+	 * {@link TransactionAwareDataSourceProxy} gets unwrapped to its target.
+	 * @see DataSourceTransactionManager#setDataSource
+	 */
+	public void setDataSource(@Nullable DataSource dataSource) {
+		if (dataSource instanceof TransactionAwareDataSourceProxy) {
+			this.dataSource = ((TransactionAwareDataSourceProxy) dataSource).getTargetDataSource();
+		}
+		else {
+			this.dataSource = dataSource;
+		}
+	}
+
+	/**
+	 * Return the JDBC DataSource that this instance manages transactions for.
+	 */
+	@Nullable
+	public DataSource getDataSource() {
+		return this.dataSource;
+	}
+
+	/**
+	 * Obtain the DataSource for actual use.
+	 * @return the DataSource (never {@code null})
+	 * @throws IllegalStateException in case of no DataSource set
+	 */
+	protected DataSource obtainDataSource() {
+		DataSource dataSource = getDataSource();
+		Assert.state(dataSource != null, "No DataSource set");
+		return dataSource;
+	}
+
+	/**
+	 * Set the Scheduler to perform blocking JDBC calls on, for obtaining
+	 * Connections and for committing or rolling back transactions.
+	 * <p>Default is {@link Schedulers#boundedElastic()}. Consider sharing the
+	 * Scheduler of the {@link org.springframework.jdbc.core.ReactiveJdbcTemplate}
+	 * in use, bounded to the size of the connection pool.
+	 */
+	public void setScheduler(Scheduler scheduler) {
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Return the Scheduler to perform blocking JDBC calls on.
+	 */
+	public Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (getDataSource() == null) {
+			throw new IllegalArgumentException("Property 'dataSource' is required");
+		}
+	}
+
+
+	@Override
+	protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+		ReactiveDataSourceTransactionObject txObject = new ReactiveDataSourceTransactionObject();
+		ConnectionHolder conHolder = (ConnectionHolder) synchronizationManager.getResource(obtainDataSource());
+		txObject.setConnectionHolder(conHolder, false);
+		return txObject;
+	}
+
+	@Override
+	protected boolean isExistingTransaction(Object transaction) {
+		ReactiveDataSourceTransactionObject txObject = (ReactiveDataSourceTransactionObject) transaction;
+		return (txObject.hasConnectionHolder() && txObject.getConnectionHolder().isTransactionActive());
+	}
+
+	@Override
+	protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager,
+			Object transaction, TransactionDefinition definition) {
+
+		ReactiveDataSourceTransactionObject txObject = (ReactiveDataSourceTransactionObject) transaction;
+		return Mono.<Void>fromRunnable(() -> {
+			Connection con = null;
+			try {
+				if (!txObject.hasConnectionHolder() ||
+						txObject.getConnectionHolder().isSynchronizedWithTransaction()) {
+					Connection newCon = obtainDataSource().getConnection();
+					if (logger.isDebugEnabled()) {
+						logger.debug("Acquired Connection [" + newCon + "] for JDBC transaction");
+					}
+					txObject.setConnectionHolder(new ConnectionHolder(newCon), true);
+				}
+
+				txObject.getConnectionHolder().setSynchronizedWithTransaction(true);
+				con = txObject.getConnectionHolder().getConnection();
+
+				Integer previousIsolationLevel = DataSourceUtils.prepareConnectionForTransaction(con, definition);
+				txObject.setPreviousIsolationLevel(previousIsolationLevel);
+				txObject.setReadOnly(definition.isReadOnly());
+
+				if (con.getAutoCommit()) {
+					txObject.setMustRestoreAutoCommit(true);
+					if (logger.isDebugEnabled()) {
+						logger.debug("Switching JDBC Connection [" + con + "] to manual commit");
+					}
+					con.setAutoCommit(false);
+				}
+
+				txObject.getConnectionHolder().setTransactionActive(true);
+
+				int timeout = definition.getTimeout();
+				if (timeout != TransactionDefinition.TIMEOUT_DEFAULT) {
+					txObject.getConnectionHolder().setTimeoutInSeconds(timeout);
+				}
+
+				// Bind the connection holder to the transaction context.
+				if (txObject.isNewConnectionHolder()) {
+					synchronizationManager.bindResource(obtainDataSource(), txObject.getConnectionHolder());
+				}
+			}
+			catch (Throwable ex) {
+				if (txObject.isNewConnectionHolder()) {
+					DataSourceUtils.releaseConnection(con, obtainDataSource());
+					txObject.setConnectionHolder(null, false);
+				}
+				throw new CannotCreateTransactionException("Could not open JDBC Connection for transaction", ex);
+			}
+		}).subscribeOn(this.scheduler);
+	}
+
+	@Override
+	protected Mono<Object> doSuspend(TransactionSynchronizationManager synchronizationManager,
+			Object transaction) {
+
+		return Mono.fromSupplier(() -> {
+			ReactiveDataSourceTransactionObject txObject = (ReactiveDataSourceTransactionObject) transaction;
+			txObject.setConnectionHolder(null, false);
+			return synchronizationManager.unbindResource(obtainDataSource());
+		});
+	}
+
+	@Override
+	protected Mono<Void> doResume(TransactionSynchronizationManager synchronizationManager,
+			@Nullable Object transaction, Object suspendedResources) {
+
+		return Mono.fromRunnable(() -> synchronizationManager.bindResource(obtainDataSource(), suspendedResources));
+	}
+
+	@Override
+	protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+			GenericReactiveTransaction status) {
+
+		ReactiveDataSourceTransactionObject txObject = (ReactiveDataSourceTransactionObject) status.getTransaction();
+		return Mono.<Void>fromRunnable(() -> {
+			Connection con = txObject.getConnectionHolder().getConnection();
+			if (status.isDebug()) {
+				logger.debug("Committing JDBC transaction on Connection [" + con + "]");
+			}
+			try {
+				con.commit();
+			}
+			catch (SQLException ex) {
+				throw new TransactionSystemException("Could not commit JDBC transaction", ex);
+			}
+		}).subscribeOn(this.scheduler);
+	}
+
+	@Override
+	protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+			GenericReactiveTransaction status) {
+
+		ReactiveDataSourceTransactionObject txObject = (ReactiveDataSourceTransactionObject) status.getTransaction();
+		return Mono.<Void>fromRunnable(() -> {
+			Connection con = txObject.getConnectionHolder().getConnection();
+			if (status.isDebug()) {
+				logger.debug("Rolling back JDBC transaction on Connection [" + con + "]");
+			}
+			try {
+				con.rollback();
+			}
+			catch (SQLException ex) {
+				throw new TransactionSystemException("Could not roll back JDBC transaction", ex);
+			}
+		}).subscribeOn(this.scheduler);
+	}
+
+	@Override
+	protected Mono<Void> doSetRollbackOnly(TransactionSynchronizationManager synchronizationManager,
+			GenericReactiveTransaction status) {
+
+		return Mono.fromRunnable(() -> {
+			ReactiveDataSourceTransactionObject txObject = (ReactiveDataSourceTransactionObject) status.getTransaction();
+			if (status.isDebug()) {
+				logger.debug("Setting JDBC transaction [" + txObject.getConnectionHolder().getConnection() +
+						"] rollback-only");
+			}
+			txObject.getConnectionHolder().setRollbackOnly();
+		});
+	}
+
+	@Override
+	protected Mono<Void> doCleanupAfterCompletion(TransactionSynchronizationManager synchronizationManager,
+			Object transaction) {
+
+		ReactiveDataSourceTransactionObject txObject = (ReactiveDataSourceTransactionObject) transaction;
+		return Mono.<Void>fromRunnable(() -> {
+			// Remove the connection holder from the transaction context, if exposed.
+			if (txObject.isNewConnectionHolder()) {
+				synchronizationManager.unbindResource(obtainDataSource());
+			}
+
+			// Reset connection.
+			Connection con = txObject.getConnectionHolder().getConnection();
+			try {
+				if (txObject.isMustRestoreAutoCommit()) {
+					con.setAutoCommit(true);
+				}
+				DataSourceUtils.resetConnectionAfterTransaction(
+						con, txObject.getPreviousIsolationLevel(), txObject.isReadOnly());
+			}
+			catch (Throwable ex) {
+				logger.debug("Could not reset JDBC Connection after transaction", ex);
+			}
+
+			if (txObject.isNewConnectionHolder()) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Releasing JDBC Connection [" + con + "] after transaction");
+				}
+				DataSourceUtils.releaseConnection(con, this.dataSource);
+			}
+
+			txObject.getConnectionHolder().clear();
+		}).subscribeOn(this.scheduler);
+	}
+
+
+	/**
+	 * Reactive DataSource transaction object, representing a ConnectionHolder.
+	 * Used as transaction object by ReactiveDataSourceTransactionManager.
+	 */
+	private static class ReactiveDataSourceTransactionObject {
+
+		@Nullable
+		private ConnectionHolder connectionHolder;
+
+		private boolean newConnectionHolder;
+
+		@Nullable
+		private Integer previousIsolationLevel;
+
+		private boolean readOnly;
+
+		private boolean mustRestoreAutoCommit;
+
+		public void setConnectionHolder(@Nullable ConnectionHolder connectionHolder, boolean newConnectionHolder) {
+			this.connectionHolder = connectionHolder;
+			this.newConnectionHolder = newConnectionHolder;
+		}
+
+		public ConnectionHolder getConnectionHolder() {
+			Assert.state(this.connectionHolder != null, "No ConnectionHolder available");
+			return this.connectionHolder;
+		}
+
+		public boolean hasConnectionHolder() {
+			return (this.connectionHolder != null);
+		}
+
+		public boolean isNewConnectionHolder() {
+			return this.newConnectionHolder;
+		}
+
+		public void setPreviousIsolationLevel(@Nullable Integer previousIsolationLevel) {
+			this.previousIsolationLevel = previousIsolationLevel;
+		}
+
+		@Nullable
+		public Integer getPreviousIsolationLevel() {
+			return this.previousIsolationLevel;
+		}
+
+		public void setReadOnly(boolean readOnly) {
+			this.readOnly = readOnly;
+		}
+
+		public boolean isReadOnly() {
+			return this.readOnly;
+		}
+
+		public void setMustRestoreAutoCommit(boolean mustRestoreAutoCommit) {
+			this.mustRestoreAutoCommit = mustRestoreAutoCommit;
+		}
+
+		public boolean isMustRestoreAutoCommit() {
+			return this.mustRestoreAutoCommit;
+		}
+	}
+
+}
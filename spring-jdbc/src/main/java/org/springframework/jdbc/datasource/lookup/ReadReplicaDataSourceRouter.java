@@ -0,0 +1,381 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * DataSource that routes read-only transactions to one of several replica
+ * DataSources, and everything else to a primary DataSource. The replicas need
+ * to be configured as {@link #setTargetDataSources target DataSources} with
+ * arbitrary keys, the primary as {@link #setDefaultTargetDataSource default
+ * target DataSource}.
+ *
+ * <p>A replica is selected for each Connection requested within a
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()
+ * read-only transaction}, according to the {@link #setSelectionPolicy
+ * selection policy}: by default the replica with the fewest Connections
+ * currently outstanding, or alternatively the replica with the lowest
+ * latency for obtaining Connections, weighted by its outstanding Connections.
+ * A replica that fails to provide Connections {@link #setFailureThreshold
+ * several times in a row} is ejected from the selection for a
+ * {@link #setEjectionTimeout given time}. If no replica is available, the
+ * primary DataSource is used instead.
+ *
+ * <p><b>NOTE:</b> A transaction manager such as
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager}
+ * obtains its Connection before the read-only flag of the transaction is
+ * exposed. This router therefore needs to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * deferring the routing decision to the first actual use of the Connection:
+ *
+ * <pre class="code">
+ * &lt;bean id="dataSource" class="org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy"&gt;
+ *   &lt;property name="targetDataSource"&gt;
+ *     &lt;bean class="org.springframework.jdbc.datasource.lookup.ReadReplicaDataSourceRouter"&gt;
+ *       &lt;property name="targetDataSources"&gt;
+ *         &lt;map&gt;
+ *           &lt;entry key="replica1" value-ref="myReplicaDataSource1"/&gt;
+ *           &lt;entry key="replica2" value-ref="myReplicaDataSource2"/&gt;
+ *         &lt;/map&gt;
+ *       &lt;/property&gt;
+ *       &lt;property name="defaultTargetDataSource" ref="myPrimaryDataSource"/&gt;
+ *     &lt;/bean&gt;
+ *   &lt;/property&gt;
+ * &lt;/bean&gt;</pre>
+ *
+ * @since 5.3
+ * @see #setTargetDataSources
+ * @see #setDefaultTargetDataSource
+ * @see org.springframework.transaction.support.TransactionSynchronizationManager#isCurrentTransactionReadOnly()
+ * @see org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy
+ */
+public class ReadReplicaDataSourceRouter extends AbstractRoutingDataSource {
+
+	/**
+	 * Policy for selecting a replica DataSource.
+	 */
+	public enum SelectionPolicy {
+
+		/**
+		 * Select the replica with the fewest Connections currently outstanding.
+		 */
+		LEAST_OUTSTANDING,
+
+		/**
+		 * Select the replica with the lowest average latency for obtaining
+		 * Connections, multiplied by its number of outstanding Connections
+		 * plus one. Replicas without recorded latency are preferred.
+		 */
+		LATENCY_WEIGHTED
+	}
+
+
+	/** Weight of a new latency sample in the moving average. */
+	private static final double LATENCY_SAMPLE_WEIGHT = 0.3;
+
+
+	private SelectionPolicy selectionPolicy = SelectionPolicy.LEAST_OUTSTANDING;
+
+	private int failureThreshold = 3;
+
+	private long ejectionTimeout = 30000;
+
+	private List<Replica> replicas = new ArrayList<>();
+
+	private final AtomicInteger roundRobin = new AtomicInteger();
+
+
+	/**
+	 * Set the policy for selecting a replica for a read-only transaction.
+	 * <p>Default is {@link SelectionPolicy#LEAST_OUTSTANDING}.
+	 */
+	public void setSelectionPolicy(SelectionPolicy selectionPolicy) {
+		Assert.notNull(selectionPolicy, "SelectionPolicy must not be null");
+		this.selectionPolicy = selectionPolicy;
+	}
+
+	/**
+	 * Set the number of consecutive failures to obtain a Connection after
+	 * which a replica gets ejected from the selection.
+	 * <p>Default is 3.
+	 * @see #setEjectionTimeout
+	 */
+	public void setFailureThreshold(int failureThreshold) {
+		Assert.isTrue(failureThreshold > 0, "Failure threshold must be greater than 0");
+		this.failureThreshold = failureThreshold;
+	}
+
+	/**
+	 * Set the time (in milliseconds) for which an ejected replica is excluded
+	 * from the selection. Once that time has passed, the replica is tried again,
+	 * getting ejected right away if it fails again.
+	 * <p>Default is 30000 (30 seconds).
+	 * @see #setFailureThreshold
+	 */
+	public void setEjectionTimeout(long ejectionTimeout) {
+		this.ejectionTimeout = ejectionTimeout;
+	}
+
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		if (getResolvedDefaultDataSource() == null) {
+			throw new IllegalArgumentException("Property 'defaultTargetDataSource' is required");
+		}
+		List<Replica> replicas = new ArrayList<>();
+		getResolvedDataSources().forEach((key, dataSource) -> replicas.add(new Replica(key, dataSource)));
+		this.replicas = replicas;
+	}
+
+	/**
+	 * Return whether the replica for the given lookup key is currently
+	 * ejected from the selection because of failures to obtain Connections.
+	 * @param lookupKey the lookup key of the replica
+	 * @see #setFailureThreshold
+	 */
+	public boolean isEjected(Object lookupKey) {
+		Object key = resolveSpecifiedLookupKey(lookupKey);
+		for (Replica replica : this.replicas) {
+			if (replica.key.equals(key)) {
+				return !replica.isAvailable(System.currentTimeMillis());
+			}
+		}
+		throw new IllegalArgumentException("No replica DataSource for lookup key [" + lookupKey + "]");
+	}
+
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return getConnection(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return getConnection(dataSource -> dataSource.getConnection(username, password));
+	}
+
+	private Connection getConnection(ConnectionFactory connectionFactory) throws SQLException {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			List<Replica> tried = null;
+			Replica replica = selectReplica(null);
+			while (replica != null) {
+				long startTime = System.nanoTime();
+				try {
+					Connection con = connectionFactory.getConnection(replica.dataSource);
+					replica.connectionObtained(System.nanoTime() - startTime);
+					return replica.track(con);
+				}
+				catch (SQLException | RuntimeException ex) {
+					replica.connectionFailed(System.currentTimeMillis(), this.failureThreshold, this.ejectionTimeout);
+					if (logger.isDebugEnabled()) {
+						logger.debug("Could not obtain Connection from replica DataSource [" + replica.key + "]", ex);
+					}
+					if (tried == null) {
+						tried = new ArrayList<>(this.replicas.size());
+					}
+					tried.add(replica);
+					replica = selectReplica(tried);
+				}
+			}
+		}
+		DataSource primary = getResolvedDefaultDataSource();
+		Assert.state(primary != null, "DataSource router not initialized");
+		return connectionFactory.getConnection(primary);
+	}
+
+	/**
+	 * Determine the lookup key of the replica to use for a read-only transaction,
+	 * or {@code null} for the primary DataSource.
+	 */
+	@Override
+	@Nullable
+	protected Object determineCurrentLookupKey() {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			Replica replica = selectReplica(null);
+			if (replica != null) {
+				return replica.key;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Select an available replica according to the selection policy, starting
+	 * from a rotating position so that ties are spread across replicas.
+	 * @param excluded replicas that already failed for the current request
+	 * @return the replica, or {@code null} if none is available
+	 */
+	@Nullable
+	private Replica selectReplica(@Nullable List<Replica> excluded) {
+		List<Replica> replicas = this.replicas;
+		int size = replicas.size();
+		if (size == 0) {
+			return null;
+		}
+		long now = System.currentTimeMillis();
+		int start = (this.roundRobin.getAndIncrement() & Integer.MAX_VALUE) % size;
+		Replica selected = null;
+		double selectedScore = 0;
+		for (int i = 0; i < size; i++) {
+			Replica replica = replicas.get((start + i) % size);
+			if (!replica.isAvailable(now) || (excluded != null && excluded.contains(replica))) {
+				continue;
+			}
+			double score = (this.selectionPolicy == SelectionPolicy.LATENCY_WEIGHTED ?
+					replica.latency * (replica.outstanding.get() + 1) : replica.outstanding.get());
+			if (selected == null || score < selectedScore) {
+				selected = replica;
+				selectedScore = score;
+			}
+		}
+		return selected;
+	}
+
+
+	@FunctionalInterface
+	private interface ConnectionFactory {
+
+		Connection getConnection(DataSource dataSource) throws SQLException;
+	}
+
+
+	/**
+	 * State of a replica DataSource: outstanding Connections, average latency
+	 * for obtaining Connections, and consecutive failures.
+	 */
+	private static final class Replica {
+
+		final Object key;
+
+		final DataSource dataSource;
+
+		final AtomicInteger outstanding = new AtomicInteger();
+
+		/** Moving average of the latency for obtaining Connections, in nanoseconds. */
+		volatile double latency;
+
+		private final AtomicInteger failures = new AtomicInteger();
+
+		private volatile long ejectedUntil;
+
+		Replica(Object key, DataSource dataSource) {
+			this.key = key;
+			this.dataSource = dataSource;
+		}
+
+		boolean isAvailable(long now) {
+			return (this.ejectedUntil <= now);
+		}
+
+		void connectionObtained(long latency) {
+			double current = this.latency;
+			this.latency = (current == 0 ? latency : current + (latency - current) * LATENCY_SAMPLE_WEIGHT);
+			this.failures.set(0);
+			this.ejectedUntil = 0;
+		}
+
+		void connectionFailed(long now, int failureThreshold, long ejectionTimeout) {
+			if (this.failures.incrementAndGet() >= failureThreshold) {
+				this.ejectedUntil = now + ejectionTimeout;
+			}
+		}
+
+		Connection track(Connection con) {
+			this.outstanding.incrementAndGet();
+			return (Connection) Proxy.newProxyInstance(
+					ConnectionProxy.class.getClassLoader(),
+					new Class<?>[] {ConnectionProxy.class},
+					new TrackingInvocationHandler(con));
+		}
+
+
+		/**
+		 * Invocation handler that counts a Connection as outstanding until closed.
+		 */
+		private class TrackingInvocationHandler implements InvocationHandler {
+
+			private final Connection target;
+
+			private boolean closed;
+
+			TrackingInvocationHandler(Connection target) {
+				this.target = target;
+			}
+
+			@Override
+			@Nullable
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				// Invocation on ConnectionProxy interface coming in...
+
+				switch (method.getName()) {
+					case "equals":
+						// Only consider equal when proxies are identical.
+						return (proxy == args[0]);
+					case "hashCode":
+						// Use hashCode of Connection proxy.
+						return System.identityHashCode(proxy);
+					case "unwrap":
+						if (((Class<?>) args[0]).isInstance(proxy)) {
+							return proxy;
+						}
+						break;
+					case "isWrapperFor":
+						if (((Class<?>) args[0]).isInstance(proxy)) {
+							return true;
+						}
+						break;
+					case "getTargetConnection":
+						// Handle getTargetConnection method: return underlying Connection.
+						return this.target;
+					case "close":
+						// Handle close method: no longer outstanding.
+						if (!this.closed) {
+							this.closed = true;
+							outstanding.decrementAndGet();
+						}
+						break;
+				}
+
+				// Invoke method on target Connection.
+				try {
+					return method.invoke(this.target, args);
+				}
+				catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+		}
+	}
+
+}
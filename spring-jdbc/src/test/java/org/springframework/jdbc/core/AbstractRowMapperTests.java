@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import java.sql.Timestamp;
 import java.util.Date;
 
 import org.springframework.jdbc.core.test.ConcretePerson;
+import org.springframework.jdbc.core.test.ConstructorPerson;
 import org.springframework.jdbc.core.test.DatePerson;
 import org.springframework.jdbc.core.test.Person;
 import org.springframework.jdbc.core.test.SpacePerson;
@@ -62,6 +63,13 @@ public abstract class AbstractRowMapperTests {
 		assertThat(bean.getBalance()).isEqualTo(new BigDecimal("1234.56"));
 	}
 
+	protected void verifyPerson(ConstructorPerson bean) throws Exception {
+		assertThat(bean.name()).isEqualTo("Bubba");
+		assertThat(bean.age()).isEqualTo(22L);
+		assertThat(bean.birth_date()).usingComparator(Date::compareTo).isEqualTo(new java.util.Date(1221222L));
+		assertThat(bean.balance()).isEqualTo(new BigDecimal("1234.56"));
+	}
+
 	protected void verifyPerson(SpacePerson bean) {
 		assertThat(bean.getLastName()).isEqualTo("Bubba");
 		assertThat(bean.getAge()).isEqualTo(22L);
@@ -123,6 +131,11 @@ public abstract class AbstractRowMapperTests {
 			given(resultSetMetaData.getColumnLabel(3)).willReturn("birth_date");
 			given(resultSetMetaData.getColumnLabel(4)).willReturn("balance");
 
+			given(resultSet.findColumn("name")).willReturn(1);
+			given(resultSet.findColumn("age")).willReturn(2);
+			given(resultSet.findColumn("birth_date")).willReturn(3);
+			given(resultSet.findColumn("balance")).willReturn(4);
+
 			jdbcTemplate = new JdbcTemplate();
 			jdbcTemplate.setDataSource(new SingleConnectionDataSource(connection, false));
 			jdbcTemplate.setExceptionTranslator(new SQLStateSQLExceptionTranslator());
@@ -133,6 +146,10 @@ public abstract class AbstractRowMapperTests {
 			return jdbcTemplate;
 		}
 
+		public ResultSet getResultSet() {
+			return resultSet;
+		}
+
 		public void verifyClosed() throws Exception {
 			verify(resultSet).close();
 			verify(statement).close();
@@ -16,10 +16,12 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyEditorSupport;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.test.ConcretePerson;
@@ -30,6 +32,8 @@ import org.springframework.jdbc.core.test.SpacePerson;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Thomas Risberg
@@ -112,6 +116,59 @@ public class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 				mock.getJdbcTemplate().query("select name, null as age, birth_date, balance from people", mapper));
 	}
 
+	@Test
+	public void testMappingWithChangedColumns() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		Mock mock = new Mock();
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people", mapper);
+		verifyPerson(result.get(0));
+
+		mock = new Mock(MockType.THREE);
+		result = mock.getJdbcTemplate().query(
+				"select last_name as \"Last Name\", age, birth_date, balance from people", mapper);
+		assertThat(result.size()).isEqualTo(1);
+		assertThat(result.get(0).getName()).isNull();
+		assertThat(result.get(0).getAge()).isEqualTo(22L);
+	}
+
+	@Test
+	public void testMetaDataResolvedOncePerResultSet() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		Mock mock = new Mock();
+		for (int rowNumber = 0; rowNumber < 3; rowNumber++) {
+			verifyPerson(mapper.mapRow(mock.getResultSet(), rowNumber));
+		}
+		verify(mock.getResultSet(), times(1)).getMetaData();
+
+		Mock otherMock = new Mock();
+		verifyPerson(mapper.mapRow(otherMock.getResultSet(), 0));
+		verifyPerson(mapper.mapRow(otherMock.getResultSet(), 1));
+		verify(otherMock.getResultSet(), times(1)).getMetaData();
+	}
+
+	@Test
+	public void testMappingWithCustomBeanWrapper() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<Person>(Person.class) {
+			@Override
+			protected void initBeanWrapper(BeanWrapper bw) {
+				super.initBeanWrapper(bw);
+				bw.registerCustomEditor(String.class, new PropertyEditorSupport() {
+					@Override
+					public void setAsText(String text) {
+						setValue(text.toUpperCase());
+					}
+				});
+			}
+		};
+		Mock mock = new Mock();
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people", mapper);
+		assertThat(result.size()).isEqualTo(1);
+		assertThat(result.get(0).getName()).isEqualTo("BUBBA");
+		mock.verifyClosed();
+	}
+
 	@Test
 	public void testQueryWithSpaceInColumnNameAndLocalDateTime() throws Exception {
 		Mock mock = new Mock(MockType.THREE);
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.core.testfixture.jfr.FlightRecorderTestUtils.recordEvents;
+
+/**
+ * Tests for {@link FlightRecorderStatementEvent}.
+ */
+class FlightRecorderStatementEventTests {
+
+	private static final String SQL = "UPDATE INVOICE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+
+	private final Connection connection = mock(Connection.class);
+
+	private final Statement statement = mock(Statement.class);
+
+	private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+	private JdbcTemplate template;
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		given(dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.createStatement()).willReturn(this.statement);
+		given(this.connection.prepareStatement(anyString())).willReturn(this.preparedStatement);
+		this.template = new JdbcTemplate(dataSource);
+	}
+
+
+	@Test
+	void statementExecutionIsRecorded() throws Exception {
+		String sql = "UPDATE INVOICE SET DATE_DISPATCHED = SYSDATE";
+		given(this.statement.executeUpdate(sql)).willReturn(1);
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderStatementEvent.class, true, () -> this.template.update(sql));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("statementType")).isEqualTo("Statement");
+		assertThat(event.getString("sql")).isEqualTo(sql);
+		assertThat(event.getString("sqlState")).isNull();
+	}
+
+	@Test
+	void preparedStatementExecutionIsRecorded() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderStatementEvent.class, true, () -> this.template.update(SQL, 11111));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("statementType")).isEqualTo("PreparedStatement");
+		assertThat(event.getString("sql")).isEqualTo(SQL);
+		assertThat(event.getString("sqlState")).isNull();
+	}
+
+	@Test
+	void failedExecutionIsRecordedWithSqlState() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willThrow(new SQLException("bad update", "42000"));
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderStatementEvent.class, true, () ->
+				assertThatExceptionOfType(DataAccessException.class).isThrownBy(() -> this.template.update(SQL, 11111)));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("statementType")).isEqualTo("PreparedStatement");
+		assertThat(event.getString("sql")).isEqualTo(SQL);
+		assertThat(event.getString("sqlState")).isEqualTo("42000");
+	}
+
+	@Test
+	void executionFailingWithRuntimeExceptionIsRecorded() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willThrow(new IllegalStateException("no update"));
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderStatementEvent.class, true, () ->
+				assertThatIllegalStateException().isThrownBy(() -> this.template.update(SQL, 11111)));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("statementType")).isEqualTo("PreparedStatement");
+		assertThat(event.getString("sql")).isEqualTo(SQL);
+		assertThat(event.getString("sqlState")).isNull();
+	}
+
+	@Test
+	void nothingIsRecordedIfDisabled() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderStatementEvent.class, false, () ->
+				this.template.update(SQL, 11111));
+
+		assertThat(events).isEmpty();
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.datasource.ReactiveDataSourceTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ReactiveJdbcTemplate}.
+ */
+public class ReactiveJdbcTemplateTests {
+
+	private final DataSource dataSource = mock(DataSource.class);
+
+	private final Connection connection = mock(Connection.class);
+
+	private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+	private final ResultSet resultSet = mock(ResultSet.class);
+
+	private final ReactiveJdbcTemplate template = new ReactiveJdbcTemplate(this.dataSource, 2);
+
+
+	@BeforeEach
+	public void setup() throws Exception {
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.prepareStatement(anyString())).willReturn(this.preparedStatement);
+		given(this.connection.getAutoCommit()).willReturn(true);
+		given(this.preparedStatement.executeQuery()).willReturn(this.resultSet);
+	}
+
+	@AfterEach
+	public void destroy() {
+		this.template.destroy();
+	}
+
+
+	@Test
+	public void query() throws Exception {
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(11, 12);
+
+		StepVerifier.create(this.template.query("SELECT AGE FROM CUSTMR", (rs, rowNum) -> rs.getInt(1)))
+				.expectNext(11, 12)
+				.verifyComplete();
+
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void queryWithCancellation() throws Exception {
+		given(this.resultSet.next()).willReturn(true);
+		given(this.resultSet.getInt(1)).willReturn(11);
+
+		StepVerifier.create(this.template.query("SELECT AGE FROM CUSTMR", (rs, rowNum) -> rs.getInt(1)), 1)
+				.expectNext(11)
+				.thenCancel()
+				.verify();
+
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void queryForObjectWithIncorrectResultSize() throws Exception {
+		given(this.resultSet.next()).willReturn(false);
+
+		StepVerifier.create(this.template.queryForObject("SELECT AGE FROM CUSTMR WHERE ID = ?",
+						(rs, rowNum) -> rs.getInt(1), 3))
+				.verifyError(IncorrectResultSizeDataAccessException.class);
+
+		verify(this.preparedStatement).setObject(1, 3);
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void updatesWithinTransaction() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		TransactionalOperator operator = TransactionalOperator.create(
+				new ReactiveDataSourceTransactionManager(this.dataSource));
+
+		Mono<Integer> updates = this.template.update("UPDATE CUSTMR SET AGE = 12")
+				.then(this.template.update("UPDATE CUSTMR SET AGE = 13"));
+		StepVerifier.create(operator.transactional(updates))
+				.expectNext(1)
+				.verifyComplete();
+
+		verify(this.dataSource, times(1)).getConnection();
+		InOrder ordered = inOrder(this.connection, this.preparedStatement);
+		ordered.verify(this.connection).setAutoCommit(false);
+		ordered.verify(this.preparedStatement, times(2)).executeUpdate();
+		ordered.verify(this.connection).commit();
+		ordered.verify(this.connection).setAutoCommit(true);
+		ordered.verify(this.connection).close();
+	}
+
+	@Test
+	public void queryWithinTransactionWithRollback() throws Exception {
+		given(this.resultSet.next()).willReturn(true, false);
+		given(this.resultSet.getInt(1)).willReturn(11);
+		TransactionalOperator operator = TransactionalOperator.create(
+				new ReactiveDataSourceTransactionManager(this.dataSource));
+
+		Flux<Integer> ages = this.template.query("SELECT AGE FROM CUSTMR", (rs, rowNum) -> rs.getInt(1))
+				.concatWith(Mono.error(new IllegalStateException()));
+		StepVerifier.create(operator.transactional(ages))
+				.expectNext(11)
+				.verifyError(IllegalStateException.class);
+
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).rollback();
+		verify(this.connection, never()).commit();
+		verify(this.connection, times(1)).close();
+	}
+
+}
@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -548,4 +549,54 @@ public class NamedParameterJdbcTemplateTests {
 		verify(connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testBatchUpdateWithIterableInSubBatches() throws Exception {
+		List<SqlParameterSource> ids = Arrays.asList(new MapSqlParameterSource("id", 100),
+				new MapSqlParameterSource("id", 200), new MapSqlParameterSource("id", 300));
+
+		given(preparedStatement.executeBatch()).willReturn(new int[] {1, 2}, new int[] {3});
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+
+		int[][] actualRowsAffected = namedParameterTemplate.batchUpdate(
+				"UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = :id", ids, 2);
+		assertThat(actualRowsAffected.length).as("executed 2 sub-batches").isEqualTo(2);
+		assertThat(actualRowsAffected[0]).containsExactly(1, 2);
+		assertThat(actualRowsAffected[1]).containsExactly(3);
+		verify(connection).prepareStatement("UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?");
+		verify(preparedStatement).setObject(1, 100);
+		verify(preparedStatement).setObject(1, 200);
+		verify(preparedStatement).setObject(1, 300);
+		verify(preparedStatement, times(3)).addBatch();
+		verify(preparedStatement, times(2)).executeBatch();
+		verify(preparedStatement, atLeastOnce()).close();
+		verify(connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithStreamAndCallback() throws Exception {
+		given(preparedStatement.executeBatch()).willReturn(new int[] {1, 1}, new int[] {1, 1});
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+
+		List<int[]> actualRowsAffected = new LinkedList<>();
+		namedParameterTemplate.batchUpdate("UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = :id",
+				Stream.of(100, 200, 300, 400).map(id -> new MapSqlParameterSource("id", id)), 2,
+				actualRowsAffected::add);
+		assertThat(actualRowsAffected).hasSize(2);
+		verify(connection).prepareStatement("UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?");
+		verify(preparedStatement, times(4)).addBatch();
+		verify(preparedStatement, times(2)).executeBatch();
+		verify(preparedStatement, atLeastOnce()).close();
+		verify(connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithEmptyIterable() throws Exception {
+		int[][] actualRowsAffected = namedParameterTemplate.batchUpdate(
+				"UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = :id",
+				Collections.<SqlParameterSource>emptyList(), 10);
+		assertThat(actualRowsAffected.length).as("executed 0 sub-batches").isEqualTo(0);
+	}
+
 }
@@ -1675,6 +1675,53 @@ public class DataSourceTransactionManagerTests  {
 		verify(con).close();
 	}
 
+	@Test
+	public void testTransactionWithStatementCache() throws Exception {
+		final PreparedStatement ps1 = mock(PreparedStatement.class);
+		final PreparedStatement ps2 = mock(PreparedStatement.class);
+		given(con.prepareStatement("update a set b = ?")).willReturn(ps1);
+		given(con.prepareStatement("update c set d = ?")).willReturn(ps2);
+		tm.setStatementCacheLimit(1);
+
+		TransactionTemplate tt = new TransactionTemplate(tm);
+		tt.execute(new TransactionCallbackWithoutResult() {
+			@Override
+			protected void doInTransactionWithoutResult(TransactionStatus status) throws RuntimeException {
+				try {
+					executeUpdate("update a set b = ?", 1);
+					executeUpdate("update a set b = ?", 2);
+					executeUpdate("update c set d = ?", 3);
+				}
+				catch (SQLException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		});
+
+		boolean condition = !TransactionSynchronizationManager.hasResource(ds);
+		assertThat(condition).as("Hasn't thread connection").isTrue();
+		verify(con).prepareStatement("update a set b = ?");
+		InOrder ordered = inOrder(ps1, ps2, con);
+		ordered.verify(ps1).setInt(1, 1);
+		ordered.verify(ps1).clearParameters();
+		ordered.verify(ps1).setInt(1, 2);
+		ordered.verify(ps1).clearParameters();
+		ordered.verify(ps1).close();
+		ordered.verify(ps2).setInt(1, 3);
+		ordered.verify(con).commit();
+		ordered.verify(ps2).close();
+		ordered.verify(con).close();
+	}
+
+	private void executeUpdate(String sql, int value) throws SQLException {
+		Connection txCon = DataSourceUtils.getConnection(ds);
+		PreparedStatement ps = txCon.prepareStatement(sql);
+		ps.setInt(1, value);
+		ps.executeUpdate();
+		ps.close();
+		DataSourceUtils.releaseConnection(txCon, ds);
+	}
+
 
 	private static class TestTransactionSynchronization implements TransactionSynchronization {
 
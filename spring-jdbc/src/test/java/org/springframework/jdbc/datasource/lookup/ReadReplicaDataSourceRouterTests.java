@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ReadReplicaDataSourceRouter}.
+ */
+public class ReadReplicaDataSourceRouterTests {
+
+	private final DataSource primary = mock(DataSource.class);
+
+	private final DataSource replica1 = mock(DataSource.class);
+
+	private final DataSource replica2 = mock(DataSource.class);
+
+	private final Connection primaryCon = mock(Connection.class);
+
+	private final Connection replica1Con = mock(Connection.class);
+
+	private final Connection replica2Con = mock(Connection.class);
+
+	private final ReadReplicaDataSourceRouter router = new ReadReplicaDataSourceRouter();
+
+
+	@BeforeEach
+	public void setup() throws Exception {
+		given(this.primary.getConnection()).willReturn(this.primaryCon);
+		given(this.replica1.getConnection()).willReturn(this.replica1Con);
+		given(this.replica2.getConnection()).willReturn(this.replica2Con);
+		Map<Object, Object> targetDataSources = new HashMap<>();
+		targetDataSources.put("replica1", this.replica1);
+		targetDataSources.put("replica2", this.replica2);
+		this.router.setTargetDataSources(targetDataSources);
+		this.router.setDefaultTargetDataSource(this.primary);
+	}
+
+	@AfterEach
+	public void resetReadOnly() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+
+	@Test
+	public void primaryRequired() {
+		ReadReplicaDataSourceRouter router = new ReadReplicaDataSourceRouter();
+		router.setTargetDataSources(new HashMap<>());
+		assertThatIllegalArgumentException().isThrownBy(router::afterPropertiesSet);
+	}
+
+	@Test
+	public void primaryOutsideOfReadOnlyTransaction() throws Exception {
+		this.router.afterPropertiesSet();
+
+		assertThat(this.router.getConnection()).isSameAs(this.primaryCon);
+	}
+
+	@Test
+	public void replicaWithinReadOnlyTransaction() throws Exception {
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Connection con = this.router.getConnection();
+		assertThat(getTargetConnection(con)).isIn(this.replica1Con, this.replica2Con);
+	}
+
+	@Test
+	public void leastOutstandingReplica() throws Exception {
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Connection con1 = this.router.getConnection();
+		Connection con2 = this.router.getConnection();
+		assertThat(getTargetConnection(con2)).isNotSameAs(getTargetConnection(con1));
+
+		con1.close();
+		verify(getTargetConnection(con1)).close();
+		Connection con3 = this.router.getConnection();
+		assertThat(getTargetConnection(con3)).isSameAs(getTargetConnection(con1));
+	}
+
+	@Test
+	public void latencyWeightedReplica() throws Exception {
+		this.router.setSelectionPolicy(ReadReplicaDataSourceRouter.SelectionPolicy.LATENCY_WEIGHTED);
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Connection con1 = this.router.getConnection();
+		Connection con2 = this.router.getConnection();
+		assertThat(getTargetConnection(con2)).isNotSameAs(getTargetConnection(con1));
+	}
+
+	@Test
+	public void failingReplicaGetsEjected() throws Exception {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down"));
+		this.router.setFailureThreshold(1);
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(getTargetConnection(this.router.getConnection())).isSameAs(this.replica2Con);
+		assertThat(getTargetConnection(this.router.getConnection())).isSameAs(this.replica2Con);
+		assertThat(this.router.isEjected("replica1")).isTrue();
+		assertThat(this.router.isEjected("replica2")).isFalse();
+	}
+
+	@Test
+	public void ejectedReplicaGetsRetriedAfterTimeout() throws Exception {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down"));
+		this.router.setFailureThreshold(1);
+		this.router.setEjectionTimeout(0);
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(getTargetConnection(this.router.getConnection())).isSameAs(this.replica2Con);
+		assertThat(this.router.isEjected("replica1")).isFalse();
+	}
+
+	@Test
+	public void primaryWhenAllReplicasFail() throws Exception {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down"));
+		given(this.replica2.getConnection()).willThrow(new SQLException("down"));
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(this.router.getConnection()).isSameAs(this.primaryCon);
+		assertThat(this.router.isEjected("replica1")).isFalse();
+		assertThat(this.router.isEjected("replica2")).isFalse();
+	}
+
+
+	private static Connection getTargetConnection(Connection con) {
+		return ((ConnectionProxy) con).getTargetConnection();
+	}
+
+}
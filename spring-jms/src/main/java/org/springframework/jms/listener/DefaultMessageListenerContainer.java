@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -178,6 +178,8 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	@Nullable
 	private Executor taskExecutor;
 
+	private boolean virtualThreads = false;
+
 	private BackOff backOff = new FixedBackOff(DEFAULT_RECOVERY_INTERVAL, Long.MAX_VALUE);
 
 	private int cacheLevel = CACHE_AUTO;
@@ -228,6 +230,21 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * Specify whether the default {@code TaskExecutor} should run the listener
+	 * invokers on virtual threads rather than on platform threads, if supported
+	 * by the current JVM. Only applies if no explicit {@link #setTaskExecutor
+	 * TaskExecutor} has been specified.
+	 * <p>Default is "false". Each invoker blocks a thread while waiting for
+	 * messages, which makes cheap virtual threads a good fit for a high
+	 * number of {@link #setMaxConcurrentConsumers concurrent consumers}.
+	 * @since 5.3
+	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#setVirtualThreads
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
 	/**
 	 * Specify the {@link BackOff} instance to use to compute the interval
 	 * between recovery attempts. If the {@link BackOffExecution} implementation
@@ -694,13 +711,16 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	/**
 	 * Create a default TaskExecutor. Called if no explicit TaskExecutor has been specified.
 	 * <p>The default implementation builds a {@link org.springframework.core.task.SimpleAsyncTaskExecutor}
-	 * with the specified bean name (or the class name, if no bean name specified) as thread name prefix.
+	 * with the specified bean name (or the class name, if no bean name specified) as thread name prefix,
+	 * using virtual threads if {@link #setVirtualThreads so configured}.
 	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#SimpleAsyncTaskExecutor(String)
 	 */
 	protected TaskExecutor createDefaultTaskExecutor() {
 		String beanName = getBeanName();
 		String threadNamePrefix = (beanName != null ? beanName + "-" : DEFAULT_THREAD_NAME_PREFIX);
-		return new SimpleAsyncTaskExecutor(threadNamePrefix);
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+		executor.setVirtualThreads(this.virtualThreads);
+		return executor;
 	}
 
 	/**
@@ -35,6 +35,7 @@ import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.TransactionSuspensionNotSupportedException;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.util.ClassUtils;
 
 /**
  * Abstract base class that implements Spring's standard transaction workflow,
@@ -110,6 +111,10 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	/** Constants instance for AbstractPlatformTransactionManager. */
 	private static final Constants constants = new Constants(AbstractPlatformTransactionManager.class);
 
+	/** Whether Java Flight Recorder is available for recording transaction events. */
+	private static final boolean flightRecorderPresent =
+			ClassUtils.isPresent("jdk.jfr.Event", AbstractPlatformTransactionManager.class.getClassLoader());
+
 
 	protected transient Log logger = LogFactory.getLog(getClass());
 
@@ -397,11 +402,32 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		boolean newSynchronization = (getTransactionSynchronization() != SYNCHRONIZATION_NEVER);
 		DefaultTransactionStatus status = newTransactionStatus(
 				definition, transaction, true, newSynchronization, debugEnabled, suspendedResources);
-		doBegin(transaction, definition);
+		FlightRecorderTransactionEvent event =
+				beginFlightRecorderEvent(FlightRecorderTransactionEvent.BEGIN, status, definition);
+		try {
+			doBegin(transaction, definition);
+		}
+		finally {
+			if (event != null) {
+				event.complete();
+			}
+		}
 		prepareSynchronization(status, definition);
 		return status;
 	}
 
+	/**
+	 * Begin a Flight Recorder event for the given transaction operation,
+	 * if Flight Recorder is available and the event type is enabled.
+	 */
+	@Nullable
+	private FlightRecorderTransactionEvent beginFlightRecorderEvent(String operation,
+			DefaultTransactionStatus status, @Nullable TransactionDefinition definition) {
+
+		return (flightRecorderPresent ?
+				FlightRecorderTransactionEvent.beginIfEnabled(operation, this, status, definition) : null);
+	}
+
 	/**
 	 * Create a TransactionStatus for an existing transaction.
 	 */
@@ -718,6 +744,8 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	 * @throws TransactionException in case of commit failure
 	 */
 	private void processCommit(DefaultTransactionStatus status) throws TransactionException {
+		FlightRecorderTransactionEvent event =
+				beginFlightRecorderEvent(FlightRecorderTransactionEvent.COMMIT, status, null);
 		try {
 			boolean beforeCompletionInvoked = false;
 
@@ -788,6 +816,9 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		}
 		finally {
 			cleanupAfterCompletion(status);
+			if (event != null) {
+				event.complete();
+			}
 		}
 	}
 
@@ -816,6 +847,8 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	 * @throws TransactionException in case of rollback failure
 	 */
 	private void processRollback(DefaultTransactionStatus status, boolean unexpected) {
+		FlightRecorderTransactionEvent event =
+				beginFlightRecorderEvent(FlightRecorderTransactionEvent.ROLLBACK, status, null);
 		try {
 			boolean unexpectedRollback = unexpected;
 
@@ -873,6 +906,9 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		}
 		finally {
 			cleanupAfterCompletion(status);
+			if (event != null) {
+				event.complete();
+			}
 		}
 	}
 
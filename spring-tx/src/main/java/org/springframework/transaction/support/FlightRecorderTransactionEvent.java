@@ -0,0 +1,112 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import org.springframework.core.metrics.jfr.FlightRecorderEventProbe;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Java Flight Recorder {@link Event} for the begin, commit or rollback of a
+ * transaction by an {@link AbstractPlatformTransactionManager}.
+ *
+ * <p>The event covers the resource-specific {@code doBegin}, {@code doCommit}
+ * or {@code doRollback} step of the transaction manager, including the
+ * synchronization callbacks around a commit or rollback. Operations on a
+ * participating transaction are recorded with {@code newTransaction} unset.
+ *
+ * @since 5.3
+ */
+@Category({"Spring Application", "Transactions"})
+@Label("Transaction Operation")
+@Description("Begin, commit or rollback of a transaction")
+@StackTrace(false)
+final class FlightRecorderTransactionEvent extends Event {
+
+	static final String BEGIN = "begin";
+
+	static final String COMMIT = "commit";
+
+	static final String ROLLBACK = "rollback";
+
+	private static final FlightRecorderEventProbe<FlightRecorderTransactionEvent> PROBE =
+			new FlightRecorderEventProbe<>(FlightRecorderTransactionEvent::new);
+
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Transaction Name")
+	String transactionName;
+
+	@Label("Transaction Manager")
+	Class<?> transactionManager;
+
+	@Label("New Transaction")
+	boolean newTransaction;
+
+	@Label("Savepoint")
+	boolean savepoint;
+
+	@Label("Read-only")
+	boolean readOnly;
+
+
+	/**
+	 * Begin a new event for the given operation, if enabled.
+	 * @param operation one of {@link #BEGIN}, {@link #COMMIT} or {@link #ROLLBACK}
+	 * @param transactionManager the transaction manager performing the operation
+	 * @param status the status of the transaction to operate on
+	 * @param definition the definition of the transaction to begin, or
+	 * {@code null} to use the name of the current transaction
+	 * @return the begun event, or {@code null} if the event type is disabled
+	 */
+	@Nullable
+	static FlightRecorderTransactionEvent beginIfEnabled(String operation,
+			AbstractPlatformTransactionManager transactionManager, DefaultTransactionStatus status,
+			@Nullable TransactionDefinition definition) {
+
+		FlightRecorderTransactionEvent event = PROBE.beginIfEnabled();
+		if (event != null) {
+			event.operation = operation;
+			event.transactionManager = transactionManager.getClass();
+			event.transactionName = (definition != null ? definition.getName() :
+					TransactionSynchronizationManager.getCurrentTransactionName());
+			event.newTransaction = status.isNewTransaction();
+			event.savepoint = status.hasSavepoint();
+			event.readOnly = status.isReadOnly();
+		}
+		return event;
+	}
+
+	/**
+	 * End and commit this event.
+	 */
+	void complete() {
+		end();
+		if (shouldCommit()) {
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.transaction.testfixture.CallCountingTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.springframework.core.testfixture.jfr.FlightRecorderTestUtils.recordEvents;
+
+/**
+ * Tests for {@link FlightRecorderTransactionEvent}.
+ */
+class FlightRecorderTransactionEventTests {
+
+	private final CallCountingTransactionManager transactionManager = new CallCountingTransactionManager();
+
+	private final TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+
+	@Test
+	void beginAndCommitAreRecorded() throws Exception {
+		this.transactionTemplate.setName("myTransaction");
+		this.transactionTemplate.setReadOnly(true);
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderTransactionEvent.class, true,
+				() -> this.transactionTemplate.executeWithoutResult(status -> {}));
+
+		assertThat(events).extracting(event -> event.getString("operation"))
+				.containsExactly(FlightRecorderTransactionEvent.BEGIN, FlightRecorderTransactionEvent.COMMIT);
+		for (RecordedEvent event : events) {
+			assertThat(event.getString("transactionName")).isEqualTo("myTransaction");
+			assertThat(event.getClass("transactionManager").getName())
+					.isEqualTo(CallCountingTransactionManager.class.getName());
+			assertThat(event.getBoolean("newTransaction")).isTrue();
+			assertThat(event.getBoolean("savepoint")).isFalse();
+			assertThat(event.getBoolean("readOnly")).isTrue();
+		}
+		assertThat(this.transactionManager.commits).isEqualTo(1);
+	}
+
+	@Test
+	void rollbackIsRecorded() throws Exception {
+		this.transactionTemplate.setName("myTransaction");
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderTransactionEvent.class, true,
+				() -> assertThatIllegalStateException().isThrownBy(() ->
+						this.transactionTemplate.executeWithoutResult(status -> {
+							throw new IllegalStateException("boom");
+						})));
+
+		assertThat(events).extracting(event -> event.getString("operation"))
+				.containsExactly(FlightRecorderTransactionEvent.BEGIN, FlightRecorderTransactionEvent.ROLLBACK);
+		assertThat(events.get(1).getString("transactionName")).isEqualTo("myTransaction");
+		assertThat(this.transactionManager.rollbacks).isEqualTo(1);
+	}
+
+	@Test
+	void nothingIsRecordedIfDisabled() throws Exception {
+		List<RecordedEvent> events = recordEvents(FlightRecorderTransactionEvent.class, false, () ->
+				this.transactionTemplate.executeWithoutResult(status -> {}));
+
+		assertThat(events).isEmpty();
+		assertThat(this.transactionManager.commits).isEqualTo(1);
+	}
+
+}
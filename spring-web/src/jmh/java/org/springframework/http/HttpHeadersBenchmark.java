@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link HttpHeaders}: populating a typical set of request
+ * headers and reading them back through the case-insensitive accessors.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class HttpHeadersBenchmark {
+
+	@Benchmark
+	public void populate(Blackhole bh) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.add("Host", "example.org");
+		headers.add("Accept", "application/json");
+		headers.add("Accept-Encoding", "gzip, deflate");
+		headers.add("Accept-Language", "en-US,en;q=0.5");
+		headers.add("Content-Type", "application/json;charset=UTF-8");
+		headers.add("Content-Length", "348");
+		headers.add("Cookie", "SESSION=4e1ba3f1");
+		headers.add("User-Agent", "Mozilla/5.0");
+		headers.add("X-Request-Id", "9d1b6c1e");
+		headers.add("X-Forwarded-For", "10.0.0.1");
+		bh.consume(headers);
+	}
+
+	@Benchmark
+	public void getFirst(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.headers.getFirst("content-type"));
+		bh.consume(state.headers.getFirst("X-REQUEST-ID"));
+		bh.consume(state.headers.getFirst("If-None-Match"));
+	}
+
+	@Benchmark
+	public void parsedAccessors(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.headers.getContentType());
+		bh.consume(state.headers.getAccept());
+		bh.consume(state.headers.getContentLength());
+	}
+
+	@Benchmark
+	public void readOnlyCopy(BenchmarkState state, Blackhole bh) {
+		bh.consume(HttpHeaders.readOnlyHttpHeaders(state.headers).getFirst("Accept"));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public HttpHeaders headers;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.headers = new HttpHeaders();
+			this.headers.add("Host", "example.org");
+			this.headers.add("Accept", "application/json");
+			this.headers.add("Accept-Encoding", "gzip, deflate");
+			this.headers.add("Content-Type", "application/json;charset=UTF-8");
+			this.headers.add("Content-Length", "348");
+			this.headers.add("User-Agent", "Mozilla/5.0");
+			this.headers.add("X-Request-Id", "9d1b6c1e");
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmarks for {@link Jackson2JsonEncoder}, encoding single values as well
+ * as streams of values as a JSON array and as line-delimited JSON.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonEncoderBenchmark {
+
+	@Benchmark
+	public void encodeValue(BenchmarkState state, Blackhole bh) {
+		DataBuffer buffer = state.encoder.encodeValue(state.values.get(0), state.bufferFactory,
+				state.elementType, MediaType.APPLICATION_JSON, Collections.emptyMap());
+		bh.consume(buffer.readableByteCount());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Benchmark
+	public void encodeArray(BenchmarkState state, Blackhole bh) {
+		encode(state, MediaType.APPLICATION_JSON, bh);
+	}
+
+	@Benchmark
+	public void encodeStream(BenchmarkState state, Blackhole bh) {
+		encode(state, MediaType.APPLICATION_STREAM_JSON, bh);
+	}
+
+	private void encode(BenchmarkState state, MediaType mediaType, Blackhole bh) {
+		state.encoder.encode(Flux.fromIterable(state.values), state.bufferFactory,
+				state.elementType, mediaType, Collections.emptyMap())
+				.doOnNext(buffer -> {
+					bh.consume(buffer.readableByteCount());
+					DataBufferUtils.release(buffer);
+				})
+				.blockLast();
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "100"})
+		public int valueCount;
+
+		public Jackson2JsonEncoder encoder;
+
+		public DefaultDataBufferFactory bufferFactory;
+
+		public ResolvableType elementType;
+
+		public List<Pojo> values;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.encoder = new Jackson2JsonEncoder();
+			this.bufferFactory = new DefaultDataBufferFactory();
+			this.elementType = ResolvableType.forClass(Pojo.class);
+			this.values = new ArrayList<>(this.valueCount);
+			for (int i = 0; i < this.valueCount; i++) {
+				this.values.add(new Pojo("foo" + i, "bar" + i, i));
+			}
+		}
+	}
+
+
+	public static class Pojo {
+
+		private final String foo;
+
+		private final String bar;
+
+		private final int count;
+
+		public Pojo(String foo, String bar, int count) {
+			this.foo = foo;
+			this.bar = bar;
+			this.count = count;
+		}
+
+		public String getFoo() {
+			return this.foo;
+		}
+
+		public String getBar() {
+			return this.bar;
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+
+/**
+ * Benchmarks for {@link PathPattern} matching, using the same route patterns
+ * and request paths as the {@code AntPathMatcherBenchmark} in spring-core.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternBenchmark {
+
+	@Benchmark
+	public void matchAllPatterns(BenchmarkState state, Blackhole bh) {
+		for (PathContainer path : state.paths) {
+			for (PathPattern pattern : state.patterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void parseAndMatchAllPatterns(BenchmarkState state, Blackhole bh) {
+		for (String path : state.rawPaths) {
+			PathContainer container = PathContainer.parsePath(path);
+			for (PathPattern pattern : state.patterns) {
+				bh.consume(pattern.matches(container));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtract(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.templatePattern.matchAndExtract(state.templatePath));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public List<PathPattern> patterns;
+
+		public List<String> rawPaths;
+
+		public List<PathContainer> paths;
+
+		public PathPattern templatePattern;
+
+		public PathContainer templatePath;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			PathPatternParser parser = new PathPatternParser();
+			this.patterns = new ArrayList<>();
+			this.patterns.add(parser.parse("/"));
+			this.patterns.add(parser.parse("/login"));
+			this.patterns.add(parser.parse("/static/**"));
+			this.patterns.add(parser.parse("/resources/{*path}"));
+			this.patterns.add(parser.parse("/api/users"));
+			this.patterns.add(parser.parse("/api/users/{userId}"));
+			this.patterns.add(parser.parse("/api/users/{userId}/orders/{orderId}"));
+			this.patterns.add(parser.parse("/api/products/*/reviews"));
+			this.patterns.add(parser.parse("/api/search?q"));
+			this.patterns.add(parser.parse("/docs/**"));
+			this.rawPaths = new ArrayList<>();
+			this.rawPaths.add("/login");
+			this.rawPaths.add("/static/js/app.js");
+			this.rawPaths.add("/resources/css/theme/site.css");
+			this.rawPaths.add("/api/users/42");
+			this.rawPaths.add("/api/users/42/orders/4711");
+			this.rawPaths.add("/api/products/17/reviews");
+			this.rawPaths.add("/docs/reference/index.html");
+			this.paths = new ArrayList<>();
+			for (String path : this.rawPaths) {
+				this.paths.add(PathContainer.parsePath(path));
+			}
+			this.templatePattern = parser.parse("/api/users/{userId}/orders/{orderId}");
+			this.templatePath = PathContainer.parsePath("/api/users/42/orders/4711");
+		}
+	}
+
+}
@@ -38,7 +38,11 @@ class DefaultRequestPath implements RequestPath {
 
 
 	DefaultRequestPath(URI uri, @Nullable String contextPath) {
-		this.fullPath = PathContainer.parsePath(uri.getRawPath());
+		this(uri.getRawPath(), contextPath);
+	}
+
+	DefaultRequestPath(String rawPath, @Nullable String contextPath) {
+		this.fullPath = PathContainer.parsePath(rawPath);
 		this.contextPath = initContextPath(this.fullPath, contextPath);
 		this.pathWithinApplication = extractPathWithinApplication(this.fullPath, this.contextPath);
 	}
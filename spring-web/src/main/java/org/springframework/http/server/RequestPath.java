@@ -60,4 +60,14 @@ public interface RequestPath extends PathContainer {
 		return new DefaultRequestPath(uri, contextPath);
 	}
 
+	/**
+	 * Create a new {@code RequestPath} from the given raw, encoded path.
+	 * @param rawPath the path portion of the request URI, still encoded
+	 * @param contextPath the context path, if any
+	 * @since 5.3
+	 */
+	static RequestPath parse(String rawPath, @Nullable String contextPath) {
+		return new DefaultRequestPath(rawPath, contextPath);
+	}
+
 }
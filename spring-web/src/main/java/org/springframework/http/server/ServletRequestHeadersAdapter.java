@@ -0,0 +1,361 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@code MultiValueMap} implementation for wrapping the headers of a
+ * {@link HttpServletRequest}.
+ *
+ * <p>Lookups of individual headers read through to the servlet request, which
+ * is expected to treat header names case-insensitively. The headers are only
+ * copied into a map of their own on the first modification or the first
+ * access to all headers, e.g. through {@link #entrySet()}.
+ *
+ * <p>Like {@link ServletServerHttpRequest#getHeaders()} used to, the
+ * {@code Content-Type} and {@code Content-Length} headers fall back on
+ * {@link HttpServletRequest#getContentType()} and
+ * {@link HttpServletRequest#getContentLength()}, with the content type
+ * including the {@linkplain HttpServletRequest#getCharacterEncoding()
+ * character encoding} of the request. Both are resolved once per adapter.
+ *
+ * <p>Header values read through to the servlet request are exposed as
+ * immutable lists; modifications have to go through the map itself, which
+ * copies the headers first.
+ *
+ * @since 5.3
+ */
+class ServletRequestHeadersAdapter implements MultiValueMap<String, String> {
+
+	/**
+	 * Well-known header names, in their canonical and their lower-case form,
+	 * for sharing the name instances of copied headers.
+	 */
+	private static final Map<String, String> HEADER_NAMES = new HashMap<>(256);
+
+	static {
+		for (Field field : HttpHeaders.class.getFields()) {
+			if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+				try {
+					String headerName = (String) field.get(null);
+					HEADER_NAMES.put(headerName, headerName);
+					String lowerCaseName = headerName.toLowerCase(Locale.ENGLISH);
+					HEADER_NAMES.put(lowerCaseName, lowerCaseName);
+				}
+				catch (IllegalAccessException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		}
+	}
+
+
+	private final HttpServletRequest servletRequest;
+
+	@Nullable
+	private MultiValueMap<String, String> headers;
+
+	@Nullable
+	private List<String> contentType;
+
+	private boolean contentTypeResolved;
+
+	@Nullable
+	private List<String> contentLength;
+
+	private boolean contentLengthResolved;
+
+
+	ServletRequestHeadersAdapter(HttpServletRequest servletRequest) {
+		this.servletRequest = servletRequest;
+	}
+
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		List<String> values = get(key);
+		return (values != null && !values.isEmpty() ? values.get(0) : null);
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		getHeaders().add(key, value);
+	}
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		getHeaders().addAll(key, values);
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		getHeaders().addAll(values);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		getHeaders().set(key, value);
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		getHeaders().setAll(values);
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		return getHeaders().toSingleValueMap();
+	}
+
+	@Override
+	public int size() {
+		return getHeaders().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return getHeaders().isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (get(key) != null);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return getHeaders().containsValue(value);
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		if (this.headers != null) {
+			return this.headers.get(key);
+		}
+		if (!(key instanceof String)) {
+			return null;
+		}
+		String headerName = (String) key;
+		if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(headerName)) {
+			return getContentType();
+		}
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(headerName)) {
+			return getContentLength();
+		}
+		return getHeaderValues(headerName);
+	}
+
+	@Override
+	@Nullable
+	public List<String> put(String key, List<String> value) {
+		return getHeaders().put(key, value);
+	}
+
+	@Override
+	@Nullable
+	public List<String> remove(Object key) {
+		return getHeaders().remove(key);
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends List<String>> map) {
+		getHeaders().putAll(map);
+	}
+
+	@Override
+	public void clear() {
+		getHeaders().clear();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return getHeaders().keySet();
+	}
+
+	@Override
+	public Collection<List<String>> values() {
+		return getHeaders().values();
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		return getHeaders().entrySet();
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		return (this == other || getHeaders().equals(other));
+	}
+
+	@Override
+	public int hashCode() {
+		return getHeaders().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getHeaders().toString();
+	}
+
+
+	/**
+	 * Return the headers copied from the servlet request, copying them first
+	 * if necessary.
+	 */
+	private MultiValueMap<String, String> getHeaders() {
+		MultiValueMap<String, String> headers = this.headers;
+		if (headers == null) {
+			headers = CollectionUtils.toMultiValueMap(new LinkedCaseInsensitiveMap<>(8, Locale.ENGLISH));
+			for (Enumeration<?> names = this.servletRequest.getHeaderNames(); names.hasMoreElements();) {
+				String headerName = (String) names.nextElement();
+				List<String> values = getHeaderValues(headerName);
+				if (values != null) {
+					headers.addAll(HEADER_NAMES.getOrDefault(headerName, headerName), values);
+				}
+			}
+			// HttpServletRequest exposes some headers as properties:
+			// we should include those if not already present
+			List<String> contentType = getContentType();
+			if (contentType != null && !contentType.equals(headers.get(HttpHeaders.CONTENT_TYPE))) {
+				headers.put(HttpHeaders.CONTENT_TYPE, new ArrayList<>(contentType));
+			}
+			List<String> contentLength = getContentLength();
+			if (contentLength != null && !contentLength.equals(headers.get(HttpHeaders.CONTENT_LENGTH))) {
+				headers.put(HttpHeaders.CONTENT_LENGTH, new ArrayList<>(contentLength));
+			}
+			this.headers = headers;
+		}
+		return headers;
+	}
+
+	@Nullable
+	private List<String> getHeaderValues(String headerName) {
+		Enumeration<String> headerValues = this.servletRequest.getHeaders(headerName);
+		if (headerValues == null || !headerValues.hasMoreElements()) {
+			return null;
+		}
+		String headerValue = headerValues.nextElement();
+		if (!headerValues.hasMoreElements()) {
+			return singletonValue(headerValue);
+		}
+		List<String> values = new ArrayList<>();
+		values.add(headerValue);
+		while (headerValues.hasMoreElements()) {
+			values.add(headerValues.nextElement());
+		}
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Return the {@code Content-Type} header values, falling back on the
+	 * content type and character encoding exposed as request properties.
+	 */
+	@Nullable
+	private List<String> getContentType() {
+		if (!this.contentTypeResolved) {
+			this.contentType = resolveContentType();
+			this.contentTypeResolved = true;
+		}
+		return this.contentType;
+	}
+
+	@Nullable
+	private List<String> resolveContentType() {
+		List<String> values = getHeaderValues(HttpHeaders.CONTENT_TYPE);
+		try {
+			String value = (values != null ? values.get(0) : null);
+			MediaType contentType = (StringUtils.hasLength(value) ? MediaType.parseMediaType(value) : null);
+			if (contentType == null) {
+				String requestContentType = this.servletRequest.getContentType();
+				if (StringUtils.hasLength(requestContentType)) {
+					contentType = MediaType.parseMediaType(requestContentType);
+					values = singletonValue(contentType.toString());
+				}
+			}
+			if (contentType != null && contentType.getCharset() == null) {
+				String requestEncoding = this.servletRequest.getCharacterEncoding();
+				if (StringUtils.hasLength(requestEncoding)) {
+					Charset charSet = Charset.forName(requestEncoding);
+					Map<String, String> params = new LinkedCaseInsensitiveMap<>();
+					params.putAll(contentType.getParameters());
+					params.put("charset", charSet.toString());
+					MediaType mediaType = new MediaType(contentType.getType(), contentType.getSubtype(), params);
+					values = singletonValue(mediaType.toString());
+				}
+			}
+		}
+		catch (InvalidMediaTypeException ex) {
+			// Ignore: simply not exposing an invalid content type in HttpHeaders...
+		}
+		return values;
+	}
+
+	/**
+	 * Return the {@code Content-Length} header values, falling back on the
+	 * content length exposed as request property.
+	 */
+	@Nullable
+	private List<String> getContentLength() {
+		if (!this.contentLengthResolved) {
+			this.contentLength = resolveContentLength();
+			this.contentLengthResolved = true;
+		}
+		return this.contentLength;
+	}
+
+	@Nullable
+	private List<String> resolveContentLength() {
+		List<String> values = getHeaderValues(HttpHeaders.CONTENT_LENGTH);
+		if (values == null || Long.parseLong(values.get(0)) < 0) {
+			int requestContentLength = this.servletRequest.getContentLength();
+			if (requestContentLength != -1) {
+				values = singletonValue(Integer.toString(requestContentLength));
+			}
+		}
+		return values;
+	}
+
+	private static List<String> singletonValue(String value) {
+		return Collections.singletonList(value);
+	}
+
+}
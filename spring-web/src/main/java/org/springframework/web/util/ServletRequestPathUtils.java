@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utility class to parse the path of an {@link HttpServletRequest} to a
+ * {@link RequestPath} and cache it in a request attribute for further access.
+ * This can then be used for URL path matching with
+ * {@link org.springframework.web.util.pattern.PathPattern PathPattern}s,
+ * without decoding and tokenizing the request path once per pattern.
+ *
+ * <p>The path is parsed from the raw, still encoded request URI, taking into
+ * account {@code RequestDispatcher} includes. If the Servlet is mapped by path
+ * prefix (e.g. "/app/*"), the Servlet path is treated as part of the context
+ * path so that {@link RequestPath#pathWithinApplication()} matches the path
+ * within the Servlet mapping.
+ *
+ * @since 5.3
+ * @see org.springframework.web.util.pattern.PathPattern#matches
+ */
+public abstract class ServletRequestPathUtils {
+
+	/** Name of Servlet request attribute that holds the parsed {@link RequestPath}. */
+	public static final String PATH_ATTRIBUTE = ServletRequestPathUtils.class.getName() + ".PATH";
+
+
+	/**
+	 * Parse the {@link HttpServletRequest#getRequestURI() requestURI} to a
+	 * {@link RequestPath} and save it in the request attribute
+	 * {@link #PATH_ATTRIBUTE} for subsequent use with
+	 * {@link org.springframework.web.util.pattern.PathPattern parsed patterns}.
+	 * <p>The returned {@code RequestPath} will have both the contextPath and
+	 * any servletPath prefix omitted from the
+	 * {@link RequestPath#pathWithinApplication() pathWithinApplication} it
+	 * exposes.
+	 * @param request the current request
+	 * @return the parsed path
+	 */
+	public static RequestPath parseAndCache(HttpServletRequest request) {
+		RequestPath requestPath = parse(request);
+		request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		return requestPath;
+	}
+
+	/**
+	 * Return a {@link #parseAndCache previously} parsed and cached
+	 * {@code RequestPath}.
+	 * @param request the current request
+	 * @return the cached path
+	 * @throws IllegalArgumentException if no cached path is present
+	 */
+	public static RequestPath getParsedRequestPath(ServletRequest request) {
+		RequestPath path = (RequestPath) request.getAttribute(PATH_ATTRIBUTE);
+		Assert.notNull(path, () -> "Expected parsed RequestPath in request attribute \"" + PATH_ATTRIBUTE + "\".");
+		return path;
+	}
+
+	/**
+	 * Return the cached {@code RequestPath}, if present, or otherwise
+	 * {@link #parseAndCache parse and cache} it for the given request.
+	 * @param request the current request
+	 * @return the cached or freshly parsed path
+	 */
+	public static RequestPath getOrParseRequestPath(HttpServletRequest request) {
+		RequestPath path = (RequestPath) request.getAttribute(PATH_ATTRIBUTE);
+		return (path != null ? path : parseAndCache(request));
+	}
+
+	/**
+	 * Set the cached, parsed {@code RequestPath} to the given value.
+	 * @param requestPath the value to set to, or if {@code null} the cache
+	 * value is cleared
+	 * @param request the current request
+	 */
+	public static void setParsedRequestPath(@Nullable RequestPath requestPath, ServletRequest request) {
+		if (requestPath != null) {
+			request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		}
+		else {
+			request.removeAttribute(PATH_ATTRIBUTE);
+		}
+	}
+
+	/**
+	 * Check for a {@link #parseAndCache previously} parsed and cached {@code RequestPath}.
+	 */
+	public static boolean hasParsedRequestPath(ServletRequest request) {
+		return (request.getAttribute(PATH_ATTRIBUTE) != null);
+	}
+
+	/**
+	 * Remove the request attribute {@link #PATH_ATTRIBUTE} that holds a
+	 * {@link #parseAndCache previously} parsed and cached {@code RequestPath}.
+	 */
+	public static void clearParsedRequestPath(ServletRequest request) {
+		request.removeAttribute(PATH_ATTRIBUTE);
+	}
+
+
+	private static RequestPath parse(HttpServletRequest request) {
+		String requestUri = (String) request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE);
+		String contextPath = (String) request.getAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE);
+		String servletPath = (String) request.getAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE);
+		String pathInfo = (String) request.getAttribute(WebUtils.INCLUDE_PATH_INFO_ATTRIBUTE);
+		if (requestUri == null) {
+			requestUri = request.getRequestURI();
+			contextPath = request.getContextPath();
+			servletPath = request.getServletPath();
+			pathInfo = request.getPathInfo();
+		}
+		if (requestUri == null) {
+			requestUri = "";
+		}
+		int index = requestUri.indexOf('?');
+		if (index != -1) {
+			requestUri = requestUri.substring(0, index);
+		}
+		String applicationPath = (contextPath != null ? contextPath : "");
+		if (pathInfo != null && StringUtils.hasLength(servletPath)) {
+			// Prefix mapping: the Servlet path is not part of the path to match.
+			// Only apply it if it is found verbatim in the (encoded) request URI.
+			String prefix = applicationPath + servletPath;
+			if (requestUri.startsWith(prefix) &&
+					(requestUri.length() == prefix.length() || requestUri.charAt(prefix.length()) == '/')) {
+				applicationPath = prefix;
+			}
+		}
+		return RequestPath.parse(requestUri, applicationPath);
+	}
+
+}
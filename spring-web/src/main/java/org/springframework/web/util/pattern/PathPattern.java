@@ -446,6 +446,10 @@ public class PathPattern implements Comparable<PathPattern> {
 	}
 
 
+	boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
 	int getScore() {
 		return this.score;
 	}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+
+/**
+ * Index of routes by the literal segments that their {@link PathPattern}
+ * starts with, allowing the routes that may match a given path to be selected
+ * in time proportional to the length of the path, rather than by checking
+ * every registered route.
+ *
+ * <p>Routes are kept in a tree with one level per path segment, each route
+ * being held by the node that corresponds to the leading literal segments of
+ * its pattern, up to the first segment with wildcards or captures. Routes
+ * registered without a pattern, as well as routes with a case-insensitive
+ * pattern, are held by the root and therefore selected for every path.
+ *
+ * <p>{@link #getCandidates} returns routes in the order that they have been
+ * added in, so that "first match wins" semantics can be preserved by callers.
+ * The index itself is not thread-safe; callers need to guard modifications
+ * against concurrent lookups.
+ *
+ * @since 5.3
+ * @param <T> the type of route
+ */
+public class PathPatternIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+	private final Map<T, List<List<String>>> routeKeys = new HashMap<>();
+
+	private int order;
+
+
+	/**
+	 * Add the given route, selected for paths that may match the given pattern.
+	 * <p>A route may be added several times with different patterns, e.g. once
+	 * for each of the patterns of a request mapping.
+	 * @param route the route to add
+	 * @param pattern the pattern that a path must match for the route to
+	 * match, or {@code null} if the route may match any path
+	 */
+	public void add(T route, @Nullable PathPattern pattern) {
+		List<String> key = (pattern != null ? getLiteralPrefix(pattern) : Collections.emptyList());
+		this.root.add(key, 0, new Entry<>(route, this.order++));
+		this.routeKeys.computeIfAbsent(route, r -> new ArrayList<>(1)).add(key);
+	}
+
+	/**
+	 * Remove all entries for the given route.
+	 * @param route the route to remove
+	 */
+	public void remove(T route) {
+		List<List<String>> keys = this.routeKeys.remove(route);
+		if (keys != null) {
+			for (List<String> key : keys) {
+				this.root.remove(key, 0, route);
+			}
+		}
+	}
+
+	/**
+	 * Whether the index contains no routes.
+	 */
+	public boolean isEmpty() {
+		return this.routeKeys.isEmpty();
+	}
+
+	/**
+	 * Return the routes that may match the given path, in the order that they
+	 * have been added in. Routes are included at most once.
+	 * @param path the path to select routes for
+	 * @return the candidate routes (never {@code null})
+	 */
+	public List<T> getCandidates(PathContainer path) {
+		List<Entry<T>> entries = new ArrayList<>(this.root.entries);
+		boolean sort = false;
+		Node<T> node = this.root;
+		for (PathContainer.Element element : path.elements()) {
+			if (element instanceof PathContainer.PathSegment) {
+				node = node.getChild(((PathContainer.PathSegment) element).valueToMatch());
+				if (node == null) {
+					break;
+				}
+				if (!node.entries.isEmpty()) {
+					sort = sort || !entries.isEmpty();
+					entries.addAll(node.entries);
+				}
+			}
+		}
+		if (sort) {
+			entries.sort((entry1, entry2) -> Integer.compare(entry1.order, entry2.order));
+		}
+		Set<T> routes = new LinkedHashSet<>(entries.size());
+		for (Entry<T> entry : entries) {
+			routes.add(entry.route);
+		}
+		return new ArrayList<>(routes);
+	}
+
+
+	/**
+	 * Return the literal segments that the given pattern starts with.
+	 */
+	private static List<String> getLiteralPrefix(PathPattern pattern) {
+		if (!pattern.isCaseSensitive()) {
+			return Collections.emptyList();
+		}
+		List<String> prefix = new ArrayList<>();
+		PathElement element = pattern.getHeadSection();
+		while (element instanceof SeparatorPathElement && element.next instanceof LiteralPathElement) {
+			prefix.add(new String(element.next.getChars()));
+			element = element.next.next;
+		}
+		return prefix;
+	}
+
+
+	private static final class Entry<T> {
+
+		final T route;
+
+		final int order;
+
+		Entry(T route, int order) {
+			this.route = route;
+			this.order = order;
+		}
+	}
+
+
+	private static final class Node<T> {
+
+		final Map<String, Node<T>> children = new HashMap<>();
+
+		final List<Entry<T>> entries = new ArrayList<>();
+
+		void add(List<String> key, int index, Entry<T> entry) {
+			if (index == key.size()) {
+				this.entries.add(entry);
+			}
+			else {
+				this.children.computeIfAbsent(key.get(index), segment -> new Node<>())
+						.add(key, index + 1, entry);
+			}
+		}
+
+		void remove(List<String> key, int index, T route) {
+			if (index == key.size()) {
+				this.entries.removeIf(entry -> entry.route.equals(route));
+			}
+			else {
+				Node<T> child = this.children.get(key.get(index));
+				if (child != null) {
+					child.remove(key, index + 1, route);
+					if (child.entries.isEmpty() && child.children.isEmpty()) {
+						this.children.remove(key.get(index));
+					}
+				}
+			}
+		}
+
+		@Nullable
+		Node<T> getChild(String segment) {
+			return this.children.get(segment);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import org.springframework.util.FileCopyUtils;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author Arjen Poutsma
@@ -151,6 +152,66 @@ public class ServletServerHttpRequestTests {
 		assertThat(headers.getContentType()).isNull();
 	}
 
+	@Test
+	public void getHeadersCaseInsensitive() {
+		mockRequest.addHeader("MyHeader", "value");
+
+		HttpHeaders headers = request.getHeaders();
+		assertThat(headers.getFirst("myheader")).isEqualTo("value");
+		assertThat(headers.containsKey("MYHEADER")).isTrue();
+		assertThat(headers.containsKey("OtherHeader")).isFalse();
+		assertThat(headers.get("OtherHeader")).isNull();
+	}
+
+	@Test
+	public void getHeadersWithContentLength() {
+		mockRequest.setContent("Hello World".getBytes(StandardCharsets.UTF_8));
+
+		HttpHeaders headers = request.getHeaders();
+		assertThat(headers.getContentLength()).isEqualTo(11);
+		assertThat(headers.keySet()).contains(HttpHeaders.CONTENT_LENGTH);
+	}
+
+	@Test
+	public void getHeadersWithInvalidContentType() {
+		mockRequest.addHeader(HttpHeaders.CONTENT_TYPE, "invalid");
+
+		HttpHeaders headers = request.getHeaders();
+		assertThat(headers.getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("invalid");
+	}
+
+	@Test
+	public void getHeadersAndModify() {
+		mockRequest.addHeader("MyHeader", "value1");
+		mockRequest.setContentType("text/plain");
+		mockRequest.setCharacterEncoding("UTF-8");
+
+		HttpHeaders headers = request.getHeaders();
+		headers.add("MyHeader", "value2");
+		headers.set("OtherHeader", "value");
+		assertThat(headers.get("MyHeader")).containsExactly("value1", "value2");
+		assertThat(headers.getFirst("OtherHeader")).isEqualTo("value");
+		assertThat(headers.getContentType()).isEqualTo(new MediaType("text", "plain", StandardCharsets.UTF_8));
+		assertThat(mockRequest.getHeader("OtherHeader")).isNull();
+	}
+
+	@Test
+	public void getHeadersAndModifyAfterRead() {
+		mockRequest.addHeader("MyHeader", "value1");
+		mockRequest.setContentType("text/plain");
+
+		HttpHeaders headers = request.getHeaders();
+		List<String> contentType = headers.get(HttpHeaders.CONTENT_TYPE);
+		assertThat(contentType).containsExactly("text/plain");
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> contentType.add("text/html"));
+
+		headers.add(HttpHeaders.CONTENT_TYPE, "text/html");
+		headers.add("MyHeader", "value2");
+		assertThat(headers.get(HttpHeaders.CONTENT_TYPE)).containsExactly("text/plain", "text/html");
+		assertThat(headers.get("MyHeader")).containsExactly("value1", "value2");
+		assertThat(contentType).containsExactly("text/plain");
+	}
+
 	@Test
 	public void getBody() throws IOException {
 		byte[] content = "Hello World".getBytes("UTF-8");
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link ServletRequestPathUtils}.
+ */
+public class ServletRequestPathUtilsTests {
+
+	@Test
+	void parseAndCache() {
+		testParseAndCache("/app/servlet/a/b/c", "/app", "/servlet", "/a/b/c", "/app/servlet", "/a/b/c");
+		testParseAndCache("/app/a/b/c", "/app", "/a/b/c", null, "/app", "/a/b/c");
+		testParseAndCache("/a/b/c", "", "/a/b/c", null, "", "/a/b/c");
+		testParseAndCache("/app1/app2/a/b%20c", "/app1/app2", "/a/b c", null, "/app1/app2", "/a/b%20c");
+	}
+
+	@Test
+	void parseAndCacheWithInclude() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/original");
+		request.setContextPath("/app");
+		request.setAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE, "/app/included");
+		request.setAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE, "/app");
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo("/included");
+	}
+
+	@Test
+	void getParsedRequestPath() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/a/b");
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+		assertThatIllegalArgumentException().isThrownBy(() -> ServletRequestPathUtils.getParsedRequestPath(request));
+
+		RequestPath requestPath = ServletRequestPathUtils.getOrParseRequestPath(request);
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(requestPath);
+
+		ServletRequestPathUtils.clearParsedRequestPath(request);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+	}
+
+	private void testParseAndCache(String requestUri, String contextPath, String servletPath,
+			String pathInfo, String expectedContextPath, String expectedPathWithinApplication) {
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+		request.setContextPath(contextPath);
+		request.setServletPath(servletPath);
+		request.setPathInfo(pathInfo);
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(requestPath.contextPath().value()).isEqualTo(expectedContextPath);
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo(expectedPathWithinApplication);
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(requestPath);
+	}
+
+}
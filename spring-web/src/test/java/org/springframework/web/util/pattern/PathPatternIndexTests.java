@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PathPatternIndex}.
+ */
+class PathPatternIndexTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	private final PathPatternIndex<String> index = new PathPatternIndex<>();
+
+
+	@Test
+	void candidatesByLiteralPrefix() {
+		add("/foo/bar");
+		add("/foo/{id}");
+		add("/foo/*/baz");
+		add("/bar/**");
+		add("/{*path}");
+
+		assertThat(candidates("/foo/bar")).containsExactly("/foo/bar", "/foo/{id}", "/foo/*/baz", "/{*path}");
+		assertThat(candidates("/foo/qux/baz")).containsExactly("/foo/{id}", "/foo/*/baz", "/{*path}");
+		assertThat(candidates("/bar/foo")).containsExactly("/bar/**", "/{*path}");
+		assertThat(candidates("/baz")).containsExactly("/{*path}");
+		assertThat(candidates("/")).containsExactly("/{*path}");
+	}
+
+	@Test
+	void candidatesInOrderOfAddition() {
+		add("/{*path}");
+		add("/foo/bar");
+		add("/foo/**");
+		add("/f?o/bar");
+
+		assertThat(candidates("/foo/bar")).containsExactly("/{*path}", "/foo/bar", "/foo/**", "/f?o/bar");
+	}
+
+	@Test
+	void candidatesWithDecodedPathAndMatrixVariables() {
+		add("/foo bar/baz");
+
+		assertThat(candidates("/foo%20bar/baz")).containsExactly("/foo bar/baz");
+		assertThat(candidates("/foo%20bar;a=b/baz")).containsExactly("/foo bar/baz");
+		assertThat(candidates("/foo/baz")).isEmpty();
+	}
+
+	@Test
+	void routeWithSeveralPatterns() {
+		this.index.add("route", this.parser.parse("/foo"));
+		this.index.add("route", this.parser.parse("/bar"));
+		this.index.add("other", this.parser.parse("/{*path}"));
+
+		assertThat(candidates("/foo")).containsExactly("route", "other");
+		assertThat(candidates("/bar")).containsExactly("route", "other");
+		assertThat(candidates("/baz")).containsExactly("other");
+	}
+
+	@Test
+	void routeWithoutPattern() {
+		this.index.add("route", null);
+		add("/foo");
+
+		assertThat(candidates("/foo")).containsExactly("route", "/foo");
+		assertThat(candidates("/bar")).containsExactly("route");
+	}
+
+	@Test
+	void caseInsensitivePattern() {
+		this.parser.setCaseSensitive(false);
+		add("/foo/bar");
+
+		assertThat(candidates("/FOO/Bar")).containsExactly("/foo/bar");
+		assertThat(candidates("/baz")).containsExactly("/foo/bar");
+	}
+
+	@Test
+	void remove() {
+		add("/foo/bar");
+		add("/foo/{id}");
+		assertThat(this.index.isEmpty()).isFalse();
+
+		this.index.remove("/foo/bar");
+		assertThat(candidates("/foo/bar")).containsExactly("/foo/{id}");
+
+		this.index.remove("/foo/{id}");
+		assertThat(candidates("/foo/bar")).isEmpty();
+		assertThat(this.index.isEmpty()).isTrue();
+	}
+
+
+	private void add(String pattern) {
+		this.index.add(pattern, this.parser.parse(pattern));
+	}
+
+	private List<String> candidates(String path) {
+		return this.index.getCandidates(PathContainer.parsePath(path));
+	}
+
+}
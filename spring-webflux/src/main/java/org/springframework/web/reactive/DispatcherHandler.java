@@ -30,6 +30,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
@@ -67,6 +68,9 @@ import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
  */
 public class DispatcherHandler implements WebHandler, ApplicationContextAware {
 
+	private static final boolean flightRecorderPresent =
+			ClassUtils.isPresent("jdk.jfr.Event", DispatcherHandler.class.getClassLoader());
+
 	@Nullable
 	private List<HandlerMapping> handlerMappings;
 
@@ -136,12 +140,28 @@ public class DispatcherHandler implements WebHandler, ApplicationContextAware {
 
 	@Override
 	public Mono<Void> handle(ServerWebExchange exchange) {
-		if (this.handlerMappings == null) {
+		List<HandlerMapping> mappings = this.handlerMappings;
+		if (mappings == null) {
 			return createNotFoundError();
 		}
-		return Flux.fromIterable(this.handlerMappings)
+		if (flightRecorderPresent && FlightRecorderDispatchEvent.PROBE.isEnabled()) {
+			return Mono.defer(() -> {
+				FlightRecorderDispatchEvent event = new FlightRecorderDispatchEvent();
+				Mono<Object> handlerLookup = event.recordHandlerLookup(exchange, lookupHandler(exchange, mappings));
+				return event.recordDispatch(exchange, dispatch(exchange, handlerLookup));
+			});
+		}
+		return dispatch(exchange, lookupHandler(exchange, mappings));
+	}
+
+	private Mono<Object> lookupHandler(ServerWebExchange exchange, List<HandlerMapping> mappings) {
+		return Flux.fromIterable(mappings)
 				.concatMap(mapping -> mapping.getHandler(exchange))
-				.next()
+				.next();
+	}
+
+	private Mono<Void> dispatch(ServerWebExchange exchange, Mono<Object> handlerLookup) {
+		return handlerLookup
 				.switchIfEmpty(createNotFoundError())
 				.flatMap(handler -> invokeHandler(exchange, handler))
 				.flatMap(result -> handleResult(exchange, result));
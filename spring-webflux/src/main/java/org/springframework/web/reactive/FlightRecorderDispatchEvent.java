@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import org.springframework.core.metrics.jfr.FlightRecorderEventProbe;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Java Flight Recorder {@link Event} for an exchange dispatched by the
+ * {@link DispatcherHandler}, recording the selected handler, the time spent
+ * in handler lookup, and the response status.
+ *
+ * <p>The event begins when the dispatch is subscribed to and ends when it
+ * terminates or is cancelled, so it spans the asynchronous handling of the
+ * exchange rather than a single thread. The termination signal tells a
+ * completed dispatch apart from a failed or cancelled one.
+ *
+ * @since 5.3
+ * @see DispatcherHandler#handle
+ */
+@Category({"Spring Application", "WebFlux"})
+@Label("Exchange Dispatch")
+@Description("Exchange dispatched by the DispatcherHandler")
+@StackTrace(false)
+final class FlightRecorderDispatchEvent extends Event {
+
+	static final FlightRecorderEventProbe<FlightRecorderDispatchEvent> PROBE =
+			new FlightRecorderEventProbe<>(FlightRecorderDispatchEvent::new);
+
+
+	@Label("HTTP Method")
+	String method;
+
+	@Label("Request URI")
+	String uri;
+
+	@Label("Handler")
+	String handler;
+
+	@Label("Handler Lookup Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long lookupTime;
+
+	@Label("Status")
+	int status;
+
+	@Label("Termination Signal")
+	String signal;
+
+	private long lookupStart;
+
+
+	/**
+	 * Decorate the handler lookup in order to begin this event on
+	 * subscription and to record the handler found.
+	 */
+	Mono<Object> recordHandlerLookup(ServerWebExchange exchange, Mono<Object> handlerLookup) {
+		return handlerLookup
+				.doOnSubscribe(subscription -> {
+					ServerHttpRequest request = exchange.getRequest();
+					this.method = request.getMethodValue();
+					this.uri = request.getPath().value();
+					begin();
+					this.lookupStart = System.nanoTime();
+				})
+				.doOnSuccess(handler -> {
+					this.lookupTime = System.nanoTime() - this.lookupStart;
+					if (handler != null) {
+						this.handler = handler.toString();
+					}
+				});
+	}
+
+	/**
+	 * Decorate the complete dispatch in order to end and commit this event
+	 * once the dispatch has terminated or has been cancelled.
+	 */
+	Mono<Void> recordDispatch(ServerWebExchange exchange, Mono<Void> dispatch) {
+		return dispatch.doFinally(signalType -> end(exchange, signalType));
+	}
+
+	private void end(ServerWebExchange exchange, SignalType signalType) {
+		end();
+		if (shouldCommit()) {
+			Integer statusCode = exchange.getResponse().getRawStatusCode();
+			this.status = (statusCode != null ? statusCode : 0);
+			this.signal = signalType.toString();
+			commit();
+		}
+	}
+
+}
@@ -430,6 +430,33 @@ public abstract class RequestPredicates {
 	}
 
 
+	/**
+	 * Return the path pattern that the request path needs to match for the given
+	 * predicate to match, if known.
+	 * @param predicate the predicate to introspect
+	 * @param nest whether the predicate is used for {@linkplain RequestPredicate#nest nesting},
+	 * rather than for {@linkplain RequestPredicate#test testing} the request
+	 * @return the required path pattern, or {@code null} if none is known
+	 * @since 5.3
+	 */
+	@Nullable
+	static PathPattern getRequiredPathPattern(RequestPredicate predicate, boolean nest) {
+		if (predicate instanceof PathPatternPredicate) {
+			return ((PathPatternPredicate) predicate).pattern;
+		}
+		else if (predicate instanceof AndRequestPredicate) {
+			AndRequestPredicate andPredicate = (AndRequestPredicate) predicate;
+			PathPattern pattern = getRequiredPathPattern(andPredicate.left, nest);
+			// When nesting, the right predicate is applied to the remaining path
+			if (pattern == null && !nest) {
+				pattern = getRequiredPathPattern(andPredicate.right, false);
+			}
+			return pattern;
+		}
+		return null;
+	}
+
+
 	private static class HttpMethodPredicate implements RequestPredicate {
 
 		private final Set<HttpMethod> httpMethods;
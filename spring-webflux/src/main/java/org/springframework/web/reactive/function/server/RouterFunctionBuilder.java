@@ -264,7 +264,7 @@ class RouterFunctionBuilder implements RouterFunctions.Builder {
 	/**
 	 * Router function returned by {@link #build()} that simply iterates over the registered routes.
 	 */
-	private static class BuiltRouterFunction extends RouterFunctions.AbstractRouterFunction<ServerResponse> {
+	static class BuiltRouterFunction extends RouterFunctions.AbstractRouterFunction<ServerResponse> {
 
 		private List<RouterFunction<ServerResponse>> routerFunctions;
 
@@ -273,6 +273,10 @@ class RouterFunctionBuilder implements RouterFunctions.Builder {
 			this.routerFunctions = routerFunctions;
 		}
 
+		public List<RouterFunction<ServerResponse>> getRouterFunctions() {
+			return this.routerFunctions;
+		}
+
 		@Override
 		public Mono<HandlerFunction<ServerResponse>> route(ServerRequest request) {
 			return Flux.fromIterable(this.routerFunctions)
@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -37,6 +38,8 @@ import org.springframework.web.reactive.result.view.ViewResolver;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
 import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
 
 /**
  * <strong>Central entry point to Spring's functional web framework.</strong>
@@ -138,6 +141,29 @@ public abstract class RouterFunctions {
 		return new DefaultNestedRouterFunction<>(predicate, routerFunction);
 	}
 
+	/**
+	 * Return a router function that routes like the given router function, but
+	 * that only evaluates the routes whose path pattern may match the request
+	 * path, as selected through a {@link PathPatternIndex} of the literal
+	 * segments that those patterns start with.
+	 * <p>Routes are evaluated in the order in which they were composed, the first
+	 * matching route being used, just like with the given router function. Routes
+	 * without a path pattern, such as routes created for a custom
+	 * {@link RequestPredicate} or custom {@link RouterFunction} implementations,
+	 * are evaluated for every request. Nested router functions get indexed as well.
+	 * @param routerFunction the router function to index
+	 * @param <T> the type of response returned by the handler function
+	 * @return the indexed router function
+	 * @since 5.3
+	 */
+	public static <T extends ServerResponse> RouterFunction<T> index(RouterFunction<T> routerFunction) {
+		Assert.notNull(routerFunction, "RouterFunction must not be null");
+		if (routerFunction instanceof IndexedRouterFunction) {
+			return routerFunction;
+		}
+		return new IndexedRouterFunction<>(routerFunction);
+	}
+
 	/**
 	 * Route requests that match the given pattern to resources relative to the given root location.
 	 * For instance
@@ -252,7 +278,7 @@ public abstract class RouterFunctions {
 		Assert.notNull(routerFunction, "RouterFunction must not be null");
 		Assert.notNull(strategies, "HandlerStrategies must not be null");
 
-		return new RouterFunctionWebHandler(strategies, routerFunction);
+		return new RouterFunctionWebHandler(strategies, index(routerFunction));
 	}
 
 	/**
@@ -852,6 +878,15 @@ public abstract class RouterFunctions {
 			return this.routerFunction.route(request).map(this.filterFunction::apply);
 		}
 
+		/**
+		 * Apply the filter function of this router function to the given one,
+		 * which needs to be part of the router function filtered by this one.
+		 */
+		@SuppressWarnings("unchecked")
+		RouterFunction<S> filter(RouterFunction<?> routerFunction) {
+			return new FilteredRouterFunction<>((RouterFunction<T>) routerFunction, this.filterFunction);
+		}
+
 		@Override
 		public void accept(Visitor visitor) {
 			this.routerFunction.accept(visitor);
@@ -941,6 +976,90 @@ public abstract class RouterFunctions {
 	}
 
 
+	/**
+	 * A routing function that evaluates the routes of a composed router function
+	 * that may match the request path, as selected through a {@link PathPatternIndex}.
+	 * @param <T> the server response type
+	 */
+	static final class IndexedRouterFunction<T extends ServerResponse> implements RouterFunction<T> {
+
+		private final RouterFunction<T> routerFunction;
+
+		private final PathPatternIndex<RouterFunction<?>> index = new PathPatternIndex<>();
+
+		IndexedRouterFunction(RouterFunction<T> routerFunction) {
+			this.routerFunction = routerFunction;
+			addRoutes(routerFunction, UnaryOperator.identity());
+		}
+
+		@SuppressWarnings("unchecked")
+		private void addRoutes(RouterFunction<?> routerFunction, UnaryOperator<RouterFunction<?>> decorator) {
+			if (routerFunction instanceof SameComposedRouterFunction) {
+				SameComposedRouterFunction<?> composed = (SameComposedRouterFunction<?>) routerFunction;
+				addRoutes(composed.first, decorator);
+				addRoutes(composed.second, decorator);
+			}
+			else if (routerFunction instanceof DifferentComposedRouterFunction) {
+				DifferentComposedRouterFunction composed = (DifferentComposedRouterFunction) routerFunction;
+				addRoutes(composed.first, decorator);
+				addRoutes(composed.second, decorator);
+			}
+			else if (routerFunction instanceof RouterFunctionBuilder.BuiltRouterFunction) {
+				RouterFunctionBuilder.BuiltRouterFunction built = (RouterFunctionBuilder.BuiltRouterFunction) routerFunction;
+				for (RouterFunction<?> route : built.getRouterFunctions()) {
+					addRoutes(route, decorator);
+				}
+			}
+			else if (routerFunction instanceof FilteredRouterFunction) {
+				FilteredRouterFunction<?, ?> filtered = (FilteredRouterFunction<?, ?>) routerFunction;
+				addRoutes(filtered.routerFunction, route -> decorator.apply(filtered.filter(route)));
+			}
+			else if (routerFunction instanceof IndexedRouterFunction) {
+				addRoutes(((IndexedRouterFunction<?>) routerFunction).routerFunction, decorator);
+			}
+			else if (routerFunction instanceof DefaultRouterFunction) {
+				RequestPredicate predicate = ((DefaultRouterFunction<?>) routerFunction).predicate;
+				PathPattern pattern = RequestPredicates.getRequiredPathPattern(predicate, false);
+				this.index.add(decorator.apply(routerFunction), pattern);
+			}
+			else if (routerFunction instanceof DefaultNestedRouterFunction) {
+				DefaultNestedRouterFunction<ServerResponse> nested =
+						(DefaultNestedRouterFunction<ServerResponse>) routerFunction;
+				RouterFunction<?> route = new DefaultNestedRouterFunction<>(nested.predicate, index(nested.routerFunction));
+				PathPattern pattern = RequestPredicates.getRequiredPathPattern(nested.predicate, true);
+				this.index.add(decorator.apply(route), pattern);
+			}
+			else {
+				this.index.add(decorator.apply(routerFunction), null);
+			}
+		}
+
+		@Override
+		public Mono<HandlerFunction<T>> route(ServerRequest request) {
+			List<RouterFunction<?>> candidates = this.index.getCandidates(request.pathContainer());
+			return Flux.fromIterable(candidates)
+					.<HandlerFunction<?>>concatMap(routerFunction -> routerFunction.route(request))
+					.next()
+					.map(this::cast);
+		}
+
+		@SuppressWarnings("unchecked")
+		private HandlerFunction<T> cast(HandlerFunction<?> handlerFunction) {
+			return (HandlerFunction<T>) handlerFunction;
+		}
+
+		@Override
+		public void accept(Visitor visitor) {
+			this.routerFunction.accept(visitor);
+		}
+
+		@Override
+		public String toString() {
+			return this.routerFunction.toString();
+		}
+	}
+
+
 	private static class ResourcesRouterFunction extends  AbstractRouterFunction<ServerResponse> {
 
 		private final Function<ServerRequest, Mono<Resource>> lookupFunction;
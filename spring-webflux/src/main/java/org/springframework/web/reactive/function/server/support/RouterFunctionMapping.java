@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,9 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 	@Nullable
 	private RouterFunction<?> routerFunction;
 
+	@Nullable
+	private RouterFunction<?> indexedRouterFunction;
+
 	private List<HttpMessageReader<?>> messageReaders = Collections.emptyList();
 
 
@@ -70,6 +73,7 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 	 */
 	public RouterFunctionMapping(RouterFunction<?> routerFunction) {
 		this.routerFunction = routerFunction;
+		this.indexedRouterFunction = RouterFunctions.index(routerFunction);
 	}
 
 
@@ -111,6 +115,7 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 	protected void initRouterFunctions() {
 		List<RouterFunction<?>> routerFunctions = routerFunctions();
 		this.routerFunction = routerFunctions.stream().reduce(RouterFunction::andOther).orElse(null);
+		this.indexedRouterFunction = (this.routerFunction != null ? RouterFunctions.index(this.routerFunction) : null);
 		logRouterFunctions(routerFunctions);
 	}
 
@@ -144,9 +149,9 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 
 	@Override
 	protected Mono<?> getHandlerInternal(ServerWebExchange exchange) {
-		if (this.routerFunction != null) {
+		if (this.indexedRouterFunction != null) {
 			ServerRequest request = ServerRequest.create(exchange, this.messageReaders);
-			return this.routerFunction.route(request)
+			return this.indexedRouterFunction.route(request)
 					.doOnNext(handler -> setAttributes(exchange.getAttributes(), request, handler));
 		}
 		else {
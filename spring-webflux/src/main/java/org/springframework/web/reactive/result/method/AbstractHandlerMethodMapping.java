@@ -37,6 +37,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -47,6 +48,8 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.reactive.handler.AbstractHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -311,7 +314,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	@Nullable
 	protected HandlerMethod lookupHandlerMethod(ServerWebExchange exchange) throws Exception {
 		List<Match> matches = new ArrayList<>();
-		addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, exchange);
+		List<T> candidates = this.mappingRegistry.getMappingsByPath(
+				exchange.getRequest().getPath().pathWithinApplication());
+		addMatchingMappings(candidates, matches, exchange);
 
 		if (!matches.isEmpty()) {
 			Comparator<Match> comparator = new MatchComparator(getMappingComparator(exchange));
@@ -412,6 +417,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	@Nullable
 	protected abstract T getMappingForMethod(Method method, Class<?> handlerType);
 
+	/**
+	 * Return the path patterns of the given mapping, one of which the lookup path
+	 * must match for {@link #getMatchingMapping} to match the request. Used to
+	 * narrow down the mappings to check for a request.
+	 * <p>The default implementation returns an empty set, indicating that the
+	 * mapping may match any lookup path and always needs to be checked.
+	 * @param mapping the mapping to get the path patterns for
+	 * @return the path patterns, or an empty set if not known
+	 * @since 5.3
+	 */
+	protected Set<PathPattern> getMappingPathPatterns(T mapping) {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -443,6 +462,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final Map<T, HandlerMethod> mappingLookup = new LinkedHashMap<>();
 
+		private final PathPatternIndex<T> pathIndex = new PathPatternIndex<>();
+
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
 		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
@@ -455,6 +476,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.mappingLookup;
 		}
 
+		/**
+		 * Return the mappings that may match the given lookup path, in
+		 * registration order. Not thread-safe.
+		 * @see #acquireReadLock()
+		 * @see #getMappingPathPatterns
+		 */
+		public List<T> getMappingsByPath(PathContainer lookupPath) {
+			return this.pathIndex.getCandidates(lookupPath);
+		}
+
 		/**
 		 * Return CORS configuration. Thread-safe for concurrent use.
 		 */
@@ -465,14 +496,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 
 		/**
-		 * Acquire the read lock when using getMappings and getMappingsByUrl.
+		 * Acquire the read lock when using getMappings and getMappingsByPath.
 		 */
 		public void acquireReadLock() {
 			this.readWriteLock.readLock().lock();
 		}
 
 		/**
-		 * Release the read lock after using getMappings and getMappingsByUrl.
+		 * Release the read lock after using getMappings and getMappingsByPath.
 		 */
 		public void releaseReadLock() {
 			this.readWriteLock.readLock().unlock();
@@ -485,6 +516,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				validateMethodMapping(handlerMethod, mapping);
 				this.mappingLookup.put(mapping, handlerMethod);
 
+				Set<PathPattern> patterns = getMappingPathPatterns(mapping);
+				if (patterns.isEmpty()) {
+					this.pathIndex.add(mapping, null);
+				}
+				for (PathPattern pattern : patterns) {
+					this.pathIndex.add(mapping, pattern);
+				}
+
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
 					this.corsLookup.put(handlerMethod, corsConfig);
@@ -517,6 +556,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
 				this.mappingLookup.remove(definition.getMapping());
+				this.pathIndex.remove(definition.getMapping());
 				this.corsLookup.remove(definition.getHandlerMethod());
 			}
 			finally {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive;
+
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.testfixture.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.core.testfixture.jfr.FlightRecorderTestUtils.recordEvents;
+
+/**
+ * Tests for {@link FlightRecorderDispatchEvent}.
+ */
+class FlightRecorderDispatchEventTests {
+
+	private DispatcherHandler dispatcherHandler;
+
+
+	@BeforeEach
+	void setup() {
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerBean(HandlerMapping.class, () -> exchange ->
+				(exchange.getRequest().getPath().value().equals("/test") ? Mono.just(new TestHandler()) : Mono.empty()));
+		context.registerBean(HandlerAdapter.class, TestHandlerAdapter::new);
+		context.refresh();
+		this.dispatcherHandler = new DispatcherHandler(context);
+	}
+
+
+	@Test
+	void dispatchIsRecorded() throws Exception {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test"));
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderDispatchEvent.class, true, () ->
+				this.dispatcherHandler.handle(exchange).block(Duration.ofSeconds(5)));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("method")).isEqualTo("GET");
+		assertThat(event.getString("uri")).isEqualTo("/test");
+		assertThat(event.getString("handler")).isEqualTo("testHandler");
+		assertThat(event.getLong("lookupTime")).isGreaterThan(0);
+		assertThat(event.getInt("status")).isEqualTo(HttpStatus.ACCEPTED.value());
+		assertThat(event.getString("signal")).isEqualTo("onComplete");
+	}
+
+	@Test
+	void dispatchWithoutHandlerIsRecorded() throws Exception {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/unknown"));
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderDispatchEvent.class, true, () ->
+				assertThatExceptionOfType(ResponseStatusException.class).isThrownBy(() ->
+						this.dispatcherHandler.handle(exchange).block(Duration.ofSeconds(5))));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("method")).isEqualTo("POST");
+		assertThat(event.getString("uri")).isEqualTo("/unknown");
+		assertThat(event.getString("handler")).isNull();
+		assertThat(event.getString("signal")).isEqualTo("onError");
+	}
+
+	@Test
+	void nothingIsRecordedIfDisabled() throws Exception {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test"));
+
+		List<RecordedEvent> events = recordEvents(FlightRecorderDispatchEvent.class, false, () ->
+				this.dispatcherHandler.handle(exchange).block(Duration.ofSeconds(5)));
+
+		assertThat(events).isEmpty();
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+	}
+
+
+	private static class TestHandler {
+
+		@Override
+		public String toString() {
+			return "testHandler";
+		}
+	}
+
+
+	private static class TestHandlerAdapter implements HandlerAdapter {
+
+		@Override
+		public boolean supports(Object handler) {
+			return handler instanceof TestHandler;
+		}
+
+		@Override
+		public Mono<HandlerResult> handle(ServerWebExchange exchange, Object handler) {
+			exchange.getResponse().setStatusCode(HttpStatus.ACCEPTED);
+			return Mono.empty();
+		}
+	}
+
+}
@@ -126,6 +126,75 @@ public class RouterFunctionsTests {
 				.verify();
 	}
 
+	@Test
+	public void indexFirstMatchWins() {
+		HandlerFunction<ServerResponse> wildcard = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> literal = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> other = request -> ServerResponse.ok().build();
+
+		RouterFunction<ServerResponse> result = RouterFunctions.index(
+				RouterFunctions.route(RequestPredicates.GET("/foo/bar"), other)
+						.andRoute(RequestPredicates.GET("/{*path}"), wildcard)
+						.andRoute(RequestPredicates.GET("/foo/{baz}"), literal));
+
+		StepVerifier.create(result.route(request("https://example.com/foo/baz")))
+				.expectNext(wildcard)
+				.expectComplete()
+				.verify();
+		StepVerifier.create(result.route(request("https://example.com/foo/bar")))
+				.expectNext(other)
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void indexSkipsRoutesForOtherPaths() {
+		HandlerFunction<ServerResponse> handlerFunction = request -> ServerResponse.ok().build();
+		AtomicBoolean predicateInvoked = new AtomicBoolean();
+		RequestPredicate requestPredicate = request -> {
+			predicateInvoked.set(true);
+			return true;
+		};
+
+		RouterFunction<ServerResponse> result = RouterFunctions.index(
+				RouterFunctions.route(requestPredicate.and(RequestPredicates.path("/foo")), handlerFunction)
+						.andRoute(RequestPredicates.path("/bar"), handlerFunction));
+
+		StepVerifier.create(result.route(request("https://example.com/bar")))
+				.expectNext(handlerFunction)
+				.expectComplete()
+				.verify();
+		assertThat(predicateInvoked.get()).isFalse();
+	}
+
+	@Test
+	public void indexNestedAndFiltered() {
+		HandlerFunction<ServerResponse> handlerFunction = request -> ServerResponse.ok().build();
+		AtomicBoolean filterInvoked = new AtomicBoolean();
+
+		RouterFunction<ServerResponse> result = RouterFunctions.index(RouterFunctions.route()
+				.path("/foo", builder -> builder
+						.GET("/bar", handlerFunction)
+						.GET("/baz", handlerFunction))
+				.filter((request, next) -> {
+					filterInvoked.set(true);
+					return next.handle(request);
+				})
+				.build());
+
+		ServerRequest request = request("https://example.com/foo/baz");
+		HandlerFunction<ServerResponse> match = result.route(request).block();
+		assertThat(match).isNotNull();
+		match.handle(request).block();
+		assertThat(filterInvoked.get()).isTrue();
+		assertThat(result.route(request("https://example.com/bar/baz")).block()).isNull();
+	}
+
+	private static ServerRequest request(String url) {
+		MockServerHttpRequest mockRequest = MockServerHttpRequest.get(url).build();
+		return new DefaultServerRequest(MockServerWebExchange.from(mockRequest), Collections.emptyList());
+	}
+
 	@Test
 	public void toHttpHandlerNormal() {
 		HandlerFunction<ServerResponse> handlerFunction = request -> ServerResponse.accepted().build();
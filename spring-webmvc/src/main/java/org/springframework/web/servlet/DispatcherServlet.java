@@ -50,6 +50,7 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.core.log.LogFormatUtils;
+import org.springframework.http.server.RequestPath;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.lang.Nullable;
 import org.springframework.ui.context.ThemeSource;
@@ -63,6 +64,7 @@ import org.springframework.web.multipart.MultipartException;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.util.NestedServletException;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
 
 /**
@@ -278,6 +280,10 @@ public class DispatcherServlet extends FrameworkServlet {
 	/** Additional logger to use when no mapped handler is found for a request. */
 	protected static final Log pageNotFoundLogger = LogFactory.getLog(PAGE_NOT_FOUND_LOG_CATEGORY);
 
+	/** Whether Java Flight Recorder is available for recording dispatch events. */
+	private static final boolean flightRecorderPresent =
+			ClassUtils.isPresent("jdk.jfr.Event", DispatcherServlet.class.getClassLoader());
+
 	private static final Properties defaultStrategies;
 
 	static {
@@ -331,6 +337,9 @@ public class DispatcherServlet extends FrameworkServlet {
 	@Nullable
 	private List<HandlerAdapter> handlerAdapters;
 
+	/** Whether any HandlerMapping uses parsed PathPatterns, requiring a parsed RequestPath. */
+	private boolean parseRequestPath;
+
 	/** List of HandlerExceptionResolvers used by this servlet. */
 	@Nullable
 	private List<HandlerExceptionResolver> handlerExceptionResolvers;
@@ -622,6 +631,14 @@ public class DispatcherServlet extends FrameworkServlet {
 						"': using default strategies from DispatcherServlet.properties");
 			}
 		}
+
+		this.parseRequestPath = false;
+		for (HandlerMapping mapping : this.handlerMappings) {
+			if (mapping.usesPathPatterns()) {
+				this.parseRequestPath = true;
+				break;
+			}
+		}
 	}
 
 	/**
@@ -939,6 +956,13 @@ public class DispatcherServlet extends FrameworkServlet {
 			request.setAttribute(FLASH_MAP_MANAGER_ATTRIBUTE, this.flashMapManager);
 		}
 
+		// Parse the request path once, for matching against PathPatterns.
+		RequestPath previousRequestPath = null;
+		if (this.parseRequestPath) {
+			previousRequestPath = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+			ServletRequestPathUtils.parseAndCache(request);
+		}
+
 		try {
 			doDispatch(request, response);
 		}
@@ -949,6 +973,9 @@ public class DispatcherServlet extends FrameworkServlet {
 					restoreAttributesAfterInclude(request, attributesSnapshot);
 				}
 			}
+			if (this.parseRequestPath) {
+				ServletRequestPathUtils.setParsedRequestPath(previousRequestPath, request);
+			}
 		}
 	}
 
@@ -1003,6 +1030,8 @@ public class DispatcherServlet extends FrameworkServlet {
 		boolean multipartRequestParsed = false;
 
 		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+		FlightRecorderDispatchEvent dispatchEvent =
+				(flightRecorderPresent ? FlightRecorderDispatchEvent.beginIfEnabled(request) : null);
 
 		try {
 			ModelAndView mv = null;
@@ -1013,7 +1042,11 @@ public class DispatcherServlet extends FrameworkServlet {
 				multipartRequestParsed = (processedRequest != request);
 
 				// Determine handler for the current request.
+				long lookupStart = (dispatchEvent != null ? System.nanoTime() : 0);
 				mappedHandler = getHandler(processedRequest);
+				if (dispatchEvent != null) {
+					dispatchEvent.handlerFound(mappedHandler, lookupStart);
+				}
 				if (mappedHandler == null) {
 					noHandlerFound(processedRequest, response);
 					return;
@@ -1076,6 +1109,9 @@ public class DispatcherServlet extends FrameworkServlet {
 					cleanupMultipart(processedRequest);
 				}
 			}
+			if (dispatchEvent != null) {
+				dispatchEvent.end(response, asyncManager.isConcurrentHandlingStarted());
+			}
 		}
 	}
 
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import org.springframework.core.metrics.jfr.FlightRecorderEventProbe;
+import org.springframework.lang.Nullable;
+
+/**
+ * Java Flight Recorder {@link Event} for a request dispatched by the
+ * {@link DispatcherServlet}, recording the selected handler, the time spent
+ * in handler lookup, and the response status.
+ *
+ * <p>The event covers a single {@code doDispatch} call. If the handler starts
+ * asynchronous processing, the event ends when the container thread returns
+ * and flags {@code asyncStarted}; the subsequent async dispatch is recorded
+ * as an event of its own.
+ *
+ * @since 5.3
+ * @see DispatcherServlet#doDispatch
+ */
+@Category({"Spring Application", "Web MVC"})
+@Label("Request Dispatch")
+@Description("Request dispatched by the DispatcherServlet")
+@StackTrace(false)
+final class FlightRecorderDispatchEvent extends Event {
+
+	private static final FlightRecorderEventProbe<FlightRecorderDispatchEvent> PROBE =
+			new FlightRecorderEventProbe<>(FlightRecorderDispatchEvent::new);
+
+
+	@Label("HTTP Method")
+	String method;
+
+	@Label("Request URI")
+	String uri;
+
+	@Label("Handler")
+	String handler;
+
+	@Label("Handler Lookup Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long lookupTime;
+
+	@Label("Status")
+	int status;
+
+	@Label("Async Started")
+	boolean asyncStarted;
+
+
+	/**
+	 * Begin a new event for the given request, if enabled.
+	 * @return the begun event, or {@code null} if the event type is disabled
+	 */
+	@Nullable
+	static FlightRecorderDispatchEvent beginIfEnabled(HttpServletRequest request) {
+		FlightRecorderDispatchEvent event = PROBE.beginIfEnabled();
+		if (event != null) {
+			event.method = request.getMethod();
+			event.uri = request.getRequestURI();
+		}
+		return event;
+	}
+
+	/**
+	 * Record the outcome of the handler lookup.
+	 * @param mappedHandler the handler chain found, if any
+	 * @param lookupStart the {@link System#nanoTime()} before the lookup
+	 */
+	void handlerFound(@Nullable HandlerExecutionChain mappedHandler, long lookupStart) {
+		this.lookupTime = System.nanoTime() - lookupStart;
+		if (mappedHandler != null) {
+			this.handler = String.valueOf(mappedHandler.getHandler());
+		}
+	}
+
+	/**
+	 * End and commit this event.
+	 * @param response the current response
+	 * @param asyncStarted whether concurrent handling has been started, in
+	 * which case the response status is not final yet
+	 */
+	void end(HttpServletResponse response, boolean asyncStarted) {
+		end();
+		if (shouldCommit()) {
+			this.status = response.getStatus();
+			this.asyncStarted = asyncStarted;
+			commit();
+		}
+	}
+
+}
@@ -48,7 +48,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for {@link org.springframework.web.servlet.HandlerMapping}
@@ -80,6 +82,9 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	private final List<Object> interceptors = new ArrayList<>();
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
@@ -188,6 +193,45 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Enable use of pre-parsed {@link org.springframework.web.util.pattern.PathPattern}s
+	 * as an alternative to String pattern matching with {@link PathMatcher}.
+	 * Patterns are then parsed once at registration time and matched against a
+	 * {@link org.springframework.http.server.RequestPath} that is parsed once per
+	 * request and cached via {@link ServletRequestPathUtils}, instead of resolving
+	 * the lookup path through the {@link UrlPathHelper} and matching it against
+	 * every String pattern.
+	 * <p>When set, the {@link #setUrlPathHelper UrlPathHelper} and its shortcut
+	 * properties no longer apply to handler lookups: the request path is matched
+	 * in its encoded form, with each path segment decoded as it is matched.
+	 * <p>By default this is not set.
+	 * @param patternParser the parser to use
+	 * @since 5.3
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+	}
+
+	/**
+	 * Return the {@link #setPatternParser(PathPatternParser) configured}
+	 * {@code PathPatternParser}, or {@code null}.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
+	/**
+	 * Return "true" if this {@code HandlerMapping} has been
+	 * {@link #setPatternParser enabled} to use parsed {@code PathPattern}s.
+	 * @since 5.3
+	 */
+	@Override
+	public boolean usesPathPatterns() {
+		return (getPatternParser() != null);
+	}
+
 	/**
 	 * Set the interceptors to apply for all handlers mapped by this handler mapping.
 	 * <p>Supported interceptor types are HandlerInterceptor, WebRequestInterceptor, and MappedInterceptor.
@@ -444,6 +488,30 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	@Nullable
 	protected abstract Object getHandlerInternal(HttpServletRequest request) throws Exception;
 
+	/**
+	 * Initialize the path to use for request mapping and expose it under the
+	 * {@link #LOOKUP_PATH} request attribute.
+	 * <p>When {@link #usesPathPatterns() parsed patterns} are enabled, this is
+	 * the {@link org.springframework.http.server.RequestPath#pathWithinApplication()
+	 * pathWithinApplication} of the parsed and cached request path, which is
+	 * parsed here if the {@code DispatcherServlet} has not done so already.
+	 * Otherwise the lookup path is resolved through the {@link UrlPathHelper}.
+	 * @param request the current request
+	 * @return the lookup path
+	 * @since 5.3
+	 */
+	protected String initLookupPath(HttpServletRequest request) {
+		String lookupPath;
+		if (usesPathPatterns()) {
+			lookupPath = ServletRequestPathUtils.getOrParseRequestPath(request).pathWithinApplication().value();
+		}
+		else {
+			lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		}
+		request.setAttribute(LOOKUP_PATH, lookupPath);
+		return lookupPath;
+	}
+
 	/**
 	 * Build a {@link HandlerExecutionChain} for the given handler, including
 	 * applicable interceptors.
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,6 +49,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
@@ -360,8 +362,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Override
 	protected HandlerMethod getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
+		String lookupPath = initLookupPath(request);
 		this.mappingRegistry.acquireReadLock();
 		try {
 			HandlerMethod handlerMethod = lookupHandlerMethod(lookupPath, request);
@@ -389,8 +390,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			// Go through all mappings that could match the lookup path...
+			addMatchingMappings(this.mappingRegistry.getMappingsByPathIndex(lookupPath), matches, request);
 		}
 
 		if (!matches.isEmpty()) {
@@ -504,6 +505,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	protected abstract Set<String> getMappingPathPatterns(T mapping);
 
+	/**
+	 * Whether the mappings to check for a lookup path may be narrowed down by the
+	 * literal leading segments of their {@link #getMappingPathPatterns path patterns}.
+	 * <p>This requires that {@link #getMatchingMapping} only matches a request
+	 * if one of the patterns matches its lookup path, with each literal segment
+	 * of a pattern, other than its last one, matching an equal non-empty segment
+	 * of the lookup path. The default implementation returns {@code false},
+	 * always going through all mappings without a direct URL match.
+	 * @since 5.3
+	 */
+	protected boolean isMappingPathIndexSupported() {
+		return false;
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -536,6 +551,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PathIndexNode<T> pathIndex = new PathIndexNode<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -559,6 +576,35 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings that could match the given lookup path, according
+		 * to the literal leading segments of their path patterns. Not thread-safe.
+		 * @see #acquireReadLock()
+		 * @see #isMappingPathIndexSupported()
+		 */
+		public Collection<T> getMappingsByPathIndex(String lookupPath) {
+			if (!this.pathIndex.hasChildren()) {
+				return this.mappingLookup.keySet();
+			}
+			Set<T> mappings = new LinkedHashSet<>(this.pathIndex.getMappings());
+			PathIndexNode<T> node = this.pathIndex;
+			int start = 0;
+			while (node != null && start < lookupPath.length()) {
+				int end = lookupPath.indexOf('/', start);
+				if (end == -1) {
+					end = lookupPath.length();
+				}
+				if (end > start) {
+					node = node.getChild(lookupPath.substring(start, end));
+					if (node != null) {
+						mappings.addAll(node.getMappings());
+					}
+				}
+				start = end + 1;
+			}
+			return mappings;
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -608,6 +654,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				List<List<String>> pathIndexKeys = getPathIndexKeys(mapping);
+				for (List<String> key : pathIndexKeys) {
+					this.pathIndex.add(key, 0, mapping);
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -619,7 +670,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.corsLookup.put(handlerMethod, corsConfig);
 				}
 
-				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod, directUrls, name));
+				this.registry.put(mapping,
+						new MappingRegistration<>(mapping, handlerMethod, directUrls, pathIndexKeys, name));
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -647,6 +699,37 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		private List<List<String>> getPathIndexKeys(T mapping) {
+			if (!isMappingPathIndexSupported()) {
+				return Collections.singletonList(Collections.emptyList());
+			}
+			List<List<String>> keys = new ArrayList<>(1);
+			for (String pattern : getMappingPathPatterns(mapping)) {
+				List<String> key = getLiteralPathPrefix(pattern);
+				if (!keys.contains(key)) {
+					keys.add(key);
+				}
+			}
+			return (!keys.isEmpty() ? keys : Collections.singletonList(Collections.emptyList()));
+		}
+
+		private List<String> getLiteralPathPrefix(String pattern) {
+			if (!pattern.startsWith("/")) {
+				return Collections.emptyList();
+			}
+			// The last segment may still be subject to suffix or trailing slash matching
+			String[] segments = StringUtils.tokenizeToStringArray(pattern, "/", false, true);
+			List<String> prefix = new ArrayList<>(segments.length);
+			for (int i = 0; i < segments.length - 1; i++) {
+				String segment = segments[i];
+				if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1) {
+					break;
+				}
+				prefix.add(segment);
+			}
+			return prefix;
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			List<HandlerMethod> oldList = this.nameLookup.get(name);
 			if (oldList == null) {
@@ -685,6 +768,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				for (List<String> key : definition.getPathIndexKeys()) {
+					this.pathIndex.remove(key, 0, definition.getMapping());
+				}
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
@@ -727,17 +814,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final List<String> directUrls;
 
+		private final List<List<String>> pathIndexKeys;
+
 		@Nullable
 		private final String mappingName;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod,
-				@Nullable List<String> directUrls, @Nullable String mappingName) {
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, @Nullable List<String> directUrls,
+				List<List<String>> pathIndexKeys, @Nullable String mappingName) {
 
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
 			this.mapping = mapping;
 			this.handlerMethod = handlerMethod;
 			this.directUrls = (directUrls != null ? directUrls : Collections.emptyList());
+			this.pathIndexKeys = pathIndexKeys;
 			this.mappingName = mappingName;
 		}
 
@@ -753,6 +843,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.directUrls;
 		}
 
+		public List<List<String>> getPathIndexKeys() {
+			return this.pathIndexKeys;
+		}
+
 		@Nullable
 		public String getMappingName() {
 			return this.mappingName;
@@ -760,6 +854,56 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	}
 
 
+	/**
+	 * Node in a trie of mappings keyed by the literal leading segments of their
+	 * path patterns: each node holds the mappings whose literal prefix ends there.
+	 */
+	private static class PathIndexNode<T> {
+
+		private final Map<String, PathIndexNode<T>> children = new HashMap<>();
+
+		private final List<T> mappings = new ArrayList<>();
+
+		public void add(List<String> key, int index, T mapping) {
+			if (index == key.size()) {
+				this.mappings.add(mapping);
+			}
+			else {
+				this.children.computeIfAbsent(key.get(index), segment -> new PathIndexNode<>())
+						.add(key, index + 1, mapping);
+			}
+		}
+
+		public void remove(List<String> key, int index, T mapping) {
+			if (index == key.size()) {
+				this.mappings.remove(mapping);
+			}
+			else {
+				PathIndexNode<T> child = this.children.get(key.get(index));
+				if (child != null) {
+					child.remove(key, index + 1, mapping);
+					if (child.mappings.isEmpty() && !child.hasChildren()) {
+						this.children.remove(key.get(index));
+					}
+				}
+			}
+		}
+
+		@Nullable
+		public PathIndexNode<T> getChild(String segment) {
+			return this.children.get(segment);
+		}
+
+		public boolean hasChildren() {
+			return !this.children.isEmpty();
+		}
+
+		public List<T> getMappings() {
+			return this.mappings;
+		}
+	}
+
+
 	/**
 	 * A thin wrapper around a matched HandlerMethod and its mapping, for the purpose of
 	 * comparing the best match with a comparator in the context of the current request.
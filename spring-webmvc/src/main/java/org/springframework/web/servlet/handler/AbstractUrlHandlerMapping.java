@@ -28,11 +28,16 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for URL-mapped {@link org.springframework.web.servlet.HandlerMapping}
@@ -49,6 +54,10 @@ import org.springframework.web.servlet.HandlerExecutionChain;
  * current request path. The most exact match is defined as the longest
  * path pattern that matches the current request path.
  *
+ * <p>As of 5.3, if a {@link #setPatternParser PathPatternParser} is set,
+ * registered paths are additionally parsed to {@link PathPattern}s and
+ * matched against the parsed {@link RequestPath} of the request instead.
+ *
  * @author Juergen Hoeller
  * @author Arjen Poutsma
  * @since 16.04.2003
@@ -64,6 +73,8 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	private final Map<String, Object> handlerMap = new LinkedHashMap<>();
 
+	private final Map<PathPattern, Object> pathPatternHandlerMap = new LinkedHashMap<>();
+
 
 	/**
 	 * Set the root handler for this handler mapping, that is,
@@ -87,6 +98,9 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	 * Whether to match to URLs irrespective of the presence of a trailing slash.
 	 * If enabled a URL pattern such as "/users" also matches to "/users/".
 	 * <p>The default value is {@code false}.
+	 * <p>This does not apply when {@link #setPatternParser parsed patterns} are
+	 * in use, see {@link PathPatternParser#setMatchOptionalTrailingSeparator}
+	 * instead.
 	 */
 	public void setUseTrailingSlashMatch(boolean useTrailingSlashMatch) {
 		this.useTrailingSlashMatch = useTrailingSlashMatch;
@@ -121,9 +135,15 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	@Override
 	@Nullable
 	protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
-		Object handler = lookupHandler(lookupPath, request);
+		String lookupPath = initLookupPath(request);
+		Object handler;
+		if (usesPathPatterns()) {
+			RequestPath path = ServletRequestPathUtils.getParsedRequestPath(request);
+			handler = lookupHandler(path, lookupPath, request);
+		}
+		else {
+			handler = lookupHandler(lookupPath, request);
+		}
 		if (handler == null) {
 			// We need to care for the default handler directly, since we need to
 			// expose the PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE for it as well.
@@ -147,6 +167,66 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return handler;
 	}
 
+	/**
+	 * Look up a handler instance for the given URL path. This method is used
+	 * when parsed {@code PathPattern}s are {@link #usesPathPatterns() enabled}.
+	 * <p>Checks for a direct match on the lookup path first, and otherwise
+	 * picks the most specific of all matching patterns as defined by
+	 * {@link PathPattern#SPECIFICITY_COMPARATOR}.
+	 * @param path the parsed RequestPath
+	 * @param lookupPath the String lookupPath for checking direct hits
+	 * @param request current HTTP request
+	 * @return a matching handler, or {@code null} if not found
+	 * @since 5.3
+	 */
+	@Nullable
+	protected Object lookupHandler(RequestPath path, String lookupPath, HttpServletRequest request) throws Exception {
+		Object handler = this.handlerMap.get(lookupPath);
+		if (handler != null) {
+			handler = resolveHandler(handler);
+			validateHandler(handler, request);
+			return buildPathExposingHandler(handler, lookupPath, lookupPath, null);
+		}
+
+		PathContainer pathWithinApplication = path.pathWithinApplication();
+		List<PathPattern> matches = null;
+		for (PathPattern pattern : this.pathPatternHandlerMap.keySet()) {
+			if (pattern.matches(pathWithinApplication)) {
+				matches = (matches != null ? matches : new ArrayList<>());
+				matches.add(pattern);
+			}
+		}
+		if (matches == null) {
+			return null;
+		}
+		if (matches.size() > 1) {
+			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Matching patterns " + matches);
+			}
+		}
+		PathPattern pattern = matches.get(0);
+		handler = resolveHandler(this.pathPatternHandlerMap.get(pattern));
+		validateHandler(handler, request);
+		PathContainer pathWithinMapping = pattern.extractPathWithinPattern(pathWithinApplication);
+		PathPattern.PathMatchInfo matchInfo = pattern.matchAndExtract(pathWithinApplication);
+		Map<String, String> uriTemplateVariables = (matchInfo != null ? matchInfo.getUriVariables() : null);
+		if (logger.isTraceEnabled() && !CollectionUtils.isEmpty(uriTemplateVariables)) {
+			logger.trace("URI variables " + uriTemplateVariables);
+		}
+		return buildPathExposingHandler(handler, pattern.getPatternString(), pathWithinMapping.value(),
+				uriTemplateVariables);
+	}
+
+	private Object resolveHandler(Object handler) {
+		// Bean name or resolved handler?
+		if (handler instanceof String) {
+			String handlerName = (String) handler;
+			handler = obtainApplicationContext().getBean(handlerName);
+		}
+		return handler;
+	}
+
 	/**
 	 * Look up a handler instance for the given URL path.
 	 * <p>Supports direct matches, e.g. a registered "/test" matches "/test",
@@ -294,6 +374,12 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	@Override
 	@Nullable
 	public RequestMatchResult match(HttpServletRequest request, String pattern) {
+		PathPatternParser patternParser = getPatternParser();
+		if (patternParser != null) {
+			PathPattern pathPattern = patternParser.parse(pattern);
+			PathContainer path = ServletRequestPathUtils.getOrParseRequestPath(request).pathWithinApplication();
+			return (pathPattern.matches(path) ? new RequestMatchResult(pathPattern, path) : null);
+		}
 		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request, LOOKUP_PATH);
 		if (getPathMatcher().match(pattern, lookupPath)) {
 			return new RequestMatchResult(pattern, lookupPath, getPathMatcher());
@@ -365,6 +451,10 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 			}
 			else {
 				this.handlerMap.put(urlPath, resolvedHandler);
+				PathPatternParser patternParser = getPatternParser();
+				if (patternParser != null) {
+					this.pathPatternHandlerMap.put(patternParser.parse(urlPath), resolvedHandler);
+				}
 				if (logger.isTraceEnabled()) {
 					logger.trace("Mapped [" + urlPath + "] onto " + getHandlerDescription(handler));
 				}
@@ -387,6 +477,17 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return Collections.unmodifiableMap(this.handlerMap);
 	}
 
+	/**
+	 * Identical to {@link #getHandlerMap()} but populated only when
+	 * {@link #usesPathPatterns() parsed patterns} are enabled, i.e. with a
+	 * {@link #setPatternParser PathPatternParser} set before handlers are
+	 * registered.
+	 * @since 5.3
+	 */
+	public final Map<PathPattern, Object> getPathPatternHandlerMap() {
+		return Collections.unmodifiableMap(this.pathPatternHandlerMap);
+	}
+
 	/**
 	 * Indicates whether this handler mapping support type-level mappings. Default to {@code false}.
 	 */
@@ -18,8 +18,11 @@ package org.springframework.web.servlet.handler;
 
 import java.util.Map;
 
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Container for the result from request pattern matching via
@@ -31,13 +34,39 @@ import org.springframework.util.PathMatcher;
  */
 public class RequestMatchResult {
 
+	@Nullable
+	private final PathPattern pathPattern;
+
+	@Nullable
+	private final PathContainer lookupPathContainer;
+
+	@Nullable
 	private final String matchingPattern;
 
+	@Nullable
 	private final String lookupPath;
 
+	@Nullable
 	private final PathMatcher pathMatcher;
 
 
+	/**
+	 * Create an instance with the matched {@code PathPattern}.
+	 * @param pathPattern the pattern that was matched
+	 * @param lookupPath the mapping path
+	 * @since 5.3
+	 */
+	public RequestMatchResult(PathPattern pathPattern, PathContainer lookupPath) {
+		Assert.notNull(pathPattern, "PathPattern is required");
+		Assert.notNull(lookupPath, "PathContainer is required");
+		this.pathPattern = pathPattern;
+		this.lookupPathContainer = lookupPath;
+		this.matchingPattern = null;
+		this.lookupPath = null;
+		this.pathMatcher = null;
+	}
+
+
 	/**
 	 * Create an instance with a matching pattern.
 	 * @param matchingPattern the matching pattern, possibly not the same as the
@@ -49,6 +78,8 @@ public class RequestMatchResult {
 		Assert.hasText(matchingPattern, "'matchingPattern' is required");
 		Assert.hasText(lookupPath, "'lookupPath' is required");
 		Assert.notNull(pathMatcher, "'pathMatcher' is required");
+		this.pathPattern = null;
+		this.lookupPathContainer = null;
 		this.matchingPattern = matchingPattern;
 		this.lookupPath = lookupPath;
 		this.pathMatcher = pathMatcher;
@@ -57,10 +88,17 @@ public class RequestMatchResult {
 
 	/**
 	 * Extract URI template variables from the matching pattern as defined in
-	 * {@link PathMatcher#extractUriTemplateVariables}.
+	 * {@link PathMatcher#extractUriTemplateVariables}, or through
+	 * {@link PathPattern#matchAndExtract} if created with a {@code PathPattern}.
 	 * @return a map with URI template variables
 	 */
+	@SuppressWarnings("ConstantConditions")
 	public Map<String, String> extractUriTemplateVariables() {
+		if (this.pathPattern != null) {
+			PathPattern.PathMatchInfo info = this.pathPattern.matchAndExtract(this.lookupPathContainer);
+			Assert.notNull(info, () -> "Expected '" + this.pathPattern + "' to match '" + this.lookupPathContainer + "'");
+			return info.getUriVariables();
+		}
 		return this.pathMatcher.extractUriTemplateVariables(this.matchingPattern, this.lookupPath);
 	}
 
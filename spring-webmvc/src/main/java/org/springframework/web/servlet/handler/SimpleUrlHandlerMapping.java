@@ -48,6 +48,10 @@ import org.springframework.util.CollectionUtils;
  * is to map within the current servlet mapping if applicable; see the
  * {@link #setAlwaysUseFullPath "alwaysUseFullPath"} property. For details on the
  * pattern options, see the {@link org.springframework.util.AntPathMatcher} javadoc.
+ *
+ * <p>Alternatively, set a {@link #setPatternParser PathPatternParser} to have the
+ * URL paths parsed once into {@link org.springframework.web.util.pattern.PathPattern}s
+ * and matched against the pre-parsed request path.
 
  * @author Rod Johnson
  * @author Juergen Hoeller
@@ -21,24 +21,38 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * A logical disjunction (' || ') request condition that matches a request
  * against a set of URL path patterns.
  *
+ * <p>Patterns are matched as Strings through a {@link PathMatcher} by default.
+ * As of 5.3, a condition may also be created with a {@link PathPatternParser},
+ * in which case the patterns are parsed once into {@link PathPattern}s and
+ * matched against the request path as parsed and cached through
+ * {@link ServletRequestPathUtils}. Suffix pattern matching is not supported
+ * in that mode, and trailing slash matching is determined by the parser.
+ *
  * @author Rossen Stoyanchev
  * @since 3.1
  */
@@ -59,6 +73,12 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 
 	private final List<String> fileExtensions = new ArrayList<>();
 
+	@Nullable
+	private final PathPatternParser patternParser;
+
+	@Nullable
+	private final Map<String, PathPattern> pathPatterns;
+
 
 	/**
 	 * Creates a new instance with the given URL patterns. Each pattern that is
@@ -70,6 +90,26 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		this(patterns, null, null, true, true, null);
 	}
 
+	/**
+	 * Create a new instance with the given URL patterns, parsed into
+	 * {@link PathPattern}s through the given parser. Each pattern that is
+	 * not empty and does not start with "/" is prepended with "/".
+	 * @param patternParser the parser to use for the given patterns
+	 * @param patterns 0 or more URL patterns; if 0 the condition will match to
+	 * every request.
+	 * @since 5.3
+	 */
+	public PatternsRequestCondition(PathPatternParser patternParser, String... patterns) {
+		Assert.notNull(patternParser, "PathPatternParser must not be null");
+		this.patterns = initPatterns(patterns);
+		this.pathHelper = UrlPathHelper.defaultInstance;
+		this.pathMatcher = new AntPathMatcher();
+		this.useSuffixPatternMatch = false;
+		this.useTrailingSlashMatch = patternParser.isMatchOptionalTrailingSeparator();
+		this.patternParser = patternParser;
+		this.pathPatterns = parsePatterns(patternParser, this.patterns);
+	}
+
 	/**
 	 * Alternative constructor with additional, optional {@link UrlPathHelper},
 	 * {@link PathMatcher}, and whether to automatically match trailing slashes.
@@ -125,6 +165,8 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		this.pathMatcher = pathMatcher != null ? pathMatcher : new AntPathMatcher();
 		this.useSuffixPatternMatch = useSuffixPatternMatch;
 		this.useTrailingSlashMatch = useTrailingSlashMatch;
+		this.patternParser = null;
+		this.pathPatterns = null;
 
 		if (fileExtensions != null) {
 			for (String fileExtension : fileExtensions) {
@@ -161,6 +203,14 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		return false;
 	}
 
+	private static Map<String, PathPattern> parsePatterns(PathPatternParser parser, Collection<String> patterns) {
+		Map<String, PathPattern> result = new LinkedHashMap<>(patterns.size() * 2);
+		for (String pattern : patterns) {
+			result.put(pattern, parser.parse(pattern));
+		}
+		return result;
+	}
+
 	/**
 	 * Private constructor for use when combining and matching.
 	 */
@@ -171,6 +221,22 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		this.useSuffixPatternMatch = other.useSuffixPatternMatch;
 		this.useTrailingSlashMatch = other.useTrailingSlashMatch;
 		this.fileExtensions.addAll(other.fileExtensions);
+		this.patternParser = null;
+		this.pathPatterns = null;
+	}
+
+	/**
+	 * Private constructor for use when combining and matching parsed patterns.
+	 */
+	private PatternsRequestCondition(Map<String, PathPattern> pathPatterns, PatternsRequestCondition other) {
+		Assert.state(other.patternParser != null, "No PathPatternParser");
+		this.patterns = new LinkedHashSet<>(pathPatterns.keySet());
+		this.pathHelper = other.pathHelper;
+		this.pathMatcher = other.pathMatcher;
+		this.useSuffixPatternMatch = false;
+		this.useTrailingSlashMatch = other.useTrailingSlashMatch;
+		this.patternParser = other.patternParser;
+		this.pathPatterns = pathPatterns;
 	}
 
 
@@ -178,6 +244,24 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		return this.patterns;
 	}
 
+	/**
+	 * Return the parsed patterns of this condition, or {@code null} if this
+	 * condition matches through a {@link PathMatcher} instead.
+	 * @since 5.3
+	 */
+	@Nullable
+	public Set<PathPattern> getPathPatterns() {
+		return (this.pathPatterns != null ? new LinkedHashSet<>(this.pathPatterns.values()) : null);
+	}
+
+	/**
+	 * Whether this condition matches through parsed {@link PathPattern}s.
+	 * @since 5.3
+	 */
+	public boolean usesPathPatterns() {
+		return (this.pathPatterns != null);
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return this.patterns;
@@ -193,7 +277,8 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	 * the "other" instance as follows:
 	 * <ul>
 	 * <li>If there are patterns in both instances, combine the patterns in "this" with
-	 * the patterns in "other" using {@link PathMatcher#combine(String, String)}.
+	 * the patterns in "other" using {@link PathMatcher#combine(String, String)},
+	 * or {@link PathPattern#combine(PathPattern)} if either instance uses parsed patterns.
 	 * <li>If only one instance has patterns, use them.
 	 * <li>If neither instance has patterns, use an empty String (i.e. "").
 	 * </ul>
@@ -209,6 +294,17 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		else if (isEmptyPathPattern()) {
 			return other;
 		}
+		if (this.patternParser != null || other.patternParser != null) {
+			PatternsRequestCondition parsing = (this.patternParser != null ? this : other);
+			Map<String, PathPattern> result = new LinkedHashMap<>();
+			for (PathPattern pattern1 : getPathPatterns(parsing.patternParser)) {
+				for (PathPattern pattern2 : other.getPathPatterns(parsing.patternParser)) {
+					PathPattern combined = pattern1.combine(pattern2);
+					result.put(combined.getPatternString(), combined);
+				}
+			}
+			return new PatternsRequestCondition(result, parsing);
+		}
 		Set<String> result = new LinkedHashSet<>();
 		if (!this.patterns.isEmpty() && !other.patterns.isEmpty()) {
 			for (String pattern1 : this.patterns) {
@@ -224,6 +320,14 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		return this.patterns == EMPTY_PATH_PATTERN;
 	}
 
+	private Collection<PathPattern> getPathPatterns(@Nullable PathPatternParser parser) {
+		if (this.pathPatterns != null) {
+			return this.pathPatterns.values();
+		}
+		Assert.state(parser != null, "No PathPatternParser");
+		return parsePatterns(parser, this.patterns).values();
+	}
+
 	/**
 	 * Checks if any of the patterns match the given request and returns an instance
 	 * that is guaranteed to contain matching patterns, sorted via
@@ -243,6 +347,11 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	@Override
 	@Nullable
 	public PatternsRequestCondition getMatchingCondition(HttpServletRequest request) {
+		if (this.pathPatterns != null) {
+			PathContainer path = ServletRequestPathUtils.getOrParseRequestPath(request).pathWithinApplication();
+			Map<String, PathPattern> matches = getMatchingPathPatterns(path);
+			return !matches.isEmpty() ? new PatternsRequestCondition(matches, this) : null;
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		List<String> matches = getMatchingPatterns(lookupPath);
 		return !matches.isEmpty() ? new PatternsRequestCondition(new LinkedHashSet<>(matches), this) : null;
@@ -257,6 +366,9 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		if (this.pathPatterns != null) {
+			return new ArrayList<>(getMatchingPathPatterns(PathContainer.parsePath(lookupPath)).keySet());
+		}
 		List<String> matches = null;
 		for (String pattern : this.patterns) {
 			String match = getMatchingPattern(pattern, lookupPath);
@@ -274,6 +386,28 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		return matches;
 	}
 
+	private Map<String, PathPattern> getMatchingPathPatterns(PathContainer path) {
+		Assert.state(this.pathPatterns != null, "No parsed patterns");
+		List<PathPattern> matches = null;
+		for (PathPattern pattern : this.pathPatterns.values()) {
+			if (pattern.matches(path)) {
+				matches = (matches != null ? matches : new ArrayList<>());
+				matches.add(pattern);
+			}
+		}
+		if (matches == null) {
+			return Collections.emptyMap();
+		}
+		if (matches.size() > 1) {
+			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
+		}
+		Map<String, PathPattern> result = new LinkedHashMap<>(matches.size() * 2);
+		for (PathPattern match : matches) {
+			result.put(match.getPatternString(), match);
+		}
+		return result;
+	}
+
 	@Nullable
 	private String getMatchingPattern(String pattern, String lookupPath) {
 		if (pattern.equals(lookupPath)) {
@@ -308,7 +442,8 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	/**
 	 * Compare the two conditions based on the URL patterns they contain.
 	 * Patterns are compared one at a time, from top to bottom via
-	 * {@link PathMatcher#getPatternComparator(String)}. If all compared
+	 * {@link PathMatcher#getPatternComparator(String)}, or through
+	 * {@link PathPattern#SPECIFICITY_COMPARATOR} for parsed patterns. If all compared
 	 * patterns match equally, but one instance has more patterns, it is
 	 * considered a closer match.
 	 * <p>It is assumed that both instances have been obtained via
@@ -318,6 +453,9 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	 */
 	@Override
 	public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
+		if (this.pathPatterns != null && other.pathPatterns != null) {
+			return compareParsedPatterns(this.pathPatterns.values().iterator(), other.pathPatterns.values().iterator());
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
 		Iterator<String> iterator = this.patterns.iterator();
@@ -339,4 +477,22 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		}
 	}
 
+	private static int compareParsedPatterns(Iterator<PathPattern> iterator, Iterator<PathPattern> iteratorOther) {
+		while (iterator.hasNext() && iteratorOther.hasNext()) {
+			int result = PathPattern.SPECIFICITY_COMPARATOR.compare(iterator.next(), iteratorOther.next());
+			if (result != 0) {
+				return result;
+			}
+		}
+		if (iterator.hasNext()) {
+			return -1;
+		}
+		else if (iteratorOther.hasNext()) {
+			return 1;
+		}
+		else {
+			return 0;
+		}
+	}
+
 }
@@ -38,6 +38,7 @@ import org.springframework.web.servlet.mvc.condition.RequestConditionHolder;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Request mapping information. Encapsulates the following request mapping conditions:
@@ -547,11 +548,14 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		@SuppressWarnings("deprecation")
 		public RequestMappingInfo build() {
 
-			PatternsRequestCondition patternsCondition = ObjectUtils.isEmpty(this.paths) ? null :
+			PathPatternParser patternParser = this.options.getPatternParser();
+			PatternsRequestCondition patternsCondition = (patternParser != null ?
+					new PatternsRequestCondition(patternParser, this.paths) :
+					ObjectUtils.isEmpty(this.paths) ? null :
 					new PatternsRequestCondition(
 							this.paths, this.options.getUrlPathHelper(), this.options.getPathMatcher(),
 							this.options.useSuffixPatternMatch(), this.options.useTrailingSlashMatch(),
-							this.options.getFileExtensions());
+							this.options.getFileExtensions()));
 
 			ContentNegotiationManager manager = this.options.getContentNegotiationManager();
 
@@ -586,6 +590,9 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		@Nullable
 		private PathMatcher pathMatcher;
 
+		@Nullable
+		private PathPatternParser patternParser;
+
 		private boolean trailingSlashMatch = true;
 
 		private boolean suffixPatternMatch = true;
@@ -628,6 +635,29 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 			return this.pathMatcher;
 		}
 
+		/**
+		 * Set a {@link PathPatternParser} to parse patterns with for the
+		 * PatternsRequestCondition, as an alternative to String pattern
+		 * matching through the {@link #setPathMatcher PathMatcher}. When set,
+		 * the UrlPathHelper, PathMatcher, trailing slash and suffix pattern
+		 * options do not apply to pattern matching.
+		 * <p>By default this is not set.
+		 * @since 5.3
+		 */
+		public void setPatternParser(@Nullable PathPatternParser patternParser) {
+			this.patternParser = patternParser;
+		}
+
+		/**
+		 * Return the {@link PathPatternParser} to use for the
+		 * PatternsRequestCondition, if any.
+		 * @since 5.3
+		 */
+		@Nullable
+		public PathPatternParser getPatternParser() {
+			return this.patternParser;
+		}
+
 		/**
 		 * Set whether to apply trailing slash matching in PatternsRequestCondition.
 		 * <p>By default this is set to 'true'.
@@ -33,8 +33,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -45,8 +49,11 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Abstract base class for classes for which {@link RequestMappingInfo} defines
@@ -84,6 +91,30 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getPatternsCondition().getPatterns();
 	}
 
+	/**
+	 * Supported with a plain {@link AntPathMatcher} using the default path
+	 * separator, case-sensitive matching and no token trimming, for which
+	 * literal pattern segments only match equal path segments. Suffix pattern
+	 * and trailing slash matching only apply to the last pattern segment,
+	 * which is never part of the index.
+	 * Not supported with {@link #usesPathPatterns() parsed patterns}, which
+	 * are matched against the encoded request path.
+	 * @since 5.3
+	 */
+	@Override
+	protected boolean isMappingPathIndexSupported() {
+		if (usesPathPatterns()) {
+			return false;
+		}
+		PathMatcher pathMatcher = getPathMatcher();
+		if (pathMatcher.getClass() != AntPathMatcher.class) {
+			return false;
+		}
+		AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+		return (AntPathMatcher.DEFAULT_PATH_SEPARATOR.equals(antPathMatcher.getPathSeparator()) &&
+				antPathMatcher.isCaseSensitive() && !antPathMatcher.isTrimTokens());
+	}
+
 	/**
 	 * Check if the given RequestMappingInfo matches the current request and
 	 * return a (potentially new) instance with conditions that match the
@@ -124,10 +155,40 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 	protected void handleMatch(RequestMappingInfo info, String lookupPath, HttpServletRequest request) {
 		super.handleMatch(info, lookupPath, request);
 
+		PatternsRequestCondition patternsCondition = info.getPatternsCondition();
+		if (patternsCondition.usesPathPatterns()) {
+			extractMatchDetails(patternsCondition, request);
+		}
+		else {
+			extractMatchDetails(patternsCondition, lookupPath, request);
+		}
+
+		if (!info.getProducesCondition().getProducibleMediaTypes().isEmpty()) {
+			Set<MediaType> mediaTypes = info.getProducesCondition().getProducibleMediaTypes();
+			request.setAttribute(PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, mediaTypes);
+		}
+	}
+
+	private void extractMatchDetails(PatternsRequestCondition condition, HttpServletRequest request) {
+		Set<PathPattern> patterns = condition.getPathPatterns();
+		Assert.state(patterns != null, "No parsed patterns");
+		PathPattern bestPattern = patterns.iterator().next();
+		PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+		PathPattern.PathMatchInfo result = bestPattern.matchAndExtract(path);
+		Assert.notNull(result, () ->
+				"Expected bestPattern: " + bestPattern + " to match lookupPath " + path.value());
+		request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, bestPattern.getPatternString());
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, result.getUriVariables());
+		request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, result.getMatrixVariables());
+	}
+
+	private void extractMatchDetails(
+			PatternsRequestCondition condition, String lookupPath, HttpServletRequest request) {
+
 		String bestPattern;
 		Map<String, String> uriVariables;
 
-		Set<String> patterns = info.getPatternsCondition().getPatterns();
+		Set<String> patterns = condition.getPatterns();
 		if (patterns.isEmpty()) {
 			bestPattern = lookupPath;
 			uriVariables = Collections.emptyMap();
@@ -146,11 +207,6 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 
 		Map<String, String> decodedUriVariables = getUrlPathHelper().decodePathVariables(request, uriVariables);
 		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, decodedUriVariables);
-
-		if (!info.getProducesCondition().getProducibleMediaTypes().isEmpty()) {
-			Set<MediaType> mediaTypes = info.getProducesCondition().getProducibleMediaTypes();
-			request.setAttribute(PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, mediaTypes);
-		}
 	}
 
 	private boolean isMatrixVariableContentAvailable() {
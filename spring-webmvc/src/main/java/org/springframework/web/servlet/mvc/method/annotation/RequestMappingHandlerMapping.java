@@ -32,6 +32,7 @@ import org.springframework.context.EmbeddedValueResolverAware;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.Assert;
@@ -49,9 +50,12 @@ import org.springframework.web.servlet.handler.RequestMatchResult;
 import org.springframework.web.servlet.mvc.condition.AbstractRequestCondition;
 import org.springframework.web.servlet.mvc.condition.CompositeRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ConsumesRequestCondition;
+import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestCondition;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Creates {@link RequestMappingInfo} instances from type and method-level
@@ -67,6 +71,11 @@ import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMappi
  * ContentNegotiationManagerFactoryBean}). For further context, please read issue
  * <a href="https://github.com/spring-projects/spring-framework/issues/24179">#24719</a>.
  *
+ * <p>As of 5.3, {@link #setPatternParser a PathPatternParser} may be set to have
+ * mapping patterns parsed into {@link PathPattern}s at startup and matched
+ * against the request path parsed once per request, as in WebFlux. Suffix
+ * pattern matching does not apply in that case.
+ *
  * @author Arjen Poutsma
  * @author Rossen Stoyanchev
  * @author Sam Brannen
@@ -181,6 +190,7 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 		this.config = new RequestMappingInfo.BuilderConfiguration();
 		this.config.setUrlPathHelper(getUrlPathHelper());
 		this.config.setPathMatcher(getPathMatcher());
+		this.config.setPatternParser(getPatternParser());
 		this.config.setSuffixPatternMatch(useSuffixPatternMatch());
 		this.config.setTrailingSlashMatch(useTrailingSlashMatch());
 		this.config.setRegisteredSuffixPatternMatch(useRegisteredSuffixPatternMatch());
@@ -399,7 +409,13 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 		if (matchingInfo == null) {
 			return null;
 		}
-		Set<String> patterns = matchingInfo.getPatternsCondition().getPatterns();
+		PatternsRequestCondition patternsCondition = matchingInfo.getPatternsCondition();
+		Set<PathPattern> pathPatterns = patternsCondition.getPathPatterns();
+		if (pathPatterns != null) {
+			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+			return new RequestMatchResult(pathPatterns.iterator().next(), path);
+		}
+		Set<String> patterns = patternsCondition.getPatterns();
 		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request, LOOKUP_PATH);
 		return new RequestMatchResult(patterns.iterator().next(), lookupPath, getPathMatcher());
 	}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+import java.util.List;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.Controller;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+import org.springframework.web.testfixture.servlet.MockServletConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.testfixture.jfr.FlightRecorderTestUtils.recordEvents;
+
+/**
+ * Tests for {@link FlightRecorderDispatchEvent}.
+ */
+class FlightRecorderDispatchEventTests {
+
+	private DispatcherServlet dispatcherServlet;
+
+
+	@BeforeEach
+	void setup() throws ServletException {
+		StaticWebApplicationContext context = new StaticWebApplicationContext();
+		context.registerSingleton("/test", TestController.class);
+		this.dispatcherServlet = new DispatcherServlet(context);
+		this.dispatcherServlet.init(new MockServletConfig());
+	}
+
+
+	@Test
+	void dispatchIsRecorded() throws Exception {
+		List<RecordedEvent> events = recordEvents(FlightRecorderDispatchEvent.class, true, () ->
+				this.dispatcherServlet.service(new MockHttpServletRequest("GET", "/test"), new MockHttpServletResponse()));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("method")).isEqualTo("GET");
+		assertThat(event.getString("uri")).isEqualTo("/test");
+		assertThat(event.getString("handler")).isEqualTo("testController");
+		assertThat(event.getLong("lookupTime")).isGreaterThan(0);
+		assertThat(event.getInt("status")).isEqualTo(HttpServletResponse.SC_ACCEPTED);
+		assertThat(event.getBoolean("asyncStarted")).isFalse();
+	}
+
+	@Test
+	void dispatchWithoutHandlerIsRecorded() throws Exception {
+		List<RecordedEvent> events = recordEvents(FlightRecorderDispatchEvent.class, true, () ->
+				this.dispatcherServlet.service(new MockHttpServletRequest("POST", "/unknown"), new MockHttpServletResponse()));
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getString("method")).isEqualTo("POST");
+		assertThat(event.getString("uri")).isEqualTo("/unknown");
+		assertThat(event.getString("handler")).isNull();
+		assertThat(event.getInt("status")).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+	}
+
+	@Test
+	void nothingIsRecordedIfDisabled() throws Exception {
+		List<RecordedEvent> events = recordEvents(FlightRecorderDispatchEvent.class, false, () ->
+				this.dispatcherServlet.service(new MockHttpServletRequest("GET", "/test"), new MockHttpServletResponse()));
+
+		assertThat(events).isEmpty();
+	}
+
+
+	public static class TestController implements Controller {
+
+		@Override
+		public ModelAndView handleRequest(HttpServletRequest request, HttpServletResponse response) {
+			response.setStatus(HttpServletResponse.SC_ACCEPTED);
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			return "testController";
+		}
+	}
+
+}
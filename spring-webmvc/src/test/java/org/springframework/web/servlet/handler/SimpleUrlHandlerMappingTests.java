@@ -17,6 +17,8 @@
 package org.springframework.web.servlet.handler;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -29,7 +31,9 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockServletContext;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -84,6 +88,41 @@ public class SimpleUrlHandlerMappingTests {
 		assertThat(hec.getHandler()).isSameAs(controller);
 	}
 
+	@Test
+	public void urlMappingWithPathPatterns() throws Exception {
+		Object fooController = new Object();
+		Object barController = new Object();
+		Object wildcardController = new Object();
+		Map<String, Object> urlMap = new LinkedHashMap<>();
+		urlMap.put("/foo/{id}", fooController);
+		urlMap.put("/foo/bar", barController);
+		urlMap.put("/**", wildcardController);
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping(urlMap);
+		handlerMapping.setPatternParser(new PathPatternParser());
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+
+		assertThat(handlerMapping.usesPathPatterns()).isTrue();
+		assertThat(handlerMapping.getPathPatternHandlerMap()).hasSize(3);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/foo/bar");
+		request.setContextPath("/app");
+		HandlerExecutionChain hec = getHandler(handlerMapping, request);
+		assertThat(hec.getHandler()).isSameAs(barController);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isTrue();
+
+		request = new MockHttpServletRequest("GET", "/foo/a%20b");
+		hec = getHandler(handlerMapping, request);
+		assertThat(hec.getHandler()).isSameAs(fooController);
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/foo/{id}");
+		assertThat(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE))
+				.isEqualTo(Collections.singletonMap("id", "a b"));
+
+		request = new MockHttpServletRequest("GET", "/other/path");
+		hec = getHandler(handlerMapping, request);
+		assertThat(hec.getHandler()).isSameAs(wildcardController);
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)).isEqualTo("other/path");
+	}
+
 	@SuppressWarnings("resource")
 	private void checkMappings(String beanName) throws Exception {
 		MockServletContext sc = new MockServletContext("");
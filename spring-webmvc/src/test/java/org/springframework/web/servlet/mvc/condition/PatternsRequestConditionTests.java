@@ -24,6 +24,8 @@ import javax.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -224,4 +226,63 @@ public class PatternsRequestConditionTests {
 		assertThat(match1.compareTo(match2, request)).isEqualTo(1);
 	}
 
+	@Test
+	public void matchParsedPatterns() {
+		PathPatternParser parser = new PathPatternParser();
+		PatternsRequestCondition condition = new PatternsRequestCondition(parser, "/foo/*", "/foo/{id}", "/foo/bar");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/bar");
+		ServletRequestPathUtils.parseAndCache(request);
+		PatternsRequestCondition match = condition.getMatchingCondition(request);
+
+		assertThat(match).isNotNull();
+		assertThat(match.usesPathPatterns()).isTrue();
+		assertThat(match.getPatterns()).containsExactly("/foo/bar", "/foo/{id}", "/foo/*");
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/bar"))).isNull();
+	}
+
+	@Test
+	public void matchParsedPatternsWithinServletMapping() {
+		PatternsRequestCondition condition = new PatternsRequestCondition(new PathPatternParser(), "/foo");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/main/foo");
+		request.setContextPath("/app");
+		request.setServletPath("/main");
+		request.setPathInfo("/foo");
+
+		assertThat(condition.getMatchingCondition(request)).isNotNull();
+	}
+
+	@Test
+	public void matchParsedPatternsTrailingSlash() {
+		PathPatternParser parser = new PathPatternParser();
+		PatternsRequestCondition condition = new PatternsRequestCondition(parser, "/foo");
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/foo/"))).isNotNull();
+
+		parser.setMatchOptionalTrailingSeparator(false);
+		condition = new PatternsRequestCondition(parser, "/foo");
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/foo/"))).isNull();
+	}
+
+	@Test
+	public void combineParsedPatterns() {
+		PathPatternParser parser = new PathPatternParser();
+		PatternsRequestCondition c1 = new PatternsRequestCondition(parser, "/t1", "/t2");
+		PatternsRequestCondition c2 = new PatternsRequestCondition(parser, "/m1", "/{m2}");
+		PatternsRequestCondition combined = c1.combine(c2);
+
+		assertThat(combined.usesPathPatterns()).isTrue();
+		assertThat(combined.getPatterns()).containsExactly("/t1/m1", "/t1/{m2}", "/t2/m1", "/t2/{m2}");
+		assertThat(new PatternsRequestCondition("/t1").combine(c2).usesPathPatterns()).isTrue();
+	}
+
+	@Test
+	public void compareParsedPatternSpecificity() {
+		PathPatternParser parser = new PathPatternParser();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		PatternsRequestCondition c1 = new PatternsRequestCondition(parser, "/fo*").getMatchingCondition(request);
+		PatternsRequestCondition c2 = new PatternsRequestCondition(parser, "/foo").getMatchingCondition(request);
+
+		assertThat(c1.compareTo(c2, request)).isEqualTo(1);
+		assertThat(c2.compareTo(c1, request)).isEqualTo(-1);
+	}
+
 }
@@ -32,6 +32,7 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -58,6 +59,7 @@ import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -235,6 +237,85 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertThat(chain).isNull();
 	}
 
+	@Test
+	public void getHandlerWithPathIndex() throws Exception {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.registerPattern("/api/users/{id}", "foo");
+		mapping.registerPattern("/api/users/{id}/orders", "bar");
+		mapping.registerPattern("/api/orders/**", "empty");
+		mapping.registerPattern("/api/{version}/status", "param");
+		mapping.registerPattern("/**/fallback", "param2");
+
+		assertThat(getHandlerMethodName(mapping, "/api/users/1")).isEqualTo("foo");
+		assertThat(getHandlerMethodName(mapping, "/api/users/1.json")).isEqualTo("foo");
+		assertThat(getHandlerMethodName(mapping, "/api/users/1/")).isEqualTo("foo");
+		assertThat(getHandlerMethodName(mapping, "/api//users/1/orders")).isEqualTo("bar");
+		assertThat(getHandlerMethodName(mapping, "/api/orders")).isEqualTo("empty");
+		assertThat(getHandlerMethodName(mapping, "/api/orders/1/items")).isEqualTo("empty");
+		assertThat(getHandlerMethodName(mapping, "/api/users/status")).isEqualTo("param");
+		assertThat(getHandlerMethodName(mapping, "/api/users/1/fallback")).isEqualTo("param2");
+		assertThat(getHandlerMethodName(mapping, "/api/products/1")).isNull();
+	}
+
+	@Test
+	public void getHandlerWithPathIndexAfterUnregister() throws Exception {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		RequestMappingInfo info = mapping.registerPattern("/api/users/{id}", "foo");
+		mapping.registerPattern("/api/{resource}/{id}", "bar");
+
+		assertThat(getHandlerMethodName(mapping, "/api/users/1")).isEqualTo("foo");
+		mapping.unregisterMapping(info);
+		assertThat(getHandlerMethodName(mapping, "/api/users/1")).isEqualTo("bar");
+	}
+
+	@Test
+	public void getHandlerWithCaseInsensitivePathMatcher() throws Exception {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		pathMatcher.setCaseSensitive(false);
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setPathMatcher(pathMatcher);
+		mapping.registerPattern("/api/users/{id}", "foo");
+
+		assertThat(getHandlerMethodName(mapping, "/API/Users/1")).isEqualTo("foo");
+	}
+
+	@Test
+	public void getHandlerWithTrimmingPathMatcher() throws Exception {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		pathMatcher.setTrimTokens(true);
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setPathMatcher(pathMatcher);
+		mapping.registerPattern("/api/users/{id}", "foo");
+
+		assertThat(getHandlerMethodName(mapping, "/api/ users/1")).isEqualTo("foo");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void getHandlerWithPathPatterns() throws Exception {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setPatternParser(new PathPatternParser());
+		mapping.registerPattern("/api/users/{id}", "foo");
+		mapping.registerPattern("/api/users/{id}/orders", "bar");
+		mapping.registerPattern("/api/orders/**", "empty");
+
+		assertThat(getHandlerMethodName(mapping, "/api/users/1")).isEqualTo("foo");
+		assertThat(getHandlerMethodName(mapping, "/api/users/1/")).isEqualTo("foo");
+		assertThat(getHandlerMethodName(mapping, "/api/users/1.json")).isEqualTo("foo");
+		assertThat(getHandlerMethodName(mapping, "/api/users/1/orders")).isEqualTo("bar");
+		assertThat(getHandlerMethodName(mapping, "/api/orders/1/items")).isEqualTo("empty");
+		assertThat(getHandlerMethodName(mapping, "/api/products/1")).isNull();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/users/a%2Fb;v=1");
+		request.setContextPath("/app");
+		HandlerMethod handlerMethod = (HandlerMethod) mapping.getHandlerInternal(request);
+		assertThat(handlerMethod.getMethod().getName()).isEqualTo("foo");
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/api/users/{id}");
+		assertThat((Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE))
+				.containsEntry("id", "a/b");
+		assertThat(getMatrixVariables(request, "id")).containsEntry("v", Collections.singletonList("1"));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void handleMatchUriTemplateVariables() {
@@ -403,6 +484,11 @@ public class RequestMappingInfoHandlerMappingTests {
 			.satisfies(ex -> assertThat(ex.getSupportedMediaTypes()).containsExactly(MediaType.APPLICATION_XML));
 	}
 
+	private String getHandlerMethodName(TestRequestMappingInfoHandlerMapping mapping, String url) throws Exception {
+		HandlerMethod handlerMethod = (HandlerMethod) mapping.getHandlerInternal(new MockHttpServletRequest("GET", url));
+		return (handlerMethod != null ? handlerMethod.getMethod().getName() : null);
+	}
+
 	private void handleMatch(MockHttpServletRequest request, String pattern, String lookupPath) {
 		RequestMappingInfo info = RequestMappingInfo.paths(pattern).build();
 		this.handlerMapping.handleMatch(info, lookupPath, request);
@@ -499,6 +585,16 @@ public class RequestMappingInfoHandlerMappingTests {
 			super.detectHandlerMethods(handler);
 		}
 
+		public RequestMappingInfo registerPattern(String pattern, String methodName) throws Exception {
+			PathPatternParser patternParser = getPatternParser();
+			RequestMappingInfo info = new RequestMappingInfo(patternParser != null ?
+					new PatternsRequestCondition(patternParser, pattern) :
+					new PatternsRequestCondition(new String[] {pattern}, getUrlPathHelper(), getPathMatcher(), true, true),
+					null, null, null, null, null, null);
+			registerMapping(info, new TestController(), TestController.class.getMethod(methodName));
+			return info;
+		}
+
 		@Override
 		protected boolean isHandler(Class<?> beanType) {
 			return AnnotationUtils.findAnnotation(beanType, RequestMapping.class) != null;